@@ -46,6 +46,7 @@ import net.sf.latexdraw.util.Preference;
 import net.sf.latexdraw.util.VersionChecker;
 import net.sf.latexdraw.view.MagneticGrid;
 import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.jfx.TextCompiler;
 import org.malai.command.CommandsRegistry;
 import org.malai.javafx.instrument.JfxInstrument;
 import org.malai.javafx.ui.JfxUI;
@@ -188,6 +189,13 @@ public class LaTeXDraw extends JfxUI {
 		new Thread(task).start();
 	}
 
+	@Override
+	public void stop() throws Exception {
+		// The texts being compiled are no longer expected: their processes are killed.
+		TextCompiler.INSTANCE.shutdown();
+		super.stop();
+	}
+
 	/**
 	 * @return The callback that creates controller instances.
 	 */
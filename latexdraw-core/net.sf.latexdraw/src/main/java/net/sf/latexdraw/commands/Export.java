@@ -29,6 +29,7 @@ import javax.imageio.ImageIO;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.util.LSystem;
 import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.jfx.RenderingBackend;
 import net.sf.latexdraw.view.pst.PSTCodeGenerator;
 import org.malai.command.CommandImpl;
 
@@ -226,15 +227,32 @@ public class Export extends CommandImpl {
 	 * @return A writable image that contains given views (not null).
 	 */
 	private BufferedImage createRenderedImage() {
+		final boolean filtered = canvas.isVirtualised() || canvas.getRenderingBackend() != RenderingBackend.SCENE_GRAPH;
 		final Group views = canvas.getViews();
-		final Bounds bounds = views.getBoundsInParent();
 		final double scale = 3d;
-		final WritableImage img = new WritableImage((int) (bounds.getWidth() * scale), (int) (bounds.getHeight() * scale));
-		final SnapshotParameters snapshotParameters = new SnapshotParameters();
+		final WritableImage img;
 
-		snapshotParameters.setFill(Color.WHITE);
-		snapshotParameters.setTransform(new Scale(scale, scale));
-		views.snapshot(snapshotParameters, img);
+		if(filtered) {
+			canvas.realiseAllViews();
+		}
+
+		// The exported picture does not depend on the zoom level.
+		canvas.setFullDetail(true);
+
+		try {
+			final Bounds bounds = views.getBoundsInParent();
+			final SnapshotParameters snapshotParameters = new SnapshotParameters();
+			img = new WritableImage((int) (bounds.getWidth() * scale), (int) (bounds.getHeight() * scale));
+			snapshotParameters.setFill(Color.WHITE);
+			snapshotParameters.setTransform(new Scale(scale, scale));
+			views.snapshot(snapshotParameters, img);
+		}finally {
+			canvas.setFullDetail(false);
+			// The views realised for the export are dropped.
+			if(filtered) {
+				canvas.releaseViews();
+			}
+		}
 
 		while(img.isBackgroundLoading()) {
 			LSystem.INSTANCE.sleep(100L);
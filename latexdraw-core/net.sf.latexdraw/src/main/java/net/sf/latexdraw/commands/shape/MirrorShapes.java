@@ -33,11 +33,13 @@ public class MirrorShapes extends ShapeCmdImpl<IShape> implements Undoable, Modi
 	@Override
 	protected void doCmdBody() {
 		shape.ifPresent(sh -> {
-			if(horizontally) {
-				sh.mirrorHorizontal(sh.getGravityCentre().getX());
-			}else {
-				sh.mirrorVertical(sh.getGravityCentre().getY());
-			}
+			sh.runBatched(() -> {
+				if(horizontally) {
+					sh.mirrorHorizontal(sh.getGravityCentre().getX());
+				}else {
+					sh.mirrorVertical(sh.getGravityCentre().getY());
+				}
+			});
 			sh.setModified(true);
 		});
 	}
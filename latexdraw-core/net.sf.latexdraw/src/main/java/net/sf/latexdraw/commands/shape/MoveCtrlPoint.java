@@ -104,4 +104,12 @@ public class MoveCtrlPoint extends MovePoint implements Undoable {
 	public void setShape(final IControlPointShape sh) {
 		shape = sh;
 	}
+
+	/**
+	 * @return The shape to modify.
+	 * @since 4.0
+	 */
+	public IControlPointShape getShape() {
+		return shape;
+	}
 }
@@ -66,8 +66,8 @@ public class PasteShapes extends DrawingCmdImpl implements Undoable, Modifying {
 			final IShape sh = ShapeFactory.INST.duplicate(shape);
 			pastedShapes.add(sh);
 			sh.translate(gap, gap);
-			drawing.addShape(sh);
 		});
+		drawing.addShapes(pastedShapes);
 
 		if(copy instanceof CutShapes) {
 			copy.nbTimeCopied++;
@@ -96,7 +96,7 @@ public class PasteShapes extends DrawingCmdImpl implements Undoable, Modifying {
 			copy.nbTimeCopied++;
 		}
 
-		pastedShapes.forEach(drawing::addShape);
+		drawing.addShapes(pastedShapes);
 
 		if(copy instanceof CutShapes) {
 			copy.nbTimeCopied++;
@@ -59,7 +59,7 @@ public class RotateShapes extends ShapeCmdImpl<IShape> implements Undoable, Modi
 	 */
 	private void rotateShapes(final double angleIncrement) {
 		shape.ifPresent(sh -> {
-			sh.addToRotationAngle(gc, angleIncrement);
+			sh.runBatched(() -> sh.addToRotationAngle(gc, angleIncrement));
 			sh.setModified(true);
 		});
 	}
@@ -114,7 +114,7 @@ public class ScaleShapes extends ShapeCmdImpl<IGroup> implements DrawingCmd, Und
 	@Override
 	public void undo() {
 		shape.ifPresent(sh -> refPosition.ifPresent(pos -> drawing.ifPresent(dr -> {
-			sh.scale(oldWidth, oldHeight, pos, bound);
+			sh.runBatched(() -> sh.scale(oldWidth, oldHeight, pos, bound));
 			sh.setModified(true);
 			dr.setModified(true);
 			updateBound(sh.getTopLeftPoint(), sh.getBottomRightPoint());
@@ -159,7 +159,7 @@ public class ScaleShapes extends ShapeCmdImpl<IGroup> implements DrawingCmd, Und
 	@Override
 	public void redo() {
 		shape.ifPresent(sh -> refPosition.ifPresent(pos -> drawing.ifPresent(dr -> {
-			sh.scale(scaledWidth(newX), scaledHeight(newY), pos, bound);
+			sh.runBatched(() -> sh.scale(scaledWidth(newX), scaledHeight(newY), pos, bound));
 			sh.setModified(true);
 			dr.setModified(true);
 			updateBound(sh.getTopLeftPoint(), sh.getBottomRightPoint());
@@ -60,8 +60,8 @@ public class TranslateShapes extends ShapeCmdImpl<IGroup> implements Undoable, M
 
 	@Override
 	protected void doCmdBody() {
-		shape.ifPresent(sh ->  {
-			sh.translate(tx, ty);
+		shape.ifPresent(sh -> {
+			sh.runBatched(() -> sh.translate(tx, ty));
 			sh.setModified(true);
 			drawing.setModified(true);
 			performedTx += tx;
@@ -78,7 +78,7 @@ public class TranslateShapes extends ShapeCmdImpl<IGroup> implements Undoable, M
 	@Override
 	public void undo() {
 		shape.ifPresent(sh -> {
-			sh.translate(-performedTx, -performedTy);
+			sh.runBatched(() -> sh.translate(-performedTx, -performedTy));
 			sh.setModified(true);
 			drawing.setModified(true);
 		});
@@ -87,7 +87,7 @@ public class TranslateShapes extends ShapeCmdImpl<IGroup> implements Undoable, M
 	@Override
 	public void redo() {
 		shape.ifPresent(sh -> {
-			sh.translate(performedTx, performedTy);
+			sh.runBatched(() -> sh.translate(performedTx, performedTy));
 			sh.setModified(true);
 			drawing.setModified(true);
 		});
@@ -98,6 +98,20 @@ public class TranslateShapes extends ShapeCmdImpl<IGroup> implements Undoable, M
 		return LangTool.INSTANCE.getBundle().getString("Actions.32");
 	}
 
+	/**
+	 * @return The x translation already performed on the shapes.
+	 */
+	public double getPerformedTx() {
+		return performedTx;
+	}
+
+	/**
+	 * @return The y translation already performed on the shapes.
+	 */
+	public double getPerformedTy() {
+		return performedTy;
+	}
+
 	/**
 	 * @param theTx The x vector translation.
 	 * @param theTy The y vector translation.
@@ -10,11 +10,16 @@
  */
 package net.sf.latexdraw.instruments;
 
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import javafx.application.Platform;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
@@ -56,8 +61,22 @@ public class Hand extends CanvasInstrument {
 	@Inject private MetaShapeCustomiser metaCustomiser;
 	@Inject private TextSetter textSetter;
 
+	/**
+	 * The delay (in ms) between two updates of the shapes while the selection is dragged.
+	 * If negative, the shapes are translated at each move of the DnD.
+	 * Otherwise, the views of the selection are moved visually with a translation and the shapes are translated
+	 * on release, or at most once per delay during the DnD when the delay is positive.
+	 * Negative by default: the shapes follow the DnD as before.
+	 */
+	private final LongProperty translationCommitDelay;
+
+	/** The last time (in ms) the shapes were translated during the current DnD. */
+	private long lastTranslationCommit;
+
 	public Hand() {
 		super();
+		translationCommitDelay = new SimpleLongProperty(-1L);
+		lastTranslationCommit = 0L;
 	}
 
 	private final ListChangeListener<Node> viewHandler = evt -> {
@@ -159,8 +178,13 @@ public class Hand extends CanvasInstrument {
 		}).bind();
 
 		// A simple pressure on the canvas deselects the shapes
+		// (or selects the pressed shape if it is painted by the immediate rendering backend).
 		nodeBinder(new Press(), SelectShapes.class).on(canvas).
-			first((i, c) -> c.setDrawing(canvas.getDrawing())).
+			first((i, c) -> {
+				c.setDrawing(canvas.getDrawing());
+				final IPoint pt = canvas.convertToOrigin(ShapeFactory.INST.createPoint(i.getSrcLocalPoint()));
+				canvas.getPaintedShapeAt(pt.getX(), pt.getY()).ifPresent(sh -> c.setShape(sh));
+			}).
 			when(i -> i.getSrcObject().orElse(null) instanceof Canvas).
 			bind();
 	}
@@ -169,6 +193,7 @@ public class Hand extends CanvasInstrument {
 	 * A DnD on a shape view allows to translate the underlying shape.
 	 */
 	private void bindDnDTranslate() {
+		// The shapes are translated at each move.
 		nodeBinder(new DnD(true, true), TranslateShapes.class).
 			on(canvas.getViews().getChildren()).on(canvas.getSelectionBorder()).
 			map(i -> new TranslateShapes(canvas.getDrawing(), canvas.getDrawing().getSelection().duplicateDeep(false))).
@@ -185,7 +210,58 @@ public class Hand extends CanvasInstrument {
 			}).
 			cancel((i, c) -> canvas.update()).
 			strictStart().
-			bind();
+			bind().activationProperty().bind(activatedProp.and(translationCommitDelay.lessThan(0L)));
+
+		// The views are moved visually and the shapes are translated on release (or periodically).
+		nodeBinder(new DnD(false, true), TranslateShapes.class).
+			on(canvas.getViews().getChildren()).on(canvas.getSelectionBorder()).
+			map(i -> new TranslateShapes(canvas.getDrawing(), canvas.getDrawing().getSelection().duplicateDeep(false))).
+			then((i, c) -> {
+				final IPoint startPt = grid.getTransformedPointToGrid(i.getSrcScenePoint());
+				final IPoint endPt = grid.getTransformedPointToGrid(i.getTgtScenePoint());
+				// The command may have been already executed during the DnD: only the remaining translation is set.
+				final double tx = endPt.getX() - startPt.getX() - c.getPerformedTx();
+				final double ty = endPt.getY() - startPt.getY() - c.getPerformedTy();
+				c.setT(tx, ty);
+				if(isTranslationCommitDue() && c.canDo()) {
+					c.doIt();
+					c.setT(0d, 0d);
+					lastTranslationCommit = System.currentTimeMillis();
+					canvas.setSelectionDragTranslation(0d, 0d);
+				}else {
+					canvas.setSelectionDragTranslation(tx, ty);
+				}
+			}).
+			when(i -> i.getButton() == MouseButton.PRIMARY && !canvas.getDrawing().getSelection().isEmpty()).
+			first((i, c) -> {
+				i.getSrcObject().ifPresent(node -> Platform.runLater(() -> node.requestFocus()));
+				canvas.setCursor(Cursor.MOVE);
+				lastTranslationCommit = System.currentTimeMillis();
+			}).
+			cancel((i, c) -> {
+				canvas.clearSelectionDragTranslation();
+				if(c.hadEffect()) {
+					c.undo();
+				}
+				canvas.update();
+			}).
+			endOrCancel((i, c) -> canvas.clearSelectionDragTranslation()).
+			strictStart().
+			bind().activationProperty().bind(activatedProp.and(translationCommitDelay.greaterThanOrEqualTo(0L)));
+	}
+
+	private boolean isTranslationCommitDue() {
+		final long delay = translationCommitDelay.get();
+		return delay > 0L && System.currentTimeMillis() - lastTranslationCommit >= delay;
+	}
+
+	/**
+	 * @return The delay (in ms) between two updates of the shapes while the selection is dragged:
+	 * a negative value updates the shapes at each move; zero updates them on release only;
+	 * a positive value updates them on release and at most once per delay during the DnD.
+	 */
+	public LongProperty translationCommitDelayProperty() {
+		return translationCommitDelay;
 	}
 
 	@Override
@@ -286,24 +362,36 @@ public class Hand extends CanvasInstrument {
 					selectedShapes.forEach(sh -> cmd.addShape(sh));
 				}
 				if(!selectionBorder.isEmpty()) {
-					instrument.canvas.getViews().getChildren().stream().filter(view -> {
-						Bounds bounds;
-						final Transform transform = view.getLocalToParentTransform();
-						if(transform.isIdentity()) {
-							bounds = selectionBorder;
-						}else {
-							try {
-								bounds = transform.createInverse().transform(selectionBorder);
-							}catch(final NonInvertibleTransformException ex) {
-								bounds = selectionBorder;
-								//TODO log
-							}
-						}
-						return view.intersects(bounds) &&
-							((ViewShape<?>) view).getActivatedShapes().stream().anyMatch(sh -> !Shape.intersect(sh, selectionRec).getLayoutBounds().isEmpty());
-					}).forEach(view -> cmd.addShape((IShape) view.getUserData()));
+					// The spatial index of the drawing gives the candidate shapes; their views, if any, are then precisely tested.
+					// No view is realised while dragging: the shapes without view are selected from their bounds, and the shapes
+					// whose extent cannot be computed from the model (e.g. texts) are selected only from their view.
+					final Rectangle2D area = new Rectangle2D.Double(selectionBorder.getMinX(), selectionBorder.getMinY(),
+						selectionBorder.getWidth(), selectionBorder.getHeight());
+					final Set<IShape> bounded = Collections.newSetFromMap(new IdentityHashMap<>());
+					bounded.addAll(instrument.canvas.getDrawing().boundedShapesIntersecting(area));
+					instrument.canvas.getDrawing().shapesIntersecting(area).stream().filter(sh -> {
+						final Optional<ViewShape<?>> view = instrument.canvas.getRealisedView(sh);
+						return view.isPresent() ? isViewSelected(view.get(), selectionRec) : bounded.contains(sh);
+					}).forEach(sh -> cmd.addShape(sh));
+				}
+			}
+		}
+
+		private boolean isViewSelected(final ViewShape<?> view, final Rectangle selectionRec) {
+			Bounds bounds;
+			final Transform transform = view.getLocalToParentTransform();
+			if(transform.isIdentity()) {
+				bounds = selectionBorder;
+			}else {
+				try {
+					bounds = transform.createInverse().transform(selectionBorder);
+				}catch(final NonInvertibleTransformException ex) {
+					bounds = selectionBorder;
+					//TODO log
 				}
 			}
+			return view.intersects(bounds) &&
+				view.getActivatedShapes().stream().anyMatch(sh -> !Shape.intersect(sh, selectionRec).getLayoutBounds().isEmpty());
 		}
 
 		@Override
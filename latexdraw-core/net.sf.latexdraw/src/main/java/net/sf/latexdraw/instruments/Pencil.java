@@ -62,6 +62,12 @@ public class Pencil extends CanvasInstrument {
 	/** This shape gathers all the current shape parameters. Used as a model when creating shapes. Use its getter instead as it is lazy instantiated. */
 	private IGroup groupParams;
 
+	/** The tolerance (in pixels) used to simplify the freehand strokes while they are drawn. Zero disables the simplification. */
+	private double strokeTolerance;
+
+	/** The simplifier of the freehand stroke being drawn. */
+	private StrokeSimplifier simplifier;
+
 
 	/**
 	 * Creates the pencil. Automatically invoked by the dependency injector. Do not call.
@@ -69,6 +75,25 @@ public class Pencil extends CanvasInstrument {
 	public Pencil() {
 		super();
 		currentChoice = new SimpleObjectProperty<>(EditionChoice.RECT);
+		strokeTolerance = 1d;
+	}
+
+	/**
+	 * @return The tolerance (in pixels) used to simplify the freehand strokes while they are drawn.
+	 */
+	public double getStrokeTolerance() {
+		return strokeTolerance;
+	}
+
+	/**
+	 * Sets the tolerance used to simplify the freehand strokes while they are drawn: a captured point is not kept
+	 * if the stroke passes at a distance lower than the tolerance. Zero disables the simplification.
+	 * @param tolerance The new tolerance, in pixels. Not considered if negative or not valid.
+	 */
+	public void setStrokeTolerance(final double tolerance) {
+		if(tolerance >= 0d && MathUtils.INST.isValidCoord(tolerance)) {
+			strokeTolerance = tolerance;
+		}
 	}
 
 	@Override
@@ -160,19 +185,37 @@ public class Pencil extends CanvasInstrument {
 				final IShape sh = createShapeInstance();
 				final IPoint pt = getAdaptedPoint(i.getSrcLocalPoint());
 				sh.getPoints().get(0).setPoint(pt.getX(), pt.getY());
+				// A simplified stroke only contains its vertices: none of them must be skipped by the interval of the freehand shape.
+				if(strokeTolerance > 0d) {
+					((IFreehand) sh).setInterval(1);
+				}
 				return new AddShape(sh, canvas.getDrawing());
 			}).
-			first((i, c) -> Platform.runLater(() -> canvas.requestFocus())).
+			first((i, c) -> {
+				Platform.runLater(() -> canvas.requestFocus());
+				final IPoint first = c.getShape().get().getPtAt(0);
+				// The tolerance is given in pixels.
+				simplifier = new StrokeSimplifier(strokeTolerance / canvas.getZoom(), first.getX(), first.getY());
+				canvas.setTempView(ViewFactory.INSTANCE.createView(c.getShape().orElse(null)).orElse(null));
+			}).
 			then((i, c) -> {
-				final IPoint last = c.getShape().get().getPtAt(-1);
+				final IFreehand sh = (IFreehand) c.getShape().get();
+				final IPoint last = sh.getPtAt(-1);
 				final IPoint endPt = getAdaptedPoint(i.getTgtLocalPoint());
+				// The point is appended to the shape or replaces its last point: the temporary view updates its path accordingly.
 				if(!MathUtils.INST.equalsDouble(last.getX(), endPt.getX(), 0.0001) &&
 					!MathUtils.INST.equalsDouble(last.getY(), endPt.getY(), 0.0001)) {
-					c.setShape(ShapeFactory.INST.createFreeHandFrom((IFreehand) c.getShape().get(), endPt));
+					if(simplifier.add(endPt.getX(), endPt.getY())) {
+						sh.appendPoint(endPt.getX(), endPt.getY());
+					}else {
+						sh.setLastPoint(endPt.getX(), endPt.getY());
+					}
 				}
-				canvas.setTempView(ViewFactory.INSTANCE.createView(c.getShape().orElse(null)).orElse(null));
 			}).
-			endOrCancel((i, c) -> canvas.setTempView(null)).
+			endOrCancel((i, c) -> {
+				canvas.setTempView(null);
+				simplifier = null;
+			}).
 			when(i -> i.getButton() == MouseButton.PRIMARY && currentChoice.get() == EditionChoice.FREE_HAND).
 			strictStart().
 			bind();
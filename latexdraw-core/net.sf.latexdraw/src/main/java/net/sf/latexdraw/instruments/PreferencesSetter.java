@@ -55,6 +55,8 @@ import net.sf.latexdraw.util.Unit;
 import net.sf.latexdraw.util.VersionChecker;
 import net.sf.latexdraw.view.GridStyle;
 import net.sf.latexdraw.view.MagneticGrid;
+import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.jfx.RenderingBackend;
 import org.malai.javafx.instrument.JfxInstrument;
 import org.malai.javafx.interaction.library.ButtonPressed;
 import org.w3c.dom.Attr;
@@ -90,6 +92,15 @@ public class PreferencesSetter extends JfxInstrument implements Initializable {
 	@FXML protected Spinner<Integer> persoGridGapField;
 	/** The widget used to defines the number of recent file to keep in memory. */
 	@FXML private Spinner<Integer> nbRecentFilesField;
+
+	/** The tolerance used to simplify the freehand strokes. */
+	@FXML protected Spinner<Double> strokeToleranceField;
+	/** Defines whether only the views of the visible shapes are created. */
+	@FXML protected CheckBox virtualisedCB;
+	@FXML protected ComboBox<RenderingBackend> backendList;
+	/** The zoom levels below which the views are simplified and coarse. */
+	@FXML protected Spinner<Double> lodMediumField;
+	@FXML protected Spinner<Double> lodLowField;
 	/** Contains the different possible kind of grids. */
 	@FXML protected ComboBox<GridStyle> styleList;
 	@FXML private Button buttonOpen;
@@ -97,6 +108,8 @@ public class PreferencesSetter extends JfxInstrument implements Initializable {
 	@Inject private Exporter exporter;
 	@Inject private FileLoaderSaver saver;
 	@Inject private MagneticGrid grid;
+	@Inject private Pencil pencil;
+	@Inject private Canvas canvas;
 	/** The file chooser of paths selection. */
 	private DirectoryChooser fileChooser;
 
@@ -121,6 +134,7 @@ public class PreferencesSetter extends JfxInstrument implements Initializable {
 
 		unitChoice.getItems().addAll(Arrays.stream(Unit.values()).map(Unit::getLabel).collect(Collectors.toList()));
 		styleList.getItems().addAll(GridStyle.values());
+		backendList.getItems().addAll(RenderingBackend.values());
 	}
 
 	/**
@@ -215,6 +229,12 @@ public class PreferencesSetter extends JfxInstrument implements Initializable {
 			ifPresent(node -> styleList.getSelectionModel().select(GridStyle.NONE));
 
 		Optional.ofNullable(prefMap.get(LNamespace.XML_GRID_GAP)).ifPresent(node -> persoGridGapField.getValueFactory().setValue(Integer.valueOf(node.getTextContent())));
+		Optional.ofNullable(prefMap.get(LNamespace.XML_STROKE_TOLERANCE)).ifPresent(node -> strokeToleranceField.getValueFactory().setValue(Double.valueOf(node.getTextContent())));
+		Optional.ofNullable(prefMap.get(LNamespace.XML_VIRTUALISED_CANVAS)).ifPresent(node -> virtualisedCB.setSelected(Boolean.parseBoolean(node.getTextContent())));
+		backendList.getSelectionModel().select(Optional.ofNullable(prefMap.get(LNamespace.XML_RENDERING_BACKEND)).
+			flatMap(node -> RenderingBackend.getBackendFromName(node.getTextContent())).orElse(RenderingBackend.SCENE_GRAPH));
+		Optional.ofNullable(prefMap.get(LNamespace.XML_LOD_MEDIUM)).ifPresent(node -> lodMediumField.getValueFactory().setValue(Double.valueOf(node.getTextContent())));
+		Optional.ofNullable(prefMap.get(LNamespace.XML_LOD_LOW)).ifPresent(node -> lodLowField.getValueFactory().setValue(Double.valueOf(node.getTextContent())));
 
 		final Node langNode = prefMap.get(LNamespace.XML_LANG);
 		final Locale locale = langNode == null ? Locale.US : Locale.forLanguageTag(langNode.getTextContent());
@@ -311,6 +331,11 @@ public class PreferencesSetter extends JfxInstrument implements Initializable {
 		saver.updateRecentMenuItems(recentFileNames);
 
 		ScaleRuler.setUnit(Unit.getUnit(unitChoice.getSelectionModel().getSelectedItem()));
+
+		pencil.setStrokeTolerance(strokeToleranceField.getValue());
+		canvas.setVirtualised(virtualisedCB.isSelected());
+		canvas.setRenderingBackend(backendList.getSelectionModel().getSelectedItem());
+		canvas.setLevelOfDetailThresholds(lodMediumField.getValue(), lodLowField.getValue());
 	}
 
 	/**
@@ -375,6 +400,26 @@ public class PreferencesSetter extends JfxInstrument implements Initializable {
 				elt.setTextContent(persoGridGapField.getValue().toString());
 				root.appendChild(elt);
 
+				elt = document.createElement(LNamespace.XML_STROKE_TOLERANCE);
+				elt.setTextContent(strokeToleranceField.getValue().toString());
+				root.appendChild(elt);
+
+				elt = document.createElement(LNamespace.XML_VIRTUALISED_CANVAS);
+				elt.setTextContent(String.valueOf(virtualisedCB.isSelected()));
+				root.appendChild(elt);
+
+				elt = document.createElement(LNamespace.XML_RENDERING_BACKEND);
+				elt.setTextContent(Optional.ofNullable(backendList.getSelectionModel().getSelectedItem()).orElse(RenderingBackend.SCENE_GRAPH).name());
+				root.appendChild(elt);
+
+				elt = document.createElement(LNamespace.XML_LOD_MEDIUM);
+				elt.setTextContent(lodMediumField.getValue().toString());
+				root.appendChild(elt);
+
+				elt = document.createElement(LNamespace.XML_LOD_LOW);
+				elt.setTextContent(lodLowField.getValue().toString());
+				root.appendChild(elt);
+
 				elt = document.createElement(LNamespace.XML_LATEX_INCLUDES);
 				elt.setTextContent(latexIncludes.getText());
 				root.appendChild(elt);
@@ -0,0 +1,95 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.instruments;
+
+/**
+ * Simplifies a freehand stroke while its points are captured (a streaming variant of the Ramer-Douglas-Peucker algorithm):
+ * the last captured point is provisionally kept so that the stroke follows the pointer; it replaces the previous
+ * provisional point while the points captured since the last kept point stay within the tolerance of the segment
+ * between this kept point and the new point. Each point is processed in bounded time.
+ * @author Arnaud Blouin
+ */
+final class StrokeSimplifier {
+	/** The maximal number of points captured since the last kept point: beyond, the provisional point is kept. */
+	static final int MAX_PENDING = 128;
+
+	/** The square of the tolerance. */
+	private final double tolerance2;
+	/** The last kept point. */
+	private double anchorX;
+	private double anchorY;
+	/** The coordinates of the points captured since the last kept point. The last one is the provisional point. */
+	private final double[] pending;
+	/** The number of points in pending. */
+	private int nbPending;
+
+	/**
+	 * Creates a simplifier for a stroke that starts at the given point.
+	 * @param tolerance The maximal distance between a captured point and the simplified stroke.
+	 * A tolerance lower or equal to zero disables the simplification.
+	 * @param x The X-coordinate of the first point of the stroke.
+	 * @param y The Y-coordinate of the first point of the stroke.
+	 */
+	StrokeSimplifier(final double tolerance, final double x, final double y) {
+		super();
+		tolerance2 = tolerance > 0d ? tolerance * tolerance : 0d;
+		anchorX = x;
+		anchorY = y;
+		pending = new double[MAX_PENDING * 2];
+		nbPending = 0;
+	}
+
+	/**
+	 * Adds a captured point.
+	 * @param x The X-coordinate of the captured point.
+	 * @param y The Y-coordinate of the captured point.
+	 * @return True if the point must be appended to the stroke (the previous provisional point is then kept),
+	 * false if it must replace the last point of the stroke.
+	 */
+	boolean add(final double x, final double y) {
+		if(nbPending > 0 && nbPending < MAX_PENDING && tolerance2 > 0d && fitsSegment(x, y)) {
+			pending[nbPending * 2] = x;
+			pending[nbPending * 2 + 1] = y;
+			nbPending++;
+			return false;
+		}
+
+		if(nbPending > 0) {
+			anchorX = pending[nbPending * 2 - 2];
+			anchorY = pending[nbPending * 2 - 1];
+		}
+		pending[0] = x;
+		pending[1] = y;
+		nbPending = 1;
+		return true;
+	}
+
+	/**
+	 * @return True if the pending points are within the tolerance of the segment between the last kept point and the given point.
+	 */
+	private boolean fitsSegment(final double x, final double y) {
+		final double dx = x - anchorX;
+		final double dy = y - anchorY;
+		final double length2 = dx * dx + dy * dy;
+
+		for(int i = 0; i < nbPending; i++) {
+			final double px = pending[i * 2] - anchorX;
+			final double py = pending[i * 2 + 1] - anchorY;
+			final double t = length2 > 0d ? Math.max(0d, Math.min(1d, (px * dx + py * dy) / length2)) : 0d;
+			final double distx = px - t * dx;
+			final double disty = py - t * dy;
+			if(distx * distx + disty * disty > tolerance2) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -41,7 +41,6 @@ public class TabSelector extends JfxInstrument implements Initializable {
 	@FXML private Pane canvasPane;
 	@FXML private ScaleRuler xruler;
 	@FXML private ScaleRuler yruler;
-	@FXML private Pane rulersScrollerPane;
 	@Inject private TextSetter textSetter;
 	@Inject private MetaShapeCustomiser meta;
 	@Inject private Canvas canvas;
@@ -92,33 +91,9 @@ public class TabSelector extends JfxInstrument implements Initializable {
 	}
 
 	private void initScaleRulers() {
+		// The rulers follow the scrolls and the zooms of the canvas by themselves.
 		xruler.setCanvas(canvas);
 		yruler.setCanvas(canvas);
-
-		canvas.zoomProperty().addListener((observable, oldValue, newValue) -> xruler.update(rulersScrollerPane.getWidth(), rulersScrollerPane.getHeight()));
-
-		rulersScrollerPane.widthProperty().addListener((observable, oldValue, newValue) -> xruler.update(rulersScrollerPane.getWidth(), rulersScrollerPane.getHeight()));
-		rulersScrollerPane.heightProperty().addListener((observable, oldValue, newValue) -> yruler.update(rulersScrollerPane.getWidth(), rulersScrollerPane.getHeight()));
-
-		xruler.getGroup().translateXProperty().bind(Bindings.createDoubleBinding(() -> {
-			final int gap = 100; // 100mm = 1cm
-			int val = (int) (canvas.getWidth() * scrollPane.getHvalue() - Canvas.getMargins());
-			while(val < 0) {
-				val += gap;
-			}
-			val %= gap;
-			return (double) val;
-		}, scrollPane.hvalueProperty()));
-
-		yruler.getGroup().translateYProperty().bind(Bindings.createDoubleBinding(() -> {
-			final int gap = 100; // 100mm = 1cm
-			int val = (int) (canvas.getHeight() * scrollPane.getVvalue() - Canvas.getMargins());
-			while(val < 0) {
-				val += gap;
-			}
-			val %= gap;
-			return (double) val;
-		}, scrollPane.vvalueProperty()));
 	}
 
 	@Override
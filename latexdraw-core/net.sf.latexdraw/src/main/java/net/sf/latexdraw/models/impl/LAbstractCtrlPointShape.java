@@ -34,14 +34,19 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	/** The default balance gap used to balance all the points of the bézier curve. */
 	protected int defaultBalanceGap = 50;
 	/** This vector contains the points which allows to change the angles of the curves */
-	protected final List<IPoint> firstCtrlPts;
+	protected final LPointStore firstCtrlPts;
 	/** Contains the second control points of each points; useful for closed curve. */
-	protected final List<IPoint> secondCtrlPts;
+	protected final LPointStore secondCtrlPts;
 
 	LAbstractCtrlPointShape(final List<IPoint> pts, final List<IPoint> ctrlPts) {
 		super(pts);
-		firstCtrlPts = Collections.unmodifiableList(ctrlPts.stream().map(pt -> ShapeFactory.INST.createPoint(pt)).collect(Collectors.toList()));
-		secondCtrlPts = Collections.unmodifiableList(pts.stream().map(pt -> ShapeFactory.INST.createPoint()).collect(Collectors.toList()));
+		firstCtrlPts = new LPointStore();
+		firstCtrlPts.addAll(ctrlPts);
+		secondCtrlPts = new LPointStore();
+		pts.forEach(pt -> secondCtrlPts.addPoint(0d, 0d));
+		// The control points are part of the extent of the shape, whatever the way they are modified.
+		firstCtrlPts.setOnChanged(this::boundsChanged);
+		secondCtrlPts.setOnChanged(this::boundsChanged);
 		updateSecondControlPoints();
 	}
 
@@ -123,6 +128,9 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 		IPoint ptPrev;
 		IPoint ptNext;
 
+		firstCtrlPts.beginBatch();
+		secondCtrlPts.beginBatch();
+
 		// Balancing all the points except the first and the last one.
 		for(int i = 1; i < size - 1; i++) {
 			ptPrev = points.get(i - 1);
@@ -137,6 +145,8 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 		ptPrev = points.get(size - 2);
 		ptNext = points.get(0);
 		setControlPoints(size - 1, getBalancedPoints(points.get(size - 1), ptPrev, ptNext));
+		firstCtrlPts.endBatch();
+		secondCtrlPts.endBatch();
 	}
 
 
@@ -151,15 +161,15 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 
 	@Override
 	public List<IPoint> getFirstCtrlPts() {
-		return firstCtrlPts;
+		return Collections.unmodifiableList(firstCtrlPts);
 	}
 
 	@Override
 	public void mirrorHorizontal(final double x) {
 		super.mirrorHorizontal(x);
 		if(MathUtils.INST.isValidCoord(x)) {
-			firstCtrlPts.forEach(pt -> pt.setPoint(pt.horizontalSymmetry(x)));
-			secondCtrlPts.forEach(pt -> pt.setPoint(pt.horizontalSymmetry(x)));
+			firstCtrlPts.mirrorHorizontal(x);
+			secondCtrlPts.mirrorHorizontal(x);
 		}
 	}
 
@@ -167,8 +177,8 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	public void mirrorVertical(final double y) {
 		super.mirrorVertical(y);
 		if(MathUtils.INST.isValidCoord(y)) {
-			firstCtrlPts.forEach(pt -> pt.setPoint(pt.verticalSymmetry(y)));
-			secondCtrlPts.forEach(pt -> pt.setPoint(pt.verticalSymmetry(y)));
+			firstCtrlPts.mirrorVertical(y);
+			secondCtrlPts.mirrorVertical(y);
 		}
 	}
 
@@ -183,7 +193,7 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 
 	@Override
 	public List<IPoint> getSecondCtrlPts() {
-		return secondCtrlPts;
+		return Collections.unmodifiableList(secondCtrlPts);
 	}
 
 
@@ -221,9 +231,11 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 
 	@Override
 	public void updateSecondControlPoints() {
+		secondCtrlPts.beginBatch();
 		for(int i = 0, size = points.size(); i < size; i++) {
 			secondCtrlPts.get(i).setPoint(firstCtrlPts.get(i).centralSymmetry(points.get(i)));
 		}
+		secondCtrlPts.endBatch();
 	}
 
 
@@ -252,7 +264,9 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 			final IPoint gc = getGravityCentre();
 
 			super.setRotationAngle(angle);
+			firstCtrlPts.beginBatch();
 			firstCtrlPts.forEach(pt -> pt.setPoint(pt.rotatePoint(gc, diff)));
+			firstCtrlPts.endBatch();
 			updateSecondControlPoints();
 		}
 	}
@@ -262,8 +276,8 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	public void translate(final double tx, final double ty) {
 		// Translating control points.
 		if(MathUtils.INST.isValidPt(tx, ty)) {
-			firstCtrlPts.forEach(pt -> pt.translate(tx, ty));
-			secondCtrlPts.forEach(pt -> pt.translate(tx, ty));
+			firstCtrlPts.translate(tx, ty);
+			secondCtrlPts.translate(tx, ty);
 			super.translate(tx, ty);
 		}
 	}
@@ -27,19 +27,33 @@ import net.sf.latexdraw.models.interfaces.shape.IStandardGrid;
  */
 abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	/** The x-minimum values of the axes */
-	protected final DoubleProperty gridStartx;
+	protected double gridStartx;
+	/** The gridStartx property, created on demand. */
+	private DoubleProperty gridStartxProp;
 	/** The y-minimum values of the axes */
-	protected final DoubleProperty gridStarty;
+	protected double gridStarty;
+	/** The gridStarty property, created on demand. */
+	private DoubleProperty gridStartyProp;
 	/** The x-maximum values of the axes */
-	protected final DoubleProperty gridEndx;
+	protected double gridEndx;
+	/** The gridEndx property, created on demand. */
+	private DoubleProperty gridEndxProp;
 	/** The y-maximum values of the axes */
-	protected final DoubleProperty gridEndy;
+	protected double gridEndy;
+	/** The gridEndy property, created on demand. */
+	private DoubleProperty gridEndyProp;
 	/** The x-coordinate of the origin of the grid */
-	protected final DoubleProperty originx;
+	protected double originx;
+	/** The originx property, created on demand. */
+	private DoubleProperty originxProp;
 	/** The y-coordinate of the origin of the grid */
-	protected final DoubleProperty originy;
+	protected double originy;
+	/** The originy property, created on demand. */
+	private DoubleProperty originyProp;
 	/** The size of the labels. */
-	protected final IntegerProperty labelSize;
+	protected int labelSize;
+	/** The labelSize property, created on demand. */
+	private IntegerProperty labelSizeProp;
 
 
 	/**
@@ -48,13 +62,13 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	 */
 	LAbstractGrid(final IPoint pt) {
 		super(pt);
-		originx = new SimpleDoubleProperty(0d);
-		originy = new SimpleDoubleProperty(0d);
-		gridStartx = new SimpleDoubleProperty(0d);
-		gridStarty = new SimpleDoubleProperty(0d);
-		gridEndx = new SimpleDoubleProperty(2d);
-		gridEndy = new SimpleDoubleProperty(2d);
-		labelSize = new SimpleIntegerProperty(10);
+		originx = 0d;
+		originy = 0d;
+		gridStartx = 0d;
+		gridStarty = 0d;
+		gridEndx = 2d;
+		gridEndy = 2d;
+		labelSize = 10;
 	}
 
 
@@ -83,16 +97,32 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 
 
 	@Override
-	public IPoint getBottomRightPoint() {
-		final IPoint pos = getPosition();
-		return ShapeFactory.INST.createPoint(pos.getX() + getGridMaxX() * PPC, pos.getY() - getGridMinY() * PPC);
+	boolean hasPointBounds() {
+		return false;
 	}
 
 
 	@Override
-	public IPoint getTopLeftPoint() {
-		final IPoint pos = getPosition();
-		return ShapeFactory.INST.createPoint(pos.getX() + getGridMinX() * PPC, pos.getY() - getGridMaxY() * PPC);
+	public double getMinX() {
+		return points.getX(0) + getGridMinX() * PPC;
+	}
+
+
+	@Override
+	public double getMinY() {
+		return points.getY(0) - getGridMaxY() * PPC;
+	}
+
+
+	@Override
+	public double getMaxX() {
+		return points.getX(0) + getGridMaxX() * PPC;
+	}
+
+
+	@Override
+	public double getMaxY() {
+		return points.getY(0) - getGridMinY() * PPC;
 	}
 
 
@@ -128,48 +158,53 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	@Override
 	public void setLabelsSize(final int labelsSize) {
 		if(labelsSize >= 0) {
-			labelSize.set(labelsSize);
+			if(labelSizeProp == null) {
+				labelSize = labelsSize;
+				shapeChanged();
+			}else {
+				labelSizeProp.set(labelsSize);
+			}
 		}
 	}
 
 
 	@Override
 	public double getGridEndX() {
-		return gridEndx.get();
+		return gridEndxProp == null ? gridEndx : gridEndxProp.get();
 	}
 
 
 	@Override
 	public double getGridEndY() {
-		return gridEndy.get();
+		return gridEndyProp == null ? gridEndy : gridEndyProp.get();
 	}
 
 	@Override
 	public double getGridStartX() {
-		return gridStartx.get();
+		return gridStartxProp == null ? gridStartx : gridStartxProp.get();
 	}
 
 
 	@Override
 	public double getGridStartY() {
-		return gridStarty.get();
+		return gridStartyProp == null ? gridStarty : gridStartyProp.get();
 	}
 
 
 	@Override
 	public int getLabelsSize() {
-		return labelSize.get();
+		return labelSizeProp == null ? labelSize : labelSizeProp.get();
 	}
 
 
 	@Override
 	public double getOriginX() {
-		return originx.get();
+		return originxProp == null ? originx : originxProp.get();
 	}
 
 	@Override
 	public double getOriginY() {
-		return originy.get();
+		return originyProp == null ? originy : originyProp.get();
 	}
 
 
@@ -183,7 +218,12 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	@Override
 	public void setGridEndX(final double x) {
 		if(x >= getGridStartX() && MathUtils.INST.isValidCoord(x)) {
-			gridEndx.set(x);
+			if(gridEndxProp == null) {
+				gridEndx = x;
+				shapeChanged();
+			}else {
+				gridEndxProp.set(x);
+			}
 		}
 	}
 
@@ -191,7 +231,12 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	@Override
 	public void setGridEndY(final double y) {
 		if(y >= getGridStartY() && MathUtils.INST.isValidCoord(y)) {
-			gridEndy.set(y);
+			if(gridEndyProp == null) {
+				gridEndy = y;
+				shapeChanged();
+			}else {
+				gridEndyProp.set(y);
+			}
 		}
 	}
 
@@ -206,7 +251,12 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	@Override
 	public void setGridStartX(final double x) {
 		if(x <= getGridEndX() && MathUtils.INST.isValidCoord(x)) {
-			gridStartx.set(x);
+			if(gridStartxProp == null) {
+				gridStartx = x;
+				shapeChanged();
+			}else {
+				gridStartxProp.set(x);
+			}
 		}
 	}
 
@@ -214,7 +264,12 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	@Override
 	public void setGridStartY(final double y) {
 		if(y <= getGridEndY() && MathUtils.INST.isValidCoord(y)) {
-			gridStarty.set(y);
+			if(gridStartyProp == null) {
+				gridStarty = y;
+				shapeChanged();
+			}else {
+				gridStartyProp.set(y);
+			}
 		}
 	}
 
@@ -229,7 +284,12 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	@Override
 	public void setOriginX(final double x) {
 		if(MathUtils.INST.isValidCoord(x)) {
-			originx.set(x);
+			if(originxProp == null) {
+				originx = x;
+				shapeChanged();
+			}else {
+				originxProp.set(x);
+			}
 		}
 	}
 
@@ -237,7 +297,12 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	@Override
 	public void setOriginY(final double y) {
 		if(MathUtils.INST.isValidCoord(y)) {
-			originy.set(y);
+			if(originyProp == null) {
+				originy = y;
+				shapeChanged();
+			}else {
+				originyProp.set(y);
+			}
 		}
 	}
 
@@ -248,16 +313,41 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 
 		if(s instanceof IStdGridProp) {
 			final IStdGridProp grid = (IStdGridProp) s;
-			gridEndx.set(grid.getGridEndX());
-			gridEndy.set(grid.getGridEndY());
-			gridStartx.set(grid.getGridStartX());
-			gridStarty.set(grid.getGridStartY());
-			originx.set(grid.getOriginX());
-			originy.set(grid.getOriginY());
+			gridEndx = grid.getGridEndX();
+			gridEndy = grid.getGridEndY();
+			gridStartx = grid.getGridStartX();
+			gridStarty = grid.getGridStartY();
+			originx = grid.getOriginX();
+			originy = grid.getOriginY();
+			updateCreatedProperties();
 			setLabelsSize(grid.getLabelsSize());
 		}
 	}
 
+	/**
+	 * Sets the properties already created to the values of their attributes.
+	 */
+	private void updateCreatedProperties() {
+		if(gridEndxProp != null) {
+			gridEndxProp.set(gridEndx);
+		}
+		if(gridEndyProp != null) {
+			gridEndyProp.set(gridEndy);
+		}
+		if(gridStartxProp != null) {
+			gridStartxProp.set(gridStartx);
+		}
+		if(gridStartyProp != null) {
+			gridStartyProp.set(gridStarty);
+		}
+		if(originxProp != null) {
+			originxProp.set(originx);
+		}
+		if(originyProp != null) {
+			originyProp.set(originy);
+		}
+	}
+
 
 	@Override
 	public IPoint getGridStart() {
@@ -270,39 +360,79 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 		return ShapeFactory.INST.createPoint(getGridEndX(), getGridEndY());
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		labelsSizeProperty();
+		gridStartXProperty();
+		gridStartYProperty();
+		gridEndXProperty();
+		gridEndYProperty();
+		originXProperty();
+		originYProperty();
+	}
+
 	@Override
 	public IntegerProperty labelsSizeProperty() {
-		return labelSize;
+		if(labelSizeProp == null) {
+			labelSizeProp = new SimpleIntegerProperty(labelSize);
+			labelSizeProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return labelSizeProp;
 	}
 
 	@Override
 	public DoubleProperty gridStartXProperty() {
-		return gridStartx;
+		if(gridStartxProp == null) {
+			gridStartxProp = new SimpleDoubleProperty(gridStartx);
+			gridStartxProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gridStartxProp;
 	}
 
 	@Override
 	public DoubleProperty gridStartYProperty() {
-		return gridStarty;
+		if(gridStartyProp == null) {
+			gridStartyProp = new SimpleDoubleProperty(gridStarty);
+			gridStartyProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gridStartyProp;
 	}
 
 	@Override
 	public DoubleProperty gridEndXProperty() {
-		return gridEndx;
+		if(gridEndxProp == null) {
+			gridEndxProp = new SimpleDoubleProperty(gridEndx);
+			gridEndxProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gridEndxProp;
 	}
 
 	@Override
 	public DoubleProperty gridEndYProperty() {
-		return gridEndy;
+		if(gridEndyProp == null) {
+			gridEndyProp = new SimpleDoubleProperty(gridEndy);
+			gridEndyProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gridEndyProp;
 	}
 
 	@Override
 	public DoubleProperty originXProperty() {
-		return originx;
+		if(originxProp == null) {
+			originxProp = new SimpleDoubleProperty(originx);
+			originxProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return originxProp;
 	}
 
 	@Override
 	public DoubleProperty originYProperty() {
-		return originy;
+		if(originyProp == null) {
+			originyProp = new SimpleDoubleProperty(originy);
+			originyProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return originyProp;
 	}
 
 	@Override
@@ -28,27 +28,49 @@ import net.sf.latexdraw.view.pst.PSTricksConstants;
  */
 class LArrow implements IArrow {
 	/** The style of the arrow. */
-	private final ObjectProperty<ArrowStyle> style;
+	private ArrowStyle style;
+	/** The style property, created on demand. */
+	private ObjectProperty<ArrowStyle> styleProp;
 	/** The latex parameter arrowSize num. */
-	private final DoubleProperty arrowSizeDim;
+	private double arrowSizeDim;
+	/** The arrowSizeDim property, created on demand. */
+	private DoubleProperty arrowSizeDimProp;
 	/** The latex parameter arrowSize num. */
-	private final DoubleProperty arrowSizeNum;
+	private double arrowSizeNum;
+	/** The arrowSizeNum property, created on demand. */
+	private DoubleProperty arrowSizeNumProp;
 	/** The length of the arrow. */
-	private final DoubleProperty arrowLength;
+	private double arrowLength;
+	/** The arrowLength property, created on demand. */
+	private DoubleProperty arrowLengthProp;
 	/** The inset of the arrow. */
-	private final DoubleProperty arrowInset;
+	private double arrowInset;
+	/** The arrowInset property, created on demand. */
+	private DoubleProperty arrowInsetProp;
 	/** The latex parameter dotsize dim. */
-	private final DoubleProperty dotSizeDim;
+	private double dotSizeDim;
+	/** The dotSizeDim property, created on demand. */
+	private DoubleProperty dotSizeDimProp;
 	/** The latex parameter dotsize num. */
-	private final DoubleProperty dotSizeNum;
+	private double dotSizeNum;
+	/** The dotSizeNum property, created on demand. */
+	private DoubleProperty dotSizeNumProp;
 	/** The latex parameter tbarsize num. */
-	private final DoubleProperty tBarSizeDim;
+	private double tBarSizeDim;
+	/** The tBarSizeDim property, created on demand. */
+	private DoubleProperty tBarSizeDimProp;
 	/** The latex parameter tbarsize num. */
-	private final DoubleProperty tBarSizeNum;
+	private double tBarSizeNum;
+	/** The tBarSizeNum property, created on demand. */
+	private DoubleProperty tBarSizeNumProp;
 	/** The latex parameter bracket num. */
-	private final DoubleProperty bracketNum;
+	private double bracketNum;
+	/** The bracketNum property, created on demand. */
+	private DoubleProperty bracketNumProp;
 	/** The latex parameter rbracket num. */
-	private final DoubleProperty rBracketNum;
+	private double rBracketNum;
+	/** The rBracketNum property, created on demand. */
+	private DoubleProperty rBracketNumProp;
 	/** The owner of the arrow. */
 	private final IArrowableSingleShape owner;
 
@@ -63,17 +85,17 @@ class LArrow implements IArrow {
 	LArrow(final IArrowableSingleShape arrowOwner) {
 		super();
 		owner = Objects.requireNonNull(arrowOwner);
-		style = new SimpleObjectProperty<>(ArrowStyle.NONE);
-		arrowInset = new SimpleDoubleProperty(0d);
-		arrowLength = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_LENGTH);
-		arrowSizeDim = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_SIZE_DIM * IShape.PPC);
-		arrowSizeNum = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_SIZE_NUM);
-		dotSizeDim = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_DOTSIZE_DIM * IShape.PPC);
-		dotSizeNum = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_DOTSIZE_NUM);
-		tBarSizeDim = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_TBARSIZE_DIM * IShape.PPC);
-		tBarSizeNum = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_TBARSIZE_NUM);
-		bracketNum = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_BRACKET_LGTH);
-		rBracketNum = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_RBRACKET_LGTH);
+		style = ArrowStyle.NONE;
+		arrowInset = 0d;
+		arrowLength = PSTricksConstants.DEFAULT_ARROW_LENGTH;
+		arrowSizeDim = PSTricksConstants.DEFAULT_ARROW_SIZE_DIM * IShape.PPC;
+		arrowSizeNum = PSTricksConstants.DEFAULT_ARROW_SIZE_NUM;
+		dotSizeDim = PSTricksConstants.DEFAULT_ARROW_DOTSIZE_DIM * IShape.PPC;
+		dotSizeNum = PSTricksConstants.DEFAULT_ARROW_DOTSIZE_NUM;
+		tBarSizeDim = PSTricksConstants.DEFAULT_ARROW_TBARSIZE_DIM * IShape.PPC;
+		tBarSizeNum = PSTricksConstants.DEFAULT_ARROW_TBARSIZE_NUM;
+		bracketNum = PSTricksConstants.DEFAULT_ARROW_BRACKET_LGTH;
+		rBracketNum = PSTricksConstants.DEFAULT_ARROW_RBRACKET_LGTH;
 	}
 
 
@@ -93,17 +115,58 @@ class LArrow implements IArrow {
 		if(model == null) {
 			return;
 		}
-		arrowInset.set(model.getArrowInset());
-		arrowLength.set(model.getArrowLength());
-		arrowSizeDim.set(model.getArrowSizeDim());
-		arrowSizeNum.set(model.getArrowSizeNum());
-		bracketNum.set(model.getBracketNum());
-		dotSizeDim.set(model.getDotSizeDim());
-		dotSizeNum.set(model.getDotSizeNum());
-		rBracketNum.set(model.getRBracketNum());
-		style.set(model.getArrowStyle());
-		tBarSizeDim.set(model.getTBarSizeDim());
-		tBarSizeNum.set(model.getTBarSizeNum());
+		arrowInset = model.getArrowInset();
+		arrowLength = model.getArrowLength();
+		arrowSizeDim = model.getArrowSizeDim();
+		arrowSizeNum = model.getArrowSizeNum();
+		bracketNum = model.getBracketNum();
+		dotSizeDim = model.getDotSizeDim();
+		dotSizeNum = model.getDotSizeNum();
+		rBracketNum = model.getRBracketNum();
+		style = model.getArrowStyle();
+		tBarSizeDim = model.getTBarSizeDim();
+		tBarSizeNum = model.getTBarSizeNum();
+		updateCreatedProperties();
+		notifyOnChanged();
+	}
+
+	/**
+	 * Sets the properties already created to the values of their attributes.
+	 */
+	private void updateCreatedProperties() {
+		if(arrowInsetProp != null) {
+			arrowInsetProp.set(arrowInset);
+		}
+		if(arrowLengthProp != null) {
+			arrowLengthProp.set(arrowLength);
+		}
+		if(arrowSizeDimProp != null) {
+			arrowSizeDimProp.set(arrowSizeDim);
+		}
+		if(arrowSizeNumProp != null) {
+			arrowSizeNumProp.set(arrowSizeNum);
+		}
+		if(bracketNumProp != null) {
+			bracketNumProp.set(bracketNum);
+		}
+		if(dotSizeDimProp != null) {
+			dotSizeDimProp.set(dotSizeDim);
+		}
+		if(dotSizeNumProp != null) {
+			dotSizeNumProp.set(dotSizeNum);
+		}
+		if(rBracketNumProp != null) {
+			rBracketNumProp.set(rBracketNum);
+		}
+		if(styleProp != null) {
+			styleProp.set(style);
+		}
+		if(tBarSizeDimProp != null) {
+			tBarSizeDimProp.set(tBarSizeDim);
+		}
+		if(tBarSizeNumProp != null) {
+			tBarSizeNumProp.set(tBarSizeNum);
+		}
 	}
 
 	@Override
@@ -113,31 +176,31 @@ class LArrow implements IArrow {
 
 	@Override
 	public double getRoundShapedArrowRadius() {
-		return (dotSizeDim.get() + dotSizeNum.get() * getLineThickness()) / 2d;
+		return (getDotSizeDim() + getDotSizeNum() * getLineThickness()) / 2d;
 	}
 
 
 	@Override
 	public double getBarShapedArrowWidth() {
-		return tBarSizeDim.get() + tBarSizeNum.get() * getLineThickness();
+		return getTBarSizeDim() + getTBarSizeNum() * getLineThickness();
 	}
 
 
 	@Override
 	public double getBracketShapedArrowLength() {
-		return bracketNum.get() * getBarShapedArrowWidth();
+		return getBracketNum() * getBarShapedArrowWidth();
 	}
 
 
 	@Override
 	public double getArrowShapeLength() {
-		switch(style.get()) {
+		switch(getArrowStyle()) {
 			case LEFT_ARROW:
 			case RIGHT_ARROW:
-				return getArrowShapedWidth() * arrowLength.get();
+				return getArrowShapedWidth() * getArrowLength();
 			case LEFT_DBLE_ARROW:
 			case RIGHT_DBLE_ARROW:
-				return getArrowShapedWidth() * arrowLength.get() * 2d;
+				return getArrowShapedWidth() * getArrowLength() * 2d;
 			case ROUND_IN:
 				return getShape().getFullThickness() / 2d;
 			case LEFT_SQUARE_BRACKET:
@@ -154,7 +217,7 @@ class LArrow implements IArrow {
 
 	@Override
 	public double getArrowShapedWidth() {
-		return arrowSizeNum.get() * getLineThickness() + arrowSizeDim.get();
+		return getArrowSizeNum() * getLineThickness() + getArrowSizeDim();
 	}
 
 	@Override
@@ -169,47 +232,47 @@ class LArrow implements IArrow {
 
 	@Override
 	public double getArrowInset() {
-		return arrowInset.get();
+		return arrowInsetProp == null ? arrowInset : arrowInsetProp.get();
 	}
 
 	@Override
 	public double getArrowLength() {
-		return arrowLength.get();
+		return arrowLengthProp == null ? arrowLength : arrowLengthProp.get();
 	}
 
 	@Override
 	public double getArrowSizeDim() {
-		return arrowSizeDim.get();
+		return arrowSizeDimProp == null ? arrowSizeDim : arrowSizeDimProp.get();
 	}
 
 	@Override
 	public double getArrowSizeNum() {
-		return arrowSizeNum.get();
+		return arrowSizeNumProp == null ? arrowSizeNum : arrowSizeNumProp.get();
 	}
 
 	@Override
 	public ArrowStyle getArrowStyle() {
-		return style.get();
+		return styleProp == null ? style : styleProp.get();
 	}
 
 	@Override
 	public double getBracketNum() {
-		return bracketNum.get();
+		return bracketNumProp == null ? bracketNum : bracketNumProp.get();
 	}
 
 	@Override
 	public double getDotSizeDim() {
-		return dotSizeDim.get();
+		return dotSizeDimProp == null ? dotSizeDim : dotSizeDimProp.get();
 	}
 
 	@Override
 	public double getDotSizeNum() {
-		return dotSizeNum.get();
+		return dotSizeNumProp == null ? dotSizeNum : dotSizeNumProp.get();
 	}
 
 	@Override
 	public double getRBracketNum() {
-		return rBracketNum.get();
+		return rBracketNumProp == null ? rBracketNum : rBracketNumProp.get();
 	}
 
 	@Override
@@ -219,17 +282,17 @@ class LArrow implements IArrow {
 
 	@Override
 	public double getTBarSizeDim() {
-		return tBarSizeDim.get();
+		return tBarSizeDimProp == null ? tBarSizeDim : tBarSizeDimProp.get();
 	}
 
 	@Override
 	public double getTBarSizeNum() {
-		return tBarSizeNum.get();
+		return tBarSizeNumProp == null ? tBarSizeNum : tBarSizeNumProp.get();
 	}
 
 	@Override
 	public boolean isInverted() {
-		return isLeftArrow() == style.get().isRightStyle();
+		return isLeftArrow() == getArrowStyle().isRightStyle();
 	}
 
 	@Override
@@ -239,38 +302,54 @@ class LArrow implements IArrow {
 
 	@Override
 	public boolean hasStyle() {
-		return style.get() != ArrowStyle.NONE;
+		return getArrowStyle() != ArrowStyle.NONE;
 	}
 
 	@Override
 	public void setArrowInset(final double inset) {
 		if(inset >= 0d) {
-			arrowInset.set(inset);
-			notifyOnChanged();
+			if(arrowInsetProp == null) {
+				arrowInset = inset;
+				notifyOnChanged();
+			}else {
+				arrowInsetProp.set(inset);
+			}
 		}
 	}
 
 	@Override
 	public void setArrowLength(final double lgth) {
 		if(lgth >= 0d) {
-			arrowLength.set(lgth);
-			notifyOnChanged();
+			if(arrowLengthProp == null) {
+				arrowLength = lgth;
+				notifyOnChanged();
+			}else {
+				arrowLengthProp.set(lgth);
+			}
 		}
 	}
 
 	@Override
 	public void setArrowSizeDim(final double size) {
 		if(size > 0d) {
-			arrowSizeDim.set(size);
-			notifyOnChanged();
+			if(arrowSizeDimProp == null) {
+				arrowSizeDim = size;
+				notifyOnChanged();
+			}else {
+				arrowSizeDimProp.set(size);
+			}
 		}
 	}
 
 	@Override
 	public void setArrowSizeNum(final double size) {
 		if(size >= 0d) {
-			arrowSizeNum.set(size);
-			notifyOnChanged();
+			if(arrowSizeNumProp == null) {
+				arrowSizeNum = size;
+				notifyOnChanged();
+			}else {
+				arrowSizeNumProp.set(size);
+			}
 		}
 	}
 
@@ -278,112 +357,201 @@ class LArrow implements IArrow {
 	@Override
 	public void setArrowStyle(final ArrowStyle arrowStyle) {
 		if(arrowStyle != null) {
-			style.set(arrowStyle);
-			notifyOnChanged();
+			if(styleProp == null) {
+				style = arrowStyle;
+				notifyOnChanged();
+			}else {
+				styleProp.set(arrowStyle);
+			}
 		}
 	}
 
 	@Override
 	public void setBracketNum(final double brack) {
 		if(brack >= 0d) {
-			bracketNum.set(brack);
-			notifyOnChanged();
+			if(bracketNumProp == null) {
+				bracketNum = brack;
+				notifyOnChanged();
+			}else {
+				bracketNumProp.set(brack);
+			}
 		}
 	}
 
 	@Override
 	public void setDotSizeDim(final double dot) {
 		if(dot > 0d) {
-			dotSizeDim.set(dot);
-			notifyOnChanged();
+			if(dotSizeDimProp == null) {
+				dotSizeDim = dot;
+				notifyOnChanged();
+			}else {
+				dotSizeDimProp.set(dot);
+			}
 		}
 	}
 
 	@Override
 	public void setDotSizeNum(final double dot) {
 		if(dot >= 0.1) {
-			dotSizeNum.set(dot);
-			notifyOnChanged();
+			if(dotSizeNumProp == null) {
+				dotSizeNum = dot;
+				notifyOnChanged();
+			}else {
+				dotSizeNumProp.set(dot);
+			}
 		}
 	}
 
 	@Override
 	public void setRBracketNum(final double brack) {
 		if(brack >= 0d) {
-			rBracketNum.set(brack);
-			notifyOnChanged();
+			if(rBracketNumProp == null) {
+				rBracketNum = brack;
+				notifyOnChanged();
+			}else {
+				rBracketNumProp.set(brack);
+			}
 		}
 	}
 
 	@Override
 	public void setTBarSizeDim(final double tbarSizeDim) {
 		if(tbarSizeDim > 0d) {
-			tBarSizeDim.set(tbarSizeDim);
-			notifyOnChanged();
+			if(tBarSizeDimProp == null) {
+				tBarSizeDim = tbarSizeDim;
+				notifyOnChanged();
+			}else {
+				tBarSizeDimProp.set(tbarSizeDim);
+			}
 		}
 	}
 
 	@Override
 	public void setTBarSizeNum(final double tBarSizeNum) {
 		if(tBarSizeNum >= 0d) {
-			this.tBarSizeNum.set(tBarSizeNum);
-			notifyOnChanged();
+			if(tBarSizeNumProp == null) {
+				this.tBarSizeNum = tBarSizeNum;
+				notifyOnChanged();
+			}else {
+				tBarSizeNumProp.set(tBarSizeNum);
+			}
 		}
 	}
 
+	/**
+	 * Creates all the JFX properties of the arrow, that are otherwise created on demand.
+	 */
+	void createProperties() {
+		styleProperty();
+		arrowSizeDimProperty();
+		arrowSizeNumProperty();
+		arrowLengthProperty();
+		arrowInsetProperty();
+		dotSizeDimProperty();
+		dotSizeNumProperty();
+		tBarSizeDimProperty();
+		tBarSizeNumProperty();
+		bracketNumProperty();
+		rBracketNumProperty();
+	}
+
 	@Override
 	public ObjectProperty<ArrowStyle> styleProperty() {
-		return style;
+		if(styleProp == null) {
+			styleProp = new SimpleObjectProperty<>(style);
+			styleProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return styleProp;
 	}
 
 	@Override
 	public DoubleProperty arrowSizeDimProperty() {
-		return arrowSizeDim;
+		if(arrowSizeDimProp == null) {
+			arrowSizeDimProp = new SimpleDoubleProperty(arrowSizeDim);
+			arrowSizeDimProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return arrowSizeDimProp;
 	}
 
 	@Override
 	public DoubleProperty arrowSizeNumProperty() {
-		return arrowSizeNum;
+		if(arrowSizeNumProp == null) {
+			arrowSizeNumProp = new SimpleDoubleProperty(arrowSizeNum);
+			arrowSizeNumProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return arrowSizeNumProp;
 	}
 
 	@Override
 	public DoubleProperty arrowLengthProperty() {
-		return arrowLength;
+		if(arrowLengthProp == null) {
+			arrowLengthProp = new SimpleDoubleProperty(arrowLength);
+			arrowLengthProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return arrowLengthProp;
 	}
 
 	@Override
 	public DoubleProperty arrowInsetProperty() {
-		return arrowInset;
+		if(arrowInsetProp == null) {
+			arrowInsetProp = new SimpleDoubleProperty(arrowInset);
+			arrowInsetProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return arrowInsetProp;
 	}
 
 	@Override
 	public DoubleProperty dotSizeDimProperty() {
-		return dotSizeDim;
+		if(dotSizeDimProp == null) {
+			dotSizeDimProp = new SimpleDoubleProperty(dotSizeDim);
+			dotSizeDimProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return dotSizeDimProp;
 	}
 
 	@Override
 	public DoubleProperty dotSizeNumProperty() {
-		return dotSizeNum;
+		if(dotSizeNumProp == null) {
+			dotSizeNumProp = new SimpleDoubleProperty(dotSizeNum);
+			dotSizeNumProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return dotSizeNumProp;
 	}
 
 	@Override
 	public DoubleProperty tBarSizeDimProperty() {
-		return tBarSizeDim;
+		if(tBarSizeDimProp == null) {
+			tBarSizeDimProp = new SimpleDoubleProperty(tBarSizeDim);
+			tBarSizeDimProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return tBarSizeDimProp;
 	}
 
 	@Override
 	public DoubleProperty tBarSizeNumProperty() {
-		return tBarSizeNum;
+		if(tBarSizeNumProp == null) {
+			tBarSizeNumProp = new SimpleDoubleProperty(tBarSizeNum);
+			tBarSizeNumProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return tBarSizeNumProp;
 	}
 
 	@Override
 	public DoubleProperty bracketNumProperty() {
-		return bracketNum;
+		if(bracketNumProp == null) {
+			bracketNumProp = new SimpleDoubleProperty(bracketNum);
+			bracketNumProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return bracketNumProp;
 	}
 
 	@Override
 	public DoubleProperty rBracketNumProperty() {
-		return rBracketNum;
+		if(rBracketNumProp == null) {
+			rBracketNumProp = new SimpleDoubleProperty(rBracketNum);
+			rBracketNumProp.addListener((obs, oldValue, newValue) -> notifyOnChanged());
+		}
+		return rBracketNumProp;
 	}
 
 	//TODO remove
@@ -391,5 +559,8 @@ class LArrow implements IArrow {
 		if(onChanged != null) {
 			onChanged.run();
 		}
+		if(owner instanceof LShape) {
+			((LShape) owner).boundsChanged();
+		}
 	}
 }
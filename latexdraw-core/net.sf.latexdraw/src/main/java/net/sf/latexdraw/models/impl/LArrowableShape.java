@@ -59,6 +59,17 @@ interface LArrowableShape extends IArrowableSingleShape {
 		return arrows.get(position);
 	}
 
+	/**
+	 * Creates all the JFX properties of the arrows, that are otherwise created on demand.
+	 */
+	default void createArrowsProperties() {
+		getArrows().forEach(arr -> {
+			if(arr instanceof LArrow) {
+				((LArrow) arr).createProperties();
+			}
+		});
+	}
+
 	@Override
 	default int getArrowIndex(final IArrow arrow) {
 		return getArrows().indexOf(arrow);
@@ -39,25 +39,45 @@ import net.sf.latexdraw.view.pst.PSTricksConstants;
 class LAxes extends LAbstractGrid implements IAxes, LArrowableShape {
 	private final List<IArrow> arrows;
 	/** The increment of X axe (Dx in PST). */
-	private final DoubleProperty incrementX;
+	private double incrementX;
+	/** The incrementX property, created on demand. */
+	private DoubleProperty incrementXProp;
 	/** The increment of Y axe (Dy in PST). */
-	private final DoubleProperty incrementY;
+	private double incrementY;
+	/** The incrementY property, created on demand. */
+	private DoubleProperty incrementYProp;
 	/** The distance between each label of the X axe; if 0, the default value will be used (in cm). */
-	private final DoubleProperty distLabelsX;
+	private double distLabelsX;
+	/** The distLabelsX property, created on demand. */
+	private DoubleProperty distLabelsXProp;
 	/** The distance between each label of the Y axe; if 0, the default value will be used (in cm). */
-	private final DoubleProperty distLabelsY;
+	private double distLabelsY;
+	/** The distLabelsY property, created on demand. */
+	private DoubleProperty distLabelsYProp;
 	/** Define which labels must be displayed. */
-	private final ObjectProperty<PlottingStyle> labelsDisplayed;
+	private PlottingStyle labelsDisplayed;
+	/** The labelsDisplayed property, created on demand. */
+	private ObjectProperty<PlottingStyle> labelsDisplayedProp;
 	/** Define the origin must be shown. */
-	private final BooleanProperty showOrigin;
+	private boolean showOrigin;
+	/** The showOrigin property, created on demand. */
+	private BooleanProperty showOriginProp;
 	/** Define how the ticks must be shown. */
-	private final ObjectProperty<PlottingStyle> ticksDisplayed;
+	private PlottingStyle ticksDisplayed;
+	/** The ticksDisplayed property, created on demand. */
+	private ObjectProperty<PlottingStyle> ticksDisplayedProp;
 	/** Define the style of the ticks. */
-	private final ObjectProperty<TicksStyle> ticksStyle;
+	private TicksStyle ticksStyle;
+	/** The ticksStyle property, created on demand. */
+	private ObjectProperty<TicksStyle> ticksStyleProp;
 	/** The size of the ticks. */
-	private final DoubleProperty ticksSize;
+	private double ticksSize;
+	/** The ticksSize property, created on demand. */
+	private DoubleProperty ticksSizeProp;
 	/** The style of the axes. */
-	private final ObjectProperty<AxesStyle> axesStyle;
+	private AxesStyle axesStyle;
+	/** The axesStyle property, created on demand. */
+	private ObjectProperty<AxesStyle> axesStyleProp;
 
 	LAxes(final IPoint pt) {
 		super(pt);
@@ -70,16 +90,16 @@ class LAxes extends LAbstractGrid implements IAxes, LArrowableShape {
 			ShapeFactory.INST.createArrow(this),
 			// The top arrow of the Y-axis.
 			ShapeFactory.INST.createArrow(this));
-		incrementX = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DX);
-		incrementY = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DY);
-		distLabelsX = new SimpleDoubleProperty(1d);
-		distLabelsY = new SimpleDoubleProperty(1d);
-		labelsDisplayed = new SimpleObjectProperty<>(PlottingStyle.ALL);
-		showOrigin = new SimpleBooleanProperty(true);
-		ticksDisplayed = new SimpleObjectProperty<>(PlottingStyle.ALL);
-		ticksStyle = new SimpleObjectProperty<>(TicksStyle.FULL);
-		ticksSize = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_TICKS_SIZE * IShape.PPC);
-		axesStyle = new SimpleObjectProperty<>(AxesStyle.AXES);
+		incrementX = PSTricksConstants.DEFAULT_DX;
+		incrementY = PSTricksConstants.DEFAULT_DY;
+		distLabelsX = 1d;
+		distLabelsY = 1d;
+		labelsDisplayed = PlottingStyle.ALL;
+		showOrigin = true;
+		ticksDisplayed = PlottingStyle.ALL;
+		ticksStyle = TicksStyle.FULL;
+		ticksSize = PSTricksConstants.DEFAULT_TICKS_SIZE * IShape.PPC;
+		axesStyle = AxesStyle.AXES;
 	}
 
 
@@ -183,69 +203,89 @@ class LAxes extends LAbstractGrid implements IAxes, LArrowableShape {
 
 	@Override
 	public AxesStyle getAxesStyle() {
-		return axesStyle.getValue();
+		return axesStyleProp == null ? axesStyle : axesStyleProp.get();
 	}
 
 	@Override
 	public double getDistLabelsX() {
-		return distLabelsX.get();
+		return distLabelsXProp == null ? distLabelsX : distLabelsXProp.get();
 	}
 
 	@Override
 	public double getDistLabelsY() {
-		return distLabelsY.get();
+		return distLabelsYProp == null ? distLabelsY : distLabelsYProp.get();
 	}
 
 	@Override
 	public PlottingStyle getLabelsDisplayed() {
-		return labelsDisplayed.getValue();
+		return labelsDisplayedProp == null ? labelsDisplayed : labelsDisplayedProp.get();
 	}
 
 	@Override
 	public PlottingStyle getTicksDisplayed() {
-		return ticksDisplayed.getValue();
+		return ticksDisplayedProp == null ? ticksDisplayed : ticksDisplayedProp.get();
 	}
 
 	@Override
 	public double getTicksSize() {
-		return ticksSize.get();
+		return ticksSizeProp == null ? ticksSize : ticksSizeProp.get();
 	}
 
 	@Override
 	public TicksStyle getTicksStyle() {
-		return ticksStyle.getValue();
+		return ticksStyleProp == null ? ticksStyle : ticksStyleProp.get();
 	}
 
 	@Override
 	public boolean isShowOrigin() {
-		return showOrigin.get();
+		return showOriginProp == null ? showOrigin : showOriginProp.get();
 	}
 
 	@Override
 	public void setAxesStyle(final AxesStyle style) {
 		if(style != null) {
-			axesStyle.set(style);
+			if(axesStyleProp == null) {
+				axesStyle = style;
+				shapeChanged();
+			}else {
+				axesStyleProp.set(style);
+			}
 		}
 	}
 
 	@Override
 	public void setDistLabelsX(final double distX) {
 		if(distX > 0d && MathUtils.INST.isValidCoord(distX)) {
-			distLabelsX.set(distX);
+			if(distLabelsXProp == null) {
+				distLabelsX = distX;
+				shapeChanged();
+			}else {
+				distLabelsXProp.set(distX);
+			}
 		}
 	}
 
 	@Override
 	public void setDistLabelsY(final double distY) {
 		if(distY > 0d && MathUtils.INST.isValidCoord(distY)) {
-			distLabelsY.set(distY);
+			if(distLabelsYProp == null) {
+				distLabelsY = distY;
+				shapeChanged();
+			}else {
+				distLabelsYProp.set(distY);
+			}
 		}
 	}
 
 	@Override
 	public void setIncrementX(final double incr) {
 		if(incr > 0d && MathUtils.INST.isValidCoord(incr)) {
-			incrementX.set(incr);
+			if(incrementXProp == null) {
+				incrementX = incr;
+				shapeChanged();
+			}else {
+				incrementXProp.set(incr);
+			}
 		}
 	}
 
@@ -253,40 +293,70 @@ class LAxes extends LAbstractGrid implements IAxes, LArrowableShape {
 	@Override
 	public void setIncrementY(final double incr) {
 		if(incr > 0d && MathUtils.INST.isValidCoord(incr)) {
-			incrementY.set(incr);
+			if(incrementYProp == null) {
+				incrementY = incr;
+				shapeChanged();
+			}else {
+				incrementYProp.set(incr);
+			}
 		}
 	}
 
 	@Override
 	public void setLabelsDisplayed(final PlottingStyle style) {
 		if(style != null) {
-			labelsDisplayed.set(style);
+			if(labelsDisplayedProp == null) {
+				labelsDisplayed = style;
+				shapeChanged();
+			}else {
+				labelsDisplayedProp.set(style);
+			}
 		}
 	}
 
 	@Override
 	public void setShowOrigin(final boolean show) {
-		showOrigin.set(show);
+		if(showOriginProp == null) {
+			showOrigin = show;
+			shapeChanged();
+		}else {
+			showOriginProp.set(show);
+		}
 	}
 
 	@Override
 	public void setTicksDisplayed(final PlottingStyle style) {
 		if(style != null) {
-			ticksDisplayed.set(style);
+			if(ticksDisplayedProp == null) {
+				ticksDisplayed = style;
+				shapeChanged();
+			}else {
+				ticksDisplayedProp.set(style);
+			}
 		}
 	}
 
 	@Override
 	public void setTicksSize(final double ticks) {
 		if(ticks > 0d && MathUtils.INST.isValidCoord(ticks)) {
-			ticksSize.set(ticks);
+			if(ticksSizeProp == null) {
+				ticksSize = ticks;
+				shapeChanged();
+			}else {
+				ticksSizeProp.set(ticks);
+			}
 		}
 	}
 
 	@Override
 	public void setTicksStyle(final TicksStyle style) {
 		if(style != null) {
-			ticksStyle.set(style);
+			if(ticksStyleProp == null) {
+				ticksStyle = style;
+				shapeChanged();
+			}else {
+				ticksStyleProp.set(style);
+			}
 		}
 	}
 
@@ -307,12 +377,12 @@ class LAxes extends LAbstractGrid implements IAxes, LArrowableShape {
 
 	@Override
 	public double getIncrementX() {
-		return incrementX.get();
+		return incrementXProp == null ? incrementX : incrementXProp.get();
 	}
 
 	@Override
 	public double getIncrementY() {
-		return incrementY.get();
+		return incrementYProp == null ? incrementY : incrementYProp.get();
 	}
 
 	@Override
@@ -346,53 +416,109 @@ class LAxes extends LAbstractGrid implements IAxes, LArrowableShape {
 		return arrows;
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		incrementXProperty();
+		incrementYProperty();
+		distLabelsXProperty();
+		distLabelsYProperty();
+		labelsDisplayedProperty();
+		showOriginProperty();
+		ticksDisplayedProperty();
+		ticksStyleProperty();
+		ticksSizeProperty();
+		axesStyleProperty();
+		createArrowsProperties();
+	}
+
 	@Override
 	public DoubleProperty incrementXProperty() {
-		return incrementX;
+		if(incrementXProp == null) {
+			incrementXProp = new SimpleDoubleProperty(incrementX);
+			incrementXProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return incrementXProp;
 	}
 
 	@Override
 	public DoubleProperty incrementYProperty() {
-		return incrementY;
+		if(incrementYProp == null) {
+			incrementYProp = new SimpleDoubleProperty(incrementY);
+			incrementYProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return incrementYProp;
 	}
 
 	@Override
 	public DoubleProperty distLabelsXProperty() {
-		return distLabelsX;
+		if(distLabelsXProp == null) {
+			distLabelsXProp = new SimpleDoubleProperty(distLabelsX);
+			distLabelsXProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return distLabelsXProp;
 	}
 
 	@Override
 	public DoubleProperty distLabelsYProperty() {
-		return distLabelsY;
+		if(distLabelsYProp == null) {
+			distLabelsYProp = new SimpleDoubleProperty(distLabelsY);
+			distLabelsYProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return distLabelsYProp;
 	}
 
 	@Override
 	public ObjectProperty<PlottingStyle> labelsDisplayedProperty() {
-		return labelsDisplayed;
+		if(labelsDisplayedProp == null) {
+			labelsDisplayedProp = new SimpleObjectProperty<>(labelsDisplayed);
+			labelsDisplayedProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return labelsDisplayedProp;
 	}
 
 	@Override
 	public BooleanProperty showOriginProperty() {
-		return showOrigin;
+		if(showOriginProp == null) {
+			showOriginProp = new SimpleBooleanProperty(showOrigin);
+			showOriginProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return showOriginProp;
 	}
 
 	@Override
 	public ObjectProperty<PlottingStyle> ticksDisplayedProperty() {
-		return ticksDisplayed;
+		if(ticksDisplayedProp == null) {
+			ticksDisplayedProp = new SimpleObjectProperty<>(ticksDisplayed);
+			ticksDisplayedProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return ticksDisplayedProp;
 	}
 
 	@Override
 	public ObjectProperty<TicksStyle> ticksStyleProperty() {
-		return ticksStyle;
+		if(ticksStyleProp == null) {
+			ticksStyleProp = new SimpleObjectProperty<>(ticksStyle);
+			ticksStyleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return ticksStyleProp;
 	}
 
 	@Override
 	public DoubleProperty ticksSizeProperty() {
-		return ticksSize;
+		if(ticksSizeProp == null) {
+			ticksSizeProp = new SimpleDoubleProperty(ticksSize);
+			ticksSizeProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return ticksSizeProp;
 	}
 
 	@Override
 	public ObjectProperty<AxesStyle> axesStyleProperty() {
-		return axesStyle;
+		if(axesStyleProp == null) {
+			axesStyleProp = new SimpleObjectProperty<>(axesStyle);
+			axesStyleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return axesStyleProp;
 	}
 }
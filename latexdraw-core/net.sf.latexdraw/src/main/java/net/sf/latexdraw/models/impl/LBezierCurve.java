@@ -29,7 +29,9 @@ import net.sf.latexdraw.models.interfaces.shape.IShape;
 class LBezierCurve extends LAbstractCtrlPointShape implements IBezierCurve, LArrowableShape {
 	private final List<IArrow> arrows;
 	/** Defines if the drawing is opened of closed. */
-	private final BooleanProperty open;
+	private boolean open;
+	/** The open property, created on demand. */
+	private BooleanProperty openProp;
 
 	/**
 	 * Creates a bezier curve with a set of points.
@@ -44,7 +46,7 @@ class LBezierCurve extends LAbstractCtrlPointShape implements IBezierCurve, LArr
 		arrows = new ArrayList<>();
 		arrows.add(ShapeFactory.INST.createArrow(this));
 		arrows.add(ShapeFactory.INST.createArrow(this));
-		open = new SimpleBooleanProperty(true);
+		open = true;
 	}
 
 	@Override
@@ -64,12 +66,17 @@ class LBezierCurve extends LAbstractCtrlPointShape implements IBezierCurve, LArr
 
 	@Override
 	public boolean isOpened() {
-		return open.get();
+		return openProp == null ? open : openProp.get();
 	}
 
 	@Override
 	public void setOpened(final boolean isOpen) {
-		open.set(isOpen);
+		if(openProp == null) {
+			open = isOpen;
+			shapeChanged();
+		}else {
+			openProp.set(isOpen);
+		}
 	}
 
 	@Override
@@ -113,8 +120,19 @@ class LBezierCurve extends LAbstractCtrlPointShape implements IBezierCurve, LArr
 		return arrows;
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		openedProperty();
+		createArrowsProperties();
+	}
+
 	@Override
 	public BooleanProperty openedProperty() {
-		return open;
+		if(openProp == null) {
+			openProp = new SimpleBooleanProperty(open);
+			openProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return openProp;
 	}
 }
@@ -33,19 +33,25 @@ import net.sf.latexdraw.models.interfaces.shape.IShape;
 class LCircleArc extends LSquaredShape implements ICircleArc, LArrowableShape {
 	private final List<IArrow> arrows;
 	/** The style of the arc. */
-	private final ObjectProperty<ArcStyle> style;
+	private ArcStyle style;
+	/** The style property, created on demand. */
+	private ObjectProperty<ArcStyle> styleProp;
 	/** The start angle of the arc. In radian. */
-	private final DoubleProperty startAngle;
+	private double startAngle;
+	/** The startAngle property, created on demand. */
+	private DoubleProperty startAngleProp;
 	/** The end angle of the arc. In radian. */
-	private final DoubleProperty endAngle;
+	private double endAngle;
+	/** The endAngle property, created on demand. */
+	private DoubleProperty endAngleProp;
 
 
 	LCircleArc(final IPoint tl, final double width) {
 		super(tl, width);
 		arrows = Arrays.asList(ShapeFactory.INST.createArrow(this), ShapeFactory.INST.createArrow(this));
-		style = new SimpleObjectProperty<>(ArcStyle.ARC);
-		startAngle = new SimpleDoubleProperty(0d);
-		endAngle = new SimpleDoubleProperty(3d * Math.PI / 2d);
+		style = ArcStyle.ARC;
+		startAngle = 0d;
+		endAngle = 3d * Math.PI / 2d;
 	}
 
 	@Override
@@ -54,9 +60,25 @@ class LCircleArc extends LSquaredShape implements ICircleArc, LArrowableShape {
 		LArrowableShape.super.copy(sh);
 		if(sh instanceof IArcProp) {
 			final IArcProp arc = (IArcProp) sh;
-			startAngle.set(arc.getAngleStart());
-			endAngle.set(arc.getAngleEnd());
-			style.set(arc.getArcStyle());
+			startAngle = arc.getAngleStart();
+			endAngle = arc.getAngleEnd();
+			style = arc.getArcStyle();
+			updateCreatedProperties();
+		}
+	}
+
+	/**
+	 * Sets the properties already created to the values of their attributes.
+	 */
+	private void updateCreatedProperties() {
+		if(startAngleProp != null) {
+			startAngleProp.set(startAngle);
+		}
+		if(endAngleProp != null) {
+			endAngleProp.set(endAngle);
+		}
+		if(styleProp != null) {
+			styleProp.set(style);
 		}
 	}
 
@@ -101,12 +123,12 @@ class LCircleArc extends LSquaredShape implements ICircleArc, LArrowableShape {
 
 	@Override
 	public double getAngleEnd() {
-		return endAngle.get();
+		return endAngleProp == null ? endAngle : endAngleProp.get();
 	}
 
 	@Override
 	public double getAngleStart() {
-		return startAngle.get();
+		return startAngleProp == null ? startAngle : startAngleProp.get();
 	}
 
 	@Override
@@ -126,27 +148,42 @@ class LCircleArc extends LSquaredShape implements ICircleArc, LArrowableShape {
 
 	@Override
 	public ArcStyle getArcStyle() {
-		return style.get();
+		return styleProp == null ? style : styleProp.get();
 	}
 
 	@Override
 	public void setAngleEnd(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle)) {
-			endAngle.set(angle);
+			if(endAngleProp == null) {
+				endAngle = angle;
+				shapeChanged();
+			}else {
+				endAngleProp.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setAngleStart(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle)) {
-			startAngle.set(angle);
+			if(startAngleProp == null) {
+				startAngle = angle;
+				shapeChanged();
+			}else {
+				startAngleProp.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setArcStyle(final ArcStyle arcStyle) {
 		if(arcStyle != null) {
-			style.set(arcStyle);
+			if(styleProp == null) {
+				style = arcStyle;
+				shapeChanged();
+			}else {
+				styleProp.set(arcStyle);
+			}
 		}
 	}
 
@@ -155,18 +192,39 @@ class LCircleArc extends LSquaredShape implements ICircleArc, LArrowableShape {
 		return arrows;
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		arcStyleProperty();
+		angleStartProperty();
+		angleEndProperty();
+		createArrowsProperties();
+	}
+
 	@Override
 	public ObjectProperty<ArcStyle> arcStyleProperty() {
-		return style;
+		if(styleProp == null) {
+			styleProp = new SimpleObjectProperty<>(style);
+			styleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return styleProp;
 	}
 
 	@Override
 	public DoubleProperty angleStartProperty() {
-		return startAngle;
+		if(startAngleProp == null) {
+			startAngleProp = new SimpleDoubleProperty(startAngle);
+			startAngleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return startAngleProp;
 	}
 
 	@Override
 	public DoubleProperty angleEndProperty() {
-		return endAngle;
+		if(endAngleProp == null) {
+			endAngleProp = new SimpleDoubleProperty(endAngle);
+			endAngleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return endAngleProp;
 	}
 }
@@ -32,9 +32,18 @@ import net.sf.latexdraw.view.latex.DviPsColors;
  */
 class LDot extends LPositionShape implements IDot {
 	/** The current style of the dot. */
-	private final ObjectProperty<DotStyle> style;
+	private DotStyle style;
+	/** The style property, created on demand. */
+	private ObjectProperty<DotStyle> styleProp;
 	/** The radius of the dot. */
-	private final DoubleProperty diametre;
+	private double diametre;
+	/** The diametre property, created on demand. */
+	private DoubleProperty diametreProp;
+	/** The bounds of the dot set by computeBounds. */
+	private double boundMinX;
+	private double boundMinY;
+	private double boundMaxX;
+	private double boundMaxY;
 
 
 	/**
@@ -42,8 +51,8 @@ class LDot extends LPositionShape implements IDot {
 	 */
 	LDot(final IPoint pt) {
 		super(pt);
-		style = new SimpleObjectProperty<>(DotStyle.DOT);
-		diametre = new SimpleDoubleProperty(40d);
+		style = DotStyle.DOT;
+		diametre = 40d;
 	}
 
 	@Override
@@ -53,25 +62,35 @@ class LDot extends LPositionShape implements IDot {
 
 	@Override
 	public DotStyle getDotStyle() {
-		return style.get();
+		return styleProp == null ? style : styleProp.get();
 	}
 
 	@Override
 	public void setDotStyle(final DotStyle dotStyle) {
 		if(dotStyle != null) {
-			style.set(dotStyle);
+			if(styleProp == null) {
+				style = dotStyle;
+				shapeChanged();
+			}else {
+				styleProp.set(dotStyle);
+			}
 		}
 	}
 
 	@Override
 	public double getDiametre() {
-		return diametre.get();
+		return diametreProp == null ? diametre : diametreProp.get();
 	}
 
 	@Override
 	public void setDiametre(final double diam) {
 		if(diam > 0d && MathUtils.INST.isValidCoord(diam)) {
-			diametre.set(diam);
+			if(diametreProp == null) {
+				diametre = diam;
+				shapeChanged();
+			}else {
+				diametreProp.set(diam);
+			}
 		}
 	}
 
@@ -138,6 +157,35 @@ class LDot extends LPositionShape implements IDot {
 		}
 	}
 
+	@Override
+	boolean hasPointBounds() {
+		return false;
+	}
+
+	@Override
+	public double getMinX() {
+		computeBounds();
+		return boundMinX;
+	}
+
+	@Override
+	public double getMinY() {
+		computeBounds();
+		return boundMinY;
+	}
+
+	@Override
+	public double getMaxX() {
+		computeBounds();
+		return boundMaxX;
+	}
+
+	@Override
+	public double getMaxY() {
+		computeBounds();
+		return boundMaxY;
+	}
+
 	@Override
 	public IPoint getBottomLeftPoint() {
 		final IPoint tl = ShapeFactory.INST.createPoint();
@@ -177,6 +225,15 @@ class LDot extends LPositionShape implements IDot {
 	 * @since 3d
 	 */
 	protected void getTopLeftBottomRightPoints(final IPoint tl, final IPoint br) {
+		computeBounds();
+		tl.setPoint(boundMinX, boundMinY);
+		br.setPoint(boundMaxX, boundMaxY);
+	}
+
+	/**
+	 * Computes the bounds of the dot, considering its current style, from its centre and its diametre without creating any point.
+	 */
+	private void computeBounds() {
 		final IPoint centre = getPosition();
 		final double x = centre.getX();
 		final double y = centre.getY();
@@ -192,76 +249,76 @@ class LDot extends LPositionShape implements IDot {
 		switch(getDotStyle()) {
 			case ASTERISK:// TODO: to check, I do not think it works.
 				final double radiusAst = tly + diam / 5d - (bry - diam / 5d) / 2d + dec;
-				tl.setX(Math.cos(7d * Math.PI / 6d) * radiusAst + x);
-				tl.setY(tly + diam / 5d - dec);
-				br.setX(Math.cos(Math.PI / 6d) * radiusAst + x);
-				br.setY(bry - diam / 5d + dec);
+				boundMinX = Math.cos(7d * Math.PI / 6d) * radiusAst + x;
+				boundMinY = tly + diam / 5d - dec;
+				boundMaxX = Math.cos(Math.PI / 6d) * radiusAst + x;
+				boundMaxY = bry - diam / 5d + dec;
 				break;
 			case BAR:
 				// The thickness of the bar.
 				final double barThickness = diam / 8d;
-				tl.setX(x - barThickness);
-				tl.setY(tly);
-				br.setX(x + barThickness);
+				boundMinX = x - barThickness;
+				boundMinY = tly;
+				boundMaxX = x + barThickness;
 				// TODO: check if it is not radius*(1/1.875+1/8.): the bar
 				// thickness may be used into radius/1.875
-				br.setY(bry + diam / 1.875);
+				boundMaxY = bry + diam / 1.875;
 				break;
 			case DIAMOND:
 			case FDIAMOND:
 				final double p = 2d * Math.abs(tlx - brx) / (2d * Math.sin(GOLDEN_ANGLE)) * Math.cos(GOLDEN_ANGLE);
 				final double x1 = brx - 1.5 * dec;
 				final double x2 = tlx + 1.5 * dec;
-				tl.setX(x1 < x2 ? x1 : x2);
-				tl.setY((tly + bry) / 2d + p / 2d - 1.5 * dec);
-				br.setX(x1 > x2 ? x1 : x2);
-				br.setY((tly + bry) / 2d - p / 2d + 1.5 * dec);
+				boundMinX = x1 < x2 ? x1 : x2;
+				boundMinY = (tly + bry) / 2d + p / 2d - 1.5 * dec;
+				boundMaxX = x1 > x2 ? x1 : x2;
+				boundMaxY = (tly + bry) / 2d - p / 2d + 1.5 * dec;
 				break;
 			case FPENTAGON:
 			case PENTAGON:
 				final double dist = diam + dec;
 				final double xValue = Math.sin(2d * Math.PI / 5d) * dist;
-				tl.setX(-xValue + x);
-				tl.setY(tly - dec);
-				br.setX(xValue + x);
-				br.setY(0.25 * (Math.sqrt(5d) + 1d) * dist + y + dec);
+				boundMinX = -xValue + x;
+				boundMinY = tly - dec;
+				boundMaxX = xValue + x;
+				boundMaxY = 0.25 * (Math.sqrt(5d) + 1d) * dist + y + dec;
 				break;
 			case FSQUARE:
 			case SQUARE:// TODO may be wrong, to compare with 2d.
-				tl.setX(tlx);
-				tl.setY(tly);
-				br.setX(brx);
-				br.setY(bry);
+				boundMinX = tlx;
+				boundMinY = tly;
+				boundMaxX = brx;
+				boundMaxY = bry;
 				break;
 			case FTRIANGLE:
 			case TRIANGLE:
-				tl.setX(tlx - 0.3 * dec);
-				tl.setY(tly - 1.5 * dec);
-				br.setX(brx + 0.3 * dec);
-				br.setY(bry - 3d * dec);
+				boundMinX = tlx - 0.3 * dec;
+				boundMinY = tly - 1.5 * dec;
+				boundMaxX = brx + 0.3 * dec;
+				boundMaxY = bry - 3d * dec;
 				break;
 			case DOT:
 			case O:
 			case OPLUS:
 			case OTIMES:
-				tl.setX(tlx);
-				tl.setY(tly);
-				br.setX(brx);
-				br.setY(bry);
+				boundMinX = tlx;
+				boundMinY = tly;
+				boundMaxX = brx;
+				boundMaxY = bry;
 				break;
 			case PLUS:// TODO may be wrong, to compare with 2d.
 				final double plusGap = diam / 80d;
-				tl.setX(tlx - plusGap);
-				tl.setY(tly - plusGap);
-				br.setX(brx + plusGap);
-				br.setY(bry + plusGap);
+				boundMinX = tlx - plusGap;
+				boundMinY = tly - plusGap;
+				boundMaxX = brx + plusGap;
+				boundMaxY = bry + plusGap;
 				break;
 			case X:// TODO may be wrong, to compare with 2d.
 				final double crossGap = diam / 5d;
-				tl.setX(tlx - crossGap);
-				tl.setY(tly - crossGap);
-				br.setX(brx + crossGap);
-				br.setY(bry + crossGap);
+				boundMinX = tlx - crossGap;
+				boundMinY = tly - crossGap;
+				boundMaxX = brx + crossGap;
+				boundMaxY = bry + crossGap;
 				break;
 		}
 	}
@@ -333,14 +390,29 @@ class LDot extends LPositionShape implements IDot {
 		setFillingCol(value);
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		styleProperty();
+		diametreProperty();
+	}
+
 	@Override
 	public ObjectProperty<DotStyle> styleProperty() {
-		return style;
+		if(styleProp == null) {
+			styleProp = new SimpleObjectProperty<>(style);
+			styleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return styleProp;
 	}
 
 	@Override
 	public DoubleProperty diametreProperty() {
-		return diametre;
+		if(diametreProp == null) {
+			diametreProp = new SimpleDoubleProperty(diametre);
+			diametreProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return diametreProp;
 	}
 
 	@Override
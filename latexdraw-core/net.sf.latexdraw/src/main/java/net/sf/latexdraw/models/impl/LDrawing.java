@@ -10,12 +10,23 @@
  */
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.prop.ISetShapesProp;
 import net.sf.latexdraw.models.interfaces.shape.IDrawing;
 import net.sf.latexdraw.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.IShape;
 
 /**
@@ -29,15 +40,38 @@ class LDrawing implements IDrawing, LSetShapes {
 	/** The selected shapes of the drawing. */
 	private final IGroup selection;
 
+	/** The spatial index of the shapes. */
+	private final LShapeIndex index;
+
 	/** Defined if the shape has been modified. */
 	private boolean modified;
 
+	/** The handlers notified when a shape changes. */
+	private final List<Consumer<IShape>> changeHandlers;
+
+	/** The change listeners registered on the shapes, while at least one handler is registered. */
+	private final Map<IShape, Runnable> shapeListeners;
 
 	LDrawing() {
 		super();
 		shapes = FXCollections.observableArrayList();
 		selection = ShapeFactory.INST.createGroup();
+		index = new LShapeIndex(shapes);
 		modified = false;
+		changeHandlers = new ArrayList<>();
+		shapeListeners = new IdentityHashMap<>();
+		shapes.addListener((ListChangeListener<IShape>) evt -> {
+			if(!changeHandlers.isEmpty()) {
+				// All the removals are processed first: a shape moved within the drawing is removed and added again.
+				while(evt.next()) {
+					evt.getRemoved().forEach(sh -> unobserve(sh));
+				}
+				evt.reset();
+				while(evt.next()) {
+					evt.getAddedSubList().forEach(sh -> observe(sh));
+				}
+			}
+		});
 	}
 
 
@@ -52,6 +86,68 @@ class LDrawing implements IDrawing, LSetShapes {
 		newSelection.forEach(sh -> selection.addShape(sh));
 	}
 
+	@Override
+	public void addShapes(final Collection<? extends IShape> shapesToAdd) {
+		final List<IShape> added = shapesToAdd.stream().filter(sh -> sh != null && (!(sh instanceof ISetShapesProp) || !((ISetShapesProp) sh).isEmpty())).
+			collect(Collectors.toList());
+		if(!added.isEmpty()) {
+			shapes.addAll(added);
+		}
+	}
+
+	@Override
+	public List<IShape> shapesIntersecting(final Rectangle2D area) {
+		return index.getShapesIntersecting(area.getMinX(), area.getMinY(), area.getMaxX(), area.getMaxY(), true);
+	}
+
+	@Override
+	public List<IShape> boundedShapesIntersecting(final Rectangle2D area) {
+		return index.getShapesIntersecting(area.getMinX(), area.getMinY(), area.getMaxX(), area.getMaxY(), false);
+	}
+
+	@Override
+	public Optional<IShape> shapeAt(final IPoint pt) {
+		final List<IShape> found = index.getShapesIntersecting(pt.getX(), pt.getY(), pt.getX(), pt.getY(), false);
+		return found.isEmpty() ? Optional.empty() : Optional.of(found.get(found.size() - 1));
+	}
+
+	@Override
+	public void addShapeChangeHandler(final Consumer<IShape> handler) {
+		if(handler != null) {
+			// The shapes are observed only while a handler needs their changes.
+			if(changeHandlers.isEmpty()) {
+				shapes.forEach(sh -> observe(sh));
+			}
+			changeHandlers.add(handler);
+		}
+	}
+
+	@Override
+	public void removeShapeChangeHandler(final Consumer<IShape> handler) {
+		if(changeHandlers.remove(handler) && changeHandlers.isEmpty()) {
+			shapes.forEach(sh -> unobserve(sh));
+		}
+	}
+
+	private void observe(final IShape sh) {
+		if(!shapeListeners.containsKey(sh)) {
+			final Runnable listener = () -> {
+				for(int i = 0, size = changeHandlers.size(); i < size; i++) {
+					changeHandlers.get(i).accept(sh);
+				}
+			};
+			shapeListeners.put(sh, listener);
+			LGroup.addChangeListener(sh, listener);
+		}
+	}
+
+	private void unobserve(final IShape sh) {
+		final Runnable listener = shapeListeners.remove(sh);
+		if(listener != null) {
+			LGroup.removeChangeListener(sh, listener);
+		}
+	}
+
 	@Override
 	public void clear() {
 		LSetShapes.super.clear();
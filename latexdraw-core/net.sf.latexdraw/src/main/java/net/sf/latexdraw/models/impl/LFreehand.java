@@ -11,13 +11,13 @@
 package net.sf.latexdraw.models.impl;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.prop.IFreeHandProp;
 import net.sf.latexdraw.models.interfaces.shape.FreeHandStyle;
@@ -31,11 +31,22 @@ import net.sf.latexdraw.models.interfaces.shape.IShape;
  */
 class LFreehand extends LShape implements IFreehand {
 	/** The type of the curves of the shape. */
-	private final ObjectProperty<FreeHandStyle> type;
+	private FreeHandStyle type;
+	/** The type property, created on demand. */
+	private ObjectProperty<FreeHandStyle> typeProp;
 	/** The interval to consider while painting the shape. */
-	private final IntegerProperty interval;
+	private int interval;
+	/** The interval property, created on demand. */
+	private IntegerProperty intervalProp;
 	/** Defines if the drawing is opened of closed. */
-	private final BooleanProperty open;
+	private boolean open;
+	/** The open property, created on demand. */
+	private BooleanProperty openProp;
+	/** The geometry versions before and after the last modification made through appendPoint or setLastPoint. */
+	private long changeStartVersion;
+	private long changeEndVersion;
+	/** The index of the first point modified by this modification. */
+	private int changeFirstPt;
 
 
 	/**
@@ -45,16 +56,18 @@ class LFreehand extends LShape implements IFreehand {
 	 */
 	LFreehand(final List<IPoint> pts) {
 		super();
-		type = new SimpleObjectProperty<>(FreeHandStyle.CURVES);
-		interval = new SimpleIntegerProperty(2);
-		open = new SimpleBooleanProperty(true);
+		type = FreeHandStyle.CURVES;
+		interval = 2;
+		open = true;
 		points.addAll(pts);
+		changeStartVersion = -1L;
+		changeEndVersion = -1L;
+		changeFirstPt = 0;
 	}
 
 	@Override
 	public IFreehand duplicate() {
-		final IFreehand dup = ShapeFactory.INST.createFreeHand(points.stream().
-			map(pt -> ShapeFactory.INST.createPoint(pt.getX(), pt.getY())).collect(Collectors.toList()));
+		final IFreehand dup = ShapeFactory.INST.createFreeHand(points);
 		dup.copy(this);
 		return dup;
 	}
@@ -65,54 +78,146 @@ class LFreehand extends LShape implements IFreehand {
 
 		if(sh instanceof IFreeHandProp) {
 			final IFreeHandProp fh = (IFreeHandProp) sh;
-			open.set(fh.isOpened());
-			interval.set(fh.getInterval());
-			type.set(fh.getType());
+			open = fh.isOpened();
+			interval = fh.getInterval();
+			type = fh.getType();
+			updateCreatedProperties();
+		}
+	}
+
+	/**
+	 * Sets the properties already created to the values of their attributes.
+	 */
+	private void updateCreatedProperties() {
+		if(openProp != null) {
+			openProp.set(open);
+		}
+		if(intervalProp != null) {
+			intervalProp.set(interval);
+		}
+		if(typeProp != null) {
+			typeProp.set(type);
 		}
 	}
 
+	@Override
+	public boolean appendPoint(final double x, final double y) {
+		if(!MathUtils.INST.isValidPt(x, y)) {
+			return false;
+		}
+		final long version = getGeometryVersion();
+		final int size = points.size();
+		points.addPoint(x, y);
+		recordChange(version, size);
+		return true;
+	}
+
+	@Override
+	public boolean setLastPoint(final double x, final double y) {
+		if(points.isEmpty() || !MathUtils.INST.isValidPt(x, y)) {
+			return false;
+		}
+		final long version = getGeometryVersion();
+		final int last = points.size() - 1;
+		points.setPoint(last, x, y);
+		recordChange(version, last);
+		return true;
+	}
+
+	/**
+	 * Records a modification of the points, from the given point, that started at the given geometry version.
+	 */
+	private void recordChange(final long version, final int firstPt) {
+		changeStartVersion = version;
+		changeEndVersion = getGeometryVersion();
+		changeFirstPt = firstPt;
+	}
+
+	@Override
+	public int getNbUnchangedPointsSince(final long geometryVersion) {
+		final long version = getGeometryVersion();
+		if(geometryVersion == version) {
+			return points.size();
+		}
+		if(version == changeEndVersion && geometryVersion == changeStartVersion) {
+			return changeFirstPt;
+		}
+		return -1;
+	}
+
 	@Override
 	public int getInterval() {
-		return interval.get();
+		return intervalProp == null ? interval : intervalProp.get();
 	}
 
 	@Override
 	public void setInterval(final int newInterval) {
 		if(newInterval > 0) {
-			interval.set(newInterval);
+			if(intervalProp == null) {
+				interval = newInterval;
+				shapeChanged();
+			}else {
+				intervalProp.set(newInterval);
+			}
 		}
 	}
 
 	@Override
 	public FreeHandStyle getType() {
-		return type.get();
+		return typeProp == null ? type : typeProp.get();
 	}
 
 	@Override
 	public void setType(final FreeHandStyle freeHandStyle) {
 		if(freeHandStyle != null) {
-			type.set(freeHandStyle);
+			if(typeProp == null) {
+				type = freeHandStyle;
+				shapeChanged();
+			}else {
+				typeProp.set(freeHandStyle);
+			}
 		}
 	}
 
 	@Override
 	public boolean isOpened() {
-		return open.get();
+		return openProp == null ? open : openProp.get();
 	}
 
 	@Override
 	public void setOpened(final boolean isOpen) {
-		open.set(isOpen);
+		if(openProp == null) {
+			open = isOpen;
+			shapeChanged();
+		}else {
+			openProp.set(isOpen);
+		}
+	}
+
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		typeProperty();
+		intervalProperty();
+		openedProperty();
 	}
 
 	@Override
 	public ObjectProperty<FreeHandStyle> typeProperty() {
-		return type;
+		if(typeProp == null) {
+			typeProp = new SimpleObjectProperty<>(type);
+			typeProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return typeProp;
 	}
 
 	@Override
 	public IntegerProperty intervalProperty() {
-		return interval;
+		if(intervalProp == null) {
+			intervalProp = new SimpleIntegerProperty(interval);
+			intervalProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return intervalProp;
 	}
 
 	@Override
@@ -122,6 +227,10 @@ class LFreehand extends LShape implements IFreehand {
 
 	@Override
 	public BooleanProperty openedProperty() {
-		return open;
+		if(openProp == null) {
+			openProp = new SimpleBooleanProperty(open);
+			openProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return openProp;
 	}
 }
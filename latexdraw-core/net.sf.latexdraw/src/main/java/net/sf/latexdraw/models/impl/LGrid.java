@@ -35,34 +35,54 @@ import net.sf.latexdraw.view.pst.PSTricksConstants;
  */
 class LGrid extends LAbstractGrid implements IGrid {
 	/** If true, the x label will be displayed at the south of the grid. Else at the north */
-	private final BooleanProperty xLabelSouth;
+	private boolean xLabelSouth;
+	/** The xLabelSouth property, created on demand. */
+	private BooleanProperty xLabelSouthProp;
 
 	/** If true, the y label will be displayed at the west of the grid. Else at the east */
-	private final BooleanProperty yLabelWest;
+	private boolean yLabelWest;
+	/** The yLabelWest property, created on demand. */
+	private BooleanProperty yLabelWestProp;
 
 	/** The colour of the sub-grid. */
-	private final ObjectProperty<Color> subGridColour;
+	private Color subGridColour;
+	/** The subGridColour property, created on demand. */
+	private ObjectProperty<Color> subGridColourProp;
 
 	/** The number of division in a sub-grid. */
-	private final IntegerProperty subGridDiv;
+	private int subGridDiv;
+	/** The subGridDiv property, created on demand. */
+	private IntegerProperty subGridDivProp;
 
 	/** The thickness of the main borders of the grid. */
-	private final DoubleProperty gridWidth;
+	private double gridWidth;
+	/** The gridWidth property, created on demand. */
+	private DoubleProperty gridWidthProp;
 
 	/** The colour of the labels */
-	private final ObjectProperty<Color> gridLabelsColour;
+	private Color gridLabelsColour;
+	/** The gridLabelsColour property, created on demand. */
+	private ObjectProperty<Color> gridLabelsColourProp;
 
 	/** The number of dots in the lines of the grid ( if >0, replace a plain line) */
-	private final IntegerProperty gridDots;
+	private int gridDots;
+	/** The gridDots property, created on demand. */
+	private IntegerProperty gridDotsProp;
 
 	/** The thickness of the lines of the sub-grid */
-	private final DoubleProperty subGridWidth;
+	private double subGridWidth;
+	/** The subGridWidth property, created on demand. */
+	private DoubleProperty subGridWidthProp;
 
 	/** The number of dots in the lines of the sub-grid ( if >0, replace a plain line) */
-	private final IntegerProperty subGridDots;
+	private int subGridDots;
+	/** The subGridDots property, created on demand. */
+	private IntegerProperty subGridDotsProp;
 
 	/** The unit of the grid */
-	private final DoubleProperty unit;
+	private double unit;
+	/** The unit property, created on demand. */
+	private DoubleProperty unitProp;
 
 
 	/**
@@ -71,17 +91,17 @@ class LGrid extends LAbstractGrid implements IGrid {
 	 */
 	LGrid(final IPoint pt) {
 		super(pt);
-		xLabelSouth = new SimpleBooleanProperty(true);
-		yLabelWest = new SimpleBooleanProperty(true);
-		gridDots = new SimpleIntegerProperty(PSTricksConstants.DEFAULT_GRIDDOTS);
-		gridLabelsColour = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_LABELGRIDCOLOR);
-		labelSize.set((int) PSTricksConstants.DEFAULT_GRID_LABEL);
-		gridWidth = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_GRID_WIDTH * PPC);
-		subGridColour = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_SUB_GRID_COLOR);
-		subGridDiv = new SimpleIntegerProperty(PSTricksConstants.DEFAULT_SUBGRIDDIV);
-		subGridDots = new SimpleIntegerProperty(PSTricksConstants.DEFAULT_SUBGRIDDOTS);
-		subGridWidth = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_SUB_GRID_WIDTH * PPC);
-		unit = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_UNIT);
+		xLabelSouth = true;
+		yLabelWest = true;
+		gridDots = PSTricksConstants.DEFAULT_GRIDDOTS;
+		gridLabelsColour = PSTricksConstants.DEFAULT_LABELGRIDCOLOR;
+		labelSize = (int) PSTricksConstants.DEFAULT_GRID_LABEL;
+		gridWidth = PSTricksConstants.DEFAULT_GRID_WIDTH * PPC;
+		subGridColour = PSTricksConstants.DEFAULT_SUB_GRID_COLOR;
+		subGridDiv = PSTricksConstants.DEFAULT_SUBGRIDDIV;
+		subGridDots = PSTricksConstants.DEFAULT_SUBGRIDDOTS;
+		subGridWidth = PSTricksConstants.DEFAULT_SUB_GRID_WIDTH * PPC;
+		unit = PSTricksConstants.DEFAULT_UNIT;
 	}
 
 
@@ -92,16 +112,53 @@ class LGrid extends LAbstractGrid implements IGrid {
 		if(sh instanceof IGridProp) {
 			final IGridProp grid = (IGridProp) sh;
 
-			gridDots.set(grid.getGridDots());
-			subGridColour.set(grid.getSubGridColour());
-			subGridDiv.set(grid.getSubGridDiv());
-			subGridDots.set(grid.getSubGridDots());
-			gridLabelsColour.set(grid.getGridLabelsColour());
-			xLabelSouth.set(grid.isXLabelSouth());
-			yLabelWest.set(grid.isYLabelWest());
-			unit.set(grid.getUnit());
-			gridWidth.set(grid.getGridWidth());
-			subGridWidth.set(grid.getSubGridWidth());
+			gridDots = grid.getGridDots();
+			subGridColour = grid.getSubGridColour();
+			subGridDiv = grid.getSubGridDiv();
+			subGridDots = grid.getSubGridDots();
+			gridLabelsColour = grid.getGridLabelsColour();
+			xLabelSouth = grid.isXLabelSouth();
+			yLabelWest = grid.isYLabelWest();
+			unit = grid.getUnit();
+			gridWidth = grid.getGridWidth();
+			subGridWidth = grid.getSubGridWidth();
+			updateCreatedProperties();
+		}
+	}
+
+	/**
+	 * Sets the properties already created to the values of their attributes.
+	 */
+	private void updateCreatedProperties() {
+		if(gridDotsProp != null) {
+			gridDotsProp.set(gridDots);
+		}
+		if(subGridColourProp != null) {
+			subGridColourProp.set(subGridColour);
+		}
+		if(subGridDivProp != null) {
+			subGridDivProp.set(subGridDiv);
+		}
+		if(subGridDotsProp != null) {
+			subGridDotsProp.set(subGridDots);
+		}
+		if(gridLabelsColourProp != null) {
+			gridLabelsColourProp.set(gridLabelsColour);
+		}
+		if(xLabelSouthProp != null) {
+			xLabelSouthProp.set(xLabelSouth);
+		}
+		if(yLabelWestProp != null) {
+			yLabelWestProp.set(yLabelWest);
+		}
+		if(unitProp != null) {
+			unitProp.set(unit);
+		}
+		if(gridWidthProp != null) {
+			gridWidthProp.set(gridWidth);
+		}
+		if(subGridWidthProp != null) {
+			subGridWidthProp.set(subGridWidth);
 		}
 	}
 
@@ -119,35 +176,43 @@ class LGrid extends LAbstractGrid implements IGrid {
 
 	@Override
 	public boolean isXLabelSouth() {
-		return xLabelSouth.get();
+		return xLabelSouthProp == null ? xLabelSouth : xLabelSouthProp.get();
 	}
 
 	@Override
 	public void setXLabelSouth(final boolean isXLabelSouth) {
-		xLabelSouth.set(isXLabelSouth);
+		if(xLabelSouthProp == null) {
+			xLabelSouth = isXLabelSouth;
+			shapeChanged();
+		}else {
+			xLabelSouthProp.set(isXLabelSouth);
+		}
 	}
 
 	@Override
 	public boolean isYLabelWest() {
-		return yLabelWest.get();
+		return yLabelWestProp == null ? yLabelWest : yLabelWestProp.get();
 	}
 
 	@Override
 	public void setYLabelWest(final boolean isYLabelWest) {
-		yLabelWest.set(isYLabelWest);
+		if(yLabelWestProp == null) {
+			yLabelWest = isYLabelWest;
+			shapeChanged();
+		}else {
+			yLabelWestProp.set(isYLabelWest);
+		}
 	}
 
 	@Override
-	public IPoint getBottomRightPoint() {
-		final IPoint pos = getPosition();
-		return ShapeFactory.INST.createPoint(pos.getX() + getGridMaxX() * PPC * getUnit(), pos.getY() - getGridMinY() * PPC);
+	public double getMaxX() {
+		return points.getX(0) + getGridMaxX() * PPC * getUnit();
 	}
 
 
 	@Override
-	public IPoint getTopLeftPoint() {
-		final IPoint pos = getPosition();
-		return ShapeFactory.INST.createPoint(pos.getX() + getGridMinX() * PPC, pos.getY() - getGridMaxY() * PPC * getUnit());
+	public double getMinY() {
+		return points.getY(0) - getGridMaxY() * PPC * getUnit();
 	}
 
 	@Override
@@ -203,148 +268,243 @@ class LGrid extends LAbstractGrid implements IGrid {
 
 	@Override
 	public int getGridDots() {
-		return gridDots.get();
+		return gridDotsProp == null ? gridDots : gridDotsProp.get();
 	}
 
 	@Override
 	public void setGridDots(final int grDots) {
 		if(grDots >= 0) {
-			gridDots.set(grDots);
+			if(gridDotsProp == null) {
+				gridDots = grDots;
+				shapeChanged();
+			}else {
+				gridDotsProp.set(grDots);
+			}
 		}
 	}
 
 	@Override
 	public Color getGridLabelsColour() {
-		return gridLabelsColour.get();
+		return gridLabelsColourProp == null ? gridLabelsColour : gridLabelsColourProp.get();
 	}
 
 	@Override
 	public void setGridLabelsColour(final Color gridLabelsCol) {
 		if(gridLabelsCol != null) {
-			gridLabelsColour.setValue(gridLabelsCol);
+			if(gridLabelsColourProp == null) {
+				gridLabelsColour = gridLabelsCol;
+				shapeChanged();
+			}else {
+				gridLabelsColourProp.set(gridLabelsCol);
+			}
 		}
 	}
 
 	@Override
 	public double getGridWidth() {
-		return gridWidth.get();
+		return gridWidthProp == null ? gridWidth : gridWidthProp.get();
 	}
 
 	@Override
 	public void setGridWidth(final double gridW) {
 		if(gridW > 0d && MathUtils.INST.isValidCoord(gridW)) {
-			gridWidth.set(gridW);
+			if(gridWidthProp == null) {
+				gridWidth = gridW;
+				shapeChanged();
+			}else {
+				gridWidthProp.set(gridW);
+			}
 		}
 	}
 
 	@Override
 	public Color getSubGridColour() {
-		return subGridColour.get();
+		return subGridColourProp == null ? subGridColour : subGridColourProp.get();
 	}
 
 	@Override
 	public void setSubGridColour(final Color subGridCol) {
 		if(subGridCol != null) {
-			subGridColour.set(subGridCol);
+			if(subGridColourProp == null) {
+				subGridColour = subGridCol;
+				shapeChanged();
+			}else {
+				subGridColourProp.set(subGridCol);
+			}
 		}
 	}
 
 	@Override
 	public int getSubGridDiv() {
-		return subGridDiv.get();
+		return subGridDivProp == null ? subGridDiv : subGridDivProp.get();
 	}
 
 	@Override
 	public void setSubGridDiv(final int subGridD) {
 		if(subGridD >= 0) {
-			subGridDiv.set(subGridD);
+			if(subGridDivProp == null) {
+				subGridDiv = subGridD;
+				shapeChanged();
+			}else {
+				subGridDivProp.set(subGridD);
+			}
 		}
 	}
 
 	@Override
 	public int getSubGridDots() {
-		return subGridDots.get();
+		return subGridDotsProp == null ? subGridDots : subGridDotsProp.get();
 	}
 
 	@Override
 	public void setSubGridDots(final int subGridD) {
 		if(subGridD >= 0) {
-			subGridDots.set(subGridD);
+			if(subGridDotsProp == null) {
+				subGridDots = subGridD;
+				shapeChanged();
+			}else {
+				subGridDotsProp.set(subGridD);
+			}
 		}
 	}
 
 	@Override
 	public double getSubGridWidth() {
-		return subGridWidth.get();
+		return subGridWidthProp == null ? subGridWidth : subGridWidthProp.get();
 	}
 
 	@Override
 	public void setSubGridWidth(final double subGridW) {
 		if(subGridW > 0d && MathUtils.INST.isValidCoord(subGridW)) {
-			subGridWidth.set(subGridW);
+			if(subGridWidthProp == null) {
+				subGridWidth = subGridW;
+				shapeChanged();
+			}else {
+				subGridWidthProp.set(subGridW);
+			}
 		}
 	}
 
 	@Override
 	public double getUnit() {
-		return unit.get();
+		return unitProp == null ? unit : unitProp.get();
 	}
 
 	@Override
 	public void setUnit(final double un) {
 		if(un > 0d && MathUtils.INST.isValidCoord(un)) { //TODO unit may be lesser than 0.
-			unit.set(un);
+			if(unitProp == null) {
+				unit = un;
+				shapeChanged();
+			}else {
+				unitProp.set(un);
+			}
 		}
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		gridLabelsColourProperty();
+		gridDotsProperty();
+		unitProperty();
+		subGridWidthProperty();
+		subGridDotsProperty();
+		subGridDivProperty();
+		subGridColourProperty();
+		gridWidthProperty();
+		yLabelWestProperty();
+		xLabelSouthProperty();
+	}
+
 	@Override
 	public ObjectProperty<Color> gridLabelsColourProperty() {
-		return gridLabelsColour;
+		if(gridLabelsColourProp == null) {
+			gridLabelsColourProp = new SimpleObjectProperty<>(gridLabelsColour);
+			gridLabelsColourProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gridLabelsColourProp;
 	}
 
 	@Override
 	public IntegerProperty gridDotsProperty() {
-		return gridDots;
+		if(gridDotsProp == null) {
+			gridDotsProp = new SimpleIntegerProperty(gridDots);
+			gridDotsProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gridDotsProp;
 	}
 
 	@Override
 	public DoubleProperty unitProperty() {
-		return unit;
+		if(unitProp == null) {
+			unitProp = new SimpleDoubleProperty(unit);
+			unitProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return unitProp;
 	}
 
 	@Override
 	public DoubleProperty subGridWidthProperty() {
-		return subGridWidth;
+		if(subGridWidthProp == null) {
+			subGridWidthProp = new SimpleDoubleProperty(subGridWidth);
+			subGridWidthProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return subGridWidthProp;
 	}
 
 	@Override
 	public IntegerProperty subGridDotsProperty() {
-		return subGridDots;
+		if(subGridDotsProp == null) {
+			subGridDotsProp = new SimpleIntegerProperty(subGridDots);
+			subGridDotsProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return subGridDotsProp;
 	}
 
 	@Override
 	public IntegerProperty subGridDivProperty() {
-		return subGridDiv;
+		if(subGridDivProp == null) {
+			subGridDivProp = new SimpleIntegerProperty(subGridDiv);
+			subGridDivProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return subGridDivProp;
 	}
 
 	@Override
 	public ObjectProperty<Color> subGridColourProperty() {
-		return subGridColour;
+		if(subGridColourProp == null) {
+			subGridColourProp = new SimpleObjectProperty<>(subGridColour);
+			subGridColourProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return subGridColourProp;
 	}
 
 	@Override
 	public DoubleProperty gridWidthProperty() {
-		return gridWidth;
+		if(gridWidthProp == null) {
+			gridWidthProp = new SimpleDoubleProperty(gridWidth);
+			gridWidthProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gridWidthProp;
 	}
 
 	@Override
 	public BooleanProperty yLabelWestProperty() {
-		return yLabelWest;
+		if(yLabelWestProp == null) {
+			yLabelWestProp = new SimpleBooleanProperty(yLabelWest);
+			yLabelWestProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return yLabelWestProp;
 	}
 
 	@Override
 	public BooleanProperty xLabelSouthProperty() {
-		return xLabelSouth;
+		if(xLabelSouthProp == null) {
+			xLabelSouthProp = new SimpleBooleanProperty(xLabelSouth);
+			xLabelSouthProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return xLabelSouthProp;
 	}
 
 	@Override
@@ -10,13 +10,18 @@
  */
 package net.sf.latexdraw.models.impl;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.prop.IArcProp;
@@ -57,11 +62,206 @@ class LGroup implements LGroupArc, LGroupArrowable, LGroupAxes, LGroupDot, LGrou
 	/** The set of shapes. */
 	private final ObservableList<IShape> shapes;
 	private final DoubleProperty rotationAngle;
+	/** Incremented at the end of each batch of modifications run on the group that changed the geometry of its shapes. */
+	private final LongProperty geometryVersion;
+	/** The depth of the nested batches of modifications run on the group. */
+	private int updateDepth;
+	/** The shapes of the group when the outer batch started. */
+	private List<IShape> shapesAtUpdate;
+	/** The sum of the geometry versions of the shapes of the group when the outer batch started. */
+	private long versionsAtUpdate;
+	/** The cached bounds (minX, minY, maxX, maxY) of the shapes that notify the changes of their bounds. */
+	private final double[] cachedBounds;
+	/** False when the cached bounds must be computed again. */
+	private boolean cachedBoundsValid;
+	/** The shapes that do not notify the changes of their bounds (groups, dots, grids, etc.): queried at each call. */
+	private final List<IShape> uncachedShapes;
+	/** Registered on the shapes of the cached bounds. */
+	private final Runnable shapeBoundsListener;
+	/** Notified when the group or one of its shapes may have changed. Null while empty. */
+	private List<Runnable> changeListeners;
+	/** Registered on all the shapes of the group to notify the change listeners of the group. */
+	private final Runnable shapeChangeListener;
 
 	LGroup() {
 		super();
 		shapes = FXCollections.observableArrayList();
 		rotationAngle = new SimpleDoubleProperty();
+		geometryVersion = new SimpleLongProperty();
+		updateDepth = 0;
+		shapesAtUpdate = Collections.emptyList();
+		versionsAtUpdate = 0L;
+		cachedBounds = new double[4];
+		cachedBoundsValid = false;
+		uncachedShapes = new ArrayList<>();
+		shapeBoundsListener = () -> cachedBoundsValid = false;
+		changeListeners = null;
+		shapeChangeListener = this::groupChanged;
+		rotationAngle.addListener((obs, oldValue, newValue) -> groupChanged());
+		shapes.addListener((ListChangeListener<IShape>) change -> {
+			while(change.next()) {
+				change.getRemoved().forEach(sh -> {
+					removeChangeListener(sh, shapeChangeListener);
+					if(hasCachedBounds(sh)) {
+						((LShape) sh).removeBoundsListener(shapeBoundsListener);
+					}else {
+						uncachedShapes.remove(sh);
+					}
+				});
+				change.getAddedSubList().forEach(sh -> {
+					addChangeListener(sh, shapeChangeListener);
+					if(hasCachedBounds(sh)) {
+						((LShape) sh).addBoundsListener(shapeBoundsListener);
+					}else {
+						uncachedShapes.add(sh);
+					}
+				});
+			}
+			cachedBoundsValid = false;
+			groupChanged();
+		});
+	}
+
+	/**
+	 * Adds an object to notify when the group may have changed: its shapes, or any attribute of one of its shapes.
+	 * @param listener The listener to add. Nothing is done if null.
+	 */
+	void addChangeListener(final Runnable listener) {
+		if(listener != null) {
+			if(changeListeners == null) {
+				changeListeners = new ArrayList<>(1);
+			}
+			changeListeners.add(listener);
+		}
+	}
+
+	/**
+	 * Removes a listener added with addChangeListener.
+	 * @param listener The listener to remove.
+	 */
+	void removeChangeListener(final Runnable listener) {
+		if(changeListeners != null) {
+			changeListeners.remove(listener);
+			if(changeListeners.isEmpty()) {
+				changeListeners = null;
+			}
+		}
+	}
+
+	private void groupChanged() {
+		if(changeListeners != null) {
+			for(int i = 0, size = changeListeners.size(); i < size; i++) {
+				changeListeners.get(i).run();
+			}
+		}
+	}
+
+	/**
+	 * Adds a change listener to the given shape if it notifies its changes (the shapes and the groups of this package).
+	 * @param sh The shape to observe.
+	 * @param listener The listener to add.
+	 */
+	static void addChangeListener(final IShape sh, final Runnable listener) {
+		if(sh instanceof LShape) {
+			((LShape) sh).addChangeListener(listener);
+		}else if(sh instanceof LGroup) {
+			((LGroup) sh).addChangeListener(listener);
+		}
+	}
+
+	/**
+	 * Removes a change listener added with addChangeListener(IShape, Runnable).
+	 * @param sh The observed shape.
+	 * @param listener The listener to remove.
+	 */
+	static void removeChangeListener(final IShape sh, final Runnable listener) {
+		if(sh instanceof LShape) {
+			((LShape) sh).removeChangeListener(listener);
+		}else if(sh instanceof LGroup) {
+			((LGroup) sh).removeChangeListener(listener);
+		}
+	}
+
+	/**
+	 * @return True if the bounds of the given shape can be cached by the group: the shape notifies the changes of its bounds.
+	 */
+	private static boolean hasCachedBounds(final IShape sh) {
+		return sh instanceof LShape && ((LShape) sh).hasPointBounds();
+	}
+
+	/**
+	 * Computes the cached bounds if the shapes changed since the last computation.
+	 */
+	private void updateCachedBounds() {
+		if(cachedBoundsValid) {
+			return;
+		}
+		cachedBounds[0] = Double.POSITIVE_INFINITY;
+		cachedBounds[1] = Double.POSITIVE_INFINITY;
+		cachedBounds[2] = Double.NEGATIVE_INFINITY;
+		cachedBounds[3] = Double.NEGATIVE_INFINITY;
+		for(final IShape sh : shapes) {
+			// Empty shapes (NaN bounds) are ignored by the comparisons.
+			if(hasCachedBounds(sh) && !Double.isNaN(sh.getMinX())) {
+				cachedBounds[0] = Math.min(cachedBounds[0], sh.getMinX());
+				cachedBounds[1] = Math.min(cachedBounds[1], sh.getMinY());
+				cachedBounds[2] = Math.max(cachedBounds[2], sh.getMaxX());
+				cachedBounds[3] = Math.max(cachedBounds[3], sh.getMaxY());
+			}
+		}
+		cachedBoundsValid = true;
+	}
+
+	@Override
+	public double getMinX() {
+		updateCachedBounds();
+		double min = cachedBounds[0];
+		for(int i = 0, size = uncachedShapes.size(); i < size; i++) {
+			final double value = uncachedShapes.get(i).getMinX();
+			if(!Double.isNaN(value)) {
+				min = Math.min(min, value);
+			}
+		}
+		return Double.isInfinite(min) ? Double.NaN : min;
+	}
+
+	@Override
+	public double getMinY() {
+		updateCachedBounds();
+		double min = cachedBounds[1];
+		for(int i = 0, size = uncachedShapes.size(); i < size; i++) {
+			final double value = uncachedShapes.get(i).getMinY();
+			if(!Double.isNaN(value)) {
+				min = Math.min(min, value);
+			}
+		}
+		return Double.isInfinite(min) ? Double.NaN : min;
+	}
+
+	@Override
+	public double getMaxX() {
+		updateCachedBounds();
+		double max = cachedBounds[2];
+		for(int i = 0, size = uncachedShapes.size(); i < size; i++) {
+			final double value = uncachedShapes.get(i).getMaxX();
+			if(!Double.isNaN(value)) {
+				max = Math.max(max, value);
+			}
+		}
+		return Double.isInfinite(max) ? Double.NaN : max;
+	}
+
+	@Override
+	public double getMaxY() {
+		updateCachedBounds();
+		double max = cachedBounds[3];
+		for(int i = 0, size = uncachedShapes.size(); i < size; i++) {
+			final double value = uncachedShapes.get(i).getMaxY();
+			if(!Double.isNaN(value)) {
+				max = Math.max(max, value);
+			}
+		}
+		return Double.isInfinite(max) ? Double.NaN : max;
 	}
 
 	@Override
@@ -109,6 +309,66 @@ class LGroup implements LGroupArc, LGroupArrowable, LGroupAxes, LGroupDot, LGrou
 		return rotationAngle;
 	}
 
+	@Override
+	public void beginUpdate() {
+		if(updateDepth == 0) {
+			shapesAtUpdate = new ArrayList<>(shapes);
+			versionsAtUpdate = getShapesVersion();
+		}
+		updateDepth++;
+		LGroupShape.super.beginUpdate();
+	}
+
+	@Override
+	public void endUpdate() {
+		LGroupShape.super.endUpdate();
+		if(updateDepth == 0) {
+			return;
+		}
+		updateDepth--;
+		if(updateDepth == 0) {
+			// The version changes only if the outer batch modified the shapes of the group or their geometry.
+			if(versionsAtUpdate != getShapesVersion() || !shapesAtUpdate.equals(shapes)) {
+				geometryVersion.set(geometryVersion.get() + 1L);
+			}
+			shapesAtUpdate = Collections.emptyList();
+		}
+	}
+
+	/**
+	 * @return The current value of the geometry version.
+	 */
+	long getGeometryVersion() {
+		return geometryVersion.get();
+	}
+
+	/**
+	 * @return The sum of the geometry versions of the shapes: it changes when the geometry of one of the shapes changes.
+	 */
+	private long getShapesVersion() {
+		long sum = 0L;
+		for(final IShape sh : shapes) {
+			if(sh instanceof LShape) {
+				sum += ((LShape) sh).getGeometryVersion();
+			}else if(sh instanceof LGroup) {
+				sum += ((LGroup) sh).getGeometryVersion();
+			}else {
+				sum += sh.geometryVersionProperty().get();
+			}
+		}
+		return sum;
+	}
+
+	@Override
+	public ReadOnlyLongProperty geometryVersionProperty() {
+		return geometryVersion;
+	}
+
+	@Override
+	public void createProperties() {
+		shapes.forEach(sh -> sh.createProperties());
+	}
+
 	@Override
 	public void setPlotPolarList(final List<Boolean> values) {
 		if(values != null && values.size() == shapes.size()) {
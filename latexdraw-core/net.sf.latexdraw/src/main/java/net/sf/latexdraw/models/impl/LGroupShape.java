@@ -434,6 +434,16 @@ interface LGroupShape extends IGroup {
 		getShapes().forEach(sh -> sh.translate(tx, ty));
 	}
 
+	@Override
+	default void beginUpdate() {
+		getShapes().forEach(sh -> sh.beginUpdate());
+	}
+
+	@Override
+	default void endUpdate() {
+		getShapes().forEach(sh -> sh.endUpdate());
+	}
+
 	@Override
 	default void addToRotationAngle(final IPoint gravCentre, final double angle) {
 		rotationAngleProperty().setValue(rotationAngleProperty().get() + angle);
@@ -459,14 +469,12 @@ interface LGroupShape extends IGroup {
 
 	@Override
 	default IPoint getGravityCentre() {
-		return isEmpty() ? ShapeFactory.INST.createPoint() : getTopLeftPoint().getMiddlePoint(getBottomRightPoint());
+		return isEmpty() ? ShapeFactory.INST.createPoint() : ShapeFactory.INST.createPoint((getMinX() + getMaxX()) / 2d, (getMinY() + getMaxY()) / 2d);
 	}
 
 	@Override
 	default IPoint getBottomRightPoint() {
-		return getShapes().parallelStream().map(sh -> sh.getBottomRightPoint()).
-			reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).
-			orElse(ShapeFactory.INST.createPoint(Double.NaN, Double.NaN));
+		return ShapeFactory.INST.createPoint(getMaxX(), getMaxY());
 	}
 
 	@Override
@@ -478,9 +486,7 @@ interface LGroupShape extends IGroup {
 
 	@Override
 	default IPoint getTopLeftPoint() {
-		return getShapes().parallelStream().map(sh -> sh.getTopLeftPoint()).
-			reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).
-			orElse(ShapeFactory.INST.createPoint(Double.NaN, Double.NaN));
+		return ShapeFactory.INST.createPoint(getMinX(), getMinY());
 	}
 
 	@Override
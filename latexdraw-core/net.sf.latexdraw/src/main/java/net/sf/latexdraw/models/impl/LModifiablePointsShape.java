@@ -11,9 +11,7 @@
 package net.sf.latexdraw.models.impl;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import net.sf.latexdraw.models.MathUtils;
-import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.IModifiablePointsShape;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 
@@ -27,7 +25,7 @@ abstract class LModifiablePointsShape extends LShape implements IModifiablePoint
 		if(pts == null || pts.stream().anyMatch(pt -> !MathUtils.INST.isValidPt(pt))) {
 			throw new IllegalArgumentException();
 		}
-		points.addAll(pts.stream().map(pt -> ShapeFactory.INST.createPoint(pt)).collect(Collectors.toList()));
+		points.addAll(pts);
 	}
 
 	@Override
@@ -50,7 +48,7 @@ abstract class LModifiablePointsShape extends LShape implements IModifiablePoint
 			final IPoint gc2 = gc == null ? getGravityCentre() : gc;
 
 			super.setRotationAngle(angle);
-			points.forEach(pt -> pt.setPoint(pt.rotatePoint(gc2, diff)));
+			points.rotate(gc2.getX(), gc2.getY(), diff);
 		}
 	}
 
@@ -63,12 +61,11 @@ abstract class LModifiablePointsShape extends LShape implements IModifiablePoint
 
 	@Override
 	public boolean setPoint(final double x, final double y, final int position) {
-		if(!MathUtils.INST.isValidPt(x, y) || position < -1 || position > points.size() || points.isEmpty()) {
+		if(!MathUtils.INST.isValidPt(x, y) || position < -1 || position >= points.size() || points.isEmpty()) {
 			return false;
 		}
 
-		final IPoint p = position == -1 ? points.get(points.size() - 1) : points.get(position);
-		p.setPoint(x, y);
+		points.setPoint(position == -1 ? points.size() - 1 : position, x, y);
 
 		return true;
 	}
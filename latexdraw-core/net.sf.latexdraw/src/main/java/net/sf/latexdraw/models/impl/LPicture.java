@@ -156,9 +156,20 @@ class LPicture extends LPositionShape implements IPicture {
 
 
 	@Override
-	public IPoint getBottomRightPoint() {
-		final IPoint pos = getPtAt(0);
-		return ShapeFactory.INST.createPoint(pos.getX() + getWidth(), pos.getY() + getHeight());
+	boolean hasPointBounds() {
+		return false;
+	}
+
+
+	@Override
+	public double getMaxX() {
+		return points.getX(0) + getWidth();
+	}
+
+
+	@Override
+	public double getMaxY() {
+		return points.getY(0) + getHeight();
 	}
 
 
@@ -193,6 +204,7 @@ class LPicture extends LPositionShape implements IPicture {
 		if(pathSource != null) {
 			loadImage();
 		}
+		shapeChanged();
 	}
 
 	@Override
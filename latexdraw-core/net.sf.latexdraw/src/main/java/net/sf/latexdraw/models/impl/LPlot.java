@@ -12,7 +12,6 @@ package net.sf.latexdraw.models.impl;
 
 import java.awt.geom.Rectangle2D;
 import java.util.List;
-import java.util.stream.IntStream;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
@@ -42,17 +41,29 @@ import net.sf.latexdraw.view.pst.PSTricksConstants;
  * @author Arnaud Blouin
  */
 class LPlot extends LPositionShape implements IPlot {
-	private final IntegerProperty nbPoints;
-	private final ObjectProperty<PlotStyle> style;
-	private final ObjectProperty<DotStyle> dotStyle;
-	private final DoubleProperty dotDiametre;
-	private final BooleanProperty polar;
-	private final DoubleProperty minX;
-	private final DoubleProperty maxX;
-	private final StringProperty equation;
-	private final DoubleProperty xscale;
-	private final DoubleProperty yscale;
+	private int nbPoints;
+	private IntegerProperty nbPointsProp;
+	private PlotStyle style;
+	private ObjectProperty<PlotStyle> styleProp;
+	private DotStyle dotStyle;
+	private ObjectProperty<DotStyle> dotStyleProp;
+	private double dotDiametre;
+	private DoubleProperty dotDiametreProp;
+	private boolean polar;
+	private BooleanProperty polarProp;
+	private double minX;
+	private DoubleProperty minXProp;
+	private double maxX;
+	private DoubleProperty maxXProp;
+	private String equation;
+	private StringProperty equationProp;
+	private double xscale;
+	private DoubleProperty xscaleProp;
+	private double yscale;
+	private DoubleProperty yscaleProp;
 	private PSFunctionParser parser;
+	/** The plotted points computed for the current plot parameters (null if not computed yet). */
+	private PlotSamples samples;
 
 	LPlot(final IPoint pt, final double xMin, final double xMax, final String equationPlot, final boolean polarCoord) {
 		super(pt);
@@ -61,17 +72,17 @@ class LPlot extends LPositionShape implements IPlot {
 			throw new IllegalArgumentException("Parameter not valid: " + xMin + " " + xMax + " " + MathUtils.INST.isValidPt(pt));
 		}
 
-		nbPoints = new SimpleIntegerProperty(50);
-		style = new SimpleObjectProperty<>(PlotStyle.CURVE);
-		equation = new SimpleStringProperty(equationPlot);
+		nbPoints = 50;
+		style = PlotStyle.CURVE;
+		equation = equationPlot;
 		parser = new PSFunctionParser(equationPlot);
-		dotStyle = new SimpleObjectProperty<>(DotStyle.DOT);
-		dotDiametre = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_ARROW_DOTSIZE_DIM * IShape.PPC + PSTricksConstants.DEFAULT_ARROW_DOTSIZE_NUM);
-		polar = new SimpleBooleanProperty(polarCoord);
-		minX = new SimpleDoubleProperty(xMin);
-		maxX = new SimpleDoubleProperty(xMax);
-		xscale = new SimpleDoubleProperty(1d);
-		yscale = new SimpleDoubleProperty(1d);
+		dotStyle = DotStyle.DOT;
+		dotDiametre = PSTricksConstants.DEFAULT_ARROW_DOTSIZE_DIM * IShape.PPC + PSTricksConstants.DEFAULT_ARROW_DOTSIZE_NUM;
+		polar = polarCoord;
+		minX = xMin;
+		maxX = xMax;
+		xscale = 1d;
+		yscale = 1d;
 	}
 
 
@@ -81,25 +92,59 @@ class LPlot extends LPositionShape implements IPlot {
 
 		if(sh instanceof IPlotProp) {
 			final IPlotProp plot = (IPlotProp) sh;
-			style.set(plot.getPlotStyle());
-			nbPoints.set(plot.getNbPlottedPoints());
-			polar.set(plot.isPolar());
-			dotStyle.set(plot.getDotStyle());
-			dotDiametre.set(plot.getDiametre());
-			minX.set(plot.getPlotMinX());
-			maxX.set(plot.getPlotMaxX());
-			xscale.set(plot.getXScale());
-			yscale.set(plot.getYScale());
+			style = plot.getPlotStyle();
+			nbPoints = plot.getNbPlottedPoints();
+			polar = plot.isPolar();
+			dotStyle = plot.getDotStyle();
+			dotDiametre = plot.getDiametre();
+			minX = plot.getPlotMinX();
+			maxX = plot.getPlotMaxX();
+			xscale = plot.getXScale();
+			yscale = plot.getYScale();
 			setPlotEquation(plot.getPlotEquation());
 		}else {
 			if(sh instanceof IDotProp) {
 				final IDotProp dot = (IDotProp) sh;
-				dotStyle.set(dot.getDotStyle());
-				dotDiametre.set(dot.getDiametre());
+				dotStyle = dot.getDotStyle();
+				dotDiametre = dot.getDiametre();
 			}
 		}
 
-		parser = new PSFunctionParser(equation.get());
+		updateCreatedProperties();
+		parser = new PSFunctionParser(getPlotEquation());
+	}
+
+	/**
+	 * Sets the properties already created to the values of their attributes.
+	 */
+	private void updateCreatedProperties() {
+		if(styleProp != null) {
+			styleProp.set(style);
+		}
+		if(nbPointsProp != null) {
+			nbPointsProp.set(nbPoints);
+		}
+		if(polarProp != null) {
+			polarProp.set(polar);
+		}
+		if(dotStyleProp != null) {
+			dotStyleProp.set(dotStyle);
+		}
+		if(dotDiametreProp != null) {
+			dotDiametreProp.set(dotDiametre);
+		}
+		if(minXProp != null) {
+			minXProp.set(minX);
+		}
+		if(maxXProp != null) {
+			maxXProp.set(maxX);
+		}
+		if(xscaleProp != null) {
+			xscaleProp.set(xscale);
+		}
+		if(yscaleProp != null) {
+			yscaleProp.set(yscale);
+		}
 	}
 
 	@Override
@@ -127,13 +172,18 @@ class LPlot extends LPositionShape implements IPlot {
 
 	@Override
 	public PlotStyle getPlotStyle() {
-		return style.get();
+		return styleProp == null ? style : styleProp.get();
 	}
 
 	@Override
 	public void setPlotStyle(final PlotStyle plotStyle) {
 		if(plotStyle != null) {
-			style.setValue(plotStyle);
+			if(styleProp == null) {
+				style = plotStyle;
+				shapeChanged();
+			}else {
+				styleProp.set(plotStyle);
+			}
 		}
 	}
 
@@ -164,7 +214,7 @@ class LPlot extends LPositionShape implements IPlot {
 
 	@Override
 	public boolean isFillable() {
-		return getPlotStyle() != PlotStyle.DOTS || dotStyle.get().isFillable();
+		return getPlotStyle() != PlotStyle.DOTS || getDotStyle().isFillable();
 	}
 
 	@Override
@@ -177,40 +227,86 @@ class LPlot extends LPositionShape implements IPlot {
 		return (getPlotMaxX() - getPlotMinX()) / (getNbPlottedPoints() - 1);
 	}
 
-	@Override
-	public IPoint getTopLeftPoint() {
-		final double step = getPlottingStep();
-		final IPoint pos = getPosition();
+	/**
+	 * @return The plotted points of the plot. They are computed only when a plot parameter changed since the last call.
+	 */
+	private PlotSamples getSamples() {
+		final PlotSamples cached = samples;
+		final String eq = getPlotEquation();
 		final double plotMinX = getPlotMinX();
-		final double yMax = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).max().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + plotMinX * IShape.PPC * getXScale(), pos.getY() - yMax * IShape.PPC * getYScale());
+		final double plotMaxX = getPlotMaxX();
+		final int nbPts = getNbPlottedPoints();
+		final boolean pol = isPolar();
+		final double xs = getXScale();
+		final double ys = getYScale();
+
+		if(cached != null && cached.isComputedFor(eq, plotMinX, plotMaxX, nbPts, pol, xs, ys)) {
+			return cached;
+		}
+
+		final PlotSamples computed = new PlotSamples(eq, plotMinX, plotMaxX, nbPts, pol, xs, ys);
+		computed.compute(this);
+		samples = computed;
+		return computed;
 	}
 
 	@Override
-	public IPoint getBottomRightPoint() {
-		final double step = getPlottingStep();
-		final IPoint pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double yMin = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).min().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * IShape.PPC * getXScale(), pos.getY() - yMin * IShape.PPC * getYScale());
+	public double[] getPlottedPointsX() {
+		return getSamples().ptsX;
+	}
+
+	@Override
+	public double[] getPlottedPointsY() {
+		return getSamples().ptsY;
+	}
+
+	/**
+	 * @return The maximal Y value of the plotted points (not scaled).
+	 */
+	private double getPlottedMaxY() {
+		return getSamples().maxY;
+	}
+
+	/**
+	 * @return The minimal Y value of the plotted points (not scaled).
+	 */
+	private double getPlottedMinY() {
+		return getSamples().minY;
+	}
+
+	@Override
+	boolean hasPointBounds() {
+		return false;
+	}
+
+	@Override
+	public double getMinX() {
+		return points.getX(0) + getPlotMinX() * IShape.PPC * getXScale();
+	}
+
+	@Override
+	public double getMinY() {
+		return points.getY(0) - getPlottedMaxY() * IShape.PPC * getYScale();
+	}
+
+	@Override
+	public double getMaxX() {
+		return points.getX(0) + getPlotMaxX() * IShape.PPC * getXScale();
+	}
+
+	@Override
+	public double getMaxY() {
+		return points.getY(0) - getPlottedMinY() * IShape.PPC * getYScale();
 	}
 
 	@Override
 	public IPoint getTopRightPoint() {
-		final double step = getPlottingStep();
-		final IPoint pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double maxY = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).max().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * IShape.PPC * getXScale(), pos.getY() - maxY * IShape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(getMaxX(), getMinY());
 	}
 
 	@Override
 	public IPoint getBottomLeftPoint() {
-		final double step = getPlottingStep();
-		final IPoint pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double yMin = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).min().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + plotMinX * IShape.PPC * getXScale(), pos.getY() - yMin * IShape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(getMinX(), getMaxY());
 	}
 
 	@Override
@@ -255,13 +351,18 @@ class LPlot extends LPositionShape implements IPlot {
 
 	@Override
 	public int getNbPlottedPoints() {
-		return nbPoints.get();
+		return nbPointsProp == null ? nbPoints : nbPointsProp.get();
 	}
 
 	@Override
 	public void setNbPlottedPoints(final int nbPts) {
 		if(nbPts > 1) {
-			nbPoints.setValue(nbPts);
+			if(nbPointsProp == null) {
+				nbPoints = nbPts;
+				shapeChanged();
+			}else {
+				nbPointsProp.set(nbPts);
+			}
 		}
 	}
 
@@ -270,62 +371,93 @@ class LPlot extends LPositionShape implements IPlot {
 		return parser.getY(x);
 	}
 
+	@Override
+	public void getY(final double[] xs, final double[] ys) {
+		parser.evaluate(xs, ys);
+	}
+
 	@Override
 	public String getPlotEquation() {
-		return equation.get();
+		return equationProp == null ? equation : equationProp.get();
 	}
 
 	@Override
 	public void setPlotEquation(final String eq) {
 		if(eq != null && !eq.isEmpty()) {
 			parser = new PSFunctionParser(eq);
-			equation.setValue(eq);
+			samples = null;
+			if(equationProp == null) {
+				equation = eq;
+				shapeChanged();
+			}else {
+				equationProp.set(eq);
+			}
 		}
 	}
 
 	@Override
 	public double getPlotMinX() {
-		return minX.get();
+		return minXProp == null ? minX : minXProp.get();
 	}
 
 	@Override
 	public void setPlotMinX(final double x) {
 		if(MathUtils.INST.isValidCoord(x) && x < getPlotMaxX()) {
-			minX.setValue(x);
+			if(minXProp == null) {
+				minX = x;
+				shapeChanged();
+			}else {
+				minXProp.set(x);
+			}
 		}
 	}
 
 	@Override
 	public double getPlotMaxX() {
-		return maxX.get();
+		return maxXProp == null ? maxX : maxXProp.get();
 	}
 
 	@Override
 	public void setPlotMaxX(final double x) {
 		if(MathUtils.INST.isValidCoord(x) && x > getPlotMinX()) {
-			maxX.setValue(x);
+			if(maxXProp == null) {
+				maxX = x;
+				shapeChanged();
+			}else {
+				maxXProp.set(x);
+			}
 		}
 	}
 
 	@Override
 	public boolean isPolar() {
-		return polar.get();
+		return polarProp == null ? polar : polarProp.get();
 	}
 
 	@Override
 	public void setPolar(final boolean pol) {
-		polar.setValue(pol);
+		if(polarProp == null) {
+			polar = pol;
+			shapeChanged();
+		}else {
+			polarProp.set(pol);
+		}
 	}
 
 	@Override
 	public double getDiametre() {
-		return dotDiametre.get();
+		return dotDiametreProp == null ? dotDiametre : dotDiametreProp.get();
 	}
 
 	@Override
 	public void setDiametre(final double diam) {
 		if(diam > 0d && MathUtils.INST.isValidCoord(diam)) {
-			dotDiametre.setValue(diam);
+			if(dotDiametreProp == null) {
+				dotDiametre = diam;
+				shapeChanged();
+			}else {
+				dotDiametreProp.set(diam);
+			}
 		}
 	}
 
@@ -341,13 +473,18 @@ class LPlot extends LPositionShape implements IPlot {
 
 	@Override
 	public DotStyle getDotStyle() {
-		return dotStyle.get();
+		return dotStyleProp == null ? dotStyle : dotStyleProp.get();
 	}
 
 	@Override
 	public void setDotStyle(final DotStyle dotst) {
 		if(dotst != null) {
-			dotStyle.setValue(dotst);
+			if(dotStyleProp == null) {
+				dotStyle = dotst;
+				shapeChanged();
+			}else {
+				dotStyleProp.set(dotst);
+			}
 		}
 	}
 
@@ -359,75 +496,216 @@ class LPlot extends LPositionShape implements IPlot {
 
 	@Override
 	public double getXScale() {
-		return xscale.get();
+		return xscaleProp == null ? xscale : xscaleProp.get();
 	}
 
 	@Override
 	public void setXScale(final double xscalePlot) {
 		if(xscalePlot > 0d && MathUtils.INST.isValidCoord(xscalePlot)) {
-			xscale.setValue(xscalePlot);
+			if(xscaleProp == null) {
+				xscale = xscalePlot;
+				shapeChanged();
+			}else {
+				xscaleProp.set(xscalePlot);
+			}
 		}
 	}
 
 	@Override
 	public double getYScale() {
-		return yscale.get();
+		return yscaleProp == null ? yscale : yscaleProp.get();
 	}
 
 	@Override
 	public void setYScale(final double yScalePlot) {
 		if(yScalePlot > 0d && MathUtils.INST.isValidCoord(yScalePlot)) {
-			yscale.setValue(yScalePlot);
+			if(yscaleProp == null) {
+				yscale = yScalePlot;
+				shapeChanged();
+			}else {
+				yscaleProp.set(yScalePlot);
+			}
 		}
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		polarProperty();
+		plotEquationProperty();
+		plotMinXProperty();
+		plotMaxXProperty();
+		nbPlottedPointsProperty();
+		plotStyleProperty();
+		dotStyleProperty();
+		dotDiametreProperty();
+		xScaleProperty();
+		yScaleProperty();
+	}
+
 	@Override
 	public BooleanProperty polarProperty() {
-		return polar;
+		if(polarProp == null) {
+			polarProp = new SimpleBooleanProperty(polar);
+			polarProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return polarProp;
 	}
 
 	@Override
 	public StringProperty plotEquationProperty() {
-		return equation;
+		if(equationProp == null) {
+			equationProp = new SimpleStringProperty(equation);
+			equationProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return equationProp;
 	}
 
 	@Override
 	public DoubleProperty plotMinXProperty() {
-		return minX;
+		if(minXProp == null) {
+			minXProp = new SimpleDoubleProperty(minX);
+			minXProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return minXProp;
 	}
 
 	@Override
 	public DoubleProperty plotMaxXProperty() {
-		return maxX;
+		if(maxXProp == null) {
+			maxXProp = new SimpleDoubleProperty(maxX);
+			maxXProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return maxXProp;
 	}
 
 	@Override
 	public IntegerProperty nbPlottedPointsProperty() {
-		return nbPoints;
+		if(nbPointsProp == null) {
+			nbPointsProp = new SimpleIntegerProperty(nbPoints);
+			nbPointsProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return nbPointsProp;
 	}
 
 	@Override
 	public ObjectProperty<PlotStyle> plotStyleProperty() {
-		return style;
+		if(styleProp == null) {
+			styleProp = new SimpleObjectProperty<>(style);
+			styleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return styleProp;
 	}
 
 	@Override
 	public ObjectProperty<DotStyle> dotStyleProperty() {
-		return dotStyle;
+		if(dotStyleProp == null) {
+			dotStyleProp = new SimpleObjectProperty<>(dotStyle);
+			dotStyleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return dotStyleProp;
 	}
 
 	@Override
 	public DoubleProperty dotDiametreProperty() {
-		return dotDiametre;
+		if(dotDiametreProp == null) {
+			dotDiametreProp = new SimpleDoubleProperty(dotDiametre);
+			dotDiametreProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return dotDiametreProp;
 	}
 
 	@Override
 	public DoubleProperty xScaleProperty() {
-		return xscale;
+		if(xscaleProp == null) {
+			xscaleProp = new SimpleDoubleProperty(xscale);
+			xscaleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return xscaleProp;
 	}
 
 	@Override
 	public DoubleProperty yScaleProperty() {
-		return yscale;
+		if(yscaleProp == null) {
+			yscaleProp = new SimpleDoubleProperty(yscale);
+			yscaleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return yscaleProp;
+	}
+
+
+	/**
+	 * The plotted points of a plot computed for a given set of plot parameters.
+	 */
+	private static final class PlotSamples {
+		private final String equation;
+		private final double minX;
+		private final double maxX;
+		private final int nbPts;
+		private final boolean polar;
+		private final double xScale;
+		private final double yScale;
+		/** The coordinates of the plotted points, in pixels, relative to the position of the plot. */
+		double[] ptsX;
+		double[] ptsY;
+		/** The minimal and maximal values of the function over the plotted points (not scaled). */
+		double minY;
+		double maxY;
+
+		PlotSamples(final String eq, final double xMin, final double xMax, final int nb, final boolean pol, final double xs, final double ys) {
+			super();
+			equation = eq;
+			minX = xMin;
+			maxX = xMax;
+			nbPts = Math.max(0, nb);
+			polar = pol;
+			xScale = xs;
+			yScale = ys;
+		}
+
+		boolean isComputedFor(final String eq, final double xMin, final double xMax, final int nb, final boolean pol, final double xs, final double ys) {
+			return equation.equals(eq) && Double.compare(minX, xMin) == 0 && Double.compare(maxX, xMax) == 0 && nbPts == Math.max(0, nb) &&
+				polar == pol && Double.compare(xScale, xs) == 0 && Double.compare(yScale, ys) == 0;
+		}
+
+		/**
+		 * Evaluates the function of the given plot and computes the plotted points.
+		 * In polar mode, the point of maxX is added after the nbPts points (as done by PSTricks).
+		 */
+		void compute(final IPlot plot) {
+			final double step = (maxX - minX) / (nbPts - 1);
+			final double[] xs = new double[polar ? nbPts + 1 : nbPts];
+			final double[] ys = new double[xs.length];
+
+			for(int i = 0; i < nbPts; i++) {
+				xs[i] = minX + i * step;
+			}
+			if(polar) {
+				xs[nbPts] = maxX;
+			}
+
+			plot.getY(xs, ys);
+
+			minY = nbPts == 0 ? 0d : ys[0];
+			maxY = minY;
+			for(int i = 1; i < nbPts; i++) {
+				minY = Math.min(minY, ys[i]);
+				maxY = Math.max(maxY, ys[i]);
+			}
+
+			ptsX = new double[xs.length];
+			ptsY = new double[xs.length];
+
+			for(int i = 0; i < xs.length; i++) {
+				if(polar) {
+					final double angle = Math.toRadians(xs[i]);
+					ptsX[i] = ys[i] * Math.cos(angle) * IShape.PPC * xScale;
+					ptsY[i] = -ys[i] * Math.sin(angle) * IShape.PPC * yScale;
+				}else {
+					ptsX[i] = xs[i] * IShape.PPC * xScale;
+					ptsY[i] = -ys[i] * IShape.PPC * yScale;
+				}
+			}
+		}
 	}
 }
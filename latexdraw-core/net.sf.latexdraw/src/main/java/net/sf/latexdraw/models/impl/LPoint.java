@@ -26,8 +26,14 @@ import static java.lang.Math.atan;
  * @author Arnaud Blouin
  */
 class LPoint implements IPoint {
-	private final DoubleProperty x;
-	private final DoubleProperty y;
+	/** The X-coordinate. Used while the X property is not created. */
+	private double xValue;
+	/** The Y-coordinate. Used while the Y property is not created. */
+	private double yValue;
+	/** The X property, created on demand. */
+	private DoubleProperty x;
+	/** The Y property, created on demand. */
+	private DoubleProperty y;
 
 	/**
 	 * Creates a Point2D with coordinates (0, 0).
@@ -51,8 +57,8 @@ class LPoint implements IPoint {
 	 */
 	LPoint(final double xCoord, final double yCoord) {
 		super();
-		x = new SimpleDoubleProperty(xCoord);
-		y = new SimpleDoubleProperty(yCoord);
+		xValue = xCoord;
+		yValue = yCoord;
 	}
 
 	@Override
@@ -156,14 +162,22 @@ class LPoint implements IPoint {
 	@Override
 	public void setX(final double newX) {
 		if(MathUtils.INST.isValidCoord(newX)) {
-			x.set(newX);
+			if(x == null) {
+				xValue = newX;
+			}else {
+				x.set(newX);
+			}
 		}
 	}
 
 	@Override
 	public void setY(final double newY) {
 		if(MathUtils.INST.isValidCoord(newY)) {
-			y.set(newY);
+			if(y == null) {
+				yValue = newY;
+			}else {
+				y.set(newY);
+			}
 		}
 	}
 
@@ -181,12 +195,12 @@ class LPoint implements IPoint {
 
 	@Override
 	public Point2D.Double toPoint2D() {
-		return new Point2D.Double(x.getValue(), y.getValue());
+		return new Point2D.Double(getX(), getY());
 	}
 
 	@Override
 	public Point3D toPoint3D() {
-		return new Point3D(x.getValue(), y.getValue(), 0d);
+		return new Point3D(getX(), getY(), 0d);
 	}
 
 	@Override
@@ -225,37 +239,43 @@ class LPoint implements IPoint {
 	}
 
 	@Override
-	public  DoubleProperty xProperty() {
+	public DoubleProperty xProperty() {
+		if(x == null) {
+			x = new SimpleDoubleProperty(xValue);
+		}
 		return x;
 	}
 
 	@Override
-	public  DoubleProperty yProperty() {
+	public DoubleProperty yProperty() {
+		if(y == null) {
+			y = new SimpleDoubleProperty(yValue);
+		}
 		return y;
 	}
 
 	@Override
 	public double getY() {
-		return y.get();
+		return y == null ? yValue : y.get();
 	}
 
 	@Override
 	public double getX() {
-		return x.get();
+		return x == null ? xValue : x.get();
 	}
 
 	@Override
 	public double distance(final double xCoord, final double yCoord) {
-		return Math.sqrt(Math.pow(xCoord - x.get(), 2) + Math.pow(yCoord - y.get(), 2));
+		return Math.sqrt(Math.pow(xCoord - getX(), 2) + Math.pow(yCoord - getY(), 2));
 	}
 
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		long temp = Double.doubleToLongBits(x.doubleValue());
+		long temp = Double.doubleToLongBits(getX());
 		result = prime * result + (int) (temp ^ (temp >>> 32));
-		temp = Double.doubleToLongBits(y.doubleValue());
+		temp = Double.doubleToLongBits(getY());
 		result = prime * result + (int) (temp ^ (temp >>> 32));
 		return result;
 	}
@@ -265,7 +285,7 @@ class LPoint implements IPoint {
 		if(this == obj) {
 			return true;
 		}
-		if(obj == null || getClass() != obj.getClass()) {
+		if(!(obj instanceof LPoint)) {
 			return false;
 		}
 		return equals((IPoint) obj, 0.0000001);
@@ -273,6 +293,6 @@ class LPoint implements IPoint {
 
 	@Override
 	public String toString() {
-		return "LPoint [x=" + x.doubleValue() + ", y=" + y.doubleValue() + "]"; //NON-NLS
+		return "LPoint [x=" + getX() + ", y=" + getY() + "]"; //NON-NLS
 	}
 }
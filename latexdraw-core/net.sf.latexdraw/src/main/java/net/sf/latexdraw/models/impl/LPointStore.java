@@ -0,0 +1,483 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models.impl;
+
+import java.awt.geom.AffineTransform;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import net.sf.latexdraw.models.MathUtils;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+
+/**
+ * A growable list of points whose coordinates are packed into a single array (x and y interleaved).
+ * The points returned by this list are lightweight views created on demand over this array.
+ * The JavaFX properties of the points are only created when requested through xProperty/yProperty;
+ * they are then kept synchronised with the array.
+ * Bulk operations (translation, scaling, mirroring, rotation, bounds) work directly on the array.
+ * The bounds of the points are cached: any modification of the coordinates marks them dirty
+ * (translations and mirrors update them directly).
+ * Points cannot be removed from the store.
+ * @author Arnaud Blouin
+ */
+final class LPointStore extends AbstractList<IPoint> implements RandomAccess {
+	private static final double[] EMPTY = {};
+
+	/** The coordinates of the points: x0, y0, x1, y1, etc. */
+	private double[] coords;
+
+	/** The number of points. */
+	private int size;
+
+	/** The JavaFX properties of the coordinates (same indices as coords). Null while no property has been requested. */
+	private DoubleProperty[] properties;
+
+	/** The cached bounds of the points. Only relevant when boundsValid is true. */
+	private double minX;
+	private double minY;
+	private double maxX;
+	private double maxY;
+
+	/** False when the coordinates have changed since the last computation of the bounds. */
+	private boolean boundsValid;
+
+	/** Run each time the coordinates change. Can be null. */
+	private Runnable onChanged;
+
+	/** The number of nested batches of modifications in progress. */
+	private int batchDepth;
+
+	/** True if the coordinates changed during the current batch. */
+	private boolean changedInBatch;
+
+	/**
+	 * Creates an empty store.
+	 */
+	LPointStore() {
+		super();
+		coords = EMPTY;
+		size = 0;
+		properties = null;
+		boundsValid = false;
+		onChanged = null;
+		batchDepth = 0;
+		changedInBatch = false;
+	}
+
+	@Override
+	public IPoint get(final int index) {
+		checkIndex(index);
+		return new LStoredPoint(this, index);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean add(final IPoint pt) {
+		addPoint(pt.getX(), pt.getY());
+		return true;
+	}
+
+	@Override
+	public boolean addAll(final Collection<? extends IPoint> pts) {
+		ensureCapacity(size + pts.size());
+		pts.forEach(pt -> addPoint(pt.getX(), pt.getY()));
+		return !pts.isEmpty();
+	}
+
+	@Override
+	public IPoint set(final int index, final IPoint pt) {
+		checkIndex(index);
+		final IPoint old = ShapeFactory.INST.createPoint(getX(index), getY(index));
+		setPoint(index, pt.getX(), pt.getY());
+		return old;
+	}
+
+	@Override
+	public int indexOf(final Object obj) {
+		if(obj instanceof LStoredPoint && ((LStoredPoint) obj).isStoredIn(this)) {
+			return ((LStoredPoint) obj).getIndex();
+		}
+		if(obj instanceof LPoint) {
+			final IPoint pt = (IPoint) obj;
+			for(int i = 0; i < size; i++) {
+				if(MathUtils.INST.equalsDouble(getX(i), pt.getX(), 0.0000001) && MathUtils.INST.equalsDouble(getY(i), pt.getY(), 0.0000001)) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public Iterator<IPoint> iterator() {
+		return new Iterator<IPoint>() {
+			private int cursor;
+
+			@Override
+			public boolean hasNext() {
+				return cursor < size;
+			}
+
+			@Override
+			public IPoint next() {
+				if(cursor >= size) {
+					throw new NoSuchElementException();
+				}
+				final IPoint pt = new LStoredPoint(LPointStore.this, cursor);
+				cursor++;
+				return pt;
+			}
+		};
+	}
+
+	/**
+	 * Sets the object to run each time the coordinates of the points change.
+	 * @param changed The object to run or null.
+	 */
+	void setOnChanged(final Runnable changed) {
+		onChanged = changed;
+	}
+
+	/**
+	 * Starts a batch of modifications: the properties are not updated and the changes are not notified
+	 * until the end of the outer batch.
+	 */
+	void beginBatch() {
+		batchDepth++;
+	}
+
+	/**
+	 * Ends a batch of modifications. At the end of the outer batch, if the coordinates changed,
+	 * the created properties are updated and the change is notified once.
+	 */
+	void endBatch() {
+		if(batchDepth > 0) {
+			batchDepth--;
+			if(batchDepth == 0 && changedInBatch) {
+				changedInBatch = false;
+				updateProperties();
+				notifyChanged();
+			}
+		}
+	}
+
+	/**
+	 * Adds a point at the end of the store.
+	 * @param x The X-coordinate of the new point.
+	 * @param y The Y-coordinate of the new point.
+	 */
+	void addPoint(final double x, final double y) {
+		ensureCapacity(size + 1);
+		coords[size * 2] = x;
+		coords[size * 2 + 1] = y;
+		size++;
+		modCount++;
+		boundsValid = false;
+		notifyChanged();
+	}
+
+	/**
+	 * @param index The index of the point.
+	 * @return The X-coordinate of the point.
+	 */
+	double getX(final int index) {
+		return coords[index * 2];
+	}
+
+	/**
+	 * @param index The index of the point.
+	 * @return The Y-coordinate of the point.
+	 */
+	double getY(final int index) {
+		return coords[index * 2 + 1];
+	}
+
+	/**
+	 * Sets the X-coordinate of a point. The value is not checked.
+	 * @param index The index of the point.
+	 * @param x The new X-coordinate.
+	 */
+	void setX(final int index, final double x) {
+		setCoord(index * 2, x);
+		notifyChanged();
+	}
+
+	/**
+	 * Sets the Y-coordinate of a point. The value is not checked.
+	 * @param index The index of the point.
+	 * @param y The new Y-coordinate.
+	 */
+	void setY(final int index, final double y) {
+		setCoord(index * 2 + 1, y);
+		notifyChanged();
+	}
+
+	/**
+	 * Sets the coordinates of a point. The values are not checked.
+	 * @param index The index of the point.
+	 * @param x The new X-coordinate.
+	 * @param y The new Y-coordinate.
+	 */
+	void setPoint(final int index, final double x, final double y) {
+		setCoord(index * 2, x);
+		setCoord(index * 2 + 1, y);
+		notifyChanged();
+	}
+
+	/**
+	 * @param index The index of the point.
+	 * @return The X property of the point. Created on the first call.
+	 */
+	DoubleProperty xProperty(final int index) {
+		checkIndex(index);
+		return property(index * 2);
+	}
+
+	/**
+	 * @param index The index of the point.
+	 * @return The Y property of the point. Created on the first call.
+	 */
+	DoubleProperty yProperty(final int index) {
+		checkIndex(index);
+		return property(index * 2 + 1);
+	}
+
+	/**
+	 * Creates the X and Y properties of all the points.
+	 */
+	void createProperties() {
+		for(int i = 0, length = size * 2; i < length; i++) {
+			property(i);
+		}
+	}
+
+	/**
+	 * Translates all the points.
+	 * @param tx The X translation.
+	 * @param ty The Y translation.
+	 */
+	void translate(final double tx, final double ty) {
+		for(int i = 0, length = size * 2; i < length; i += 2) {
+			coords[i] += tx;
+			coords[i + 1] += ty;
+		}
+		if(boundsValid) {
+			minX += tx;
+			maxX += tx;
+			minY += ty;
+			maxY += ty;
+		}
+		updateProperties();
+		notifyChanged();
+	}
+
+	/**
+	 * Mirrors all the points using the vertical line x.
+	 * @param x The X-coordinate of the symmetry axis.
+	 */
+	void mirrorHorizontal(final double x) {
+		final double x2 = 2d * x;
+		for(int i = 0, length = size * 2; i < length; i += 2) {
+			coords[i] = x2 - coords[i];
+		}
+		if(boundsValid) {
+			final double min = minX;
+			minX = x2 - maxX;
+			maxX = x2 - min;
+		}
+		updateProperties();
+		notifyChanged();
+	}
+
+	/**
+	 * Mirrors all the points using the horizontal line y.
+	 * @param y The Y-coordinate of the symmetry axis.
+	 */
+	void mirrorVertical(final double y) {
+		final double y2 = 2d * y;
+		for(int i = 1, length = size * 2; i < length; i += 2) {
+			coords[i] = y2 - coords[i];
+		}
+		if(boundsValid) {
+			final double min = minY;
+			minY = y2 - maxY;
+			maxY = y2 - min;
+		}
+		updateProperties();
+		notifyChanged();
+	}
+
+	/**
+	 * Rotates all the points.
+	 * @param centreX The X-coordinate of the rotation centre.
+	 * @param centreY The Y-coordinate of the rotation centre.
+	 * @param angle The rotation angle in radian.
+	 */
+	void rotate(final double centreX, final double centreY, final double angle) {
+		AffineTransform.getRotateInstance(angle, centreX, centreY).transform(coords, 0, coords, 0, size);
+		boundsValid = false;
+		updateProperties();
+		notifyChanged();
+	}
+
+	/**
+	 * Scales all the points from a reference point. A coordinate equal to the one of the reference point is not modified.
+	 * @param refX The X-coordinate of the reference point.
+	 * @param refY The Y-coordinate of the reference point.
+	 * @param sx The X scaling factor (1 does not scale).
+	 * @param sy The Y scaling factor (1 does not scale).
+	 */
+	void scale(final double refX, final double refY, final double sx, final double sy) {
+		for(int i = 0, length = size * 2; i < length; i += 2) {
+			if(!MathUtils.INST.equalsDouble(coords[i], refX)) {
+				coords[i] = refX + (coords[i] - refX) * sx;
+			}
+			if(!MathUtils.INST.equalsDouble(coords[i + 1], refY)) {
+				coords[i + 1] = refY + (coords[i + 1] - refY) * sy;
+			}
+		}
+		boundsValid = false;
+		updateProperties();
+		notifyChanged();
+	}
+
+	/**
+	 * @return The minimal X-coordinate of the points or NaN if the store is empty.
+	 */
+	double getMinX() {
+		return updateBounds() ? minX : Double.NaN;
+	}
+
+	/**
+	 * @return The minimal Y-coordinate of the points or NaN if the store is empty.
+	 */
+	double getMinY() {
+		return updateBounds() ? minY : Double.NaN;
+	}
+
+	/**
+	 * @return The maximal X-coordinate of the points or NaN if the store is empty.
+	 */
+	double getMaxX() {
+		return updateBounds() ? maxX : Double.NaN;
+	}
+
+	/**
+	 * @return The maximal Y-coordinate of the points or NaN if the store is empty.
+	 */
+	double getMaxY() {
+		return updateBounds() ? maxY : Double.NaN;
+	}
+
+	/**
+	 * Computes the bounds of the points if they are dirty.
+	 * @return False if the store is empty (no bounds).
+	 */
+	private boolean updateBounds() {
+		if(size == 0) {
+			return false;
+		}
+		if(!boundsValid) {
+			minX = coords[0];
+			maxX = coords[0];
+			minY = coords[1];
+			maxY = coords[1];
+			for(int i = 2, length = size * 2; i < length; i += 2) {
+				minX = Math.min(minX, coords[i]);
+				maxX = Math.max(maxX, coords[i]);
+				minY = Math.min(minY, coords[i + 1]);
+				maxY = Math.max(maxY, coords[i + 1]);
+			}
+			boundsValid = true;
+		}
+		return true;
+	}
+
+	/**
+	 * Notifies the change of the coordinates, or postpones it to the end of the current batch.
+	 */
+	private void notifyChanged() {
+		if(batchDepth > 0) {
+			changedInBatch = true;
+		}else {
+			if(onChanged != null) {
+				onChanged.run();
+			}
+		}
+	}
+
+	private void setCoord(final int pos, final double value) {
+		coords[pos] = value;
+		boundsValid = false;
+		if(batchDepth == 0 && properties != null && properties[pos] != null) {
+			properties[pos].set(value);
+		}
+	}
+
+	/**
+	 * Pushes the array values into the created properties (after a bulk operation).
+	 */
+	private void updateProperties() {
+		if(properties != null && batchDepth == 0) {
+			for(int i = 0, length = size * 2; i < length; i++) {
+				if(properties[i] != null) {
+					properties[i].set(coords[i]);
+				}
+			}
+		}
+	}
+
+	private DoubleProperty property(final int pos) {
+		if(properties == null) {
+			properties = new DoubleProperty[coords.length];
+		}
+		DoubleProperty prop = properties[pos];
+		if(prop == null) {
+			prop = new SimpleDoubleProperty(coords[pos]);
+			// A property may be modified directly: the array must follow.
+			prop.addListener((obs, oldValue, newValue) -> {
+				if(coords[pos] != newValue.doubleValue()) {
+					coords[pos] = newValue.doubleValue();
+					boundsValid = false;
+					notifyChanged();
+				}
+			});
+			properties[pos] = prop;
+		}
+		return prop;
+	}
+
+	private void ensureCapacity(final int nbPoints) {
+		if(nbPoints * 2 > coords.length) {
+			final int capacity = Math.max(nbPoints * 2, Math.max(8, coords.length + (coords.length >> 1)));
+			coords = Arrays.copyOf(coords, capacity);
+			if(properties != null) {
+				properties = Arrays.copyOf(properties, capacity);
+			}
+		}
+	}
+
+	private void checkIndex(final int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //NON-NLS
+		}
+	}
+}
@@ -72,4 +72,10 @@ class LPolyline extends LPolygon implements IPolyline, LArrowableShape {
 	public List<IArrow> getArrows() {
 		return arrows;
 	}
+
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		createArrowsProperties();
+	}
 }
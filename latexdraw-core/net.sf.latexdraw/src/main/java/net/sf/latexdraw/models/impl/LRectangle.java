@@ -25,7 +25,7 @@ class LRectangle extends LRectangularShape implements IRectangle {
 
 	LRectangle(final IPoint tl, final IPoint br) {
 		super(tl, br);
-		lineArcProp = new LineArcProp();
+		lineArcProp = new LineArcProp(this::shapeChanged);
 	}
 
 	@Override
@@ -51,8 +51,14 @@ class LRectangle extends LRectangularShape implements IRectangle {
 		return lineArcProp.isRoundCorner();
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		frameArcProperty();
+	}
+
 	@Override
 	public  DoubleProperty frameArcProperty() {
-		return lineArcProp.frameArc;
+		return lineArcProp.frameArcProperty();
 	}
 }
@@ -16,10 +16,13 @@ import java.util.Collections;
 import java.util.List;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.LongProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
@@ -39,122 +42,167 @@ import net.sf.latexdraw.view.pst.PSTricksConstants;
  */
 abstract class LShape implements ISingleShape {
 	/** The thickness of the lines of the shape in pixels. */
-	protected final DoubleProperty thickness;
+	private double thickness;
 
 	/** The colour of the lines. */
-	protected final ObjectProperty<Color> lineColour;
+	private Color lineColour;
 
 	/** The style of the lines. */
-	protected final ObjectProperty<LineStyle> lineStyle;
+	private LineStyle lineStyle;
 
 	/** The style of the interior of the shape. */
-	protected final ObjectProperty<FillingStyle> fillingStyle;
+	private FillingStyle fillingStyle;
 
 	/** The white dash separator for dashed lines in pixel. */
-	protected final DoubleProperty dashSepWhite;
+	private double dashSepWhite;
 
 	/** The black dash separator for dashed lines in pixel. */
-	protected final DoubleProperty dashSepBlack;
+	private double dashSepBlack;
 
 	/** The dot separator for dotted lines. */
-	protected final DoubleProperty dotSep;
+	private double dotSep;
 
 	/** The colour of the interior of the shape. */
-	protected final ObjectProperty<Color> fillingCol;
+	private Color fillingCol;
 
 	/** The start colour of the gradient. */
-	protected final ObjectProperty<Color> gradColStart;
+	private Color gradColStart;
 
 	/** The end colour of the gradient. */
-	protected final ObjectProperty<Color> gradColEnd;
+	private Color gradColEnd;
 
 	/** The angle of the gradient in radian. */
-	protected final DoubleProperty gradAngle;
+	private double gradAngle;
 
 	/** The middle point of the gradient. */
-	protected final DoubleProperty gradMidPt;
+	private double gradMidPt;
 
 	/** The separation size between hatchings in pixel. */
-	protected final DoubleProperty hatchingsSep;
+	private double hatchingsSep;
 
 	/** The colour of the hatchings. */
-	protected final ObjectProperty<Color> hatchingsCol;
+	private Color hatchingsCol;
 
 	/** The angle of the hatchings in radian. */
-	protected final DoubleProperty hatchingsAngle;
+	private double hatchingsAngle;
 
 	/** The thickness of the hatchings in pixel. */
-	protected final DoubleProperty hatchingsWidth;
+	private double hatchingsWidth;
 
 	/** The rotation angle of the shape. */
-	protected final DoubleProperty rotationAngle;
+	private double rotationAngle;
 
 	/** Defines if the points of the shape must be considered. */
-	protected final BooleanProperty showPts;
+	private boolean showPts;
 
 	/** Defines if the shape has double borders. */
-	protected final BooleanProperty hasDbleBord;
+	private boolean hasDbleBord;
 
 	/** The colour of the double borders. */
-	protected final ObjectProperty<Color> dbleBordCol;
+	private Color dbleBordCol;
 
 	/** The separation size of the double borders in pixel. */
-	protected final DoubleProperty dbleBordSep;
+	private double dbleBordSep;
 
 	/** Defines if the shape has a shadow. */
-	protected final BooleanProperty hasShadow;
+	private boolean hasShadow;
 
 	/** The colour of the shadow. */
-	protected final ObjectProperty<Color> shadowCol;
+	private Color shadowCol;
 
 	/** The angle of the shadow in radian. */
-	protected final DoubleProperty shadowAngle;
+	private double shadowAngle;
 
 	/** The size of the shadow in pixel. */
-	protected final DoubleProperty shadowSize;
+	private double shadowSize;
 
 	/** The position of the border of the shape. */
-	protected final ObjectProperty<BorderPos> bordersPosition;
-
-	/** The points of the shape. */
-	protected final List<IPoint> points;
+	private BorderPos bordersPosition;
+
+	/* The JavaFX properties of the attributes above: created on demand by the xxxProperty methods.
+	 * Once created, a property holds the value of its attribute. */
+	private DoubleProperty thicknessProp;
+	private ObjectProperty<Color> lineColourProp;
+	private ObjectProperty<LineStyle> lineStyleProp;
+	private ObjectProperty<FillingStyle> fillingStyleProp;
+	private DoubleProperty dashSepWhiteProp;
+	private DoubleProperty dashSepBlackProp;
+	private DoubleProperty dotSepProp;
+	private ObjectProperty<Color> fillingColProp;
+	private ObjectProperty<Color> gradColStartProp;
+	private ObjectProperty<Color> gradColEndProp;
+	private DoubleProperty gradAngleProp;
+	private DoubleProperty gradMidPtProp;
+	private DoubleProperty hatchingsSepProp;
+	private ObjectProperty<Color> hatchingsColProp;
+	private DoubleProperty hatchingsAngleProp;
+	private DoubleProperty hatchingsWidthProp;
+	private DoubleProperty rotationAngleProp;
+	private BooleanProperty showPtsProp;
+	private BooleanProperty hasDbleBordProp;
+	private ObjectProperty<Color> dbleBordColProp;
+	private DoubleProperty dbleBordSepProp;
+	private BooleanProperty hasShadowProp;
+	private ObjectProperty<Color> shadowColProp;
+	private DoubleProperty shadowAngleProp;
+	private DoubleProperty shadowSizeProp;
+	private ObjectProperty<BorderPos> bordersPositionProp;
+
+	/** The points of the shape, packed into an array of coordinates. */
+	protected final LPointStore points;
 
 	/** Defined if the shape has been modified. */
 	protected boolean modified;
 
+	/** Notified when the extent of the shape may have changed (used by the spatial indexes of the drawings). Null while empty. */
+	private List<Runnable> boundsListeners;
+
+	/** Notified when any attribute of the shape may have changed (used by the drawings). Null while empty. */
+	private List<Runnable> changeListeners;
+
+	/** Incremented each time the points change (once per batch of modifications). */
+	private long geometryVersion;
+
+	/** The property of the geometry version, created on demand. */
+	private LongProperty geometryVersionProp;
+
 	/**
 	 * The second default constructor
 	 */
 	LShape() {
 		super();
 		modified = false;
-		thickness = new SimpleDoubleProperty(2d);
-		rotationAngle = new SimpleDoubleProperty(0d);
-		shadowAngle = new SimpleDoubleProperty(-Math.PI / 4d);
-		gradAngle = new SimpleDoubleProperty(0d);
-		hatchingsAngle = new SimpleDoubleProperty(0d);
-		hasShadow = new SimpleBooleanProperty(false);
-		hasDbleBord = new SimpleBooleanProperty(false);
-		lineStyle = new SimpleObjectProperty<>(LineStyle.SOLID);
-		lineColour = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_LINE_COLOR);
-		dotSep = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DOT_STEP * PPC);
-		dashSepBlack = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DASH_BLACK * PPC);
-		dashSepWhite = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DASH_WHITE * PPC);
-		hatchingsCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_HATCHING_COLOR);
-		hatchingsSep = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_HATCH_SEP * PPC);
-		hatchingsWidth = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_HATCH_WIDTH * PPC);
-		fillingStyle = new SimpleObjectProperty<>(FillingStyle.NONE);
-		fillingCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_INTERIOR_COLOR);
-		bordersPosition = new SimpleObjectProperty<>(BorderPos.INTO);
-		dbleBordCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_DOUBLE_COLOR);
-		dbleBordSep = new SimpleDoubleProperty(6d);
-		shadowCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_SHADOW_COLOR);
-		shadowSize = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_SHADOW_SIZE * PPC);
-		gradColStart = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_GRADIENT_START_COLOR);
-		gradColEnd = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_GRADIENT_END_COLOR);
-		gradMidPt = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_GRADIENT_MID_POINT);
-		showPts = new SimpleBooleanProperty(false);
-		points = new ArrayList<>();
+		thickness = 2d;
+		rotationAngle = 0d;
+		shadowAngle = -Math.PI / 4d;
+		gradAngle = 0d;
+		hatchingsAngle = 0d;
+		hasShadow = false;
+		hasDbleBord = false;
+		lineStyle = LineStyle.SOLID;
+		lineColour = PSTricksConstants.DEFAULT_LINE_COLOR;
+		dotSep = PSTricksConstants.DEFAULT_DOT_STEP * PPC;
+		dashSepBlack = PSTricksConstants.DEFAULT_DASH_BLACK * PPC;
+		dashSepWhite = PSTricksConstants.DEFAULT_DASH_WHITE * PPC;
+		hatchingsCol = PSTricksConstants.DEFAULT_HATCHING_COLOR;
+		hatchingsSep = PSTricksConstants.DEFAULT_HATCH_SEP * PPC;
+		hatchingsWidth = PSTricksConstants.DEFAULT_HATCH_WIDTH * PPC;
+		fillingStyle = FillingStyle.NONE;
+		fillingCol = PSTricksConstants.DEFAULT_INTERIOR_COLOR;
+		bordersPosition = BorderPos.INTO;
+		dbleBordCol = PSTricksConstants.DEFAULT_DOUBLE_COLOR;
+		dbleBordSep = 6d;
+		shadowCol = PSTricksConstants.DEFAULT_SHADOW_COLOR;
+		shadowSize = PSTricksConstants.DEFAULT_SHADOW_SIZE * PPC;
+		gradColStart = PSTricksConstants.DEFAULT_GRADIENT_START_COLOR;
+		gradColEnd = PSTricksConstants.DEFAULT_GRADIENT_END_COLOR;
+		gradMidPt = PSTricksConstants.DEFAULT_GRADIENT_MID_POINT;
+		showPts = false;
+		boundsListeners = null;
+		changeListeners = null;
+		points = new LPointStore();
+		geometryVersion = 0L;
+		points.setOnChanged(this::pointsChanged);
 	}
 
 	@Override
@@ -211,11 +259,11 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public double getBorderGap() {
-		switch(bordersPosition.get()) {
+		switch(getBordersPosition()) {
 			case MID:
-				return hasDbleBord() ? thickness.doubleValue() + getDbleBordSep() / 2d : thickness.doubleValue() / 2d;
+				return hasDbleBord() ? getThickness() + getDbleBordSep() / 2d : getThickness() / 2d;
 			case OUT:
-				return hasDbleBord() ? thickness.doubleValue() * 2d + getDbleBordSep() : thickness.doubleValue();
+				return hasDbleBord() ? getThickness() * 2d + getDbleBordSep() : getThickness();
 			case INTO:
 				return 0d;
 		}
@@ -224,42 +272,42 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public BorderPos getBordersPosition() {
-		return bordersPosition.get();
+		return bordersPositionProp == null ? bordersPosition : bordersPositionProp.get();
 	}
 
 	@Override
 	public double getDashSepBlack() {
-		return dashSepBlack.doubleValue();
+		return dashSepBlackProp == null ? dashSepBlack : dashSepBlackProp.get();
 	}
 
 	@Override
 	public double getDashSepWhite() {
-		return dashSepWhite.doubleValue();
+		return dashSepWhiteProp == null ? dashSepWhite : dashSepWhiteProp.get();
 	}
 
 	@Override
 	public Color getDbleBordCol() {
-		return dbleBordCol.get();
+		return dbleBordColProp == null ? dbleBordCol : dbleBordColProp.get();
 	}
 
 	@Override
 	public double getDbleBordSep() {
-		return dbleBordSep.doubleValue();
+		return dbleBordSepProp == null ? dbleBordSep : dbleBordSepProp.get();
 	}
 
 	@Override
 	public double getDotSep() {
-		return dotSep.doubleValue();
+		return dotSepProp == null ? dotSep : dotSepProp.get();
 	}
 
 	@Override
 	public Color getFillingCol() {
-		return fillingCol.get();
+		return fillingColProp == null ? fillingCol : fillingColProp.get();
 	}
 
 	@Override
 	public FillingStyle getFillingStyle() {
-		return fillingStyle.get();
+		return fillingStyleProp == null ? fillingStyle : fillingStyleProp.get();
 	}
 
 	@Override
@@ -284,57 +332,57 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public double getGradAngle() {
-		return gradAngle.doubleValue();
+		return gradAngleProp == null ? gradAngle : gradAngleProp.get();
 	}
 
 	@Override
 	public Color getGradColEnd() {
-		return gradColEnd.get();
+		return gradColEndProp == null ? gradColEnd : gradColEndProp.get();
 	}
 
 	@Override
 	public Color getGradColStart() {
-		return gradColStart.get();
+		return gradColStartProp == null ? gradColStart : gradColStartProp.get();
 	}
 
 	@Override
 	public double getGradMidPt() {
-		return gradMidPt.doubleValue();
+		return gradMidPtProp == null ? gradMidPt : gradMidPtProp.get();
 	}
 
 	@Override
 	public IPoint getGravityCentre() {
-		return points.isEmpty() ? ShapeFactory.INST.createPoint() : getTopLeftPoint().getMiddlePoint(getBottomRightPoint());
+		return points.isEmpty() ? ShapeFactory.INST.createPoint() : ShapeFactory.INST.createPoint((getMinX() + getMaxX()) / 2d, (getMinY() + getMaxY()) / 2d);
 	}
 
 	@Override
 	public double getHatchingsAngle() {
-		return hatchingsAngle.doubleValue();
+		return hatchingsAngleProp == null ? hatchingsAngle : hatchingsAngleProp.get();
 	}
 
 	@Override
 	public Color getHatchingsCol() {
-		return hatchingsCol.get();
+		return hatchingsColProp == null ? hatchingsCol : hatchingsColProp.get();
 	}
 
 	@Override
 	public double getHatchingsSep() {
-		return hatchingsSep.doubleValue();
+		return hatchingsSepProp == null ? hatchingsSep : hatchingsSepProp.get();
 	}
 
 	@Override
 	public double getHatchingsWidth() {
-		return hatchingsWidth.doubleValue();
+		return hatchingsWidthProp == null ? hatchingsWidth : hatchingsWidthProp.get();
 	}
 
 	@Override
 	public Color getLineColour() {
-		return lineColour.get();
+		return lineColourProp == null ? lineColour : lineColourProp.get();
 	}
 
 	@Override
 	public LineStyle getLineStyle() {
-		return lineStyle.get();
+		return lineStyleProp == null ? lineStyle : lineStyleProp.get();
 	}
 
 	@Override
@@ -362,57 +410,57 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public double getRotationAngle() {
-		return rotationAngle.get();
+		return rotationAngleProp == null ? rotationAngle : rotationAngleProp.get();
 	}
 
 	@Override
 	public double getShadowAngle() {
-		return shadowAngle.get();
+		return shadowAngleProp == null ? shadowAngle : shadowAngleProp.get();
 	}
 
 	@Override
 	public Color getShadowCol() {
-		return shadowCol.get();
+		return shadowColProp == null ? shadowCol : shadowColProp.get();
 	}
 
 	@Override
 	public double getShadowSize() {
-		return shadowSize.get();
+		return shadowSizeProp == null ? shadowSize : shadowSizeProp.get();
 	}
 
 	@Override
 	public double getThickness() {
-		return thickness.doubleValue();
+		return thicknessProp == null ? thickness : thicknessProp.get();
 	}
 
 	@Override
 	public boolean hasDbleBord() {
-		return hasDbleBord.get();
+		return hasDbleBordProp == null ? hasDbleBord : hasDbleBordProp.get();
 	}
 
 	@Override
 	public boolean hasGradient() {
-		return isInteriorStylable() && fillingStyle.get() == FillingStyle.GRAD;
+		return isInteriorStylable() && getFillingStyle() == FillingStyle.GRAD;
 	}
 
 	@Override
 	public boolean hasHatchings() {
-		return isInteriorStylable() && fillingStyle.get().isHatchings();
+		return isInteriorStylable() && getFillingStyle().isHatchings();
 	}
 
 	@Override
 	public boolean hasShadow() {
-		return hasShadow.get();
+		return hasShadowProp == null ? hasShadow : hasShadowProp.get();
 	}
 
 	@Override
 	public boolean isFilled() {
-		return fillingStyle.get().isFilled();
+		return getFillingStyle().isFilled();
 	}
 
 	@Override
 	public boolean isShowPts() {
-		return showPts.get();
+		return showPtsProp == null ? showPts : showPtsProp.get();
 	}
 
 	@Override
@@ -424,42 +472,72 @@ abstract class LShape implements ISingleShape {
 	@Override
 	public void setBordersPosition(final BorderPos position) {
 		if(position != null && isBordersMovable()) {
-			bordersPosition.set(position);
+			if(bordersPositionProp == null) {
+				bordersPosition = position;
+				boundsChanged();
+			}else {
+				bordersPositionProp.set(position);
+			}
 		}
 	}
 
 	@Override
 	public void setDashSepBlack(final double dash) {
 		if(dash > 0d && MathUtils.INST.isValidCoord(dash)) {
-			dashSepBlack.set(dash);
+			if(dashSepBlackProp == null) {
+				dashSepBlack = dash;
+				shapeChanged();
+			}else {
+				dashSepBlackProp.set(dash);
+			}
 		}
 	}
 
 	@Override
 	public void setDashSepWhite(final double dash) {
 		if(dash > 0d && MathUtils.INST.isValidCoord(dash)) {
-			dashSepWhite.set(dash);
+			if(dashSepWhiteProp == null) {
+				dashSepWhite = dash;
+				shapeChanged();
+			}else {
+				dashSepWhiteProp.set(dash);
+			}
 		}
 	}
 
 	@Override
 	public void setDbleBordCol(final Color col) {
 		if(col != null && isDbleBorderable()) {
-			dbleBordCol.set(col);
+			if(dbleBordColProp == null) {
+				dbleBordCol = col;
+				shapeChanged();
+			}else {
+				dbleBordColProp.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setDbleBordSep(final double sep) {
 		if(sep >= 0 && isDbleBorderable() && MathUtils.INST.isValidCoord(sep)) {
-			dbleBordSep.set(sep);
+			if(dbleBordSepProp == null) {
+				dbleBordSep = sep;
+				boundsChanged();
+			}else {
+				dbleBordSepProp.set(sep);
+			}
 		}
 	}
 
 	@Override
 	public void setDotSep(final double sep) {
 		if(sep >= 0 && MathUtils.INST.isValidCoord(sep)) {
-			dotSep.set(sep);
+			if(dotSepProp == null) {
+				dotSep = sep;
+				shapeChanged();
+			}else {
+				dotSepProp.set(sep);
+			}
 		}
 	}
 
@@ -470,18 +548,18 @@ abstract class LShape implements ISingleShape {
 		}
 
 		if(isFilled) {
-			switch(fillingStyle.get()) {
+			switch(getFillingStyle()) {
 				case CLINES:
-					fillingStyle.set(FillingStyle.CLINES_PLAIN);
+					updateFillingStyle(FillingStyle.CLINES_PLAIN);
 					break;
 				case VLINES:
-					fillingStyle.set(FillingStyle.VLINES_PLAIN);
+					updateFillingStyle(FillingStyle.VLINES_PLAIN);
 					break;
 				case HLINES:
-					fillingStyle.set(FillingStyle.HLINES_PLAIN);
+					updateFillingStyle(FillingStyle.HLINES_PLAIN);
 					break;
 				case NONE:
-					fillingStyle.set(FillingStyle.PLAIN);
+					updateFillingStyle(FillingStyle.PLAIN);
 					break;
 				case PLAIN:
 				case GRAD:
@@ -492,18 +570,18 @@ abstract class LShape implements ISingleShape {
 					break;
 			}
 		}else {
-			switch(fillingStyle.get()) {
+			switch(getFillingStyle()) {
 				case CLINES_PLAIN:
-					fillingStyle.set(FillingStyle.CLINES);
+					updateFillingStyle(FillingStyle.CLINES);
 					break;
 				case VLINES_PLAIN:
-					fillingStyle.set(FillingStyle.VLINES);
+					updateFillingStyle(FillingStyle.VLINES);
 					break;
 				case HLINES_PLAIN:
-					fillingStyle.set(FillingStyle.HLINES);
+					updateFillingStyle(FillingStyle.HLINES);
 					break;
 				case PLAIN:
-					fillingStyle.set(FillingStyle.NONE);
+					updateFillingStyle(FillingStyle.NONE);
 					break;
 				case NONE:
 				case GRAD:
@@ -519,98 +597,172 @@ abstract class LShape implements ISingleShape {
 	@Override
 	public void setFillingCol(final Color col) {
 		if(col != null && isFillable()) {
-			fillingCol.set(col);
+			if(fillingColProp == null) {
+				fillingCol = col;
+				shapeChanged();
+			}else {
+				fillingColProp.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setFillingStyle(final FillingStyle style) {
 		if(style != null && isFillable()) {
-			fillingStyle.set(style);
+			updateFillingStyle(style);
+		}
+	}
+
+	private void updateFillingStyle(final FillingStyle style) {
+		if(fillingStyleProp == null) {
+			fillingStyle = style;
+			shapeChanged();
+		}else {
+			fillingStyleProp.set(style);
 		}
 	}
 
 	@Override
 	public void setGradAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle) && isInteriorStylable()) {
-			gradAngle.set(angle);
+			if(gradAngleProp == null) {
+				gradAngle = angle;
+				shapeChanged();
+			}else {
+				gradAngleProp.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setGradColEnd(final Color col) {
 		if(col != null && isInteriorStylable()) {
-			gradColEnd.set(col);
+			if(gradColEndProp == null) {
+				gradColEnd = col;
+				shapeChanged();
+			}else {
+				gradColEndProp.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setGradColStart(final Color col) {
 		if(col != null && isInteriorStylable()) {
-			gradColStart.set(col);
+			if(gradColStartProp == null) {
+				gradColStart = col;
+				shapeChanged();
+			}else {
+				gradColStartProp.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setGradMidPt(final double pt) {
 		if(pt >= 0 && pt <= 1 && isInteriorStylable()) {
-			gradMidPt.set(pt);
+			if(gradMidPtProp == null) {
+				gradMidPt = pt;
+				shapeChanged();
+			}else {
+				gradMidPtProp.set(pt);
+			}
 		}
 	}
 
 	@Override
 	public void setHasDbleBord(final boolean bord) {
 		if(isDbleBorderable()) {
-			hasDbleBord.set(bord);
+			if(hasDbleBordProp == null) {
+				hasDbleBord = bord;
+				boundsChanged();
+			}else {
+				hasDbleBordProp.set(bord);
+			}
 		}
 	}
 
 	@Override
 	public void setHasShadow(final boolean shad) {
 		if(isShadowable()) {
-			hasShadow.set(shad);
+			if(hasShadowProp == null) {
+				hasShadow = shad;
+				boundsChanged();
+			}else {
+				hasShadowProp.set(shad);
+			}
 		}
 	}
 
 	@Override
 	public void setHatchingsAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle) && isInteriorStylable()) {
-			hatchingsAngle.set(angle);
+			if(hatchingsAngleProp == null) {
+				hatchingsAngle = angle;
+				shapeChanged();
+			}else {
+				hatchingsAngleProp.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setHatchingsCol(final Color col) {
 		if(col != null && isInteriorStylable()) {
-			hatchingsCol.set(col);
+			if(hatchingsColProp == null) {
+				hatchingsCol = col;
+				shapeChanged();
+			}else {
+				hatchingsColProp.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setHatchingsSep(final double sep) {
 		if(MathUtils.INST.isValidCoord(sep) && sep >= 0d && isInteriorStylable()) {
-			hatchingsSep.set(sep);
+			if(hatchingsSepProp == null) {
+				hatchingsSep = sep;
+				shapeChanged();
+			}else {
+				hatchingsSepProp.set(sep);
+			}
 		}
 	}
 
 	@Override
 	public void setHatchingsWidth(final double width) {
 		if(MathUtils.INST.isValidCoord(width) && width > 0d && isInteriorStylable()) {
-			hatchingsWidth.set(width);
+			if(hatchingsWidthProp == null) {
+				hatchingsWidth = width;
+				shapeChanged();
+			}else {
+				hatchingsWidthProp.set(width);
+			}
 		}
 	}
 
 	@Override
 	public void setLineColour(final Color col) {
 		if(col != null) {
-			lineColour.set(col);
+			if(lineColourProp == null) {
+				lineColour = col;
+				shapeChanged();
+			}else {
+				lineColourProp.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setLineStyle(final LineStyle style) {
 		if(style != null && isLineStylable()) {
-			lineStyle.setValue(style);
+			if(lineStyleProp == null) {
+				lineStyle = style;
+				shapeChanged();
+			}else {
+				lineStyleProp.set(style);
+			}
 		}
 	}
 
@@ -636,6 +788,11 @@ abstract class LShape implements ISingleShape {
 		final double refX = refPt.getX();
 		final double refY = refPt.getY();
 
+		if(pts instanceof LPointStore) {
+			((LPointStore) pts).scale(refX, refY, s, s);
+			return;
+		}
+
 		for(final IPoint pt : pts) {
 			if(!MathUtils.INST.equalsDouble(pt.getX(), refX)) {
 				pt.setX(refX + (pt.getX() - refX) * s);
@@ -655,6 +812,11 @@ abstract class LShape implements ISingleShape {
 		final double refX = refPt.getX();
 		final double refY = refPt.getY();
 
+		if(pts instanceof LPointStore) {
+			((LPointStore) pts).scale(refX, refY, xScale ? sx : 1d, yScale ? sy : 1d);
+			return;
+		}
+
 		pts.forEach(pt -> {
 			if(xScale && !MathUtils.INST.equalsDouble(pt.getX(), refX)) {
 				pt.setX(refX + (pt.getX() - refX) * sx);
@@ -668,42 +830,72 @@ abstract class LShape implements ISingleShape {
 	@Override
 	public void setRotationAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle)) {
-			rotationAngle.set(angle);
+			if(rotationAngleProp == null) {
+				rotationAngle = angle;
+				boundsChanged();
+			}else {
+				rotationAngleProp.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setShadowAngle(final double angle) {
 		if(isShadowable() && MathUtils.INST.isValidCoord(angle)) {
-			shadowAngle.set(angle);
+			if(shadowAngleProp == null) {
+				shadowAngle = angle;
+				boundsChanged();
+			}else {
+				shadowAngleProp.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setShadowCol(final Color col) {
 		if(col != null && isShadowable()) {
-			shadowCol.set(col);
+			if(shadowColProp == null) {
+				shadowCol = col;
+				shapeChanged();
+			}else {
+				shadowColProp.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setShadowSize(final double size) {
 		if(isShadowable() && size > 0d && MathUtils.INST.isValidCoord(size)) {
-			shadowSize.set(size);
+			if(shadowSizeProp == null) {
+				shadowSize = size;
+				boundsChanged();
+			}else {
+				shadowSizeProp.set(size);
+			}
 		}
 	}
 
 	@Override
 	public void setShowPts(final boolean pts) {
 		if(isShowPtsable()) {
-			showPts.set(pts);
+			if(showPtsProp == null) {
+				showPts = pts;
+				shapeChanged();
+			}else {
+				showPtsProp.set(pts);
+			}
 		}
 	}
 
 	@Override
 	public void setThickness(final double thick) {
 		if(thick > 0d && isThicknessable() && MathUtils.INST.isValidCoord(thick)) {
-			thickness.setValue(thick);
+			if(thicknessProp == null) {
+				thickness = thick;
+				boundsChanged();
+			}else {
+				thicknessProp.set(thick);
+			}
 		}
 	}
 
@@ -715,46 +907,62 @@ abstract class LShape implements ISingleShape {
 	@Override
 	public void translate(final double tx, final double ty) {
 		if(MathUtils.INST.isValidPt(tx, ty)) {
-			points.forEach(pt -> pt.translate(tx, ty));
+			points.translate(tx, ty);
 		}
 	}
 
 	@Override
 	public void mirrorHorizontal(final double x) {
 		if(MathUtils.INST.isValidCoord(x)) {
-			points.forEach(pt -> pt.setPoint(pt.horizontalSymmetry(x)));
+			points.mirrorHorizontal(x);
 		}
 	}
 
 	@Override
 	public void mirrorVertical(final double y) {
 		if(MathUtils.INST.isValidCoord(y)) {
-			points.forEach(pt -> pt.setPoint(pt.verticalSymmetry(y)));
+			points.mirrorVertical(y);
 		}
 	}
 
+	@Override
+	public double getMinX() {
+		return points.isEmpty() ? Double.NaN : points.getMinX();
+	}
+
+	@Override
+	public double getMinY() {
+		return points.isEmpty() ? Double.NaN : points.getMinY();
+	}
+
+	@Override
+	public double getMaxX() {
+		return points.isEmpty() ? Double.NaN : points.getMaxX();
+	}
+
+	@Override
+	public double getMaxY() {
+		return points.isEmpty() ? Double.NaN : points.getMaxY();
+	}
+
 	@Override
 	public IPoint getBottomRightPoint() {
-		return getNbPoints() == 1 ? ShapeFactory.INST.createPoint(getPtAt(0)) :
-			points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).orElse(ShapeFactory.INST.createPoint());
+		return ShapeFactory.INST.createPoint(getMaxX(), getMaxY());
 	}
 
 	@Override
 	public IPoint getBottomLeftPoint() {
-		return getNbPoints() == 1 ? ShapeFactory.INST.createPoint(getPtAt(0)) :
-			points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).orElse(ShapeFactory.INST.createPoint());
+		return points.isEmpty() ? ShapeFactory.INST.createPoint() : ShapeFactory.INST.createPoint(points.getMinX(), points.getMaxY());
 	}
 
 	@Override
 	public IPoint getTopLeftPoint() {
-		return getNbPoints() == 1 ? ShapeFactory.INST.createPoint(getPtAt(0)) :
-			points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).orElse(ShapeFactory.INST.createPoint());
+		return ShapeFactory.INST.createPoint(getMinX(), getMinY());
 	}
 
 	@Override
 	public IPoint getTopRightPoint() {
-		return getNbPoints() == 1 ? ShapeFactory.INST.createPoint(getPtAt(0)) :
-			points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).orElse(ShapeFactory.INST.createPoint());
+		return points.isEmpty() ? ShapeFactory.INST.createPoint() : ShapeFactory.INST.createPoint(points.getMaxX(), points.getMinY());
 	}
 
 	@Override
@@ -776,6 +984,163 @@ abstract class LShape implements ISingleShape {
 		return modified;
 	}
 
+	@Override
+	public void beginUpdate() {
+		points.beginBatch();
+	}
+
+	@Override
+	public void endUpdate() {
+		points.endBatch();
+	}
+
+	@Override
+	public ReadOnlyLongProperty geometryVersionProperty() {
+		if(geometryVersionProp == null) {
+			geometryVersionProp = new SimpleLongProperty(geometryVersion);
+			shapeChanged();
+		}
+		return geometryVersionProp;
+	}
+
+	@Override
+	public void createProperties() {
+		geometryVersionProperty();
+		thicknessProperty();
+		linestyleProperty();
+		borderPosProperty();
+		lineColourProperty();
+		fillingProperty();
+		dashSepWhiteProperty();
+		dashSepBlackProperty();
+		dotSepProperty();
+		dbleBordProperty();
+		dbleBordSepProperty();
+		dbleBordColProperty();
+		gradColStartProperty();
+		gradColEndProperty();
+		fillingColProperty();
+		gradAngleProperty();
+		gradMidPtProperty();
+		shadowProperty();
+		shadowColProperty();
+		shadowAngleProperty();
+		shadowSizeProperty();
+		hatchingsAngleProperty();
+		hatchingsSepProperty();
+		hatchingsWidthProperty();
+		hatchingsColProperty();
+		rotationAngleProperty();
+		showPointProperty();
+		points.createProperties();
+	}
+
+	/**
+	 * @return The current value of the geometry version, without creating its property.
+	 */
+	long getGeometryVersion() {
+		return geometryVersionProp == null ? geometryVersion : geometryVersionProp.get();
+	}
+
+	/**
+	 * Called when the points of the shape changed (once per batch of modifications).
+	 */
+	private void pointsChanged() {
+		boundsChanged();
+		if(geometryVersionProp == null) {
+			geometryVersion++;
+		}else {
+			geometryVersionProp.set(geometryVersionProp.get() + 1L);
+		}
+	}
+
+	/**
+	 * Adds an object to notify when the extent of the shape may have changed:
+	 * its points, its thickness, its borders, its shadow, its arrows, or its rotation angle,
+	 * whether through the setters or directly through the JavaFX properties.
+	 * @param listener The listener to add. Nothing is done if null.
+	 */
+	void addBoundsListener(final Runnable listener) {
+		if(listener != null) {
+			if(boundsListeners == null) {
+				boundsListeners = new ArrayList<>(1);
+			}
+			boundsListeners.add(listener);
+		}
+	}
+
+	/**
+	 * Removes a listener added with addBoundsListener.
+	 * @param listener The listener to remove.
+	 */
+	void removeBoundsListener(final Runnable listener) {
+		if(boundsListeners != null) {
+			boundsListeners.remove(listener);
+			if(boundsListeners.isEmpty()) {
+				boundsListeners = null;
+			}
+		}
+	}
+
+	/**
+	 * Notifies the bounds listeners, if any, that the extent of the shape may have changed.
+	 */
+	void boundsChanged() {
+		if(boundsListeners != null) {
+			for(int i = 0, size = boundsListeners.size(); i < size; i++) {
+				boundsListeners.get(i).run();
+			}
+		}
+		shapeChanged();
+	}
+
+	/**
+	 * Adds an object to notify when any attribute of the shape may have changed (its points, its style, its arrows, etc.),
+	 * whether through the setters or directly through the JavaFX properties.
+	 * @param listener The listener to add. Nothing is done if null.
+	 */
+	void addChangeListener(final Runnable listener) {
+		if(listener != null) {
+			if(changeListeners == null) {
+				changeListeners = new ArrayList<>(1);
+			}
+			changeListeners.add(listener);
+		}
+	}
+
+	/**
+	 * Removes a listener added with addChangeListener.
+	 * @param listener The listener to remove.
+	 */
+	void removeChangeListener(final Runnable listener) {
+		if(changeListeners != null) {
+			changeListeners.remove(listener);
+			if(changeListeners.isEmpty()) {
+				changeListeners = null;
+			}
+		}
+	}
+
+	/**
+	 * Notifies the change listeners, if any, that an attribute of the shape may have changed.
+	 * The changes of the bounds (see boundsChanged) are notified as well.
+	 */
+	void shapeChanged() {
+		if(changeListeners != null) {
+			for(int i = 0, size = changeListeners.size(); i < size; i++) {
+				changeListeners.get(i).run();
+			}
+		}
+	}
+
+	/**
+	 * @return True if the extent of the shape only depends on its points and on the attributes that notify boundsChanged.
+	 * False if other attributes define it (grid parameters, plotted function, etc.).
+	 */
+	boolean hasPointBounds() {
+		return true;
+	}
+
 	@Override
 	public void rotate(final IPoint point, final double angle) {
 		final IPoint gc = getGravityCentre();
@@ -845,131 +1210,235 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public DoubleProperty thicknessProperty() {
-		return thickness;
+		if(thicknessProp == null) {
+			thicknessProp = new SimpleDoubleProperty(thickness);
+			thicknessProp.addListener((obs, oldValue, newValue) -> boundsChanged());
+		}
+		return thicknessProp;
 	}
 
 	@Override
 	public ObjectProperty<LineStyle> linestyleProperty() {
-		return lineStyle;
+		if(lineStyleProp == null) {
+			lineStyleProp = new SimpleObjectProperty<>(lineStyle);
+			lineStyleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return lineStyleProp;
 	}
 
 	@Override
 	public ObjectProperty<BorderPos> borderPosProperty() {
-		return bordersPosition;
+		if(bordersPositionProp == null) {
+			bordersPositionProp = new SimpleObjectProperty<>(bordersPosition);
+			bordersPositionProp.addListener((obs, oldValue, newValue) -> boundsChanged());
+		}
+		return bordersPositionProp;
 	}
 
 	@Override
 	public ObjectProperty<Color> lineColourProperty() {
-		return lineColour;
+		if(lineColourProp == null) {
+			lineColourProp = new SimpleObjectProperty<>(lineColour);
+			lineColourProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return lineColourProp;
 	}
 
 	@Override
 	public ObjectProperty<FillingStyle> fillingProperty() {
-		return fillingStyle;
+		if(fillingStyleProp == null) {
+			fillingStyleProp = new SimpleObjectProperty<>(fillingStyle);
+			fillingStyleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return fillingStyleProp;
 	}
 
 	@Override
 	public DoubleProperty dashSepWhiteProperty() {
-		return dashSepWhite;
+		if(dashSepWhiteProp == null) {
+			dashSepWhiteProp = new SimpleDoubleProperty(dashSepWhite);
+			dashSepWhiteProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return dashSepWhiteProp;
 	}
 
 	@Override
 	public DoubleProperty dashSepBlackProperty() {
-		return dashSepBlack;
+		if(dashSepBlackProp == null) {
+			dashSepBlackProp = new SimpleDoubleProperty(dashSepBlack);
+			dashSepBlackProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return dashSepBlackProp;
 	}
 
 	@Override
 	public DoubleProperty dotSepProperty() {
-		return dotSep;
+		if(dotSepProp == null) {
+			dotSepProp = new SimpleDoubleProperty(dotSep);
+			dotSepProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return dotSepProp;
 	}
 
 	@Override
 	public BooleanProperty dbleBordProperty() {
-		return hasDbleBord;
+		if(hasDbleBordProp == null) {
+			hasDbleBordProp = new SimpleBooleanProperty(hasDbleBord);
+			hasDbleBordProp.addListener((obs, oldValue, newValue) -> boundsChanged());
+		}
+		return hasDbleBordProp;
 	}
 
 	@Override
 	public DoubleProperty dbleBordSepProperty() {
-		return dbleBordSep;
+		if(dbleBordSepProp == null) {
+			dbleBordSepProp = new SimpleDoubleProperty(dbleBordSep);
+			dbleBordSepProp.addListener((obs, oldValue, newValue) -> boundsChanged());
+		}
+		return dbleBordSepProp;
 	}
 
 	@Override
 	public ObjectProperty<Color> dbleBordColProperty() {
-		return dbleBordCol;
+		if(dbleBordColProp == null) {
+			dbleBordColProp = new SimpleObjectProperty<>(dbleBordCol);
+			dbleBordColProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return dbleBordColProp;
 	}
 
 	@Override
 	public ObjectProperty<Color> gradColStartProperty() {
-		return gradColStart;
+		if(gradColStartProp == null) {
+			gradColStartProp = new SimpleObjectProperty<>(gradColStart);
+			gradColStartProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gradColStartProp;
 	}
 
 	@Override
 	public ObjectProperty<Color> gradColEndProperty() {
-		return gradColEnd;
+		if(gradColEndProp == null) {
+			gradColEndProp = new SimpleObjectProperty<>(gradColEnd);
+			gradColEndProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gradColEndProp;
 	}
 
 	@Override
 	public ObjectProperty<Color> fillingColProperty() {
-		return fillingCol;
+		if(fillingColProp == null) {
+			fillingColProp = new SimpleObjectProperty<>(fillingCol);
+			fillingColProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return fillingColProp;
 	}
 
 	@Override
 	public DoubleProperty gradAngleProperty() {
-		return gradAngle;
+		if(gradAngleProp == null) {
+			gradAngleProp = new SimpleDoubleProperty(gradAngle);
+			gradAngleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gradAngleProp;
 	}
 
 	@Override
 	public DoubleProperty gradMidPtProperty() {
-		return gradMidPt;
+		if(gradMidPtProp == null) {
+			gradMidPtProp = new SimpleDoubleProperty(gradMidPt);
+			gradMidPtProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return gradMidPtProp;
 	}
 
 	@Override
 	public BooleanProperty shadowProperty() {
-		return hasShadow;
+		if(hasShadowProp == null) {
+			hasShadowProp = new SimpleBooleanProperty(hasShadow);
+			hasShadowProp.addListener((obs, oldValue, newValue) -> boundsChanged());
+		}
+		return hasShadowProp;
 	}
 
 	@Override
 	public ObjectProperty<Color> shadowColProperty() {
-		return shadowCol;
+		if(shadowColProp == null) {
+			shadowColProp = new SimpleObjectProperty<>(shadowCol);
+			shadowColProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return shadowColProp;
 	}
 
 	@Override
 	public DoubleProperty shadowAngleProperty() {
-		return shadowAngle;
+		if(shadowAngleProp == null) {
+			shadowAngleProp = new SimpleDoubleProperty(shadowAngle);
+			shadowAngleProp.addListener((obs, oldValue, newValue) -> boundsChanged());
+		}
+		return shadowAngleProp;
 	}
 
 	@Override
 	public DoubleProperty shadowSizeProperty() {
-		return shadowSize;
+		if(shadowSizeProp == null) {
+			shadowSizeProp = new SimpleDoubleProperty(shadowSize);
+			shadowSizeProp.addListener((obs, oldValue, newValue) -> boundsChanged());
+		}
+		return shadowSizeProp;
 	}
 
 	@Override
 	public DoubleProperty hatchingsAngleProperty() {
-		return hatchingsAngle;
+		if(hatchingsAngleProp == null) {
+			hatchingsAngleProp = new SimpleDoubleProperty(hatchingsAngle);
+			hatchingsAngleProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return hatchingsAngleProp;
 	}
 
 	@Override
 	public DoubleProperty hatchingsSepProperty() {
-		return hatchingsSep;
+		if(hatchingsSepProp == null) {
+			hatchingsSepProp = new SimpleDoubleProperty(hatchingsSep);
+			hatchingsSepProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return hatchingsSepProp;
 	}
 
 	@Override
 	public DoubleProperty hatchingsWidthProperty() {
-		return hatchingsWidth;
+		if(hatchingsWidthProp == null) {
+			hatchingsWidthProp = new SimpleDoubleProperty(hatchingsWidth);
+			hatchingsWidthProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return hatchingsWidthProp;
 	}
 
 	@Override
 	public ObjectProperty<Color> hatchingsColProperty() {
-		return hatchingsCol;
+		if(hatchingsColProp == null) {
+			hatchingsColProp = new SimpleObjectProperty<>(hatchingsCol);
+			hatchingsColProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return hatchingsColProp;
 	}
 
 	@Override
 	public DoubleProperty rotationAngleProperty() {
-		return rotationAngle;
+		if(rotationAngleProp == null) {
+			rotationAngleProp = new SimpleDoubleProperty(rotationAngle);
+			rotationAngleProp.addListener((obs, oldValue, newValue) -> boundsChanged());
+		}
+		return rotationAngleProp;
 	}
 
 	@Override
 	public ReadOnlyBooleanProperty showPointProperty() {
-		return showPts;
+		if(showPtsProp == null) {
+			showPtsProp = new SimpleBooleanProperty(showPts);
+			showPtsProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return showPtsProp;
 	}
 }
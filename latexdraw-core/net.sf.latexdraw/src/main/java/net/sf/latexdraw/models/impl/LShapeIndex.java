@@ -0,0 +1,386 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import net.sf.latexdraw.models.MathUtils;
+import net.sf.latexdraw.models.interfaces.shape.IArrow;
+import net.sf.latexdraw.models.interfaces.shape.IArrowableShape;
+import net.sf.latexdraw.models.interfaces.shape.IControlPointShape;
+import net.sf.latexdraw.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+import net.sf.latexdraw.models.interfaces.shape.IText;
+
+/**
+ * A spatial index (an R-tree bulk loaded using the Sort-Tile-Recursive algorithm) of the bounds of the shapes of a drawing.
+ * The tree is rebuilt lazily when the list of shapes changes. The shapes whose bounds only depend on their points notify the
+ * index when they change: they are then put aside and tested directly until too many shapes are put aside, where the tree is rebuilt.
+ * The other shapes (groups, grids, plots, texts, etc.) are tested directly at each query.
+ * The bounds of a shape include its control points, thickness, borders, shadow, arrows, and rotation.
+ * @author Arnaud Blouin
+ */
+final class LShapeIndex {
+	/** The maximal number of children of a node of the tree. */
+	private static final int NODE_CAPACITY = 16;
+
+	/** The minimal number of shapes put aside before rebuilding the tree. */
+	private static final int MIN_MOVED_BEFORE_REBUILD = 64;
+
+	/** The indexed shapes (the shapes of the drawing). */
+	private final List<IShape> shapes;
+
+	/** The entries stored in the tree. */
+	private final List<Entry> treeEntries;
+
+	/** The entries whose bounds are computed at each query. */
+	private final List<Entry> liveEntries;
+
+	/** The entries of the tree whose shape has changed since the building of the tree. */
+	private final List<Entry> movedEntries;
+
+	/** The root of the tree. Null if the tree is empty. */
+	private Node root;
+
+	/** False when the list of shapes has changed since the building of the tree. */
+	private boolean valid;
+
+	/**
+	 * Creates the index of the given shapes.
+	 * @param drawingShapes The shapes to index. The index follows the changes of this list.
+	 */
+	LShapeIndex(final ObservableList<IShape> drawingShapes) {
+		super();
+		shapes = drawingShapes;
+		treeEntries = new ArrayList<>();
+		liveEntries = new ArrayList<>();
+		movedEntries = new ArrayList<>();
+		root = null;
+		valid = false;
+		drawingShapes.addListener((ListChangeListener<IShape>) evt -> {
+			valid = false;
+		});
+	}
+
+	/**
+	 * Gives the shapes whose bounds intersect the given area.
+	 * @param minX The minimal X-coordinate of the area.
+	 * @param minY The minimal Y-coordinate of the area.
+	 * @param maxX The maximal X-coordinate of the area.
+	 * @param maxY The maximal Y-coordinate of the area.
+	 * @param withUnbounded True: the shapes whose extent cannot be computed from the model (texts) are returned as well.
+	 * @return The shapes in their drawing order.
+	 */
+	List<IShape> getShapesIntersecting(final double minX, final double minY, final double maxX, final double maxY, final boolean withUnbounded) {
+		update();
+
+		final List<Entry> found = new ArrayList<>();
+		final double[] bounds = new double[4];
+
+		if(root != null) {
+			root.search(minX, minY, maxX, maxY, found);
+		}
+
+		movedEntries.forEach(entry -> {
+			if(computeBounds(entry.shape, bounds) ? intersects(bounds, minX, minY, maxX, maxY) : withUnbounded) {
+				found.add(entry);
+			}
+		});
+
+		liveEntries.forEach(entry -> {
+			if(computeBounds(entry.shape, bounds) ? intersects(bounds, minX, minY, maxX, maxY) : withUnbounded) {
+				found.add(entry);
+			}
+		});
+
+		found.sort(Comparator.comparingInt(entry -> entry.order));
+		return found.stream().map(entry -> entry.shape).collect(Collectors.toList());
+	}
+
+	/**
+	 * Rebuilds the tree if the shapes of the drawing changed or if too many shapes have been put aside.
+	 */
+	private void update() {
+		if(!valid || movedEntries.size() > Math.max(MIN_MOVED_BEFORE_REBUILD, treeEntries.size() / 8)) {
+			rebuild();
+		}
+	}
+
+	private void rebuild() {
+		treeEntries.forEach(entry -> ((LShape) entry.shape).removeBoundsListener(entry.boundsListener));
+		treeEntries.clear();
+		liveEntries.clear();
+		movedEntries.clear();
+
+		final double[] bounds = new double[4];
+
+		for(int i = 0, size = shapes.size(); i < size; i++) {
+			final IShape sh = shapes.get(i);
+			final Entry entry = new Entry(sh, i);
+
+			if(sh instanceof LShape && ((LShape) sh).hasPointBounds() && computeBounds(sh, bounds)) {
+				entry.setBounds(bounds);
+				entry.boundsListener = () -> markMoved(entry);
+				((LShape) sh).addBoundsListener(entry.boundsListener);
+				treeEntries.add(entry);
+			}else {
+				liveEntries.add(entry);
+			}
+		}
+
+		root = pack(new ArrayList<>(treeEntries));
+		valid = true;
+	}
+
+	private void markMoved(final Entry entry) {
+		if(!entry.moved) {
+			entry.moved = true;
+			movedEntries.add(entry);
+		}
+	}
+
+	/**
+	 * Packs the given boxes into a tree (Sort-Tile-Recursive).
+	 * @param boxes The boxes to pack.
+	 * @return The root of the tree or null if there is no box.
+	 */
+	private static Node pack(final List<Box> boxes) {
+		if(boxes.isEmpty()) {
+			return null;
+		}
+
+		List<Box> level = boxes;
+
+		while(level.size() > NODE_CAPACITY) {
+			level = packLevel(level);
+		}
+
+		return new Node(level);
+	}
+
+	private static List<Box> packLevel(final List<Box> boxes) {
+		final int nbNodes = (boxes.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+		final int sliceSize = (int) Math.ceil(Math.sqrt(nbNodes)) * NODE_CAPACITY;
+		final List<Box> nodes = new ArrayList<>(nbNodes);
+
+		boxes.sort(Comparator.comparingDouble(box -> box.minX + box.maxX));
+
+		for(int i = 0, size = boxes.size(); i < size; i += sliceSize) {
+			final List<Box> slice = new ArrayList<>(boxes.subList(i, Math.min(i + sliceSize, size)));
+			slice.sort(Comparator.comparingDouble(box -> box.minY + box.maxY));
+			for(int j = 0, sliceLength = slice.size(); j < sliceLength; j += NODE_CAPACITY) {
+				nodes.add(new Node(slice.subList(j, Math.min(j + NODE_CAPACITY, sliceLength))));
+			}
+		}
+
+		return nodes;
+	}
+
+	private static boolean intersects(final double[] bounds, final double minX, final double minY, final double maxX, final double maxY) {
+		return bounds[0] <= maxX && bounds[2] >= minX && bounds[1] <= maxY && bounds[3] >= minY;
+	}
+
+	/**
+	 * Computes the bounds of the given shape.
+	 * @param sh The shape to analyse.
+	 * @param bounds The array to fill: minX, minY, maxX, maxY.
+	 * @return False if the extent of the shape cannot be computed from the model (e.g. texts).
+	 */
+	static boolean computeBounds(final IShape sh, final double[] bounds) {
+		if(sh instanceof IText) {
+			return false;
+		}
+
+		if(sh instanceof IGroup) {
+			return computeGroupBounds((IGroup) sh, bounds);
+		}
+
+		if(Double.isNaN(sh.getMinX())) {
+			// An empty shape has no bounds: an inverted box that intersects nothing.
+			bounds[0] = Double.POSITIVE_INFINITY;
+			bounds[1] = Double.POSITIVE_INFINITY;
+			bounds[2] = Double.NEGATIVE_INFINITY;
+			bounds[3] = Double.NEGATIVE_INFINITY;
+			return true;
+		}
+
+		final double extent = getExtent(sh);
+		double minX = sh.getMinX();
+		double minY = sh.getMinY();
+		double maxX = sh.getMaxX();
+		double maxY = sh.getMaxY();
+
+		// A curve is contained in the convex hull of its points and of its control points, not in the box of its points.
+		if(sh instanceof IControlPointShape) {
+			final IControlPointShape ctrlSh = (IControlPointShape) sh;
+			for(final IPoint pt : ctrlSh.getFirstCtrlPts()) {
+				minX = Math.min(minX, pt.getX());
+				minY = Math.min(minY, pt.getY());
+				maxX = Math.max(maxX, pt.getX());
+				maxY = Math.max(maxY, pt.getY());
+			}
+			for(final IPoint pt : ctrlSh.getSecondCtrlPts()) {
+				minX = Math.min(minX, pt.getX());
+				minY = Math.min(minY, pt.getY());
+				maxX = Math.max(maxX, pt.getX());
+				maxY = Math.max(maxY, pt.getY());
+			}
+		}
+
+		if(!MathUtils.INST.equalsDouble(sh.getRotationAngle(), 0d)) {
+			// Whatever the rotation angle, the rotated shape is contained in the circle circumscribing its bounds.
+			final double cx = (minX + maxX) / 2d;
+			final double cy = (minY + maxY) / 2d;
+			final double radius = Math.hypot(maxX - minX, maxY - minY) / 2d;
+			minX = cx - radius;
+			maxX = cx + radius;
+			minY = cy - radius;
+			maxY = cy + radius;
+		}
+
+		bounds[0] = minX - extent;
+		bounds[1] = minY - extent;
+		bounds[2] = maxX + extent;
+		bounds[3] = maxY + extent;
+		return true;
+	}
+
+	private static boolean computeGroupBounds(final IGroup group, final double[] bounds) {
+		final double[] shBounds = new double[4];
+		bounds[0] = Double.POSITIVE_INFINITY;
+		bounds[1] = Double.POSITIVE_INFINITY;
+		bounds[2] = Double.NEGATIVE_INFINITY;
+		bounds[3] = Double.NEGATIVE_INFINITY;
+
+		for(final IShape sh : group.getShapes()) {
+			if(!computeBounds(sh, shBounds)) {
+				return false;
+			}
+			bounds[0] = Math.min(bounds[0], shBounds[0]);
+			bounds[1] = Math.min(bounds[1], shBounds[1]);
+			bounds[2] = Math.max(bounds[2], shBounds[2]);
+			bounds[3] = Math.max(bounds[3], shBounds[3]);
+		}
+		return true;
+	}
+
+	/**
+	 * @return The distance the drawing of the shape can exceed its points: thickness, borders, shadow, and arrows.
+	 */
+	private static double getExtent(final IShape sh) {
+		double extent = sh.getBorderGap() + sh.getThickness();
+
+		if(sh.hasShadow()) {
+			extent += sh.getShadowSize();
+		}
+
+		if(sh instanceof IArrowableShape) {
+			final IArrowableShape arrowable = (IArrowableShape) sh;
+			double arrowExtent = 0d;
+			for(int i = 0, size = arrowable.getNbArrows(); i < size; i++) {
+				final IArrow arrow = arrowable.getArrowAt(i);
+				if(arrow.hasStyle()) {
+					arrowExtent = Math.max(arrowExtent, Math.max(Math.max(arrow.getArrowShapeLength(), arrow.getArrowShapedWidth()),
+						Math.max(Math.max(arrow.getRoundShapedArrowRadius() * 2d, arrow.getBarShapedArrowWidth()), arrow.getBracketShapedArrowLength())));
+				}
+			}
+			extent += arrowExtent;
+		}
+
+		return extent;
+	}
+
+	/**
+	 * An axis-aligned box of the tree.
+	 */
+	abstract static class Box {
+		double minX;
+		double minY;
+		double maxX;
+		double maxY;
+
+		boolean intersects(final double x1, final double y1, final double x2, final double y2) {
+			return minX <= x2 && maxX >= x1 && minY <= y2 && maxY >= y1;
+		}
+
+		abstract void search(final double x1, final double y1, final double x2, final double y2, final List<Entry> found);
+	}
+
+	/**
+	 * A node of the tree: its box contains the boxes of its children.
+	 */
+	static final class Node extends Box {
+		private final Box[] children;
+
+		Node(final List<Box> boxes) {
+			super();
+			children = boxes.toArray(new Box[boxes.size()]);
+			minX = Double.POSITIVE_INFINITY;
+			minY = Double.POSITIVE_INFINITY;
+			maxX = Double.NEGATIVE_INFINITY;
+			maxY = Double.NEGATIVE_INFINITY;
+			for(final Box box : children) {
+				minX = Math.min(minX, box.minX);
+				minY = Math.min(minY, box.minY);
+				maxX = Math.max(maxX, box.maxX);
+				maxY = Math.max(maxY, box.maxY);
+			}
+		}
+
+		@Override
+		void search(final double x1, final double y1, final double x2, final double y2, final List<Entry> found) {
+			if(intersects(x1, y1, x2, y2)) {
+				for(final Box box : children) {
+					box.search(x1, y1, x2, y2, found);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A leaf of the tree: the bounds of a shape.
+	 */
+	static final class Entry extends Box {
+		final IShape shape;
+		/** The position of the shape in the drawing. */
+		final int order;
+		/** True when the shape has changed since the building of the tree: the box is obsolete. */
+		boolean moved;
+		/** Registered on the shape while the entry is in the tree. */
+		Runnable boundsListener;
+
+		Entry(final IShape sh, final int position) {
+			super();
+			shape = sh;
+			order = position;
+			moved = false;
+		}
+
+		void setBounds(final double[] bounds) {
+			minX = bounds[0];
+			minY = bounds[1];
+			maxX = bounds[2];
+			maxY = bounds[3];
+		}
+
+		@Override
+		void search(final double x1, final double y1, final double x2, final double y2, final List<Entry> found) {
+			if(!moved && intersects(x1, y1, x2, y2)) {
+				found.add(this);
+			}
+		}
+	}
+}
@@ -25,7 +25,7 @@ class LSquare extends LSquaredShape implements ISquare {
 
 	LSquare(final IPoint tl, final double width) {
 		super(tl, width);
-		lineArcProp = new LineArcProp();
+		lineArcProp = new LineArcProp(this::shapeChanged);
 	}
 
 	@Override
@@ -51,8 +51,14 @@ class LSquare extends LSquaredShape implements ISquare {
 		return lineArcProp.isRoundCorner();
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		frameArcProperty();
+	}
+
 	@Override
 	public  DoubleProperty frameArcProperty() {
-		return lineArcProp.frameArc;
+		return lineArcProp.frameArcProperty();
 	}
 }
@@ -0,0 +1,79 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models.impl;
+
+import javafx.beans.property.DoubleProperty;
+import net.sf.latexdraw.models.MathUtils;
+
+/**
+ * A point whose coordinates are stored in a point store. Several instances may refer to the same
+ * stored point: they share the same coordinates and the same JavaFX properties.
+ * @author Arnaud Blouin
+ */
+final class LStoredPoint extends LPoint {
+	private final LPointStore store;
+	private final int index;
+
+	LStoredPoint(final LPointStore store, final int index) {
+		super();
+		this.store = store;
+		this.index = index;
+	}
+
+	/**
+	 * @return The index of the point in its store.
+	 */
+	int getIndex() {
+		return index;
+	}
+
+	/**
+	 * @param pointStore The store to test.
+	 * @return True if the point refers to the given store.
+	 */
+	boolean isStoredIn(final LPointStore pointStore) {
+		return store == pointStore;
+	}
+
+	@Override
+	public double getX() {
+		return store.getX(index);
+	}
+
+	@Override
+	public double getY() {
+		return store.getY(index);
+	}
+
+	@Override
+	public void setX(final double newX) {
+		if(MathUtils.INST.isValidCoord(newX)) {
+			store.setX(index, newX);
+		}
+	}
+
+	@Override
+	public void setY(final double newY) {
+		if(MathUtils.INST.isValidCoord(newY)) {
+			store.setY(index, newY);
+		}
+	}
+
+	@Override
+	public DoubleProperty xProperty() {
+		return store.xProperty(index);
+	}
+
+	@Override
+	public DoubleProperty yProperty() {
+		return store.yProperty(index);
+	}
+}
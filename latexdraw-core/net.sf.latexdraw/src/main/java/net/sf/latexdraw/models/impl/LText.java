@@ -25,7 +25,9 @@ import net.sf.latexdraw.models.interfaces.shape.TextPosition;
  */
 class LText extends LPositionShape implements IText {
 	/** The text */
-	private final StringProperty text;
+	private String text;
+	/** The text property, created on demand. */
+	private StringProperty textProp;
 	/** The text position of the text. */
 	private TextPosition textPosition;
 
@@ -47,7 +49,7 @@ class LText extends LPositionShape implements IText {
 	LText(final IPoint pt, final String text) {
 		super(pt);
 
-		this.text = new SimpleStringProperty(text == null || text.isEmpty() ? "text" : text); //NON-NLS
+		this.text = text == null || text.isEmpty() ? "text" : text; //NON-NLS
 		textPosition = TextPosition.BOT_LEFT;
 	}
 
@@ -65,20 +67,35 @@ class LText extends LPositionShape implements IText {
 
 	@Override
 	public String getText() {
-		return text.get();
+		return textProp == null ? text : textProp.get();
 	}
 
 
 	@Override
 	public void setText(final String newTxt) {
 		if(newTxt != null && !newTxt.isEmpty()) {
-			text.setValue(newTxt);
+			if(textProp == null) {
+				text = newTxt;
+				shapeChanged();
+			}else {
+				textProp.set(newTxt);
+			}
 		}
 	}
 
+	@Override
+	public void createProperties() {
+		super.createProperties();
+		textProperty();
+	}
+
 	@Override
 	public StringProperty textProperty() {
-		return text;
+		if(textProp == null) {
+			textProp = new SimpleStringProperty(text);
+			textProp.addListener((obs, oldValue, newValue) -> shapeChanged());
+		}
+		return textProp;
 	}
 
 
@@ -88,7 +105,12 @@ class LText extends LPositionShape implements IText {
 
 		if(s instanceof ITextProp) {
 			final ITextProp textSh = (ITextProp) s;
-			text.setValue(textSh.getText());
+			if(textProp == null) {
+				text = textSh.getText();
+				shapeChanged();
+			}else {
+				textProp.set(textSh.getText());
+			}
 			textPosition = textSh.getTextPosition();
 		}
 	}
@@ -104,6 +126,7 @@ class LText extends LPositionShape implements IText {
 	public void setTextPosition(final TextPosition textPosition) {
 		if(textPosition != null) {
 			this.textPosition = textPosition;
+			shapeChanged();
 		}
 	}
 
@@ -22,16 +22,35 @@ import net.sf.latexdraw.models.interfaces.prop.ILineArcProp;
  */
 class LineArcProp implements ILineArcProp {
 	/** The radius of arcs drawn at the corners of lines. */
-	final DoubleProperty frameArc;
+	private double frameArc;
+	/** The frameArc property, created on demand. */
+	private DoubleProperty frameArcProp;
+	/** Notified when the radius changes. */
+	private final Runnable onChanged;
 
-	LineArcProp() {
+	/**
+	 * @param onChanged Notified when the radius changes.
+	 */
+	LineArcProp(final Runnable onChanged) {
 		super();
-		frameArc = new SimpleDoubleProperty(0d);
+		frameArc = 0d;
+		this.onChanged = onChanged;
+	}
+
+	/**
+	 * @return The property of the radius of arcs drawn at the corners of lines. Created on the first call.
+	 */
+	DoubleProperty frameArcProperty() {
+		if(frameArcProp == null) {
+			frameArcProp = new SimpleDoubleProperty(frameArc);
+			frameArcProp.addListener((obs, oldValue, newValue) -> onChanged.run());
+		}
+		return frameArcProp;
 	}
 
 	@Override
 	public double getLineArc() {
-		return frameArc.doubleValue();
+		return frameArcProp == null ? frameArc : frameArcProp.get();
 	}
 
 	@Override
@@ -42,7 +61,12 @@ class LineArcProp implements ILineArcProp {
 	@Override
 	public void setLineArc(final double arc) {
 		if(MathUtils.INST.isValidCoord(arc) && arc >= 0d && arc <= 1d) {
-			frameArc.set(arc);
+			if(frameArcProp == null) {
+				frameArc = arc;
+				onChanged.run();
+			}else {
+				frameArcProp.set(arc);
+			}
 		}
 	}
 }
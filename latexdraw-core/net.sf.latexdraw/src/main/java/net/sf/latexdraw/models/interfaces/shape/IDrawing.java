@@ -10,7 +10,12 @@
  */
 package net.sf.latexdraw.models.interfaces.shape;
 
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import net.sf.latexdraw.models.interfaces.prop.ISetShapesProp;
 import org.malai.properties.Modifiable;
 import org.malai.properties.Reinitialisable;
@@ -33,4 +38,78 @@ public interface IDrawing extends ISetShapesProp, Modifiable, Reinitialisable {
 	 * @since 3.0
 	 */
 	void setSelection(final List<IShape> shapes);
+
+	/**
+	 * Adds the given shapes at the end of the drawing in a single modification of the list of shapes:
+	 * a single change is notified to the listeners of the shapes (e.g. the canvas).
+	 * The null shapes and the empty groups are ignored (as done by addShape).
+	 * @param shapes The shapes to add. Cannot be null.
+	 * @throws NullPointerException when shapes is null.
+	 * @since 4.0
+	 */
+	void addShapes(final Collection<? extends IShape> shapes);
+
+	/**
+	 * Gives the shapes whose bounds intersect the given area, using a spatial index of the shapes.
+	 * The bounds of a shape consider its thickness, borders, shadow, arrows, and rotation: they may be larger
+	 * than the drawn shape so that the returned shapes are candidates to be tested more precisely.
+	 * The shapes whose extent cannot be computed from the model (e.g. texts) are always returned.
+	 * @param area The area to look at, in the coordinate system of the shapes. Cannot be null.
+	 * @return The candidate shapes in their drawing order (the last one is on the foreground). Never null.
+	 * @throws NullPointerException when area is null.
+	 * @since 4.0
+	 */
+	List<IShape> shapesIntersecting(final Rectangle2D area);
+
+	/**
+	 * Gives the shapes whose bounds intersect the given area, using a spatial index of the shapes.
+	 * Contrary to shapesIntersecting, the shapes whose extent cannot be computed from the model (e.g. texts) are ignored.
+	 * @param area The area to look at, in the coordinate system of the shapes. Cannot be null.
+	 * @return The candidate shapes in their drawing order (the last one is on the foreground). Never null.
+	 * @throws NullPointerException when area is null.
+	 * @since 4.0
+	 */
+	List<IShape> boundedShapesIntersecting(final Rectangle2D area);
+
+	/**
+	 * Gives the shape on the foreground whose bounds contain the given point, using a spatial index of the shapes.
+	 * The shapes whose extent cannot be computed from the model (e.g. texts) are ignored.
+	 * @param pt The point to look at, in the coordinate system of the shapes. Cannot be null.
+	 * @return The found shape or nothing.
+	 * @throws NullPointerException when pt is null.
+	 * @since 4.0
+	 */
+	Optional<IShape> shapeAt(final IPoint pt);
+
+	/**
+	 * Adds a handler notified when a shape of the drawing may have changed: any of its attributes (points, style, arrows, text, etc.),
+	 * whether through its setters or directly through its JavaFX properties. For a group, the changes of its shapes are notified
+	 * with the group. The additions and removals of shapes are not notified: the list of the shapes notifies them.
+	 * @param handler The handler to add. It receives the changed shape of the drawing. Nothing is done if null.
+	 * @since 4.0
+	 */
+	void addShapeChangeHandler(final Consumer<IShape> handler);
+
+	/**
+	 * Removes a handler added with addShapeChangeHandler.
+	 * @param handler The handler to remove.
+	 * @since 4.0
+	 */
+	void removeShapeChangeHandler(final Consumer<IShape> handler);
+
+	/**
+	 * Executes the given modifications of the shapes of the drawing in a batch: each shape of the drawing
+	 * notifies its geometry change once, at the end of the batch (see IShape::runBatched).
+	 * @param update The modifications to perform. Cannot be null.
+	 * @since 4.0
+	 */
+	default void runBatched(final Runnable update) {
+		final List<IShape> shapes = new ArrayList<>(getShapes());
+		shapes.forEach(sh -> sh.beginUpdate());
+		try {
+			update.run();
+		}finally {
+			shapes.forEach(sh -> sh.endUpdate());
+		}
+	}
 }
@@ -29,6 +29,34 @@ public interface IFreehand extends IFreeHandProp, ISingleShape, IClosable {
 	 */
 	IntegerProperty intervalProperty();
 
+	/**
+	 * Adds a point at the end of the shape, in amortised constant time (the existing points are not copied).
+	 * @param x The X-coordinate of the point to add.
+	 * @param y The Y-coordinate of the point to add.
+	 * @return True if the point has been added, false if the coordinates are not valid.
+	 * @since 4.0
+	 */
+	boolean appendPoint(final double x, final double y);
+
+	/**
+	 * Moves the last point of the shape.
+	 * @param x The new X-coordinate of the last point.
+	 * @param y The new Y-coordinate of the last point.
+	 * @return True if the point has been moved, false if the shape has no point or if the coordinates are not valid.
+	 * @since 4.0
+	 */
+	boolean setLastPoint(final double x, final double y);
+
+	/**
+	 * Gives the number of first points left unchanged since the given geometry version, when the points have only been
+	 * modified through appendPoint or setLastPoint: the views can then update their rendering from this point
+	 * instead of rebuilding it. Only the last modification of the points is considered.
+	 * @param geometryVersion A value of the geometry version property of the shape.
+	 * @return The number of first points left unchanged, or -1 if unknown.
+	 * @since 4.0
+	 */
+	int getNbUnchangedPointsSince(final long geometryVersion);
+
 	@Override
 	IFreehand duplicate();
 }
@@ -28,6 +28,30 @@ public interface IPlot extends IPositionShape, IPlotProp {
 	 */
 	double getY(final double x);
 
+	/**
+	 * Computes the Y coordinates of several X coordinates at once (faster than calling getY for each of them).
+	 * @param xs The X coordinates.
+	 * @param ys The array filled with the corresponding Y coordinates. Must be at least as long as xs.
+	 * @since 4.0
+	 */
+	void getY(final double[] xs, final double[] ys);
+
+	/**
+	 * @return The X coordinates of the plotted points, in pixels, relative to the position of the plot.
+	 * The points are computed once for the current plot parameters (equation, min and max X, number of plotted points,
+	 * polar mode, and scales) and shared: the returned array must not be modified.
+	 * @since 4.0
+	 */
+	double[] getPlottedPointsX();
+
+	/**
+	 * @return The Y coordinates of the plotted points, in pixels, relative to the position of the plot.
+	 * The returned array must not be modified.
+	 * @see #getPlottedPointsX()
+	 * @since 4.0
+	 */
+	double[] getPlottedPointsY();
+
 	BooleanProperty polarProperty();
 
 	StringProperty plotEquationProperty();
@@ -13,6 +13,7 @@ package net.sf.latexdraw.models.interfaces.shape;
 import java.awt.geom.Rectangle2D;
 import java.util.List;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
 import org.malai.properties.Modifiable;
 
 /**
@@ -158,6 +159,38 @@ public interface IShape extends Modifiable {
 	 */
 	IPoint getFullBottomRightPoint();
 
+	/**
+	 * @return The minimal X-coordinate of the shape, i.e. the X-coordinate of getTopLeftPoint(),
+	 * without creating any point. Cached by the shapes when possible.
+	 * Double.NaN when the shape has no point (or, for a group, no shape with a point): an empty shape has no bounds.
+	 * @since 4.0
+	 */
+	double getMinX();
+
+	/**
+	 * @return The minimal Y-coordinate of the shape, i.e. the Y-coordinate of getTopLeftPoint(),
+	 * without creating any point. Cached by the shapes when possible.
+	 * Double.NaN when the shape has no point (or, for a group, no shape with a point): an empty shape has no bounds.
+	 * @since 4.0
+	 */
+	double getMinY();
+
+	/**
+	 * @return The maximal X-coordinate of the shape, i.e. the X-coordinate of getBottomRightPoint(),
+	 * without creating any point. Cached by the shapes when possible.
+	 * Double.NaN when the shape has no point (or, for a group, no shape with a point): an empty shape has no bounds.
+	 * @since 4.0
+	 */
+	double getMaxX();
+
+	/**
+	 * @return The maximal Y-coordinate of the shape, i.e. the Y-coordinate of getBottomRightPoint(),
+	 * without creating any point. Cached by the shapes when possible.
+	 * Double.NaN when the shape has no point (or, for a group, no shape with a point): an empty shape has no bounds.
+	 * @since 4.0
+	 */
+	double getMaxY();
+
 
 	/**
 	 * Scales the shape where the move reference point is the
@@ -207,6 +240,52 @@ public interface IShape extends Modifiable {
 	 */
 	void translate(final double tx, final double ty);
 
+	/**
+	 * Starts a batch of modifications of the geometry of the shape. Until the matching endUpdate call,
+	 * the JavaFX properties of the points are not updated and the geometry change is not notified.
+	 * Batches can be nested: only the outer one notifies the changes.
+	 * @since 4.0
+	 */
+	void beginUpdate();
+
+	/**
+	 * Ends a batch of modifications started with beginUpdate. When the outer batch ends and the points changed,
+	 * the JavaFX properties of the points are updated and a single geometry change is notified.
+	 * @since 4.0
+	 */
+	void endUpdate();
+
+	/**
+	 * Executes the given modifications of the shape in a batch (see beginUpdate).
+	 * @param update The modifications to perform. Cannot be null.
+	 * @since 4.0
+	 */
+	default void runBatched(final Runnable update) {
+		beginUpdate();
+		try {
+			update.run();
+		}finally {
+			endUpdate();
+		}
+	}
+
+	/**
+	 * @return A counter incremented each time the points of the shape change: once per modification
+	 * or once per batch of modifications, whatever the number of modified points. Views can listen to it
+	 * instead of the properties of each point. For a group, the counter is incremented at the end of each batch
+	 * run on the group that modified its shapes or their geometry.
+	 * @since 4.0
+	 */
+	ReadOnlyLongProperty geometryVersionProperty();
+
+	/**
+	 * Creates all the JFX properties of the shape (including the ones of its points and arrows), that are otherwise created on demand.
+	 * Creating a property is not thread-safe: the properties of a shape used by another thread than the JFX one
+	 * (e.g. to build its view in background) must be created on the JFX thread beforehand.
+	 * @since 4.0
+	 */
+	void createProperties();
+
 	/**
 	 * @return True if the shape has hatchings.
 	 * @since 3.0
@@ -25,4 +25,14 @@ public class PSAddCommand implements PSArithemticCommand {
 
 		stack.push(stack.pop() + stack.pop());
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 2) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		stack[size - 2] = stack[size - 2] + stack[size - 1];
+		return size - 1;
+	}
 }
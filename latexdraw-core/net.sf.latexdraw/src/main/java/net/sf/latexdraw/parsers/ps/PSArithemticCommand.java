@@ -16,7 +16,6 @@ import java.util.Deque;
  * An abstract arithmetic command.
  * @author Arnaud Blouin
  */
-@FunctionalInterface
 public interface PSArithemticCommand {
 	/**
 	 * Creates an abstract postscript arithmetical command.
@@ -27,4 +26,17 @@ public interface PSArithemticCommand {
 	 * @since 3.0
 	 */
 	void execute(final Deque<Double> stack, final double x);
+
+	/**
+	 * Executes the command on a primitive stack of values (no boxing, no allocation).
+	 * @param stack The values of the stack, the top value being at the index size - 1.
+	 * Its length must be large enough to contain the values pushed by the command.
+	 * @param size The number of values in the stack.
+	 * @param x The x variable of the command.
+	 * @return The number of values in the stack after the execution of the command.
+	 * @throws InvalidFormatPSFunctionException If the stack does not contain enough values.
+	 * @throws ArithmeticException When a division by 0 occurs for instance.
+	 * @since 4.0
+	 */
+	int execute(final double[] stack, final int size, final double x);
 }
@@ -21,4 +21,9 @@ public class PSClearCommand implements PSArithemticCommand {
 	public void execute(final Deque<Double> stack, final double x) {
 		stack.clear();
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		return 0;
+	}
 }
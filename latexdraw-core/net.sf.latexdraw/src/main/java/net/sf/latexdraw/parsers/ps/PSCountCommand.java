@@ -21,4 +21,10 @@ public class PSCountCommand implements PSArithemticCommand {
 	public void execute(final Deque<Double> stack, final double x) {
 		stack.push((double) stack.size());
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		stack[size] = size;
+		return size + 1;
+	}
 }
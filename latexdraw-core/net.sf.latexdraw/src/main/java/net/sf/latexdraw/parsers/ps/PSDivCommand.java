@@ -32,4 +32,20 @@ public class PSDivCommand implements PSArithemticCommand {
 		}
 		stack.push(b / a);
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 2) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		final double a = stack[size - 1];
+
+		if(MathUtils.INST.equalsDouble(a, 0d)) {
+			throw new ArithmeticException();
+		}
+
+		stack[size - 2] = stack[size - 2] / a;
+		return size - 1;
+	}
 }
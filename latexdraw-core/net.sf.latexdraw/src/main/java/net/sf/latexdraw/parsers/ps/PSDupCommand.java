@@ -25,4 +25,14 @@ public class PSDupCommand implements PSArithemticCommand {
 
 		stack.push(stack.peek());
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 1) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		stack[size] = stack[size - 1];
+		return size + 1;
+	}
 }
@@ -29,4 +29,16 @@ public class PSExchCommand implements PSArithemticCommand {
 		stack.push(a);
 		stack.push(b);
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 2) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		final double a = stack[size - 1];
+		stack[size - 1] = stack[size - 2];
+		stack[size - 2] = a;
+		return size;
+	}
 }
@@ -25,4 +25,14 @@ public class PSFloorCommand implements PSArithemticCommand {
 
 		stack.push(Math.floor(stack.pop()));
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 1) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		stack[size - 1] = Math.floor(stack[size - 1]);
+		return size;
+	}
 }
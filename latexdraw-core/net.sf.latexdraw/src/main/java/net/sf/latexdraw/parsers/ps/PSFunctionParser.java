@@ -10,9 +10,7 @@
  */
 package net.sf.latexdraw.parsers.ps;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,12 +19,18 @@ import net.sf.latexdraw.util.Tuple;
 
 /**
  * A postscript function parser.
+ * The parsed function is compiled once as a straight-line sequence of commands executed on a primitive stack
+ * so that computing its values does not box or allocate anything per command.
  * @author Arnaud Blouin
  */
 public class PSFunctionParser {
 	/** The postscript function. */
 	private final String function;
 	private final List<PSArithemticCommand> commands;
+	/** The compiled function: the commands to execute in sequence. */
+	private final PSArithemticCommand[] program;
+	/** True if the function contains commands not supported yet. */
+	private final boolean unsupported;
 	private static final Map<String, Supplier<PSArithemticCommand>> factoryMap;
 
 	static {
@@ -71,6 +75,9 @@ public class PSFunctionParser {
 		function = fct;
 
 		parseFunction();
+
+		program = commands.toArray(new PSArithemticCommand[commands.size()]);
+		unsupported = commands.contains(null);
 	}
 
 	/**
@@ -87,9 +94,10 @@ public class PSFunctionParser {
 		try {
 			final PSFunctionParser fct = new PSFunctionParser(eq);
 			final double gap = (max - min) / (nbPts - 1);
+			final double[] stack = fct.createStack();
 
 			for(double x = min; x < max; x += gap) {
-				final double y = fct.getY(x);
+				final double y = fct.getY(x, stack);
 				if(Double.isNaN(y) || Double.isInfinite(y)) {
 					return new Tuple<>(false, "f(x)=" + eq + " produces an invalid value with x=" + x);
 				}
@@ -116,15 +124,53 @@ public class PSFunctionParser {
 	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
 	 */
 	public double getY(final double x) {
-		final Deque<Double> stack = new ArrayDeque<>();
+		return getY(x, createStack());
+	}
 
-		commands.forEach(cmd -> cmd.execute(stack, x));
+	/**
+	 * Computes the Y values of the given X values. The stack of the function is allocated once for all the values.
+	 * @param xs The X-coordinates used to compute the Y using the function.
+	 * @param ys The array that will contain the computed Y values. Must be at least as long as xs.
+	 * @throws InvalidFormatPSFunctionException If the function is not correct.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 * @throws IllegalArgumentException If ys is shorter than xs.
+	 * @since 4.0
+	 */
+	public void evaluate(final double[] xs, final double[] ys) {
+		if(ys.length < xs.length) {
+			throw new IllegalArgumentException();
+		}
+
+		final double[] stack = createStack();
+
+		for(int i = 0; i < xs.length; i++) {
+			ys[i] = getY(xs[i], stack);
+		}
+	}
+
+	/**
+	 * @return A stack large enough to execute the function: each command pushes at most one value.
+	 */
+	private double[] createStack() {
+		return new double[program.length];
+	}
+
+	private double getY(final double x, final double[] stack) {
+		if(unsupported) {
+			throw new InvalidFormatPSFunctionException("Unsupported command in: " + function); //NON-NLS
+		}
+
+		int size = 0;
+
+		for(final PSArithemticCommand cmd : program) {
+			size = cmd.execute(stack, size, x);
+		}
 
-		if(stack.isEmpty()) {
+		if(size == 0) {
 			throw new InvalidFormatPSFunctionException();
 		}
 
-		return stack.pop();
+		return stack[size - 1];
 	}
 
 	/**
@@ -33,4 +33,20 @@ public class PSIDivCommand implements PSArithemticCommand {
 
 		stack.push(Math.floor(b / a));
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 2) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		final double a = stack[size - 1];
+
+		if(MathUtils.INST.equalsDouble(a, 0.0)) {
+			throw new ArithmeticException();
+		}
+
+		stack[size - 2] = Math.floor(stack[size - 2] / a);
+		return size - 1;
+	}
 }
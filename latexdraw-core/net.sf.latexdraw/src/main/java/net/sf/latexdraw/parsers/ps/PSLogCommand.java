@@ -25,4 +25,14 @@ public class PSLogCommand implements PSArithemticCommand {
 
 		stack.push(Math.log10(stack.pop()));
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 1) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		stack[size - 1] = Math.log10(stack[size - 1]);
+		return size;
+	}
 }
@@ -28,4 +28,14 @@ public class PSMulCommand implements PSArithemticCommand {
 
 		stack.push(b * a);
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 2) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		stack[size - 2] = stack[size - 2] * stack[size - 1];
+		return size - 1;
+	}
 }
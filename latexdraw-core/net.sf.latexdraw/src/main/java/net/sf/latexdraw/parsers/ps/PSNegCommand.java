@@ -25,4 +25,14 @@ public class PSNegCommand implements PSArithemticCommand {
 
 		stack.push(-stack.pop());
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 1) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		stack[size - 1] = -stack[size - 1];
+		return size;
+	}
 }
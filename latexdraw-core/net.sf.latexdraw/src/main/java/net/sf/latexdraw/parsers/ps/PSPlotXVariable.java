@@ -21,4 +21,10 @@ public class PSPlotXVariable implements PSArithemticCommand {
 	public void execute(final Deque<Double> stack, final double x) {
 		stack.push(x);
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		stack[size] = x;
+		return size + 1;
+	}
 }
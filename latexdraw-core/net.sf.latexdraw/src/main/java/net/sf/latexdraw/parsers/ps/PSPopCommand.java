@@ -25,4 +25,13 @@ public class PSPopCommand implements PSArithemticCommand {
 
 		stack.pop();
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		if(size < 1) {
+			throw new InvalidFormatPSFunctionException();
+		}
+
+		return size - 1;
+	}
 }
@@ -34,4 +34,10 @@ public class PSValue implements PSArithemticCommand {
 	public void execute(final Deque<Double> stack, final double x) {
 		stack.push(value);
 	}
+
+	@Override
+	public int execute(final double[] stack, final int size, final double x) {
+		stack[size] = value;
+		return size + 1;
+	}
 }
@@ -10,25 +10,38 @@
  */
 package net.sf.latexdraw.ui;
 
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.ArrayList;
+import java.util.List;
 import javafx.beans.NamedArg;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.scene.Group;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.geometry.Point2D;
 import javafx.scene.layout.Pane;
-import javafx.scene.shape.Line;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.Rectangle;
 import net.sf.latexdraw.util.Unit;
 import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.pst.PSTricksConstants;
 
 /**
- * An abstract scale ruler.
+ * A scale ruler. Its ticks are painted as a single path that covers the ruler.
+ * Scrolling the canvas only moves the path; it is built again only when the zoom level, the unit, or the length of the ruler change.
  * @author Arnaud BLOUIN
  */
 public class ScaleRuler extends Pane {
 	/** The current unit of the rulers. */
 	protected static final ObjectProperty<Unit> UNIT = new SimpleObjectProperty<>(Unit.CM);
 
+	/** The length (in pixels) of the main ticks. */
+	private static final double MAIN_TICK_SIZE = 10d;
+	/** The length (in pixels) of the sub-ticks. */
+	private static final double SUB_TICK_SIZE = 5d;
+
 	/**
 	 * @return the current unit used by the rulers.
 	 */
@@ -48,8 +61,17 @@ public class ScaleRuler extends Pane {
 
 	/** The canvas that the ruler manages. */
 	private Canvas canvas;
-	private final Group group;
+	/** The ticks of the ruler. */
+	private final Path ticks;
 	private final boolean vertical;
+	/** The gap (in pixels) between two main ticks of the built path. */
+	private double builtMainGap;
+	/** The gap (in pixels) between two sub-ticks of the built path. */
+	private double builtSubGap;
+	/** The length of the ruler when the path was built. */
+	private double builtLength;
+	/** Updates the ruler when the unit changes. The static unit property only weakly refers to it: the ruler can be garbage collected. */
+	private final ChangeListener<Unit> unitListener;
 
 	/**
 	 * Creates the ruler.
@@ -57,78 +79,132 @@ public class ScaleRuler extends Pane {
 	public ScaleRuler(@NamedArg("vertical") final boolean verticalRuler) {
 		super();
 		vertical = verticalRuler;
-		group = new Group();
-		getChildren().add(group);
+		ticks = new Path();
+		getChildren().add(ticks);
 		setFocusTraversable(false);
-	}
 
-	public void setCanvas(final Canvas canvas) {
-		this.canvas = canvas;
-	}
+		// The path overflows the ruler to be moved.
+		final Rectangle clip = new Rectangle();
+		clip.widthProperty().bind(widthProperty());
+		clip.heightProperty().bind(heightProperty());
+		setClip(clip);
 
-	public Group getGroup() {
-		return group;
+		widthProperty().addListener((observable, oldValue, newValue) -> update());
+		heightProperty().addListener((observable, oldValue, newValue) -> update());
+		unitListener = (observable, oldValue, newValue) -> update();
+		UNIT.addListener(new WeakChangeListener<>(unitListener));
 	}
 
-	public void update(final double width, final double height) {
-		if(canvas == null) {
-			return;
-		}
+	/**
+	 * Sets the canvas that the ruler manages. The ruler follows the scrolls and the zooms of the canvas.
+	 * @param canv The canvas. Cannot be null.
+	 */
+	public void setCanvas(final Canvas canv) {
+		canvas = canv;
+		// Scrolling or zooming the canvas modifies its transformation to the scene.
+		canvas.localToSceneTransformProperty().addListener((observable, oldValue, newValue) -> update());
+		localToSceneTransformProperty().addListener((observable, oldValue, newValue) -> update());
+		update();
+	}
 
-		group.getChildren().clear();
-			updateVertical(height);
-		if(vertical) {
+	/**
+	 * @return The path of the ticks.
+	 */
+	public Path getTicks() {
+		return ticks;
+	}
 
-		}else {
-			updateHorizontal(width);
-		}
+	/**
+	 * @return The number of pixels of the screen per unit (cm or inch) of the drawing.
+	 */
+	private double getPixelsPerUnit() {
+		final double ppu = canvas.getPPCDrawing() * (vertical ? canvas.getScaleY() : canvas.getScaleX());
+		return getUnit() == Unit.INCH ? ppu * PSTricksConstants.INCH_VAL_CM : ppu;
 	}
 
-	private double getMainStep() {
+	private double getMainStep(final double ppu) {
 		double step = 1d;
-		final double zoomedPPC = canvas.getPPCDrawing() * canvas.getZoom();
-		while(zoomedPPC * step < 80d) {
+		while(ppu * step < 80d) {
 			step *= 2d;
 		}
 		return step;
 	}
 
-	private double getSubStep() {
-		double step = getMainStep() / 10d;
-		final double zoomedPPC = canvas.getPPCDrawing() * canvas.getZoom();
-		while(zoomedPPC * step < 5d) {
+	private double getSubStep(final double ppu) {
+		double step = getMainStep(ppu) / 10d;
+		while(ppu * step < 5d) {
 			step *= 2d;
 		}
 		return step;
 	}
 
-	private void updateVertical(final double height) {
-		final double zoomedPPC = canvas.getPPCDrawing() * canvas.getZoom();
-		final double step = getMainStep() * zoomedPPC;
-		final double substep = getSubStep() * zoomedPPC;
-		final int incr = (int) (step / substep);
+	/**
+	 * Updates the ruler according to the visible part of the canvas.
+	 */
+	public void update() {
+		if(canvas == null) {
+			return;
+		}
+
+		final double ppu = getPixelsPerUnit();
+		if(ppu <= 0d) {
+			return;
+		}
 
-		group.getChildren().addAll(IntStream.range(0, (int) (height / step) + 1).parallel().
-			mapToObj(i -> new Line(0d, i * step, 10d, i * step)).collect(Collectors.toList()));
+		final double mainGap = getMainStep(ppu) * ppu;
+		final double subGap = getSubStep(ppu) * ppu;
+		final double length = vertical ? getHeight() : getWidth();
 
-		group.getChildren().addAll(IntStream.range(-1, (int) (height / step) + 1).parallel().
-			mapToObj(j -> IntStream.range(1, incr).parallel().
-				mapToObj(i -> new Line(0d, j * step + i * substep, 5d, j * step + i * substep))).
-			flatMap(s -> s).collect(Collectors.toList()));
+		if(Double.compare(mainGap, builtMainGap) != 0 || Double.compare(subGap, builtSubGap) != 0 || Double.compare(length, builtLength) != 0) {
+			buildTicks(mainGap, subGap, length);
+		}
+
+		// The main ticks are aligned on the origin of the drawing: the path is moved by less than a main gap.
+		final Point2D origin = sceneToLocal(canvas.localToScene(Canvas.ORIGIN.getX(), Canvas.ORIGIN.getY()));
+		if(origin != null) {
+			final double position = vertical ? origin.getY() : origin.getX();
+			final double shift = position - Math.floor(position / mainGap) * mainGap - mainGap;
+			if(vertical) {
+				ticks.setTranslateY(shift);
+			}else {
+				ticks.setTranslateX(shift);
+			}
+		}
 	}
 
-	private void updateHorizontal(final double width) {
-		final double zoomedPPC = canvas.getPPCDrawing() * canvas.getZoom();
-		final double step = getMainStep() * zoomedPPC;
-		final double substep = getSubStep() * zoomedPPC;
-		final int incr = (int) (step / substep);
+	/**
+	 * Builds the path of the ticks from 0 to the length of the ruler plus two main gaps.
+	 */
+	private void buildTicks(final double mainGap, final double subGap, final double length) {
+		final List<PathElement> elts = new ArrayList<>();
+		final double end = length + 2d * mainGap;
 
-		group.getChildren().addAll(IntStream.range(0, (int) (width / step) + 1).parallel().
-			mapToObj(i -> new Line(i * step, 0d, i * step, 10d)).collect(Collectors.toList()));
+		builtMainGap = mainGap;
+		builtSubGap = subGap;
+		builtLength = length;
 
-		group.getChildren().addAll(IntStream.range(-1, (int) (width / step) + 1).parallel().
-			mapToObj(j -> IntStream.range(1, incr).parallel().
-			mapToObj(i -> new Line(j * step + i * substep, 0d, j * step + i * substep, 5d))).
-			flatMap(s -> s).collect(Collectors.toList()));
+		for(int i = 0; i * mainGap <= end; i++) {
+			addTick(elts, i * mainGap, MAIN_TICK_SIZE);
+		}
+
+		for(int i = 1; i * subGap <= end; i++) {
+			final double pos = i * subGap;
+			// No sub-tick on a main tick.
+			if(Math.abs(pos - Math.rint(pos / mainGap) * mainGap) > 0.5) {
+				addTick(elts, pos, SUB_TICK_SIZE);
+			}
+		}
+
+		ticks.getElements().setAll(elts);
+	}
+
+	private void addTick(final List<PathElement> elts, final double pos, final double size) {
+		if(vertical) {
+			elts.add(new MoveTo(0d, pos));
+			elts.add(new LineTo(size, pos));
+		}else {
+			elts.add(new MoveTo(pos, 0d));
+			elts.add(new LineTo(pos, size));
+		}
 	}
 }
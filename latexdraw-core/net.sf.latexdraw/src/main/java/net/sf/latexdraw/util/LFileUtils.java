@@ -18,10 +18,13 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.Random;
@@ -45,6 +48,25 @@ public final class LFileUtils {
 		return file == null ? "" : file.substring(0, file.lastIndexOf('.'));
 	}
 
+	/**
+	 * @param content A text (e.g. a LaTeX document).
+	 * @return The SHA-256 hash of the given text in hexadecimal: a name for the files cached for this content.
+	 * @since 4.0
+	 */
+	public String getDigest(final String content) {
+		try {
+			final byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)); //NON-NLS
+			final StringBuilder digest = new StringBuilder(hash.length * 2);
+			for(final byte b : hash) {
+				digest.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return digest.toString();
+		}catch(final NoSuchAlgorithmException ex) {
+			// Every Java platform supports SHA-256.
+			throw new IllegalStateException(ex);
+		}
+	}
+
 	/**
 	 * Replaces ~ characters by \string~.
 	 * @param str The string to process.
@@ -57,6 +57,11 @@ public final class LNamespace {
 	public static final String XML_CLASSIC_GRID			= "classicGrid"; //NON-NLS
 	public static final String XML_MAGNETIC_GRID_STYLE	= "magneticGridStyle"; //NON-NLS
 	public static final String XML_GRID_GAP				= "gridGap"; //NON-NLS
+	public static final String XML_STROKE_TOLERANCE		= "strokeTolerance"; //NON-NLS
+	public static final String XML_VIRTUALISED_CANVAS	= "virtualisedCanvas"; //NON-NLS
+	public static final String XML_RENDERING_BACKEND	= "renderingBackend"; //NON-NLS
+	public static final String XML_LOD_MEDIUM			= "lodMediumThreshold"; //NON-NLS
+	public static final String XML_LOD_LOW				= "lodLowThreshold"; //NON-NLS
 	public static final String XML_MAGNETIC_GRID		= "magneticGrid"; //NON-NLS
 	public static final String XML_VERSION				= "version"; //NON-NLS
 	public static final String XML_POSITION 			= "position"; //NON-NLS
@@ -31,6 +31,10 @@ public final class LPath {
 	public static final String PATH_PREFERENCES_XML_FILE = PATH_LOCAL_USER + File.separator + ".preferences.xml"; //NON-NLS
 	public static final String PATH_CACHE_DIR = PATH_LOCAL_USER + File.separator + CACHE_DIR;
 	public static final String PATH_CACHE_SHARE_DIR = PATH_LOCAL_USER + File.separator + CACHE_SHARED_DIR;
+	/** The directory where the compiled pictures of the texts are cached. */
+	public static final String PATH_CACHE_TEXTS_DIR = PATH_CACHE_DIR + File.separator + "texts"; //NON-NLS
+	/** The directory where the LaTeX formats precompiled from the preambles are cached. */
+	public static final String PATH_CACHE_FORMATS_DIR = PATH_CACHE_DIR + File.separator + "formats"; //NON-NLS
 	public static final String PATH_TEMPLATES_SHARED = INSTANCE.getPathTemplatesShared();
 	public static final String PATH_SHARED = INSTANCE.getPathShared();
 
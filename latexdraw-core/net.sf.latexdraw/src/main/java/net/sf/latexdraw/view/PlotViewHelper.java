@@ -12,10 +12,8 @@ package net.sf.latexdraw.view;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.IBezierCurve;
-import net.sf.latexdraw.models.interfaces.shape.IDot;
 import net.sf.latexdraw.models.interfaces.shape.IPlot;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.IPolygon;
@@ -34,8 +32,7 @@ public final class PlotViewHelper {
 	}
 
 
-	private IPoint getPolarPoint(final IPlot shape, final double x, final double xs, final double ys, final double posX, final double posY) {
-		final double radius = shape.getY(x);
+	private IPoint getPolarPoint(final double x, final double radius, final double xs, final double ys, final double posX, final double posY) {
 		final double angle = Math.toRadians(x);
 		final double x1 = radius * Math.cos(angle);
 		final double y1 = -radius * Math.sin(angle);
@@ -44,19 +41,45 @@ public final class PlotViewHelper {
 
 	public List<IPoint> fillPoints(final IPlot shape, final double posX, final double posY, final double minX,
 								final double maxX, final double step) {
+		// The plotted points of the standard range are cached by the plot.
+		if(Double.compare(minX, shape.getPlotMinX()) == 0 && Double.compare(maxX, shape.getPlotMaxX()) == 0 &&
+			Double.compare(step, shape.getPlottingStep()) == 0) {
+			final double[] ptsX = shape.getPlottedPointsX();
+			final double[] ptsY = shape.getPlottedPointsY();
+			final List<IPoint> pts = new ArrayList<>(ptsX.length);
+			for(int i = 0; i < ptsX.length; i++) {
+				pts.add(ShapeFactory.INST.createPoint(ptsX[i] + posX, ptsY[i] + posY));
+			}
+			return pts;
+		}
+
 		final double xs = shape.getXScale();
 		final double ys = shape.getYScale();
+		final boolean polar = shape.isPolar();
+		final int nbPts = Math.max(0, shape.getNbPlottedPoints());
+		// In polar mode, the point of maxX is added after the plotted points.
+		final double[] xcoords = new double[polar ? nbPts + 1 : nbPts];
+		final double[] ycoords = new double[xcoords.length];
 		double x = minX;
-		final List<IPoint> pts = new ArrayList<>();
 
-		if(shape.isPolar()) {
-			for(int i = 0; i < shape.getNbPlottedPoints(); i++, x += step) {
-				pts.add(getPolarPoint(shape, x, xs, ys, posX, posY));
+		for(int i = 0; i < nbPts; i++, x += step) {
+			xcoords[i] = x;
+		}
+		if(polar) {
+			xcoords[nbPts] = maxX;
+		}
+
+		shape.getY(xcoords, ycoords);
+
+		final List<IPoint> pts = new ArrayList<>(xcoords.length);
+
+		if(polar) {
+			for(int i = 0; i < xcoords.length; i++) {
+				pts.add(getPolarPoint(xcoords[i], ycoords[i], xs, ys, posX, posY));
 			}
-			pts.add(getPolarPoint(shape, maxX, xs, ys, posX, posY));
 		}else {
-			for(int i = 0; i < shape.getNbPlottedPoints(); i++, x += step) {
-				pts.add(ShapeFactory.INST.createPoint(x * IShape.PPC * xs + posX, -shape.getY(x) * IShape.PPC * ys + posY));
+			for(int i = 0; i < xcoords.length; i++) {
+				pts.add(ShapeFactory.INST.createPoint(xcoords[i] * IShape.PPC * xs + posX, -ycoords[i] * IShape.PPC * ys + posY));
 			}
 		}
 
@@ -64,17 +87,6 @@ public final class PlotViewHelper {
 	}
 
 
-	public List<IDot> updatePoints(final IPlot shape, final double posX, final double posY, final double minX, final double maxX, final double step) {
-		return ShapeFactory.INST.createPolyline(fillPoints(shape, posX, posY, minX, maxX, step)).getPoints().stream().map(pt -> {
-			final IDot dot = ShapeFactory.INST.createDot(pt);
-			dot.copy(shape);
-			dot.setPosition(pt);
-			dot.setRotationAngle(0d);
-			return dot;
-		}).collect(Collectors.toList());
-	}
-
-
 	public IPolygon updatePolygon(final IPlot shape, final double posX, final double posY, final double minX, final double maxX, final double step) {
 		final IPolygon pg = ShapeFactory.INST.createPolygon(fillPoints(shape, posX, posY, minX, maxX, step));
 		pg.copy(shape);
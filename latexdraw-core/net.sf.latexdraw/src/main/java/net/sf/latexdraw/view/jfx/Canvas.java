@@ -13,20 +13,34 @@ package net.sf.latexdraw.view.jfx;
 import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.ParallelTransition;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.scene.Cursor;
 import javafx.scene.Group;
@@ -37,12 +51,8 @@ import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.transform.Translate;
 import javafx.util.Duration;
-import net.sf.latexdraw.commands.DrawingCmd;
-import net.sf.latexdraw.commands.ShapeCmd;
-import net.sf.latexdraw.commands.ShapesCmd;
-import net.sf.latexdraw.commands.shape.MovePoint;
-import net.sf.latexdraw.commands.shape.ShapePropertyCmd;
 import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.IDrawing;
@@ -55,13 +65,11 @@ import net.sf.latexdraw.view.ViewsSynchroniserHandler;
 import org.malai.command.CmdHandler;
 import org.malai.command.Command;
 import org.malai.command.CommandsRegistry;
-import org.malai.command.library.Redo;
-import org.malai.command.library.Undo;
-import org.malai.javafx.command.IOCommand;
 import org.malai.properties.Modifiable;
 import org.malai.properties.Preferenciable;
 import org.malai.properties.Reinitialisable;
 import org.malai.properties.Zoomable;
+import org.malai.undo.UndoCollector;
 import org.malai.undo.Undoable;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -76,6 +84,9 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 	/** The margin used to surround the drawing. */
 	protected static int margins = 1500;
 
+	/** In virtualisation mode, the margin (in pixels) added around the visible area to select the shapes to realise. */
+	protected static final double VIRTUALISATION_MARGIN = 200d;
+
 	protected static Page defaultPage = Page.USLETTER;
 
 	/** The origin of the drawing in the whole drawing area. */
@@ -119,6 +130,12 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 
 	private final Map<IShape, ViewShape<?>> shapesToViewMap;
 
+	/** The positions of the shapes in the drawing, computed on demand to realise views in filtering mode. */
+	private final Map<IShape, Integer> shapesIndexes;
+
+	/** False when the shapes of the drawing changed since the computation of their positions. */
+	private boolean shapesIndexesValid;
+
 	/** The magnetic grid of the canvas. */
 	private final MagneticGridImpl magneticGrid;
 
@@ -128,6 +145,54 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 	/** The temporary view that the canvas may contain. */
 	private Optional<ViewShape<?>> tempView;
 
+	/** The translation shared by the dragged views and the selection border while the selection is dragged. */
+	private final Translate dragTranslation;
+
+	/** The nodes currently translated by dragTranslation. */
+	private final List<javafx.scene.Node> draggedNodes;
+
+	/**
+	 * Defines whether only the views of the shapes located in the visible part of the canvas (and of the selected shapes) exist.
+	 * The other views are created when the canvas is scrolled or zoomed and dropped when they leave the visible area.
+	 */
+	private final BooleanProperty virtualised;
+
+	/** True if an update of the realised views is pending. */
+	private boolean realisedViewsUpdateRequested;
+
+	/** True if an update of the compilation priorities of the texts is pending. */
+	private boolean textsPriorityUpdateRequested;
+
+	/** The visible area when the compilation priorities of the texts were last updated. Null if the canvas was not displayed. */
+	private Rectangle2D textsPriorityArea;
+
+	/** False when the selection or the views changed since the last update of the compilation priorities of the texts. */
+	private boolean textsPriorityValid;
+
+	/** The views of the texts that got a priority higher than the background one at the last update. */
+	private final Set<ViewText> prioritisedTexts;
+
+	/** The way the shapes are rendered. */
+	private final ObjectProperty<RenderingBackend> renderingBackend;
+
+	/** Paints the shapes that have no view, with the rendering backends that paint shapes. */
+	private Optional<ShapesRenderer> renderer;
+
+	/** Registered on the drawing while a renderer is used: the paintings of the changed shapes must be recorded again. */
+	private final Consumer<IShape> shapeChangeHandler;
+
+	/** Defines the level of detail of the views according to the zoom level. */
+	private final LevelOfDetailPolicy lodPolicy;
+
+	/** The level of detail of the views, that depends on the zoom level. */
+	private final ObjectProperty<LevelOfDetail> levelOfDetail;
+
+	/** True if the views are fully detailed whatever the zoom level, for instance during an export. */
+	private boolean fullDetail;
+
+	/** Builds in background the views of the shapes added in large numbers. */
+	private final ViewsBuilder viewsBuilder;
+
 	/**
 	 * Creates the canvas.
 	 */
@@ -138,6 +203,19 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 		drawing = ShapeFactory.INST.createDrawing();
 		zoom = new SimpleDoubleProperty(1d);
 		tempView = Optional.empty();
+		dragTranslation = new Translate();
+		draggedNodes = new ArrayList<>();
+		virtualised = new SimpleBooleanProperty(false);
+		realisedViewsUpdateRequested = false;
+		textsPriorityUpdateRequested = false;
+		textsPriorityArea = null;
+		textsPriorityValid = false;
+		prioritisedTexts = Collections.newSetFromMap(new IdentityHashMap<>());
+		renderingBackend = new SimpleObjectProperty<>(RenderingBackend.SCENE_GRAPH);
+		lodPolicy = new LevelOfDetailPolicy();
+		levelOfDetail = new SimpleObjectProperty<>(LevelOfDetail.HIGH);
+		fullDetail = false;
+		viewsBuilder = new ViewsBuilder(sh -> ViewFactory.INSTANCE.createView(sh), (from, shapes, built) -> attachViews(from, shapes, built));
 		page = new PageView(defaultPage, getOrigin());
 		setPrefWidth(margins * 2d + page.getPage().getWidth() * IShape.PPC);
 		setPrefHeight(margins * 2d + page.getPage().getHeight() * IShape.PPC);
@@ -146,7 +224,11 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 
 		widgetsPane = new Group();
 		shapesPane = new Group();
-		shapesToViewMap = new HashMap<>();
+		shapesToViewMap = new IdentityHashMap<>();
+		shapesIndexes = new IdentityHashMap<>();
+		shapesIndexesValid = false;
+		renderer = Optional.empty();
+		shapeChangeHandler = sh -> renderer.ifPresent(r -> r.invalidate(sh));
 		selectionBorder = new Rectangle();
 		ongoingSelectionBorder = new Rectangle();
 
@@ -169,8 +251,13 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 
 		defineShapeListToViewBinding();
 		configureSelection();
+		configureVirtualisation();
+		configureRenderingBackend();
+		configureLevelOfDetail();
+		configureTextsPriority();
 
 		CommandsRegistry.INSTANCE.addHandler(this);
+		UndoCollector.INSTANCE.addHandler(this);
 
 		shapesPane.setFocusTraversable(false);
 	}
@@ -190,7 +277,13 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 		selectionBorder.addEventHandler(MouseEvent.MOUSE_ENTERED, evt -> setCursor(Cursor.HAND));
 		selectionBorder.addEventHandler(MouseEvent.MOUSE_EXITED, evt -> setCursor(Cursor.DEFAULT));
 
-		drawing.getSelection().getShapes().addListener((Change<? extends IShape> evt) -> updateSelectionBorders());
+		drawing.getSelection().getShapes().addListener((Change<? extends IShape> evt) -> {
+			// The selected shapes must have a view.
+			if(isViewsFiltered()) {
+				updateRealisedViews();
+			}
+			updateSelectionBorders();
+		});
 	}
 
 
@@ -240,28 +333,48 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 	}
 
 
+	/**
+	 * Moves visually the selected views and the selection border without modifying the shapes: a single
+	 * translation is shared by these nodes so that dragging a large selection does not update the model at each move.
+	 * The translation is added to the nodes at the first call and removed by clearSelectionDragTranslation.
+	 * @param tx The x translation, in the coordinate system of the shapes.
+	 * @param ty The y translation, in the coordinate system of the shapes.
+	 */
+	public void setSelectionDragTranslation(final double tx, final double ty) {
+		if(draggedNodes.isEmpty()) {
+			getSelectedViews().stream().filter(view -> view != null).forEach(view -> draggedNodes.add(view));
+			draggedNodes.add(selectionBorder);
+			draggedNodes.forEach(node -> node.getTransforms().add(dragTranslation));
+		}
+		dragTranslation.setX(tx);
+		dragTranslation.setY(ty);
+	}
+
+	/**
+	 * Removes the translation added to the dragged nodes by setSelectionDragTranslation.
+	 */
+	public void clearSelectionDragTranslation() {
+		draggedNodes.forEach(node -> node.getTransforms().remove(dragTranslation));
+		draggedNodes.clear();
+		dragTranslation.setX(0d);
+		dragTranslation.setY(0d);
+	}
+
+
 	private void defineShapeListToViewBinding() {
+		// Each sub-change concerns a contiguous range of shapes: its views are added or removed in bulk.
 		drawing.getShapes().addListener((Change<? extends IShape> evt) -> {
+			shapesIndexesValid = false;
 			while(evt.next()) {
+				if(evt.wasRemoved()) {
+					removeViews(evt.getRemoved());
+				}
 				if(evt.wasAdded()) {
-					evt.getAddedSubList().forEach(sh -> ViewFactory.INSTANCE.createView(sh).ifPresent(v -> {
-						final int index = drawing.getShapes().indexOf(sh);
-						if(index != -1) {
-							shapesToViewMap.put(sh, v);
-							if(index == drawing.size()) {
-								shapesPane.getChildren().add(v);
-							}else {
-								shapesPane.getChildren().add(index, v);
-							}
-						}
-					}));
-				}else {
-					if(evt.wasRemoved()) {
-						evt.getRemoved().forEach(sh -> {
-							final ViewShape<?> toRemove = shapesToViewMap.remove(sh);
-							shapesPane.getChildren().remove(toRemove);
-							toRemove.flush();
-						});
+					if(isViewsFiltered()) {
+						renderer.ifPresent(r -> evt.getAddedSubList().forEach(sh -> r.invalidate(sh)));
+						requestRealisedViewsUpdate();
+					}else {
+						addViews(evt.getFrom(), evt.getAddedSubList());
 					}
 				}
 			}
@@ -269,6 +382,668 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 	}
 
 
+	/**
+	 * Creates the views of the given shapes and adds them to the canvas in a single modification of the scene graph.
+	 * Large numbers of views are built in background. While views are being built, the next ones are built in background too
+	 * so that the views are attached in the order of the shapes.
+	 * @param from The position of the first added shape in the drawing.
+	 * @param added The added shapes.
+	 */
+	private void addViews(final int from, final List<? extends IShape> added) {
+		if(added.size() >= ViewsBuilder.MIN_SHAPES || viewsBuilder.isBuilding()) {
+			viewsBuilder.build(from, added);
+			return;
+		}
+
+		final List<ViewShape<?>> views = new ArrayList<>(added.size());
+
+		added.forEach(sh -> createView(sh).ifPresent(v -> {
+			shapesToViewMap.put(sh, v);
+			views.add(v);
+		}));
+
+		if(!views.isEmpty()) {
+			// The position in the drawing is not the one in the views pane when shapes have no view (pending or text views):
+			// the views are inserted after the view of the closest previous shape that has one.
+			final ViewShape<?> previous = getPreviousView(from);
+			shapesPane.getChildren().addAll(previous == null ? 0 : shapesPane.getChildren().lastIndexOf(previous) + 1, views);
+		}
+	}
+
+
+	/**
+	 * Attaches the views of a batch of shapes built in background, following the order of the shapes: the views of contiguous shapes
+	 * are inserted in bulk. The views of the shapes removed from the drawing, or that already have a view, are flushed.
+	 * @param from The position of the first shape of the batch in the drawing when the batch was built.
+	 * @param shapes The shapes of the batch.
+	 * @param built The built views of the shapes.
+	 */
+	private void attachViews(final int from, final List<IShape> shapes, final Map<IShape, ViewShape<?>> built) {
+		// The views pane only contains the realised views when they are filtered.
+		if(isViewsFiltered()) {
+			built.values().forEach(v -> v.flush());
+			requestRealisedViewsUpdate();
+			return;
+		}
+
+		final List<IShape> drawingShapes = drawing.getShapes();
+		final int size = shapes.size();
+		boolean inPlace = from >= 0 && from + size <= drawingShapes.size();
+
+		for(int i = 0; i < size && inPlace; i++) {
+			inPlace = drawingShapes.get(from + i) == shapes.get(i);
+		}
+
+		if(inPlace) {
+			attachViewsAt(from, shapes, built);
+		}else {
+			// The drawing has been modified since the building of the batch: the shapes are looked for in the whole drawing.
+			attachViewsAt(0, drawingShapes, built);
+		}
+
+		// The remaining views are the ones of the removed shapes.
+		built.values().forEach(v -> v.flush());
+		updateSelectionBorders();
+	}
+
+
+	/**
+	 * Attaches the built views of the given contiguous shapes of the drawing.
+	 * @param from The position of the first shape in the drawing.
+	 * @param shapes The shapes, that must be at the given position in the drawing.
+	 * @param built The built views of the shapes. The attached and flushed views are removed from it.
+	 */
+	private void attachViewsAt(final int from, final List<IShape> shapes, final Map<IShape, ViewShape<?>> built) {
+		final ObservableList<javafx.scene.Node> children = shapesPane.getChildren();
+		final List<ViewShape<?>> run = new ArrayList<>();
+		// The views are inserted after the view of the closest previous shape that has one. The views pane is searched from its end
+		// since the shapes are mostly appended.
+		final ViewShape<?> previous = getPreviousView(from);
+		int position = previous == null ? 0 : children.lastIndexOf(previous) + 1;
+
+		for(final IShape sh : shapes) {
+			final ViewShape<?> view = built.remove(sh);
+			final ViewShape<?> existing = shapesToViewMap.get(sh);
+
+			if(view != null && existing == null) {
+				view.setLevelOfDetail(getLevelOfDetail());
+				shapesToViewMap.put(sh, view);
+				run.add(view);
+			}else {
+				if(view != null) {
+					view.flush();
+				}
+				if(existing != null) {
+					if(!run.isEmpty()) {
+						children.addAll(position, run);
+						run.clear();
+					}
+					position = children.lastIndexOf(existing) + 1;
+				}
+			}
+		}
+
+		if(!run.isEmpty()) {
+			children.addAll(Math.min(position, children.size()), run);
+		}
+	}
+
+
+	/**
+	 * @param index A position in the drawing.
+	 * @return The view of the closest shape before the given position that has a view, or null.
+	 */
+	private ViewShape<?> getPreviousView(final int index) {
+		final List<IShape> shapes = drawing.getShapes();
+		for(int i = Math.min(index, shapes.size()) - 1; i >= 0; i--) {
+			final ViewShape<?> view = shapesToViewMap.get(shapes.get(i));
+			if(view != null) {
+				return view;
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * @return The number of shapes which views are being built in background.
+	 * @since 4.0
+	 */
+	public int getNbPendingViews() {
+		return viewsBuilder.nbPendingProperty().get();
+	}
+
+	/**
+	 * @return The number of shapes which views are being built in background.
+	 * @since 4.0
+	 */
+	public ReadOnlyIntegerProperty nbPendingViewsProperty() {
+		return viewsBuilder.nbPendingProperty();
+	}
+
+
+	/**
+	 * Removes the views of the given shapes from the canvas in a single modification of the scene graph, and flushes them.
+	 * @param removed The removed shapes.
+	 */
+	private void removeViews(final List<? extends IShape> removed) {
+		final Set<ViewShape<?>> views = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		viewsBuilder.cancel(removed);
+
+		removed.forEach(sh -> {
+			renderer.ifPresent(r -> r.invalidate(sh));
+			final ViewShape<?> view = shapesToViewMap.remove(sh);
+			if(view != null) {
+				views.add(view);
+			}
+		});
+
+		if(!views.isEmpty()) {
+			shapesPane.getChildren().removeAll(views);
+			views.forEach(v -> v.flush());
+		}
+	}
+
+
+	private void configureVirtualisation() {
+		virtualised.addListener((observable, oldValue, newValue) -> updateViewsFiltering());
+		// Scrolling or zooming the canvas modifies its transformation to the scene.
+		localToSceneTransformProperty().addListener((observable, oldValue, newValue) -> requestRealisedViewsUpdate());
+		zoom.addListener((observable, oldValue, newValue) -> requestRealisedViewsUpdate());
+	}
+
+
+	private void configureTextsPriority() {
+		localToSceneTransformProperty().addListener((observable, oldValue, newValue) -> requestTextsPriorityUpdate());
+		zoom.addListener((observable, oldValue, newValue) -> requestTextsPriorityUpdate());
+		drawing.getSelection().getShapes().addListener((Change<? extends IShape> evt) -> {
+			textsPriorityValid = false;
+			requestTextsPriorityUpdate();
+		});
+		// The views of the texts start their compilation before being added to the canvas.
+		shapesPane.getChildren().addListener((Change<? extends javafx.scene.Node> evt) -> {
+			textsPriorityValid = false;
+			requestTextsPriorityUpdate();
+		});
+	}
+
+
+	/**
+	 * Updates the compilation priorities of the texts at the next pulse (several requests during a pulse produce a single update).
+	 */
+	private void requestTextsPriorityUpdate() {
+		if(!textsPriorityUpdateRequested) {
+			textsPriorityUpdateRequested = true;
+			Platform.runLater(() -> {
+				textsPriorityUpdateRequested = false;
+				updateTextsPriority();
+			});
+		}
+	}
+
+
+	/**
+	 * Gives their compilation priority to the views of the texts: the visible texts first, then the selected ones.
+	 * Nothing is done if the visible area, the selection, and the views did not change since the last update
+	 * (scrolling or zooming notifies several pulses).
+	 */
+	private void updateTextsPriority() {
+		final Rectangle2D area = getVisibleArea().orElse(null);
+		if(!textsPriorityValid || (area == null ? textsPriorityArea != null : !area.equals(textsPriorityArea))) {
+			updateTextsPriority(area);
+		}
+	}
+
+
+	/**
+	 * Gives their compilation priority to the views of the texts, including the texts of the groups.
+	 * The candidate visible texts are queried from the drawing. The extent of a text is only known by its view:
+	 * the visibility of a text is given by the bounds of its view. The other texts get the selected or background priority.
+	 * @param area The visible area in the coordinate system of the shapes. Null if the canvas is not displayed.
+	 */
+	void updateTextsPriority(final Rectangle2D area) {
+		final Map<ViewText, CompilationPriority> priorities = new IdentityHashMap<>();
+
+		textsPriorityArea = area;
+		textsPriorityValid = true;
+
+		drawing.getSelection().getShapes().forEach(sh -> {
+			final ViewShape<?> view = shapesToViewMap.get(sh);
+			if(view != null) {
+				collectTextsPriority(view, null, CompilationPriority.SELECTED, priorities);
+			}
+		});
+
+		// The visible texts override the selected ones.
+		if(area != null) {
+			drawing.shapesIntersecting(area).forEach(sh -> {
+				final ViewShape<?> view = shapesToViewMap.get(sh);
+				if(view instanceof ViewText || view instanceof ViewGroup) {
+					collectTextsPriority(view, area, CompilationPriority.VISIBLE, priorities);
+				}
+			});
+		}
+
+		// Only the texts prioritised by the previous update may have to go back to the background.
+		prioritisedTexts.forEach(view -> {
+			if(!priorities.containsKey(view)) {
+				view.setCompilationPriority(CompilationPriority.BACKGROUND);
+			}
+		});
+		prioritisedTexts.clear();
+		priorities.forEach((view, priority) -> {
+			view.setCompilationPriority(priority);
+			prioritisedTexts.add(view);
+		});
+	}
+
+
+	/**
+	 * Gives the given priority to the views of the texts of the given view (a text or a group).
+	 * @param area The area where the texts must be to get the priority. Null: all the texts get it.
+	 */
+	private void collectTextsPriority(final ViewShape<?> view, final Rectangle2D area, final CompilationPriority priority,
+		final Map<ViewText, CompilationPriority> priorities) {
+		if(view instanceof ViewGroup) {
+			((ViewGroup) view).getViews().forEach(v -> collectTextsPriority(v, area, priority, priorities));
+		}else if(view instanceof ViewText && (area == null || isInShapesPane(view, area))) {
+			priorities.put((ViewText) view, priority);
+		}
+	}
+
+
+	/**
+	 * @return True if the given view is in the views pane and if its bounds intersect the given area (in the coordinate system of the shapes).
+	 */
+	private boolean isInShapesPane(final javafx.scene.Node view, final Rectangle2D area) {
+		Bounds bounds = view.getBoundsInLocal();
+		javafx.scene.Node node = view;
+
+		while(node != null && node != shapesPane) {
+			bounds = node.localToParent(bounds);
+			node = node.getParent();
+		}
+
+		return node != null && area.intersects(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+	}
+
+
+	private void configureRenderingBackend() {
+		renderingBackend.addListener((observable, oldValue, newValue) -> {
+			renderer.ifPresent(r -> {
+				getChildren().remove(r);
+				r.clear();
+				drawing.removeShapeChangeHandler(shapeChangeHandler);
+			});
+			renderer = createRenderer(newValue);
+			renderer.ifPresent(r -> drawing.addShapeChangeHandler(shapeChangeHandler));
+			renderer.ifPresent(r -> r.setLevelOfDetail(getLevelOfDetail()));
+			// The painted shapes are below the views.
+			renderer.ifPresent(r -> getChildren().add(getChildren().indexOf(shapesPane), r));
+			updateViewsFiltering();
+		});
+	}
+
+
+	private void configureLevelOfDetail() {
+		zoom.addListener((observable, oldValue, newValue) -> updateLevelOfDetail());
+		lodPolicy.mediumThresholdProperty().addListener((observable, oldValue, newValue) -> updateLevelOfDetail());
+		lodPolicy.lowThresholdProperty().addListener((observable, oldValue, newValue) -> updateLevelOfDetail());
+		// The views switch their level of detail in place, without being re-created.
+		levelOfDetail.addListener((observable, oldValue, newValue) -> {
+			shapesToViewMap.values().forEach(view -> view.setLevelOfDetail(newValue));
+			tempView.ifPresent(view -> view.setLevelOfDetail(newValue));
+			renderer.ifPresent(r -> r.setLevelOfDetail(newValue));
+		});
+	}
+
+
+	private void updateLevelOfDetail() {
+		levelOfDetail.set(fullDetail ? LevelOfDetail.HIGH : lodPolicy.getLevel(getZoom()));
+	}
+
+
+	/**
+	 * @return The view of the given shape, at the current level of detail.
+	 */
+	private Optional<ViewShape<?>> createView(final IShape sh) {
+		final Optional<ViewShape<?>> view = ViewFactory.INSTANCE.createView(sh);
+		view.ifPresent(v -> v.setLevelOfDetail(getLevelOfDetail()));
+		return view;
+	}
+
+
+	private Optional<ShapesRenderer> createRenderer(final RenderingBackend backend) {
+		final Predicate<IShape> painted = sh -> !shapesToViewMap.containsKey(sh);
+		switch(backend) {
+			case IMMEDIATE: return Optional.of(new ImmediateRenderer(drawing, painted));
+			case TILED: return Optional.of(new TiledRenderer(drawing, painted));
+			default: return Optional.empty();
+		}
+	}
+
+
+	/**
+	 * Realises the views that must exist according to the virtualisation mode and the rendering backend.
+	 */
+	private void updateViewsFiltering() {
+		if(isViewsFiltered()) {
+			updateRealisedViews();
+		}else {
+			realiseAllViews();
+		}
+	}
+
+
+	/**
+	 * @return True if some shapes may have no view: in virtualisation mode or with a rendering backend that paints shapes.
+	 */
+	private boolean isViewsFiltered() {
+		return isVirtualised() || renderer.isPresent();
+	}
+
+
+	/**
+	 * Updates the realised views at the next pulse (several requests during a pulse produce a single update).
+	 */
+	private void requestRealisedViewsUpdate() {
+		if(isViewsFiltered() && !realisedViewsUpdateRequested) {
+			realisedViewsUpdateRequested = true;
+			Platform.runLater(() -> {
+				realisedViewsUpdateRequested = false;
+				if(isViewsFiltered()) {
+					updateRealisedViews();
+				}
+			});
+		}
+	}
+
+
+	/**
+	 * @return The visible area of the canvas, surrounded by the virtualisation margin, in the coordinate system of the shapes.
+	 * Nothing if the canvas is not displayed.
+	 */
+	Optional<Rectangle2D> getVisibleArea() {
+		final ScrollPane scrollPane = getScrollPane();
+		final Bounds sceneArea;
+
+		if(scrollPane != null) {
+			sceneArea = scrollPane.localToScene(scrollPane.getLayoutBounds());
+		}else {
+			if(getScene() == null) {
+				return Optional.empty();
+			}
+			sceneArea = new BoundingBox(0d, 0d, getScene().getWidth(), getScene().getHeight());
+		}
+
+		final Bounds area = shapesPane.sceneToLocal(sceneArea);
+		final double margin = VIRTUALISATION_MARGIN / getZoom();
+		return Optional.of(new Rectangle2D.Double(area.getMinX() - margin, area.getMinY() - margin, area.getWidth() + 2d * margin,
+			area.getHeight() + 2d * margin));
+	}
+
+
+	/**
+	 * Realises the views of the selected shapes and of the shapes that intersect the visible area (in virtualisation mode)
+	 * and that cannot be painted (with a rendering backend that paints shapes), and drops the other ones.
+	 * In virtualisation mode, all the views are realised if the canvas is not displayed.
+	 */
+	private void updateRealisedViews() {
+		final Optional<Rectangle2D> area = getVisibleArea();
+		final boolean painting = renderer.isPresent();
+
+		area.ifPresent(a -> renderer.ifPresent(r -> r.setArea(a, getZoom())));
+
+		if(area.isPresent() || painting) {
+			final Collection<IShape> candidates = isVirtualised() && area.isPresent() ? drawing.shapesIntersecting(area.get()) : drawing.getShapes();
+			final Set<IShape> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+			candidates.stream().filter(sh -> !painting || !ShapePainting.isPaintable(sh)).forEach(sh -> wanted.add(sh));
+			wanted.addAll(drawing.getSelection().getShapes());
+			setRealisedViews(wanted);
+		}else {
+			realiseAllViews();
+		}
+	}
+
+
+	/**
+	 * Realises the views of all the shapes of the drawing, for instance before a snapshot of the views.
+	 * In virtualisation mode or with a rendering backend that paints shapes, releaseViews drops them once no longer needed.
+	 */
+	public void realiseAllViews() {
+		final Set<IShape> all = Collections.newSetFromMap(new IdentityHashMap<>());
+		all.addAll(drawing.getShapes());
+		setRealisedViews(all);
+	}
+
+
+	/**
+	 * Drops the views realised by realiseAllViews that are not needed in virtualisation mode or with a rendering backend
+	 * that paints shapes. Nothing is done otherwise.
+	 * @since 4.0
+	 */
+	public void releaseViews() {
+		if(isViewsFiltered()) {
+			updateRealisedViews();
+		}
+	}
+
+
+	/**
+	 * Makes the views of the given shapes exist, and only them, while keeping the order of the shapes in the views pane.
+	 * @param wanted The shapes of the drawing that must have a view.
+	 */
+	private void setRealisedViews(final Set<IShape> wanted) {
+		final Set<javafx.scene.Node> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		shapesToViewMap.entrySet().removeIf(entry -> {
+			if(wanted.contains(entry.getKey())) {
+				return false;
+			}
+			dropped.add(entry.getValue());
+			return true;
+		});
+
+		if(!dropped.isEmpty()) {
+			shapesPane.getChildren().removeAll(dropped);
+			dropped.forEach(view -> {
+				// The shape may have been modified while it had a view: it must be painted again.
+				renderer.ifPresent(r -> r.invalidate(((ViewShape<?>) view).getModel()));
+				((ViewShape<?>) view).flush();
+			});
+		}
+
+		if(wanted.size() == shapesToViewMap.size()) {
+			return;
+		}
+
+		// The views follow the order of the shapes: the children of the views pane are set once, if views have been created.
+		final List<javafx.scene.Node> views = new ArrayList<>(wanted.size() + 1);
+		boolean created = false;
+		for(final IShape sh : drawing.getShapes()) {
+			ViewShape<?> view = shapesToViewMap.get(sh);
+			if(view == null && wanted.contains(sh)) {
+				view = createView(sh).orElse(null);
+				if(view != null) {
+					shapesToViewMap.put(sh, view);
+					renderer.ifPresent(r -> r.invalidate(sh));
+					created = true;
+				}
+			}
+			if(view != null) {
+				views.add(view);
+			}
+		}
+
+		if(created) {
+			// The temporary view stays at the end.
+			tempView.filter(v -> v.getParent() == shapesPane).ifPresent(v -> views.add(v));
+			shapesPane.getChildren().setAll(views);
+		}
+	}
+
+
+	/**
+	 * Realises the view of the given shape, in virtualisation mode or while its view is built in background.
+	 * @param viewProvider Gives the view of the shape: created, or taken from the views built in background.
+	 * @return The created view or nothing if the shape is not in the drawing or has no view.
+	 */
+	private Optional<ViewShape<?>> realiseView(final IShape sh, final Supplier<Optional<ViewShape<?>>> viewProvider) {
+		final int index = getShapeIndex(sh);
+		if(index < 0) {
+			return Optional.empty();
+		}
+
+		final Optional<ViewShape<?>> view = viewProvider.get();
+		view.ifPresent(v -> {
+			shapesPane.getChildren().add(getViewPosition(index), v);
+			shapesToViewMap.put(sh, v);
+			renderer.ifPresent(r -> r.invalidate(sh));
+		});
+		return view;
+	}
+
+
+	/**
+	 * @param sh A shape.
+	 * @return The position of the shape in the drawing or -1 if the drawing does not contain it.
+	 */
+	private int getShapeIndex(final IShape sh) {
+		if(!shapesIndexesValid) {
+			final List<IShape> shapes = drawing.getShapes();
+			shapesIndexes.clear();
+			for(int i = 0, size = shapes.size(); i < size; i++) {
+				shapesIndexes.put(shapes.get(i), i);
+			}
+			shapesIndexesValid = true;
+		}
+		final Integer index = shapesIndexes.get(sh);
+		return index == null ? -1 : index;
+	}
+
+
+	/**
+	 * The views pane contains the views in the order of their shapes, followed by the temporary view (if any).
+	 * @param index The position of a shape in the drawing.
+	 * @return The position in the views pane where the view of the shape must be inserted.
+	 */
+	private int getViewPosition(final int index) {
+		final List<javafx.scene.Node> children = shapesPane.getChildren();
+		int low = 0;
+		int high = children.size();
+
+		while(low < high) {
+			final int middle = (low + high) >>> 1;
+			final javafx.scene.Node child = children.get(middle);
+			final IShape sh = child instanceof ViewShape<?> ? ((ViewShape<?>) child).getModel() : null;
+			// The nodes that are not the view of a shape of the drawing (the temporary view) are at the end.
+			final int childIndex = sh != null && shapesToViewMap.get(sh) == child ? getShapeIndex(sh) : -1;
+			if(childIndex >= 0 && childIndex < index) {
+				low = middle + 1;
+			}else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+
+	/**
+	 * @return True if only the views of the visible and selected shapes exist.
+	 * @since 4.0
+	 */
+	public boolean isVirtualised() {
+		return virtualised.get();
+	}
+
+	/**
+	 * @param virtualise True: only the views of the visible and selected shapes will exist.
+	 * @since 4.0
+	 */
+	public void setVirtualised(final boolean virtualise) {
+		virtualised.set(virtualise);
+	}
+
+	public BooleanProperty virtualisedProperty() {
+		return virtualised;
+	}
+
+	/**
+	 * @return The way the shapes are rendered.
+	 * @since 4.0
+	 */
+	public RenderingBackend getRenderingBackend() {
+		return renderingBackend.get();
+	}
+
+	/**
+	 * @param backend The way the shapes will be rendered. Nothing done if null.
+	 * @since 4.0
+	 */
+	public void setRenderingBackend(final RenderingBackend backend) {
+		if(backend != null) {
+			renderingBackend.set(backend);
+		}
+	}
+
+	public ObjectProperty<RenderingBackend> renderingBackendProperty() {
+		return renderingBackend;
+	}
+
+	/**
+	 * @return The level of detail of the views at the current zoom level.
+	 * @since 4.0
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail.get();
+	}
+
+	public ReadOnlyObjectProperty<LevelOfDetail> levelOfDetailProperty() {
+		return levelOfDetail;
+	}
+
+	/**
+	 * @return The policy that defines the level of detail of the views according to the zoom level.
+	 * @since 4.0
+	 */
+	public LevelOfDetailPolicy getLevelOfDetailPolicy() {
+		return lodPolicy;
+	}
+
+	/**
+	 * Sets the zoom levels below which the views are simplified.
+	 * @param medium The zoom level below which the views are simplified (no shadow, double border, hatchings).
+	 * @param low The zoom level below which the views are coarse (decimated paths, texts as boxes, no arrow).
+	 * @since 4.0
+	 */
+	public void setLevelOfDetailThresholds(final double medium, final double low) {
+		lodPolicy.setThresholds(medium, low);
+	}
+
+	/**
+	 * @param full True: the views are fully detailed whatever the zoom level (for instance before a snapshot of the views).
+	 * False: the level of detail of the views depends on the zoom level again.
+	 * @since 4.0
+	 */
+	public void setFullDetail(final boolean full) {
+		fullDetail = full;
+		updateLevelOfDetail();
+	}
+
+	/**
+	 * With the rendering backends that paint shapes, the shapes that have no view cannot be picked using their view.
+	 * @param x The X-coordinate of the position, in the coordinate system of the shapes.
+	 * @param y The Y-coordinate of the position, in the coordinate system of the shapes.
+	 * @return The painted shape located at the given position (the top one first), or nothing.
+	 * @since 4.0
+	 */
+	public Optional<IShape> getPaintedShapeAt(final double x, final double y) {
+		return renderer.flatMap(r -> r.getShapeAt(x, y));
+	}
+
+
 	/**
 	 * @return The point where the page is located.
 	 */
@@ -289,6 +1064,8 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 	}
 
 	public void update() {
+		// A command may have moved shapes in or out of the visible area.
+		requestRealisedViewsUpdate();
 		updateSelectionBorders();
 	}
 
@@ -307,10 +1084,8 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 
 	@Override
 	public void onCmdExecuted(final Command cmd) {
-		if(cmd instanceof ShapesCmd || cmd instanceof DrawingCmd || cmd instanceof IOCommand || cmd instanceof ShapePropertyCmd ||
-			cmd instanceof ShapeCmd || cmd instanceof Undo || cmd instanceof Redo || cmd instanceof MovePoint) {
-			update();
-		}
+		// The painted shapes are invalidated by the drawing when they change, whatever the command.
+		update();
 	}
 
 	@Override
@@ -518,6 +1293,7 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 		tempView = Optional.ofNullable(view);
 		tempView.ifPresent(v -> {
 			view.setMouseTransparent(true);
+			view.setLevelOfDetail(getLevelOfDetail());
 			shapesPane.getChildren().add(v);
 		});
 	}
@@ -549,6 +1325,17 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 		return shapesPane;
 	}
 
+	/**
+	 * Contrary to getViewFromShape, never creates a view: in virtualisation mode or with a rendering backend
+	 * that paints shapes, the view of a shape may not exist yet.
+	 * @param sh The shape to look for.
+	 * @return The view of the given shape if it exists, or nothing.
+	 * @since 4.0
+	 */
+	public Optional<ViewShape<?>> getRealisedView(final IShape sh) {
+		return sh == null ? Optional.empty() : Optional.ofNullable(shapesToViewMap.get(sh));
+	}
+
 	/**
 	 * @param sh The shape to look for.
 	 * @return The view corresponding to the given shape or nothing.
@@ -557,6 +1344,15 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 		if(sh == null) {
 			return Optional.empty();
 		}
-		return Optional.ofNullable(shapesToViewMap.get(sh));
+		final ViewShape<?> view = shapesToViewMap.get(sh);
+		// While the view is built in background, it is taken from the views builder (never built twice).
+		if(view == null && viewsBuilder.isPending(sh)) {
+			return realiseView(sh, () -> viewsBuilder.take(sh));
+		}
+		// In virtualisation mode or with a rendering backend that paints shapes, the missing views are created on demand.
+		if(view == null && isViewsFiltered()) {
+			return realiseView(sh, () -> createView(sh));
+		}
+		return Optional.ofNullable(view);
 	}
 }
@@ -0,0 +1,24 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+/**
+ * The priorities of the compilations of the texts, from the highest to the lowest.
+ * @author Arnaud Blouin
+ */
+enum CompilationPriority {
+	/** The text is in the visible area of the canvas. */
+	VISIBLE,
+	/** The text is selected but not visible. */
+	SELECTED,
+	/** The other texts (e.g. out of the visible area, or not in a canvas yet). */
+	BACKGROUND
+}
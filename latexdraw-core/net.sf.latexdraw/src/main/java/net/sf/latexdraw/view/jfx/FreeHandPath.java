@@ -0,0 +1,274 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.List;
+import net.sf.latexdraw.models.interfaces.shape.IFreehand;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+
+/**
+ * Builds the path of a freehand shape, without any JFX node.
+ * The state of the construction before the last point of the shape is saved: when points are appended to the shape or
+ * when its last point is moved, the path can be continued from this state (the elements produced after it must be removed by the caller).
+ * @author Arnaud Blouin
+ */
+final class FreeHandPath {
+	private final IFreehand model;
+	/** The interval between the points used to build the path. */
+	private int interval;
+	/** The number of elements produced since the start of the path. */
+	private int nbElts;
+	/** The index of the next point to consider to extend the path. */
+	private int nextPt;
+	/** The current point and the middle point with the previous one, used to extend the curves. */
+	private double curx;
+	private double cury;
+	private double midx;
+	private double midy;
+	/** The state of the path construction before the last point. */
+	private int ckNextPt;
+	private double ckCurx;
+	private double ckCury;
+	private double ckMidx;
+	private double ckMidy;
+	private int ckNbElts;
+
+	/**
+	 * @param sh The freehand shape to build.
+	 */
+	FreeHandPath(final IFreehand sh) {
+		super();
+		model = sh;
+		interval = 1;
+	}
+
+
+	/**
+	 * Builds the whole path.
+	 * @param itv The interval between the points used to build the path.
+	 * @param sink The sink of the path.
+	 */
+	void build(final int itv, final ShapeGeometry.PathSink sink) {
+		interval = Math.max(1, itv);
+		nbElts = 0;
+
+		if(model.getNbPoints() > 1) {
+			switch(model.getType()) {
+				case CURVES:
+					startCurves(sink);
+					break;
+				case LINES:
+					startLines(sink);
+					break;
+			}
+			addTail(sink);
+		}
+	}
+
+
+	/**
+	 * Continues the path from the state saved before its last point. The elements produced after this state must have been
+	 * removed by the caller.
+	 * @param sink The sink of the path.
+	 */
+	void resume(final ShapeGeometry.PathSink sink) {
+		nbElts = ckNbElts;
+		nextPt = ckNextPt;
+		curx = ckCurx;
+		cury = ckCury;
+		midx = ckMidx;
+		midy = ckMidy;
+
+		switch(model.getType()) {
+			case CURVES:
+				continueCurves(sink);
+				break;
+			case LINES:
+				continueLines(sink);
+				break;
+		}
+		addTail(sink);
+	}
+
+
+	/**
+	 * @return The number of elements produced before the state saved before the last point.
+	 */
+	int getNbEltsBeforeLastPoint() {
+		return ckNbElts;
+	}
+
+
+	private void saveCheckpoint() {
+		ckNextPt = nextPt;
+		ckCurx = curx;
+		ckCury = cury;
+		ckMidx = midx;
+		ckMidy = midy;
+		ckNbElts = nbElts;
+	}
+
+
+	private void addTail(final ShapeGeometry.PathSink sink) {
+		switch(model.getType()) {
+			case CURVES:
+				addTailCurves(sink);
+				break;
+			case LINES:
+				addTailLines(sink);
+				break;
+		}
+
+		if(!model.isOpened()) {
+			sink.closePath();
+			nbElts++;
+		}
+	}
+
+
+	private void startCurves(final ShapeGeometry.PathSink sink) {
+		final List<IPoint> pts = model.getPoints();
+		final int size = pts.size();
+		double prevx = pts.get(size - 1).getX();
+		double prevy = pts.get(size - 1).getY();
+		curx = pts.get(0).getX();
+		cury = pts.get(0).getY();
+		midx = (curx + prevx) / 2d;
+		midy = (cury + prevy) / 2d;
+
+		sink.moveTo(curx, cury);
+		nbElts++;
+
+		// Starting the drawing of the shape with a line.
+		if(size > interval) {
+			prevx = curx;
+			prevy = cury;
+			curx = pts.get(interval).getX();
+			cury = pts.get(interval).getY();
+			midx = (curx + prevx) / 2d;
+			midy = (cury + prevy) / 2d;
+
+			sink.lineTo(midx, midy);
+			nbElts++;
+		}
+
+		nextPt = interval * 2;
+		continueCurves(sink);
+	}
+
+
+	/**
+	 * Adds the curves of the points not used yet. The state before the last point is saved.
+	 */
+	private void continueCurves(final ShapeGeometry.PathSink sink) {
+		final List<IPoint> pts = model.getPoints();
+		final int size = pts.size();
+		boolean lastPtUsed = false;
+		double prevx;
+		double prevy;
+		double x1;
+		double x2;
+		double y1;
+		double y2;
+
+		for(; nextPt < size; nextPt += interval) {
+			if(nextPt == size - 1) {
+				saveCheckpoint();
+				lastPtUsed = true;
+			}
+			x1 = (midx + curx) / 2d;
+			y1 = (midy + cury) / 2d;
+			prevx = curx;
+			prevy = cury;
+			curx = pts.get(nextPt).getX();
+			cury = pts.get(nextPt).getY();
+			midx = (curx + prevx) / 2d;
+			midy = (cury + prevy) / 2d;
+			x2 = (prevx + midx) / 2d;
+			y2 = (prevy + midy) / 2d;
+
+			sink.curveTo(x1, y1, x2, y2, midx, midy);
+			nbElts++;
+		}
+
+		if(!lastPtUsed) {
+			saveCheckpoint();
+		}
+	}
+
+
+	/**
+	 * Adds the curve to the points not used by the curves (if any).
+	 */
+	private void addTailCurves(final ShapeGeometry.PathSink sink) {
+		final List<IPoint> pts = model.getPoints();
+		final int size = pts.size();
+
+		if(nextPt - interval + 1 < size) {
+			final double x1 = (midx + curx) / 2d;
+			final double y1 = (midy + cury) / 2d;
+			final double lastx = pts.get(size - 1).getX();
+			final double lasty = pts.get(size - 1).getY();
+			final double x2 = (curx + (lastx + curx) / 2d) / 2d;
+			final double y2 = (cury + (lasty + cury) / 2d) / 2d;
+
+			sink.curveTo(x1, y1, x2, y2, lastx, lasty);
+			nbElts++;
+		}
+	}
+
+
+	private void startLines(final ShapeGeometry.PathSink sink) {
+		final IPoint pt = model.getPtAt(0);
+		sink.moveTo(pt.getX(), pt.getY());
+		nbElts++;
+		nextPt = interval;
+		continueLines(sink);
+	}
+
+
+	/**
+	 * Adds the lines of the points not used yet. The state before the last point is saved.
+	 */
+	private void continueLines(final ShapeGeometry.PathSink sink) {
+		final List<IPoint> pts = model.getPoints();
+		final int size = pts.size();
+		boolean lastPtUsed = false;
+
+		for(; nextPt < size; nextPt += interval) {
+			if(nextPt == size - 1) {
+				saveCheckpoint();
+				lastPtUsed = true;
+			}
+			final IPoint pt = pts.get(nextPt);
+			sink.lineTo(pt.getX(), pt.getY());
+			nbElts++;
+		}
+
+		if(!lastPtUsed) {
+			saveCheckpoint();
+		}
+	}
+
+
+	/**
+	 * Adds the line to the last point.
+	 */
+	private void addTailLines(final ShapeGeometry.PathSink sink) {
+		final List<IPoint> pts = model.getPoints();
+		final int size = pts.size();
+
+		if(nextPt - interval < size) {
+			sink.lineTo(pts.get(size - 1).getX(), pts.get(size - 1).getY());
+			nbElts++;
+		}
+	}
+}
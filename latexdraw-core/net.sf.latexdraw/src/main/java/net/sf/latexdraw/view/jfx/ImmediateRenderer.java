@@ -0,0 +1,78 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.function.Predicate;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.transform.Scale;
+import net.sf.latexdraw.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+
+/**
+ * Paints the shapes of a drawing in immediate mode in a JFX canvas that covers the visible area of the drawing.
+ * The canvas is entirely repainted when the area changes (scroll, zoom).
+ * @author Arnaud Blouin
+ */
+class ImmediateRenderer extends ShapesRenderer {
+	/** The JFX canvas where the shapes are painted. */
+	final javafx.scene.canvas.Canvas canvas;
+	/** The scale applied to the canvas to match the zoom of the drawing. */
+	private final Scale scale;
+
+	/**
+	 * Creates the renderer.
+	 * @param dr The drawing to paint.
+	 * @param paintedShapes Tests whether a shape must be painted.
+	 */
+	ImmediateRenderer(final IDrawing dr, final Predicate<IShape> paintedShapes) {
+		super(dr, paintedShapes);
+		canvas = new javafx.scene.canvas.Canvas();
+		scale = new Scale(1d, 1d, 0d, 0d);
+		getTransforms().add(scale);
+		getChildren().add(canvas);
+	}
+
+	@Override
+	protected void onAreaChanged(final boolean resolutionChanged) {
+		canvas.setWidth(Math.ceil(area.getWidth() * resolution));
+		canvas.setHeight(Math.ceil(area.getHeight() * resolution));
+		scale.setX(1d / resolution);
+		scale.setY(1d / resolution);
+		relocate(Canvas.ORIGIN.getX() + area.getX(), Canvas.ORIGIN.getY() + area.getY());
+		addDirty(area);
+	}
+
+	@Override
+	protected void render(final List<Rectangle2D> regions) {
+		regions.forEach(region -> render(region));
+	}
+
+	private void render(final Rectangle2D region) {
+		final GraphicsContext gc = canvas.getGraphicsContext2D();
+		gc.save();
+		gc.scale(resolution, resolution);
+		gc.translate(-area.getX(), -area.getY());
+		gc.clearRect(region.getX(), region.getY(), region.getWidth(), region.getHeight());
+		gc.beginPath();
+		gc.rect(region.getX(), region.getY(), region.getWidth(), region.getHeight());
+		gc.clip();
+		paintShapes(gc, region);
+		gc.restore();
+	}
+
+	@Override
+	protected void clearRendering() {
+		canvas.setWidth(0d);
+		canvas.setHeight(0d);
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+/**
+ * The levels of detail of the views. The lower the zoom, the simpler the views.
+ * @author Arnaud Blouin
+ */
+public enum LevelOfDetail {
+	/** The views are fully detailed. */
+	HIGH,
+	/** No shadow, no double border, and a tint instead of the hatchings. */
+	MEDIUM,
+	/** In addition: solid lines, no arrow, no grid label, texts drawn as boxes, and decimated paths. */
+	LOW;
+
+	/** The maximal number of points of a decimated path. */
+	private static final int MAX_DECIMATED_POINTS = 100;
+
+	/**
+	 * @return True if the shadows, the double borders, and the hatchings are not rendered.
+	 * @since 4.0
+	 */
+	public boolean isSimplified() {
+		return this != HIGH;
+	}
+
+	/**
+	 * @return True if the lines are solid, the arrows, the grid labels and the texts not rendered, and the paths decimated.
+	 * @since 4.0
+	 */
+	public boolean isCoarse() {
+		return this == LOW;
+	}
+
+	/**
+	 * @param nbPoints The number of points of a path.
+	 * @return The step between two points of the path to render: one to render every point.
+	 * @since 4.0
+	 */
+	public int getDecimationStep(final int nbPoints) {
+		if(!isCoarse() || nbPoints <= MAX_DECIMATED_POINTS) {
+			return 1;
+		}
+		return (nbPoints + MAX_DECIMATED_POINTS - 1) / MAX_DECIMATED_POINTS;
+	}
+}
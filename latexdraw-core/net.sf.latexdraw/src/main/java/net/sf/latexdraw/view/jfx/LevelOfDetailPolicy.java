@@ -0,0 +1,83 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * Defines the level of detail of the views according to the zoom level.
+ * @author Arnaud Blouin
+ */
+public class LevelOfDetailPolicy {
+	/** The default zoom level below which the views are simplified. */
+	public static final double DEFAULT_MEDIUM_THRESHOLD = 0.3;
+	/** The default zoom level below which the views are coarse. */
+	public static final double DEFAULT_LOW_THRESHOLD = 0.15;
+
+	/** The zoom level below which the views are simplified. */
+	private final DoubleProperty mediumThreshold;
+	/** The zoom level below which the views are coarse. */
+	private final DoubleProperty lowThreshold;
+
+	/**
+	 * Creates the policy with the default thresholds.
+	 */
+	public LevelOfDetailPolicy() {
+		super();
+		mediumThreshold = new SimpleDoubleProperty(DEFAULT_MEDIUM_THRESHOLD);
+		lowThreshold = new SimpleDoubleProperty(DEFAULT_LOW_THRESHOLD);
+	}
+
+	/**
+	 * @param zoom The zoom level.
+	 * @return The level of detail of the views at this zoom level.
+	 * @since 4.0
+	 */
+	public LevelOfDetail getLevel(final double zoom) {
+		if(zoom < lowThreshold.get()) {
+			return LevelOfDetail.LOW;
+		}
+		if(zoom < mediumThreshold.get()) {
+			return LevelOfDetail.MEDIUM;
+		}
+		return LevelOfDetail.HIGH;
+	}
+
+	/**
+	 * Sets the thresholds. Nothing done if a threshold is negative or not a number.
+	 * @param medium The zoom level below which the views are simplified.
+	 * @param low The zoom level below which the views are coarse. Lowered to the medium threshold if greater.
+	 * @since 4.0
+	 */
+	public void setThresholds(final double medium, final double low) {
+		if(medium >= 0d && low >= 0d) {
+			mediumThreshold.set(medium);
+			lowThreshold.set(Math.min(low, medium));
+		}
+	}
+
+	public double getMediumThreshold() {
+		return mediumThreshold.get();
+	}
+
+	public DoubleProperty mediumThresholdProperty() {
+		return mediumThreshold;
+	}
+
+	public double getLowThreshold() {
+		return lowThreshold.get();
+	}
+
+	public DoubleProperty lowThresholdProperty() {
+		return lowThreshold;
+	}
+}
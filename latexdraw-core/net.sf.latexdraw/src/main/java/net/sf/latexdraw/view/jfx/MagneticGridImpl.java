@@ -10,8 +10,11 @@
  */
 package net.sf.latexdraw.view.jfx;
 
+import java.awt.geom.Rectangle2D;
 import java.util.List;
+import javafx.application.Platform;
 import javafx.geometry.Point3D;
+import javafx.scene.Group;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
@@ -33,11 +36,21 @@ import org.w3c.dom.NodeList;
 
 /**
  * Implementation of a magnetic grid.
+ * Only the lines of the visible part of the canvas (surrounded by a margin so that small scrolls do not paint the grid again)
+ * are painted, and the lines closer than a few pixels of the screen are skipped: the cost of the grid depends neither on the
+ * size of the canvas nor on the density of the grid.
  * @author Arnaud Blouin
  */
-public class MagneticGridImpl extends Path implements MagneticGrid {
+public class MagneticGridImpl extends Group implements MagneticGrid {
+	/** The minimal gap (in pixels of the screen) between two painted lines. */
+	static final double MIN_LINE_GAP = 4d;
+
 	/** The canvas that paints the grid. */
 	private final Canvas canvas;
+	/** The main lines of the grid. */
+	final Path mainLines;
+	/** The sub-lines of the standard grid (a line per millimetre or tenth of inch). */
+	final Path subLines;
 	/** Allows to know if the grid is magnetic or not. */
 	private boolean isMagnetic;
 	/** defines the spacing between the lines of the grid. */
@@ -46,6 +59,12 @@ public class MagneticGridImpl extends Path implements MagneticGrid {
 	private GridStyle style;
 	/** Defined if the canvas has been modified. */
 	private boolean modified;
+	/** The area of the canvas where the lines are painted. Null if not painted. */
+	private Rectangle2D paintedArea;
+	/** The zoom level of the canvas when the lines were painted. */
+	private double paintedZoom;
+	/** True if an update of the painted lines is pending. */
+	private boolean updateRequested;
 
 
 	/**
@@ -56,11 +75,66 @@ public class MagneticGridImpl extends Path implements MagneticGrid {
 	public MagneticGridImpl(final Canvas canv) {
 		super();
 		modified = false;
+		updateRequested = false;
 		canvas = canv;
+		mainLines = new Path();
+		subLines = new Path();
 		reinitGrid();
-		setStroke(new Color(0d, 0d, 1d, 0.3d));
-		setStrokeWidth(1);
-		canvas.zoomProperty().addListener((observable, oldValue, newValue) -> update());
+		mainLines.setStroke(new Color(0d, 0d, 1d, 0.3d));
+		mainLines.setStrokeWidth(1);
+		subLines.setStroke(new Color(0d, 0d, 1d, 0.12d));
+		subLines.setStrokeWidth(1);
+		getChildren().addAll(subLines, mainLines);
+		// Scrolling or zooming the canvas changes its visible part.
+		canvas.zoomProperty().addListener((observable, oldValue, newValue) -> requestUpdate());
+		canvas.localToSceneTransformProperty().addListener((observable, oldValue, newValue) -> requestUpdate());
+	}
+
+
+	/**
+	 * Paints the grid again at the next pulse (several requests during a pulse produce a single update),
+	 * if the painted lines do not cover the visible part of the canvas anymore.
+	 */
+	private void requestUpdate() {
+		if(!updateRequested) {
+			updateRequested = true;
+			Platform.runLater(() -> {
+				updateRequested = false;
+				if(!isPaintedAreaValid()) {
+					update();
+				}
+			});
+		}
+	}
+
+
+	/**
+	 * @return True if the painted lines cover the visible part of the canvas at the current zoom level.
+	 */
+	private boolean isPaintedAreaValid() {
+		if(paintedArea == null || Double.compare(paintedZoom, canvas.getZoom()) != 0) {
+			return false;
+		}
+		return canvas.getVisibleArea().map(area -> paintedArea.contains(toCanvasArea(area, 0d))).orElse(true);
+	}
+
+
+	/**
+	 * @param area An area in the coordinate system of the shapes.
+	 * @param margin The ratio of the width and the height of the area added on each side of the area.
+	 * @return The given area enlarged with the margin, in the coordinate system of the canvas, and restricted to the canvas.
+	 */
+	private Rectangle2D toCanvasArea(final Rectangle2D area, final double margin) {
+		final double dx = area.getWidth() * margin;
+		final double dy = area.getHeight() * margin;
+		final Rectangle2D canvasArea = new Rectangle2D.Double(area.getX() + Canvas.ORIGIN.getX() - dx, area.getY() + Canvas.ORIGIN.getY() - dy,
+			area.getWidth() + 2d * dx, area.getHeight() + 2d * dy);
+		return canvasArea.createIntersection(getCanvasBounds());
+	}
+
+
+	private Rectangle2D getCanvasBounds() {
+		return new Rectangle2D.Double(0d, 0d, canvas.getPrefWidth(), canvas.getPrefHeight());
 	}
 
 
@@ -70,7 +144,11 @@ public class MagneticGridImpl extends Path implements MagneticGrid {
 			return;
 		}
 
-		getElements().clear();
+		mainLines.getElements().clear();
+		subLines.getElements().clear();
+		// The whole canvas when not displayed.
+		paintedArea = canvas.getVisibleArea().map(area -> toCanvasArea(area, 0.5)).orElseGet(() -> getCanvasBounds());
+		paintedZoom = canvas.getZoom();
 
 		switch(style) {
 			case STANDARD:
@@ -79,11 +157,11 @@ public class MagneticGridImpl extends Path implements MagneticGrid {
 					ppc *= PSTricksConstants.INCH_VAL_CM;
 				}
 
-//				paintSubLines(getElements(), canvas.getLayoutBounds());
-				paintMainLines(getElements(), ppc);
+				paintSubLines(subLines.getElements());
+				paintMainLines(mainLines.getElements(), ppc);
 				break;
 			case CUSTOMISED:
-				paintMainLines(getElements(), gridSpacing);
+				paintMainLines(mainLines.getElements(), gridSpacing);
 				break;
 			case NONE:
 				break;
@@ -97,6 +175,9 @@ public class MagneticGridImpl extends Path implements MagneticGrid {
 	}
 
 
+	/**
+	 * Paints the sub-lines, if they are not too close on the screen. The sub-lines located on main lines are skipped.
+	 */
 	private void paintSubLines(final List<PathElement> elts) {
 		double pixPerCm10 = canvas.getPPCDrawing() / 10d;
 
@@ -104,31 +185,41 @@ public class MagneticGridImpl extends Path implements MagneticGrid {
 			pixPerCm10 *= PSTricksConstants.INCH_VAL_CM;
 		}
 
-		if(Double.compare(pixPerCm10, 4d) > 0d) {
-			final double height = canvas.getPrefHeight();
-			final double width = canvas.getPrefWidth();
-
-			for(double i = 0d; i < width; i += pixPerCm10) {
-				createLine(elts, i, 0d, i, height);
+		if(pixPerCm10 * paintedZoom >= MIN_LINE_GAP) {
+			for(long i = (long) Math.ceil(paintedArea.getMinX() / pixPerCm10); i * pixPerCm10 <= paintedArea.getMaxX(); i++) {
+				if(i % 10L != 0L) {
+					createLine(elts, i * pixPerCm10, paintedArea.getMinY(), i * pixPerCm10, paintedArea.getMaxY());
+				}
 			}
 
-			for(double j = 0d; j < height; j += pixPerCm10) {
-				createLine(elts, 0d, j, width, j);
+			for(long j = (long) Math.ceil(paintedArea.getMinY() / pixPerCm10); j * pixPerCm10 <= paintedArea.getMaxY(); j++) {
+				if(j % 10L != 0L) {
+					createLine(elts, paintedArea.getMinX(), j * pixPerCm10, paintedArea.getMaxX(), j * pixPerCm10);
+				}
 			}
 		}
 	}
 
 
+	/**
+	 * Paints the main lines. If they are too close on the screen, one line out of two is skipped (repeatedly).
+	 */
 	private void paintMainLines(final List<PathElement> elts, final double gap) {
-		final double height = canvas.getPrefHeight();
-		final double width = canvas.getPrefWidth();
+		if(gap <= 0d || paintedZoom <= 0d) {
+			return;
+		}
+
+		double step = gap;
+		while(step * paintedZoom < MIN_LINE_GAP) {
+			step *= 2d;
+		}
 
-		for(double i = 0d; i < width; i += gap) {
-			createLine(elts, i, 0d, i, height);
+		for(double i = Math.ceil(paintedArea.getMinX() / step) * step; i <= paintedArea.getMaxX(); i += step) {
+			createLine(elts, i, paintedArea.getMinY(), i, paintedArea.getMaxY());
 		}
 
-		for(double j = 0d; j < height; j += gap) {
-			createLine(elts, 0d, j, width, j);
+		for(double j = Math.ceil(paintedArea.getMinY() / step) * step; j <= paintedArea.getMaxY(); j += step) {
+			createLine(elts, paintedArea.getMinX(), j, paintedArea.getMaxX(), j);
 		}
 	}
 
@@ -0,0 +1,62 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.Arrays;
+import java.util.Optional;
+import net.sf.latexdraw.util.LangTool;
+
+/**
+ * This enumeration contains the different ways the canvas renders the shapes.
+ * @author Arnaud Blouin
+ */
+public enum RenderingBackend {
+	/** Each shape has its own view (a group of JFX nodes). */
+	SCENE_GRAPH {
+		@Override
+		public String getLabel() {
+			return LangTool.INSTANCE.getBundle().getString("PreferencesFrame.backendSceneGraph");
+		}
+	}, /** The shapes are painted in a single JFX canvas. Only the selected shapes and the texts have their own view. */
+	IMMEDIATE {
+		@Override
+		public String getLabel() {
+			return LangTool.INSTANCE.getBundle().getString("PreferencesFrame.backendImmediate");
+		}
+	}, /** The shapes are rasterised in cached tiles. Only the selected shapes and the texts have their own view. */
+	TILED {
+		@Override
+		public String getLabel() {
+			return LangTool.INSTANCE.getBundle().getString("PreferencesFrame.backendTiled");
+		}
+	};
+
+	/**
+	 * Searches the backend which name matches the given name.
+	 * @param name The name of the backend to find.
+	 * @return The found backend or empty.
+	 * @since 4.0
+	 */
+	public static Optional<RenderingBackend> getBackendFromName(final String name) {
+		return Arrays.stream(values()).filter(v -> v.name().equals(name)).findFirst();
+	}
+
+	/**
+	 * @return The label of the backend.
+	 * @since 4.0
+	 */
+	public abstract String getLabel();
+
+	@Override
+	public String toString() {
+		return getLabel();
+	}
+}
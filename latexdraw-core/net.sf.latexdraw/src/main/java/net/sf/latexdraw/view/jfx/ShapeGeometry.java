@@ -0,0 +1,759 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.geom.Path2D;
+import java.util.List;
+import javafx.scene.shape.PathElement;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import net.sf.latexdraw.models.MathUtils;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.DotStyle;
+import net.sf.latexdraw.models.interfaces.shape.IArrow;
+import net.sf.latexdraw.models.interfaces.shape.IAxes;
+import net.sf.latexdraw.models.interfaces.shape.IBezierCurve;
+import net.sf.latexdraw.models.interfaces.shape.ICircleArc;
+import net.sf.latexdraw.models.interfaces.shape.IDot;
+import net.sf.latexdraw.models.interfaces.shape.IGrid;
+import net.sf.latexdraw.models.interfaces.shape.IModifiablePointsShape;
+import net.sf.latexdraw.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.models.interfaces.shape.IRhombus;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+import net.sf.latexdraw.models.interfaces.shape.ITriangle;
+
+/**
+ * The geometry of the shapes computed from their model, without any JFX node.
+ * The paths are produced in path sinks: the views turn them into path elements, the paintings of the shapes (ShapePainting)
+ * into java.awt paths.
+ * @author Arnaud Blouin
+ */
+final class ShapeGeometry {
+	/** The singleton. */
+	static final ShapeGeometry INSTANCE = new ShapeGeometry();
+
+	/** The cubic Bézier approximation constant of quarter circles. */
+	private static final double KAPPA = 0.5522847498;
+
+	private ShapeGeometry() {
+		super();
+	}
+
+
+	/**
+	 * Receives the elements of a path, in the coordinate system of the shapes.
+	 */
+	interface PathSink {
+		void moveTo(final double x, final double y);
+
+		void lineTo(final double x, final double y);
+
+		void curveTo(final double ctrlX1, final double ctrlY1, final double ctrlX2, final double ctrlY2, final double x, final double y);
+
+		void closePath();
+	}
+
+
+	/**
+	 * Receives the labels of a grid.
+	 */
+	interface LabelSink {
+		void label(final String text, final double x, final double y, final Font font);
+	}
+
+
+	/**
+	 * @param path The path to build.
+	 * @return A sink that appends the elements to the given java.awt path.
+	 */
+	PathSink toPath(final Path2D path) {
+		return new PathSink() {
+			@Override
+			public void moveTo(final double x, final double y) {
+				path.moveTo(x, y);
+			}
+
+			@Override
+			public void lineTo(final double x, final double y) {
+				path.lineTo(x, y);
+			}
+
+			@Override
+			public void curveTo(final double ctrlX1, final double ctrlY1, final double ctrlX2, final double ctrlY2, final double x, final double y) {
+				path.curveTo(ctrlX1, ctrlY1, ctrlX2, ctrlY2, x, y);
+			}
+
+			@Override
+			public void closePath() {
+				path.closePath();
+			}
+		};
+	}
+
+
+	/**
+	 * @param elts The list of elements to fill.
+	 * @return A sink that appends JFX path elements to the given list.
+	 */
+	PathSink toElements(final List<? super PathElement> elts) {
+		return new PathSink() {
+			@Override
+			public void moveTo(final double x, final double y) {
+				elts.add(ViewFactory.INSTANCE.createMoveTo(x, y));
+			}
+
+			@Override
+			public void lineTo(final double x, final double y) {
+				elts.add(ViewFactory.INSTANCE.createLineTo(x, y));
+			}
+
+			@Override
+			public void curveTo(final double ctrlX1, final double ctrlY1, final double ctrlX2, final double ctrlY2, final double x, final double y) {
+				elts.add(ViewFactory.INSTANCE.createCubicCurveTo(ctrlX1, ctrlY1, ctrlX2, ctrlY2, x, y));
+			}
+
+			@Override
+			public void closePath() {
+				elts.add(ViewFactory.INSTANCE.createClosePath());
+			}
+		};
+	}
+
+
+	/**
+	 * @return A sink that translates the elements it receives before giving them to the given sink.
+	 */
+	PathSink translate(final PathSink sink, final double tx, final double ty) {
+		return new PathSink() {
+			@Override
+			public void moveTo(final double x, final double y) {
+				sink.moveTo(x + tx, y + ty);
+			}
+
+			@Override
+			public void lineTo(final double x, final double y) {
+				sink.lineTo(x + tx, y + ty);
+			}
+
+			@Override
+			public void curveTo(final double ctrlX1, final double ctrlY1, final double ctrlX2, final double ctrlY2, final double x, final double y) {
+				sink.curveTo(ctrlX1 + tx, ctrlY1 + ty, ctrlX2 + tx, ctrlY2 + ty, x + tx, y + ty);
+			}
+
+			@Override
+			public void closePath() {
+				sink.closePath();
+			}
+		};
+	}
+
+
+	/**
+	 * Produces the lines joining the points of the shape.
+	 * @param sh The shape.
+	 * @param step The step between two rendered points: the element i is located at the point i*step of the shape
+	 * (the last element at the last point).
+	 * @param sink The sink of the path.
+	 */
+	void polyPoints(final IModifiablePointsShape sh, final int step, final PathSink sink) {
+		final int nbPts = sh.getNbPoints();
+		if(nbPts == 0) {
+			return;
+		}
+		sink.moveTo(sh.getPtAt(0).getX(), sh.getPtAt(0).getY());
+		for(int i = step; i < nbPts; i += step) {
+			sink.lineTo(sh.getPtAt(i).getX(), sh.getPtAt(i).getY());
+		}
+		if((nbPts - 1) % step != 0) {
+			sink.lineTo(sh.getPtAt(-1).getX(), sh.getPtAt(-1).getY());
+		}
+	}
+
+
+	void triangle(final ITriangle sh, final PathSink sink) {
+		sink.moveTo(sh.getPtAt(0).getX() + sh.getWidth() / 2d, sh.getPtAt(0).getY());
+		sink.lineTo(sh.getPtAt(2).getX(), sh.getPtAt(2).getY());
+		sink.lineTo(sh.getPtAt(3).getX(), sh.getPtAt(3).getY());
+		sink.closePath();
+	}
+
+
+	void rhombus(final IRhombus sh, final PathSink sink) {
+		final double midX = sh.getPtAt(0).getX() + sh.getWidth() / 2d;
+		final double midY = sh.getPtAt(0).getY() + sh.getHeight() / 2d;
+		sink.moveTo(midX, sh.getPtAt(0).getY());
+		sink.lineTo(sh.getPtAt(2).getX(), midY);
+		sink.lineTo(midX, sh.getPtAt(2).getY());
+		sink.lineTo(sh.getPtAt(0).getX(), midY);
+		sink.closePath();
+	}
+
+
+	/**
+	 * Produces the curves of a Bézier curve (closed by a last curve if the shape is not opened).
+	 */
+	void bezierCurve(final IBezierCurve sh, final PathSink sink) {
+		final int nbPts = sh.getNbPoints();
+		if(nbPts < 2) {
+			return;
+		}
+
+		sink.moveTo(sh.getPtAt(0).getX(), sh.getPtAt(0).getY());
+		curveTo(sink, sh.getFirstCtrlPtAt(0), sh.getFirstCtrlPtAt(1), sh.getPtAt(1));
+
+		for(int i = 2; i < nbPts; i++) {
+			curveTo(sink, sh.getSecondCtrlPtAt(i - 1), sh.getFirstCtrlPtAt(i), sh.getPtAt(i));
+		}
+
+		if(!sh.isOpened()) {
+			curveTo(sink, sh.getSecondCtrlPtAt(-1), sh.getSecondCtrlPtAt(0), sh.getPtAt(0));
+		}
+	}
+
+	private static void curveTo(final PathSink sink, final IPoint ctrl1, final IPoint ctrl2, final IPoint pt) {
+		sink.curveTo(ctrl1.getX(), ctrl1.getY(), ctrl2.getX(), ctrl2.getY(), pt.getX(), pt.getY());
+	}
+
+
+	/**
+	 * Produces a circle as four Bézier curves.
+	 */
+	void circle(final double cx, final double cy, final double radius, final PathSink sink) {
+		final double k = radius * KAPPA;
+		sink.moveTo(cx + radius, cy);
+		sink.curveTo(cx + radius, cy + k, cx + k, cy + radius, cx, cy + radius);
+		sink.curveTo(cx - k, cy + radius, cx - radius, cy + k, cx - radius, cy);
+		sink.curveTo(cx - radius, cy - k, cx - k, cy - radius, cx, cy - radius);
+		sink.curveTo(cx + k, cy - radius, cx + radius, cy - k, cx + radius, cy);
+		sink.closePath();
+	}
+
+
+	/**
+	 * @return The start and end angles (in degrees) of the part of the arc not covered by its arrows.
+	 * @param sh The arc.
+	 * @param width The width of the arc.
+	 */
+	double[] getArcAnglesWithoutArrows(final ICircleArc sh, final double width) {
+		double sAngle = sh.getAngleStart();
+		double eAngle = sh.getAngleEnd();
+		IArrow arr = sh.getArrowAt(1);
+		final double gap = Math.atan(arr.getArrowShapeLength() / Math.max(width, 1d));
+
+		if(arr.getArrowStyle().isReducingShape()) {
+			if(eAngle > sAngle) {
+				eAngle -= gap;
+			}else {
+				eAngle += gap;
+			}
+		}
+
+		arr = sh.getArrowAt(0);
+		if(arr.getArrowStyle().isReducingShape()) {
+			if(eAngle > sAngle) {
+				sAngle += gap;
+			}else {
+				sAngle -= gap;
+			}
+		}
+
+		sAngle = Math.toDegrees(sAngle % (2d * Math.PI));
+		eAngle = Math.toDegrees(eAngle % (2d * Math.PI));
+
+		if(MathUtils.INST.equalsDouble(sAngle, eAngle)) {
+			eAngle += 0.1;
+		}
+
+		return new double[] {sAngle, eAngle};
+	}
+
+
+	/**
+	 * @return True if the dot has a round part (drawn with a circle).
+	 */
+	boolean hasDotCircle(final DotStyle style) {
+		return style == DotStyle.DOT || style == DotStyle.O || style == DotStyle.OPLUS || style == DotStyle.OTIMES;
+	}
+
+	/**
+	 * @return True if the dot has parts drawn with a path.
+	 */
+	boolean hasDotMarkers(final DotStyle style) {
+		return style != DotStyle.DOT && style != DotStyle.O;
+	}
+
+	/**
+	 * @return The radius of the round part of the dot.
+	 */
+	double getDotCircleRadius(final IDot dot) {
+		return (dot.getDiametre() - dot.getOGap()) / 2d;
+	}
+
+
+	/**
+	 * Produces the parts of the dot that are not round.
+	 */
+	void dotMarkers(final IDot dot, final PathSink sink) {
+		switch(dot.getDotStyle()) {
+			case ASTERISK:
+				dotAsterisk(dot, sink);
+				break;
+			case BAR:
+				dotBar(dot, sink);
+				break;
+			case DIAMOND:
+			case FDIAMOND:
+				dotDiamond(dot, sink);
+				break;
+			case PENTAGON:
+			case FPENTAGON:
+				dotPentagon(dot, sink);
+				break;
+			case SQUARE:
+			case FSQUARE:
+				dotSquare(dot, sink);
+				break;
+			case TRIANGLE:
+			case FTRIANGLE:
+				dotTriangle(dot, sink);
+				break;
+			case OPLUS:
+				dotOPlus(dot, sink);
+				break;
+			case OTIMES:
+				dotOTimes(dot, sink);
+				break;
+			case PLUS:
+				dotPlus(dot, sink);
+				break;
+			case X:
+				dotX(dot, sink);
+				break;
+			default:
+				// Nothing to do for the other ones.
+		}
+	}
+
+	private void dotOTimes(final IDot dot, final PathSink sink) {
+		final IPoint centre = dot.getPosition();
+		final IPoint br = dot.getLazyBottomRightPoint();
+		final IPoint tl = dot.getLazyTopLeftPoint();
+		final double dec = dot.getGeneralGap();
+		final double tlx = tl.getX();
+		final double tly = tl.getY();
+		final double brx = br.getX();
+		final double bry = br.getY();
+
+		IPoint p1 = ShapeFactory.INST.createPoint((tlx + brx) / 2d, tly + dec * 2d);
+		IPoint p2 = ShapeFactory.INST.createPoint((tlx + brx) / 2d, bry - dec * 2d);
+		p1 = p1.rotatePoint(centre, Math.PI / 4d);
+		p2 = p2.rotatePoint(centre, Math.PI / 4d);
+
+		sink.moveTo(p1.getX(), p1.getY());
+		sink.lineTo(p2.getX(), p2.getY());
+
+		p1.setPoint(tlx + dec * 2d, (tly + bry) / 2d);
+		p2.setPoint(brx - dec * 2d, (tly + bry) / 2d);
+		p1 = p1.rotatePoint(centre, Math.PI / 4d);
+		p2 = p2.rotatePoint(centre, Math.PI / 4d);
+
+		sink.moveTo(p1.getX(), p1.getY());
+		sink.lineTo(p2.getX(), p2.getY());
+	}
+
+	private void dotOPlus(final IDot dot, final PathSink sink) {
+		final double dec = dot.getGeneralGap();
+		final IPoint br = dot.getLazyBottomRightPoint();
+		final IPoint tl = dot.getLazyTopLeftPoint();
+
+		sink.moveTo((tl.getX() + br.getX()) / 2d, tl.getY() + dec * 2d);
+		sink.lineTo((tl.getX() + br.getX()) / 2d, br.getY() - dec * 2d);
+		sink.moveTo(tl.getX() + dec * 2d, (tl.getY() + br.getY()) / 2d);
+		sink.lineTo(br.getX() - dec * 2d, (tl.getY() + br.getY()) / 2d);
+	}
+
+	private void dotBar(final IDot dot, final PathSink sink) {
+		final IPoint br = dot.getLazyBottomRightPoint();
+		final IPoint tl = dot.getLazyTopLeftPoint();
+
+		sink.moveTo((tl.getX() + br.getX()) / 2d, tl.getY() + dot.getBarThickness() / 2d);
+		sink.lineTo((tl.getX() + br.getX()) / 2d, br.getY() + dot.getBarGap());
+	}
+
+	private void dotPlus(final IDot dot, final PathSink sink) {
+		final double plusGap = dot.getPlusGap();
+		final IPoint br = dot.getLazyBottomRightPoint();
+		final IPoint tl = dot.getLazyTopLeftPoint();
+
+		sink.moveTo((tl.getX() + br.getX()) / 2d, tl.getY() - plusGap);
+		sink.lineTo((tl.getX() + br.getX()) / 2d, br.getY() + plusGap);
+		sink.moveTo(tl.getX() - plusGap, (tl.getY() + br.getY()) / 2d);
+		sink.lineTo(br.getX() + plusGap, (tl.getY() + br.getY()) / 2d);
+	}
+
+	private void dotSquare(final IDot dot, final PathSink sink) {
+		final double dec = dot.getDiametre() / IDot.THICKNESS_O_STYLE_FACTOR;
+		final IPoint tl = dot.getLazyTopLeftPoint();
+		final double width = dot.getDiametre() - dec * 3d;
+		final double x = tl.getX() + dec + dec / 2d;
+		final double y = tl.getY() + dec + dec / 2d;
+
+		sink.moveTo(x, y);
+		sink.lineTo(x + width, y);
+		sink.lineTo(x + width, y + width);
+		sink.lineTo(x, y + width);
+		sink.closePath();
+	}
+
+	private void dotX(final IDot dot, final PathSink sink) {
+		final IPoint br = dot.getLazyBottomRightPoint();
+		final IPoint tl = dot.getLazyTopLeftPoint();
+		final double crossGap = dot.getCrossGap();
+
+		sink.moveTo(tl.getX() + crossGap, tl.getY() + crossGap);
+		sink.lineTo(br.getX() - crossGap, br.getY() - crossGap);
+		sink.moveTo(br.getX() - crossGap, tl.getY() + crossGap);
+		sink.lineTo(tl.getX() + crossGap, br.getY() - crossGap);
+	}
+
+	private void dotAsterisk(final IDot dot, final PathSink sink) {
+		final IPoint br = dot.getLazyBottomRightPoint();
+		final IPoint tl = dot.getLazyTopLeftPoint();
+		final double width = dot.getDiametre();
+		final double dec = width / IDot.THICKNESS_O_STYLE_FACTOR;
+		final double xCenter = (tl.getX() + br.getX()) / 2d;
+		final double yCenter = (tl.getY() + br.getY()) / 2d;
+		final double radius = Math.abs(tl.getY() + width / 10d - (br.getY() - width / 10d)) / 2d + dec;
+
+		sink.moveTo(xCenter, tl.getY() + width / 10d - dec);
+		sink.lineTo(xCenter, br.getY() - width / 10d + dec);
+		sink.moveTo(Math.cos(Math.PI / 6d) * radius + xCenter, radius / 2d + yCenter);
+		sink.lineTo(Math.cos(7d * Math.PI / 6d) * radius + xCenter, Math.sin(7d * Math.PI / 6d) * radius + yCenter);
+		sink.moveTo(Math.cos(5d * Math.PI / 6d) * radius + xCenter, Math.sin(5d * Math.PI / 6d) * radius + yCenter);
+		sink.lineTo(Math.cos(11d * Math.PI / 6d) * radius + xCenter, Math.sin(11d * Math.PI / 6d) * radius + yCenter);
+	}
+
+	/**
+	 * A golden diamond: cf. http://mathworld.wolfram.com/GoldenRhombus.html
+	 */
+	private void dotDiamond(final IDot dot, final PathSink sink) {
+		final IPoint tl = dot.getLazyTopLeftPoint();
+		final IPoint br = dot.getLazyBottomRightPoint();
+		final double dec = dot.getDiametre() / IDot.THICKNESS_O_STYLE_FACTOR;
+		final double midY = (tl.getY() + br.getY()) / 2d;
+		final double a = Math.abs(tl.getX() - br.getX()) / (2d * Math.sin(IShape.GOLDEN_ANGLE));
+		final double p = 2d * a * Math.cos(IShape.GOLDEN_ANGLE);
+		final double x1 = br.getX() - dec - 0.5 * dec;
+		final double x3 = tl.getX() + dec + 0.5 * dec;
+
+		sink.moveTo((x1 + x3) / 2d, midY + p / 2d - dec - 0.5 * dec);
+		sink.lineTo(x1, midY);
+		sink.lineTo((x1 + x3) / 2d, midY - p / 2d + dec + 0.5 * dec);
+		sink.lineTo(x3, midY);
+		sink.closePath();
+	}
+
+	private void dotPentagon(final IDot dot, final PathSink sink) {
+		final double dec = dot.getDiametre() / IDot.THICKNESS_O_STYLE_FACTOR;
+		final IPoint tl = dot.getLazyTopLeftPoint();
+		final IPoint br = dot.getLazyBottomRightPoint();
+		final double yCenter = (tl.getY() + br.getY()) / 2d - dec;
+		final double xCenter = (tl.getX() + br.getX()) / 2d;
+		final double dist = Math.abs(tl.getY() - br.getY()) / 2d + dec;
+		final double c1 = 0.25 * (Math.sqrt(5d) - 1d) * dist;
+		final double s1 = Math.sin(2 * Math.PI / 5d) * dist;
+		final double c2 = 0.25 * (Math.sqrt(5d) + 1d) * dist;
+		final double s2 = Math.sin(4 * Math.PI / 5d) * dist;
+
+		sink.moveTo(xCenter, tl.getY() - dec);
+		sink.lineTo(s1 + xCenter, -c1 + yCenter + dec);
+		sink.lineTo(s2 + xCenter, c2 + yCenter + dec);
+		sink.lineTo(-s2 + xCenter, c2 + yCenter + dec);
+		sink.lineTo(-s1 + xCenter, -c1 + yCenter + dec);
+		sink.closePath();
+	}
+
+	private void dotTriangle(final IDot dot, final PathSink sink) {
+		final IPoint tl = dot.getLazyTopLeftPoint();
+		final double dec = dot.getDiametre() / IDot.THICKNESS_O_STYLE_FACTOR;
+		final IPoint br = dot.getLazyBottomRightPoint();
+
+		sink.moveTo((br.getX() + tl.getX()) / 2d, tl.getY() - 1.5 * dec);
+		sink.lineTo(tl.getX() - 0.3 * dec, br.getY() - 3d * dec);
+		sink.lineTo(br.getX() + 0.3 * dec, br.getY() - 3d * dec);
+		sink.closePath();
+	}
+
+
+	/**
+	 * @return The dot drawn at each plotted point of the given plot, located at the origin and not rotated.
+	 */
+	IDot createPlotDot(final IPlot plot) {
+		final IDot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint());
+		dot.copy(plot);
+		dot.setPosition(0d, 0d);
+		dot.setRotationAngle(0d);
+		return dot;
+	}
+
+
+	/**
+	 * Produces the dots of a plot (DOTS plot style): the dot of the plot is drawn at each plotted point.
+	 * @param plot The plot.
+	 * @param posX The X-coordinate of the position of the plot.
+	 * @param posY The Y-coordinate of the position of the plot.
+	 * @param firstPt The index of the first plotted point to draw.
+	 * @param circles The sink of the round parts of the dots.
+	 * @param markers The sink of the other parts of the dots.
+	 */
+	void plotDots(final IPlot plot, final double posX, final double posY, final int firstPt, final PathSink circles, final PathSink markers) {
+		final IDot dot = createPlotDot(plot);
+		final boolean round = hasDotCircle(dot.getDotStyle());
+		final double radius = getDotCircleRadius(dot);
+		final double[] xs = plot.getPlottedPointsX();
+		final double[] ys = plot.getPlottedPointsY();
+
+		for(int i = Math.max(0, firstPt); i < xs.length; i++) {
+			final double tx = posX + xs[i];
+			final double ty = posY + ys[i];
+			if(round) {
+				circle(tx, ty, radius, circles);
+			}
+			dotMarkers(dot, translate(markers, tx, ty));
+		}
+	}
+
+
+	/**
+	 * Produces the path of the axes (the two axes or the frame, according to the style of the axes).
+	 */
+	void axes(final IAxes axes, final PathSink sink) {
+		switch(axes.getAxesStyle()) {
+			case AXES:
+				final IArrow arr0 = axes.getArrowAt(1);
+				final IArrow arr1 = axes.getArrowAt(3);
+				final double arr0Reduction = arr0.getArrowStyle().needsLineReduction() ? arr0.getArrowShapedWidth() : 0d;
+				final double arr1Reduction = arr1.getArrowStyle().needsLineReduction() ? arr1.getArrowShapedWidth() : 0d;
+				sink.moveTo(axes.getGridStartX() * IShape.PPC + arr0Reduction, 0d);
+				sink.lineTo(axes.getGridEndX() * IShape.PPC - arr1Reduction, 0d);
+				sink.moveTo(0d, -axes.getGridStartY() * IShape.PPC - arr0Reduction);
+				sink.lineTo(0d, -axes.getGridEndY() * IShape.PPC + arr1Reduction);
+				break;
+			case FRAME:
+				final double endx = axes.getGridEndX();
+				final double endy = axes.getGridEndY();
+				if(endx > 0d || endy > 0d) {
+					final double y1 = endy > 0d ? -endy * IShape.PPC : 0d;
+					final double x2 = endx > 0d ? +endx * IShape.PPC : 0d;
+					sink.moveTo(0d, y1);
+					sink.lineTo(x2, y1);
+					sink.lineTo(x2, 0d);
+					sink.lineTo(0d, 0d);
+					sink.closePath();
+				}
+				break;
+			case NONE:
+				break;
+		}
+	}
+
+
+	/**
+	 * Produces the path of the main grid (the lines or the dots of the grid).
+	 */
+	void mainGrid(final IGrid grid, final PathSink sink) {
+		final GridMetrics gm = new GridMetrics(grid);
+
+		if(grid.getGridDots() > 0) {
+			mainGridDots(grid, gm, sink);
+		}else {
+			for(double k = gm.minX, i = gm.posX; k <= gm.maxX; i += gm.xStep, k++) {
+				sink.moveTo(i, gm.bry);
+				sink.lineTo(i, gm.tly);
+			}
+
+			for(double k = gm.minY, i = gm.posY; k <= gm.maxY; i -= gm.yStep, k++) {
+				sink.moveTo(gm.tlx, i);
+				sink.lineTo(gm.brx, i);
+			}
+		}
+	}
+
+	private void mainGridDots(final IGrid grid, final GridMetrics gm, final PathSink sink) {
+		final int gridDots = grid.getGridDots();
+		final double dotStep = gm.unit * IShape.PPC / gridDots;
+
+		for(double k = gm.minX, i = gm.posX; k <= gm.maxX; i += gm.xStep, k++) {
+			for(double m = gm.tly, n = gm.minY; n < gm.maxY; n++, m += gm.absStep) {
+				for(double l = 0d, j = m; l < gridDots; l++, j += dotStep) {
+					sink.moveTo(i, j);
+					sink.lineTo(i, j);
+				}
+			}
+		}
+
+		for(double k = gm.minY, i = gm.posY; k <= gm.maxY; i -= gm.yStep, k++) {
+			for(double m = gm.tlx, n = gm.minX; n < gm.maxX; n++, m += gm.absStep) {
+				for(double l = 0d, j = m; l < gridDots; l++, j += dotStep) {
+					sink.moveTo(j, i);
+					sink.lineTo(j, i);
+				}
+			}
+		}
+
+		sink.moveTo(gm.brx, gm.bry);
+		sink.lineTo(gm.brx, gm.bry);
+	}
+
+
+	/**
+	 * Produces the path of the sub-grid (the lines or the dots of the sub-grid).
+	 */
+	void subGrid(final IGrid grid, final PathSink sink) {
+		final GridMetrics gm = new GridMetrics(grid);
+		final double subGridDiv = grid.getSubGridDiv();
+		final double subGridDots = grid.getSubGridDots();
+		final double xSubStep = gm.xStep / subGridDiv;
+		final double ySubStep = gm.yStep / subGridDiv;
+
+		if(subGridDots > 0d) {
+			final double dotStep = gm.unit * IShape.PPC / (subGridDots * subGridDiv);
+			final double nbX = (gm.maxX - gm.minX) * subGridDiv;
+			final double nbY = (gm.maxY - gm.minY) * subGridDiv;
+
+			for(double i = 0d, n = gm.tlx; i < nbX; i++, n += xSubStep) {
+				for(double j = 0d, m = gm.tly; j <= nbY; j++, m += ySubStep) {
+					for(double k = 0d; k < subGridDots; k++) {
+						sink.moveTo(n + k * dotStep, m);
+						sink.lineTo(n + k * dotStep, m);
+					}
+				}
+			}
+
+			for(double j = 0d, n = gm.tly; j < nbY; j++, n += ySubStep) {
+				for(double i = 0d, m = gm.tlx; i <= nbX; i++, m += xSubStep) {
+					for(double k = 0d; k < subGridDots; k++) {
+						sink.moveTo(m, n + k * dotStep);
+						sink.lineTo(m, n + k * dotStep);
+					}
+				}
+			}
+
+			sink.moveTo(gm.brx, gm.bry);
+			sink.lineTo(gm.brx, gm.bry);
+		}else {
+			if(subGridDiv > 1d) {
+				for(double k = gm.minX, i = gm.posX; k < gm.maxX; i += gm.xStep, k++) {
+					for(double j = 0d; j <= subGridDiv; j++) {
+						sink.moveTo(i + xSubStep * j, gm.bry);
+						sink.lineTo(i + xSubStep * j, gm.tly);
+					}
+				}
+
+				for(double k = gm.minY, i = gm.posY; k < gm.maxY; i -= gm.yStep, k++) {
+					for(double j = 0d; j <= subGridDiv; j++) {
+						sink.moveTo(gm.tlx, i - ySubStep * j);
+						sink.lineTo(gm.brx, i - ySubStep * j);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Produces the labels of the grid.
+	 */
+	void gridLabels(final IGrid grid, final LabelSink sink) {
+		final int labelsSize = grid.getLabelsSize();
+		if(labelsSize < 0) {
+			return;
+		}
+
+		final GridMetrics gm = new GridMetrics(grid);
+		final Font font = new Font("cmr10", labelsSize); //NON-NLS
+		// This text is only used to compute the metrics of the labels.
+		final Text fooText = new Text(String.valueOf((int) gm.maxX));
+		fooText.setFont(font);
+		// The max height of the font.
+		final double labelHeight = fooText.getLayoutBounds().getHeight();
+		final double labelWidth = fooText.getBoundsInLocal().getWidth();
+
+		final double origX = grid.getOriginX();
+		final double origY = grid.getOriginY();
+		final boolean isWest = grid.isYLabelWest();
+		final boolean isSouth = grid.isXLabelSouth();
+		final double xorig = gm.posX + (origX - gm.minX) * gm.xStep;
+		final double yorig = isSouth ? gm.posY - gm.yStep * (origY - gm.minY) + labelHeight : gm.posY - gm.yStep * (origY - gm.minY) - 2d;
+		final double width = grid.getGridWidth() / 2d;
+		final double tmp = isSouth ? width : -width;
+		final double yPos = yorig + tmp;
+
+		for(double i = gm.tlx + (isWest ? width + labelsSize / 4d : -width - labelWidth - labelsSize / 4d), j = gm.minX; j <= gm.maxX;
+			i += gm.absStep, j++) {
+			sink.label(String.valueOf((int) j), i, yPos, font);
+		}
+
+		final double xGapNotWest = xorig + labelsSize / 4d + width;
+
+		for(double i = gm.tly + (isSouth ? -width - labelsSize / 4d : width + labelHeight), j = gm.maxY; j >= gm.minY; i += gm.absStep, j--) {
+			final String label = String.valueOf((int) j);
+			fooText.setText(label);
+			final double x = isWest ? xorig - fooText.getBoundsInLocal().getWidth() - labelsSize / 4d - width : xGapNotWest;
+			sink.label(label, x, i, font);
+		}
+	}
+
+
+	/**
+	 * The values shared by the computations of the paths and the labels of a grid.
+	 */
+	private static final class GridMetrics {
+		final double minX;
+		final double maxX;
+		final double minY;
+		final double maxY;
+		final double unit;
+		final double xStep;
+		final double yStep;
+		final double posX;
+		final double posY;
+		final double absStep;
+		final double tlx;
+		final double tly;
+		final double brx;
+		final double bry;
+
+		GridMetrics(final IGrid grid) {
+			minY = grid.getGridMinY();
+			maxY = grid.getGridMaxY();
+			minX = grid.getGridMinX();
+			maxX = grid.getGridMaxX();
+			unit = grid.getUnit();
+			final double step = IShape.PPC * unit;
+			xStep = grid.getGridEndX() < grid.getGridStartX() ? -step : step;
+			yStep = grid.getGridEndY() < grid.getGridStartY() ? -step : step;
+			posX = Math.min(grid.getGridStartX(), grid.getGridEndX()) * step;
+			posY = -Math.min(grid.getGridStartY(), grid.getGridEndY()) * step;
+			absStep = Math.abs(xStep);
+
+			final double gridStartx = grid.getGridStartX();
+			final double gridStarty = grid.getGridStartY();
+			final double gridEndx = grid.getGridEndX();
+			final double gridEndy = grid.getGridEndY();
+			tlx = gridStartx < gridEndx ? posX : posX - step * Math.abs(gridEndx - gridStartx);
+			tly = gridStarty < gridEndy ? posY - step * Math.abs(gridEndy - gridStarty) : posY;
+			brx = tlx + step * Math.abs(gridEndx - gridStartx);
+			bry = tly + step * Math.abs(gridEndy - gridStarty);
+		}
+	}
+}
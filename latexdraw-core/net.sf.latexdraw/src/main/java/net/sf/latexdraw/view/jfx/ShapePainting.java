@@ -0,0 +1,1235 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.BasicStroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.FillRule;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.shape.StrokeType;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import net.sf.latexdraw.models.MathUtils;
+import net.sf.latexdraw.models.interfaces.prop.ILineArcProp;
+import net.sf.latexdraw.models.interfaces.shape.ArrowStyle;
+import net.sf.latexdraw.models.interfaces.shape.IArrow;
+import net.sf.latexdraw.models.interfaces.shape.IArrowableSingleShape;
+import net.sf.latexdraw.models.interfaces.shape.IAxes;
+import net.sf.latexdraw.models.interfaces.shape.IBezierCurve;
+import net.sf.latexdraw.models.interfaces.shape.ICircle;
+import net.sf.latexdraw.models.interfaces.shape.ICircleArc;
+import net.sf.latexdraw.models.interfaces.shape.IDot;
+import net.sf.latexdraw.models.interfaces.shape.IEllipse;
+import net.sf.latexdraw.models.interfaces.shape.IFreehand;
+import net.sf.latexdraw.models.interfaces.shape.IGrid;
+import net.sf.latexdraw.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.models.interfaces.shape.ILine;
+import net.sf.latexdraw.models.interfaces.shape.IPicture;
+import net.sf.latexdraw.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.models.interfaces.shape.IPolygon;
+import net.sf.latexdraw.models.interfaces.shape.IPolyline;
+import net.sf.latexdraw.models.interfaces.shape.IPositionShape;
+import net.sf.latexdraw.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.models.interfaces.shape.IRhombus;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+import net.sf.latexdraw.models.interfaces.shape.ISingleShape;
+import net.sf.latexdraw.models.interfaces.shape.ISquare;
+import net.sf.latexdraw.models.interfaces.shape.IText;
+import net.sf.latexdraw.models.interfaces.shape.ITriangle;
+import net.sf.latexdraw.models.interfaces.shape.PlottingStyle;
+import net.sf.latexdraw.view.GenericAxes;
+import net.sf.latexdraw.view.GenericViewArrow;
+import net.sf.latexdraw.view.PlotViewHelper;
+
+/**
+ * The painting of a shape in a JFX graphics context: a display list recorded from the model of the shape.
+ * The geometry and the style of the shape are computed by the helpers shared with the views (ShapeGeometry, ShapeStyle, FreeHandPath):
+ * no view and no JFX shape is created to record a painting. The painting does not listen the shape: it must be recorded again
+ * when the shape changes. Effects are not painted.
+ * @author Arnaud Blouin
+ */
+final class ShapePainting {
+	/** The tolerance (in pixels) added to the stroke widths to pick strokes. */
+	private static final double PICK_TOLERANCE = 2d;
+	/** The miter limit of the strokes (the default one of the JFX shapes). */
+	private static final double MITER_LIMIT = 10d;
+
+	/**
+	 * @param sh The shape to test.
+	 * @return True if the shape can be painted. Texts are not: their views are compiled asynchronously.
+	 */
+	static boolean isPaintable(final IShape sh) {
+		if(sh instanceof IText) {
+			return false;
+		}
+		return !(sh instanceof IGroup) || ((IGroup) sh).getShapes().stream().allMatch(ShapePainting::isPaintable);
+	}
+
+	/**
+	 * Records the painting of the given shape from its model.
+	 * @param sh The shape to paint.
+	 * @return The painting of the shape. Empty if the shape cannot be painted.
+	 */
+	static ShapePainting create(final IShape sh) {
+		return create(sh, LevelOfDetail.HIGH);
+	}
+
+	/**
+	 * Records the painting of the given shape from its model.
+	 * @param sh The shape to paint.
+	 * @param lod The level of detail of the painting.
+	 * @return The painting of the shape. Empty if the shape cannot be painted.
+	 */
+	static ShapePainting create(final IShape sh, final LevelOfDetail lod) {
+		final ShapePainting painting = new ShapePainting(lod);
+		painting.record(sh, painting.ops);
+		painting.bounds.setRect(getBounds(painting.ops));
+		return painting;
+	}
+
+
+	/** The painting operations, in the coordinate system of the shapes. */
+	private final List<Op> ops;
+	/** The bounds of the painting, in the coordinate system of the shapes. */
+	private final Rectangle2D bounds;
+	/** The level of detail of the painting. */
+	private final LevelOfDetail levelOfDetail;
+	/** True if an image (e.g. of a picture) is still loading. */
+	private boolean deferred;
+
+	private ShapePainting(final LevelOfDetail lod) {
+		super();
+		ops = new ArrayList<>();
+		bounds = new Rectangle2D.Double();
+		levelOfDetail = lod;
+		deferred = false;
+	}
+
+	/**
+	 * @return The bounds of the painting in the coordinate system of the shapes. Empty if nothing is painted.
+	 */
+	Rectangle2D getBounds() {
+		return bounds;
+	}
+
+	/**
+	 * @return True if the painting uses images that may be computed after its recording: it may have to be painted again later.
+	 */
+	boolean isDeferred() {
+		return deferred;
+	}
+
+	/**
+	 * Paints the shape.
+	 * @param gc The graphics context which transformation maps the coordinate system of the shapes.
+	 */
+	void paint(final GraphicsContext gc) {
+		ops.forEach(op -> op.paint(gc));
+	}
+
+	/**
+	 * @return True if the given point, in the coordinate system of the shapes, is on a painted part of the shape.
+	 */
+	boolean contains(final double x, final double y) {
+		return bounds.contains(x, y) && ops.stream().anyMatch(op -> op.contains(x, y));
+	}
+
+
+	private void record(final IShape sh, final List<Op> target) {
+		if(sh instanceof IGroup) {
+			((IGroup) sh).getShapes().forEach(child -> record(child, target));
+			return;
+		}
+
+		if(sh instanceof IPlot) {
+			recordPlot((IPlot) sh, target);
+		}else if(sh instanceof IAxes) {
+			recordAxes((IAxes) sh, target);
+		}else if(sh instanceof IGrid) {
+			recordGrid((IGrid) sh, target);
+		}else if(sh instanceof IDot) {
+			recordDot((IDot) sh, target);
+		}else if(sh instanceof IPicture) {
+			recordPicture((IPicture) sh, target);
+		}else if(sh instanceof ISingleShape && !(sh instanceof IText)) {
+			recordSingleShape((ISingleShape) sh, getRotation((ISingleShape) sh), target);
+		}
+	}
+
+
+	/**
+	 * @return The rotation of the shape around its gravity centre. As their views, polylines and polygons are not rotated.
+	 */
+	private static AffineTransform getRotation(final ISingleShape sh) {
+		if(sh instanceof IPolygon || MathUtils.INST.equalsDouble(sh.getRotationAngle(), 0d)) {
+			return new AffineTransform();
+		}
+		final IPoint gc = sh.getGravityCentre();
+		return AffineTransform.getRotateInstance(sh.getRotationAngle(), gc.getX(), gc.getY());
+	}
+
+
+	private void recordSingleShape(final ISingleShape sh, final AffineTransform rotation, final List<Op> target) {
+		final java.awt.Shape geom = getGeometry(sh, 0d);
+		if(geom == null) {
+			return;
+		}
+
+		final java.awt.Shape border = getGeometryWithoutArrows(sh, geom);
+		final StrokeType strokeType = ShapeStyle.INSTANCE.getStrokeType(sh);
+		final double thickness = sh.isThicknessable() ? sh.getFullThickness() : 1d;
+
+		if(sh.isShadowable() && sh.hasShadow() && !levelOfDetail.isSimplified()) {
+			final Point2D translation = ShapeStyle.INSTANCE.getShadowTranslation(sh);
+			final AffineTransform shadowTransform = AffineTransform.getTranslateInstance(translation.getX(), translation.getY());
+			final Paint shadowCol = sh.getShadowCol().toJFX();
+			shadowTransform.concatenate(rotation);
+
+			if(sh.isFillable() && (sh.isFilled() || sh.shadowFillsShape())) {
+				target.add(new FillOp(shadowTransform, geom, shadowCol));
+			}
+			stroke(geom, shadowTransform, shadowCol, thickness, new double[0], StrokeLineCap.BUTT, strokeType, target);
+		}
+
+		if(sh.isFillable()) {
+			final Paint fill = ShapeStyle.INSTANCE.getFillingPaint(sh, levelOfDetail);
+			if(fill != null) {
+				target.add(new FillOp(rotation, border, fill));
+			}
+			if(ShapeStyle.INSTANCE.hasHatchings(sh, levelOfDetail)) {
+				recordHatchings(sh, border, rotation, target);
+			}
+		}
+
+		stroke(border, rotation, sh.getLineColour().toJFX(), thickness, ShapeStyle.INSTANCE.getDashArray(sh, levelOfDetail),
+			ShapeStyle.INSTANCE.getLineCap(sh, levelOfDetail), strokeType, target);
+
+		if(sh.isDbleBorderable() && sh.hasDbleBord() && !levelOfDetail.isSimplified()) {
+			stroke(getGeometry(sh, ShapeStyle.INSTANCE.getDbleBorderGap(sh)), rotation, sh.getDbleBordCol().toJFX(), sh.getDbleBordSep(),
+				new double[0], StrokeLineCap.BUTT, strokeType, target);
+		}
+
+		// Coarse paintings have no arrow.
+		if(sh instanceof IArrowableSingleShape && !levelOfDetail.isCoarse()) {
+			final IArrowableSingleShape arrowable = (IArrowableSingleShape) sh;
+			for(int i = 0, size = arrowable.getNbArrows(); i < size; i++) {
+				new ArrowRecorder(arrowable.getArrowAt(i)).record(rotation, target);
+			}
+		}
+
+		if(sh instanceof IBezierCurve && sh.isShowPts()) {
+			recordShowPoints((IBezierCurve) sh, rotation, target);
+		}
+	}
+
+
+	/**
+	 * @param sh The shape.
+	 * @param gap The gap between the border and the produced geometry (used for the double borders of the rectangles, the ellipses
+	 * and the arcs).
+	 * @return The geometry of the shape, or null if the shape is not supported.
+	 */
+	private java.awt.Shape getGeometry(final ISingleShape sh, final double gap) {
+		if(sh instanceof ICircleArc) {
+			final ICircleArc arc = (ICircleArc) sh;
+			return createArc(arc, arc.getRadius() + arc.getFullThickness() / 2d - gap, Math.toDegrees(arc.getAngleStart()),
+				Math.toDegrees(arc.getAngleEnd() - arc.getAngleStart()));
+		}
+
+		if(sh instanceof ICircle || sh instanceof IEllipse) {
+			final IPoint centre = sh instanceof ICircle ? ((ICircle) sh).getCenter() : ((IEllipse) sh).getCenter();
+			final double rx = (sh instanceof ICircle ? ((ICircle) sh).getRadius() : sh.getWidth() / 2d) - gap;
+			final double ry = (sh instanceof ICircle ? ((ICircle) sh).getRadius() : sh.getHeight() / 2d) - gap;
+			return new Ellipse2D.Double(centre.getX() - rx, centre.getY() - ry, rx * 2d, ry * 2d);
+		}
+
+		if(sh instanceof IRectangle || sh instanceof ISquare) {
+			final IPoint pt = sh.getPtAt(0);
+			final double width = sh.getWidth();
+			final double height = sh instanceof ISquare ? width : sh.getHeight();
+			final double lineArc = ((ILineArcProp) sh).getLineArc();
+			if(lineArc > 0d) {
+				return new RoundRectangle2D.Double(pt.getX() + gap, pt.getY() + gap, width - gap * 2d, height - gap * 2d, lineArc * width,
+					lineArc * height);
+			}
+			return new Rectangle2D.Double(pt.getX() + gap, pt.getY() + gap, width - gap * 2d, height - gap * 2d);
+		}
+
+		final Path2D path = new Path2D.Double();
+		final ShapeGeometry.PathSink sink = ShapeGeometry.INSTANCE.toPath(path);
+
+		if(sh instanceof ITriangle) {
+			ShapeGeometry.INSTANCE.triangle((ITriangle) sh, sink);
+		}else if(sh instanceof IRhombus) {
+			ShapeGeometry.INSTANCE.rhombus((IRhombus) sh, sink);
+		}else if(sh instanceof IBezierCurve) {
+			ShapeGeometry.INSTANCE.bezierCurve((IBezierCurve) sh, sink);
+		}else if(sh instanceof IFreehand) {
+			final IFreehand freehand = (IFreehand) sh;
+			final int interval = freehand.getInterval();
+			new FreeHandPath(freehand).build(interval * levelOfDetail.getDecimationStep(freehand.getNbPoints() / Math.max(1, interval)), sink);
+		}else if(sh instanceof IPolygon) {
+			final IPolygon poly = (IPolygon) sh;
+			ShapeGeometry.INSTANCE.polyPoints(poly, levelOfDetail.getDecimationStep(poly.getNbPoints()), sink);
+			if(!(sh instanceof IPolyline) && poly.getNbPoints() > 0) {
+				sink.closePath();
+			}
+		}else {
+			return null;
+		}
+
+		return path;
+	}
+
+
+	private static Arc2D createArc(final ICircleArc arc, final double radius, final double start, final double extent) {
+		final ArcType type = arc.getArcStyle().getJFXStyle();
+		final int awtType = type == ArcType.ROUND ? Arc2D.PIE : type == ArcType.CHORD ? Arc2D.CHORD : Arc2D.OPEN;
+		final IPoint centre = arc.getCenter();
+		return new Arc2D.Double(centre.getX() - radius, centre.getY() - radius, radius * 2d, radius * 2d, start, extent, awtType);
+	}
+
+
+	/**
+	 * @return The geometry of the border of the shape without the parts covered by its arrows.
+	 */
+	private static java.awt.Shape getGeometryWithoutArrows(final ISingleShape sh, final java.awt.Shape geom) {
+		if(!(sh instanceof IArrowableSingleShape)) {
+			return geom;
+		}
+
+		final IArrowableSingleShape arrowable = (IArrowableSingleShape) sh;
+		boolean hasArrow = false;
+		for(int i = 0, size = arrowable.getNbArrows(); i < size && !hasArrow; i++) {
+			hasArrow = arrowable.getArrowAt(i).hasStyle();
+		}
+
+		if(!hasArrow) {
+			return geom;
+		}
+
+		if(sh instanceof ICircleArc) {
+			final ICircleArc arc = (ICircleArc) sh;
+			if(!arc.getArcStyle().supportArrow()) {
+				return geom;
+			}
+			final double radius = arc.getRadius() + arc.getFullThickness() / 2d;
+			final double[] angles = ShapeGeometry.INSTANCE.getArcAnglesWithoutArrows(arc, radius * 2d);
+			return createArc(arc, radius, angles[0], angles[1] - angles[0]);
+		}
+
+		return moveEnds(geom, ViewArrowableTrait.getArrowReducedPoint(arrowable.getArrowAt(0)),
+			ViewArrowableTrait.getArrowReducedPoint(arrowable.getArrowAt(-1)));
+	}
+
+
+	/**
+	 * @return A copy of the given path which first point and last point are moved to the given ones (if any).
+	 */
+	private static java.awt.Shape moveEnds(final java.awt.Shape geom, final Optional<IPoint> first, final Optional<IPoint> last) {
+		if(!first.isPresent() && !last.isPresent()) {
+			return geom;
+		}
+
+		final PathIterator it = geom.getPathIterator(null);
+		final Path2D path = new Path2D.Double(it.getWindingRule());
+		final double[] coords = new double[6];
+		boolean firstPt = true;
+
+		while(!it.isDone()) {
+			final int type = it.currentSegment(coords);
+			it.next();
+			final boolean lastPt = it.isDone() && last.isPresent();
+
+			switch(type) {
+				case PathIterator.SEG_MOVETO:
+					if(firstPt && first.isPresent()) {
+						path.moveTo(first.get().getX(), first.get().getY());
+					}else {
+						path.moveTo(coords[0], coords[1]);
+					}
+					break;
+				case PathIterator.SEG_LINETO:
+					if(lastPt) {
+						path.lineTo(last.get().getX(), last.get().getY());
+					}else {
+						path.lineTo(coords[0], coords[1]);
+					}
+					break;
+				case PathIterator.SEG_CUBICTO:
+					if(lastPt) {
+						path.curveTo(coords[0], coords[1], coords[2], coords[3], last.get().getX(), last.get().getY());
+					}else {
+						path.curveTo(coords[0], coords[1], coords[2], coords[3], coords[4], coords[5]);
+					}
+					break;
+				case PathIterator.SEG_QUADTO:
+					path.quadTo(coords[0], coords[1], coords[2], coords[3]);
+					break;
+				case PathIterator.SEG_CLOSE:
+					path.closePath();
+					break;
+				default:
+					break;
+			}
+			firstPt = false;
+		}
+
+		return path;
+	}
+
+
+	/**
+	 * Records the hatchings of the shape: lines clipped by the shape.
+	 */
+	private static void recordHatchings(final ISingleShape sh, final java.awt.Shape geom, final AffineTransform transform, final List<Op> target) {
+		final Rectangle2D area = geom.getBounds2D();
+		if(area.isEmpty()) {
+			return;
+		}
+
+		final Path2D lines = new Path2D.Double();
+		ShapeStyle.INSTANCE.hatchings(sh, area.getWidth(), area.getHeight(), (x1, y1, x2, y2) -> {
+			lines.moveTo(area.getX() + x1, area.getY() + y1);
+			lines.lineTo(area.getX() + x2, area.getY() + y2);
+		});
+
+		final Layer layer = new Layer(transform, geom);
+		layer.ops.add(new StrokeOp(new AffineTransform(), lines, sh.getHatchingsCol().toJFX(), sh.getHatchingsWidth(), StrokeLineCap.SQUARE));
+		target.add(layer);
+	}
+
+
+	/**
+	 * Records the stroke of a geometry.
+	 * @param geom The geometry to stroke.
+	 * @param transform The transformation of the geometry.
+	 * @param paint The paint of the stroke. Nothing is recorded if null.
+	 * @param width The width of the stroke.
+	 * @param dashes The dash array of the stroke. Empty for solid lines.
+	 * @param cap The line cap of the stroke.
+	 * @param type The type of the stroke: inner and outer strokes are recorded as a stroke twice as large, clipped by the inside or
+	 * the outside of the geometry.
+	 * @param target The list that receives the operations.
+	 */
+	private static void stroke(final java.awt.Shape geom, final AffineTransform transform, final Paint paint, final double width,
+							final double[] dashes, final StrokeLineCap cap, final StrokeType type, final List<Op> target) {
+		if(paint == null || width <= 0d) {
+			return;
+		}
+
+		final AffineTransform opTransform;
+		final List<Op> opTarget;
+		final double opWidth;
+
+		if(type == StrokeType.CENTERED) {
+			opTransform = transform;
+			opTarget = target;
+			opWidth = width;
+		}else {
+			final Layer layer = new Layer(transform, type == StrokeType.INSIDE ? geom : getOutside(geom, width));
+			target.add(layer);
+			opTransform = new AffineTransform();
+			opTarget = layer.ops;
+			opWidth = width * 2d;
+		}
+
+		if(hasDashes(dashes)) {
+			// Graphics contexts do not support dashes: the outline of the dashed stroke is filled.
+			final java.awt.Shape outline = createStroke(opWidth, cap, StrokeLineJoin.MITER, dashes).createStrokedShape(geom);
+			opTarget.add(new FillOp(opTransform, new Path2D.Double(outline), paint));
+		}else {
+			opTarget.add(new StrokeOp(opTransform, geom, paint, opWidth, cap));
+		}
+	}
+
+
+	/**
+	 * @return The area around the given geometry (up to the given distance), without the geometry.
+	 */
+	private static java.awt.Shape getOutside(final java.awt.Shape geom, final double distance) {
+		final Rectangle2D rec = geom.getBounds2D();
+		final Area area = new Area(new Rectangle2D.Double(rec.getX() - distance - 1d, rec.getY() - distance - 1d,
+			rec.getWidth() + distance * 2d + 2d, rec.getHeight() + distance * 2d + 2d));
+		area.subtract(new Area(geom));
+		return new Path2D.Double(area);
+	}
+
+
+	private static boolean hasDashes(final double[] dashes) {
+		double sum = 0d;
+		for(final double dash : dashes) {
+			if(dash < 0d) {
+				return false;
+			}
+			sum += dash;
+		}
+		return sum > 0d;
+	}
+
+
+	private static BasicStroke createStroke(final double width, final StrokeLineCap cap, final StrokeLineJoin join, final double[] dashes) {
+		final int awtCap;
+		final int awtJoin;
+
+		switch(cap) {
+			case ROUND: awtCap = BasicStroke.CAP_ROUND; break;
+			case SQUARE: awtCap = BasicStroke.CAP_SQUARE; break;
+			default: awtCap = BasicStroke.CAP_BUTT; break;
+		}
+
+		switch(join) {
+			case ROUND: awtJoin = BasicStroke.JOIN_ROUND; break;
+			case BEVEL: awtJoin = BasicStroke.JOIN_BEVEL; break;
+			default: awtJoin = BasicStroke.JOIN_MITER; break;
+		}
+
+		if(hasDashes(dashes)) {
+			final float[] floats = new float[dashes.length];
+			for(int i = 0; i < dashes.length; i++) {
+				floats[i] = (float) dashes[i];
+			}
+			return new BasicStroke((float) width, awtCap, awtJoin, (float) MITER_LIMIT, floats, 0f);
+		}
+
+		return new BasicStroke((float) width, awtCap, awtJoin, (float) MITER_LIMIT);
+	}
+
+
+	/**
+	 * Records the points and the control points of a Bézier curve. As in the views, the points hidden by the arrows are not recorded.
+	 */
+	private static void recordShowPoints(final IBezierCurve sh, final AffineTransform transform, final List<Op> target) {
+		final IArrow arrow = sh.getArrowAt(0);
+		final double radius = (arrow.getDotSizeDim() + arrow.getDotSizeNum() * sh.getFullThickness()) / 2d;
+		final int nbPts = sh.getNbPoints();
+		final int nbCtrlPts = sh.getFirstCtrlPts().size();
+		final Path2D dots = new Path2D.Double();
+		final Path2D lines = new Path2D.Double();
+		final Paint colour = sh.getLineColour().toJFX();
+		final List<IPoint> pts = new ArrayList<>(sh.getPoints());
+
+		if(sh.getArrowAt(-1).getArrowStyle() != ArrowStyle.NONE && nbPts > 0) {
+			pts.remove(nbPts - 1);
+		}
+		if(arrow.getArrowStyle() != ArrowStyle.NONE && !pts.isEmpty()) {
+			pts.remove(0);
+		}
+		pts.addAll(sh.getFirstCtrlPts());
+		pts.addAll(sh.getSecondCtrlPts());
+		pts.forEach(pt -> dots.append(new Ellipse2D.Double(pt.getX() - radius, pt.getY() - radius, radius * 2d, radius * 2d), false));
+
+		for(int i = 0; i < nbCtrlPts; i++) {
+			addLine(lines, sh.getFirstCtrlPtAt(i), sh.getSecondCtrlPtAt(i));
+		}
+		for(int i = 1; i < nbCtrlPts - 1; i++) {
+			addLine(lines, sh.getSecondCtrlPtAt(i), sh.getFirstCtrlPtAt(i + 1));
+		}
+		if(nbCtrlPts > 1) {
+			addLine(lines, sh.getFirstCtrlPtAt(0), sh.getFirstCtrlPtAt(1));
+		}
+		if(!sh.isOpened() && nbCtrlPts > 0) {
+			addLine(lines, sh.getSecondCtrlPtAt(nbCtrlPts - 1), sh.getSecondCtrlPtAt(0));
+		}
+
+		target.add(new FillOp(transform, dots, colour));
+		stroke(lines, transform, colour, sh.getFullThickness() / 2d, new double[] {sh.getDashSepBlack(), sh.getDashSepWhite()},
+			StrokeLineCap.BUTT, StrokeType.CENTERED, target);
+	}
+
+
+	private static void addLine(final Path2D path, final IPoint pt1, final IPoint pt2) {
+		path.moveTo(pt1.getX(), pt1.getY());
+		path.lineTo(pt2.getX(), pt2.getY());
+	}
+
+
+	private static void recordDot(final IDot dot, final List<Op> target) {
+		final List<Op> local = new ArrayList<>();
+		java.awt.Shape circle = null;
+		Path2D markers = null;
+
+		if(ShapeGeometry.INSTANCE.hasDotCircle(dot.getDotStyle())) {
+			final IPoint pos = dot.getPosition();
+			final double radius = ShapeGeometry.INSTANCE.getDotCircleRadius(dot);
+			circle = new Ellipse2D.Double(pos.getX() - radius, pos.getY() - radius, radius * 2d, radius * 2d);
+		}
+
+		if(ShapeGeometry.INSTANCE.hasDotMarkers(dot.getDotStyle())) {
+			markers = new Path2D.Double();
+			ShapeGeometry.INSTANCE.dotMarkers(dot, ShapeGeometry.INSTANCE.toPath(markers));
+		}
+
+		recordDotParts(dot, circle, markers, local);
+
+		// As its view, the dot is rotated around the centre of its bounds.
+		if(MathUtils.INST.equalsDouble(dot.getRotationAngle(), 0d)) {
+			target.addAll(local);
+		}else {
+			final Rectangle2D localBounds = getBounds(local);
+			final Layer layer = new Layer(AffineTransform.getRotateInstance(dot.getRotationAngle(), localBounds.getCenterX(),
+				localBounds.getCenterY()), null);
+			layer.ops.addAll(local);
+			target.add(layer);
+		}
+	}
+
+
+	/**
+	 * Records the round parts and the other parts of dots.
+	 * @param dot The dot that gives the style of the parts.
+	 * @param circles The round parts. Nothing is recorded if null.
+	 * @param markers The other parts. Nothing is recorded if null.
+	 * @param target The list that receives the operations.
+	 */
+	private static void recordDotParts(final IDot dot, final java.awt.Shape circles, final java.awt.Shape markers, final List<Op> target) {
+		final Paint stroke = dot.getLineColour().toJFX();
+
+		if(circles != null) {
+			final Paint fill = ShapeStyle.INSTANCE.getDotCircleFill(dot);
+			if(fill != null) {
+				target.add(new FillOp(new AffineTransform(), circles, fill));
+			}
+			target.add(new StrokeOp(new AffineTransform(), circles, stroke, ShapeStyle.INSTANCE.getDotCircleStrokeWidth(dot), StrokeLineCap.SQUARE));
+		}
+
+		if(markers != null) {
+			final Paint fill = ShapeStyle.INSTANCE.getDotMarkersFill(dot);
+			if(fill != null) {
+				target.add(new FillOp(new AffineTransform(), markers, fill));
+			}
+			target.add(new StrokeOp(new AffineTransform(), markers, stroke, ShapeStyle.INSTANCE.getDotMarkersStrokeWidth(dot),
+				ShapeStyle.INSTANCE.getDotMarkersLineCap(dot)));
+		}
+	}
+
+
+	private void recordPlot(final IPlot plot, final List<Op> target) {
+		final List<Op> local = new ArrayList<>();
+		final double minX = plot.getPlotMinX();
+		final double maxX = plot.getPlotMaxX();
+		final double step = plot.getPlottingStep();
+		// The shapes of the plot are not rotated: the plot is rotated as a whole.
+		final AffineTransform noRotation = new AffineTransform();
+
+		switch(plot.getPlotStyle()) {
+			case LINE:
+				recordSingleShape(PlotViewHelper.INSTANCE.updateLine(plot, 0d, 0d, minX, maxX, step), noRotation, local);
+				break;
+			case CURVE:
+			case CCURVE:
+				recordSingleShape(PlotViewHelper.INSTANCE.updateCurve(plot, 0d, 0d, minX, maxX, step), noRotation, local);
+				break;
+			case ECURVE:
+				recordSingleShape(PlotViewHelper.INSTANCE.updateCurve(plot, 0d, 0d, minX + step, maxX - step, step), noRotation, local);
+				break;
+			case POLYGON:
+				recordSingleShape(PlotViewHelper.INSTANCE.updatePolygon(plot, 0d, 0d, minX, maxX, step), noRotation, local);
+				break;
+			case DOTS:
+				final IDot dot = ShapeGeometry.INSTANCE.createPlotDot(plot);
+				final Path2D circles = new Path2D.Double();
+				final Path2D markers = new Path2D.Double();
+				ShapeGeometry.INSTANCE.plotDots(plot, 0d, 0d, 0, ShapeGeometry.INSTANCE.toPath(circles), ShapeGeometry.INSTANCE.toPath(markers));
+				recordDotParts(dot, ShapeGeometry.INSTANCE.hasDotCircle(dot.getDotStyle()) ? circles : null,
+					ShapeGeometry.INSTANCE.hasDotMarkers(dot.getDotStyle()) ? markers : null, local);
+				break;
+		}
+
+		recordPositioned(plot, local, target);
+	}
+
+
+	private void recordGrid(final IGrid grid, final List<Op> target) {
+		final List<Op> local = new ArrayList<>();
+		final Path2D subGrid = new Path2D.Double();
+		final Path2D mainGrid = new Path2D.Double();
+
+		ShapeGeometry.INSTANCE.subGrid(grid, ShapeGeometry.INSTANCE.toPath(subGrid));
+		ShapeGeometry.INSTANCE.mainGrid(grid, ShapeGeometry.INSTANCE.toPath(mainGrid));
+		local.add(new StrokeOp(new AffineTransform(), subGrid, grid.getSubGridColour().toJFX(), grid.getSubGridWidth(),
+			grid.getSubGridDots() > 0 ? StrokeLineCap.ROUND : StrokeLineCap.SQUARE));
+		local.add(new StrokeOp(new AffineTransform(), mainGrid, grid.getLineColour().toJFX(), grid.getGridWidth(),
+			grid.getGridDots() > 0 ? StrokeLineCap.ROUND : StrokeLineCap.SQUARE));
+
+		// Coarse paintings have no label.
+		if(!levelOfDetail.isCoarse()) {
+			final Paint labelsCol = grid.getGridLabelsColour().toJFX();
+			ShapeGeometry.INSTANCE.gridLabels(grid, (text, x, y, font) ->
+				local.add(new TextOp(new AffineTransform(), text, x, y, font, Color.BLACK, labelsCol)));
+		}
+
+		recordPositioned(grid, local, target);
+	}
+
+
+	private void recordAxes(final IAxes axes, final List<Op> target) {
+		final List<Op> local = new ArrayList<>();
+		final Path2D mainAxes = new Path2D.Double();
+		final AxesRecorder recorder = new AxesRecorder(axes);
+
+		ShapeGeometry.INSTANCE.axes(axes, ShapeGeometry.INSTANCE.toPath(mainAxes));
+		local.add(new StrokeOp(new AffineTransform(), mainAxes, Color.BLACK, 1d, StrokeLineCap.SQUARE));
+		recorder.updatePathTicks();
+		local.add(new StrokeOp(new AffineTransform(), recorder.ticks, Color.BLACK, 1d, StrokeLineCap.SQUARE));
+
+		// Coarse paintings have no label.
+		if(!levelOfDetail.isCoarse() && axes.getLabelsDisplayed() != PlottingStyle.NONE) {
+			recorder.updatePathLabels();
+			local.addAll(recorder.labels);
+		}
+
+		recordPositioned(axes, local, target);
+	}
+
+
+	private void recordPicture(final IPicture picture, final List<Op> target) {
+		final Image image = picture.getImage();
+		if(image == null) {
+			return;
+		}
+
+		final List<Op> local = new ArrayList<>();
+		deferred = deferred || image.getProgress() < 1d;
+		local.add(new ImageOp(new AffineTransform(), image, new Rectangle2D.Double(0d, 0d, image.getWidth(), image.getHeight())));
+		recordPositioned(picture, local, target);
+	}
+
+
+	/**
+	 * Records operations defined relatively to the position of a shape. As its view, the shape is translated to its position
+	 * and rotated around the centre of the bounds of the operations.
+	 */
+	private static void recordPositioned(final IPositionShape sh, final List<Op> local, final List<Op> target) {
+		final AffineTransform transform = AffineTransform.getTranslateInstance(sh.getPosition().getX(), sh.getPosition().getY());
+
+		if(!MathUtils.INST.equalsDouble(sh.getRotationAngle(), 0d)) {
+			final Rectangle2D localBounds = getBounds(local);
+			transform.rotate(sh.getRotationAngle(), localBounds.getCenterX(), localBounds.getCenterY());
+		}
+
+		final Layer layer = new Layer(transform, null);
+		layer.ops.addAll(local);
+		target.add(layer);
+	}
+
+
+	/**
+	 * @return The union of the bounds of the given operations. Empty if nothing is painted.
+	 */
+	private static Rectangle2D getBounds(final List<Op> operations) {
+		Rectangle2D union = null;
+
+		for(final Op op : operations) {
+			final Rectangle2D rec = op.getBounds();
+			if(rec.getWidth() > 0d || rec.getHeight() > 0d) {
+				if(union == null) {
+					union = rec;
+				}else {
+					Rectangle2D.union(union, rec, union);
+				}
+			}
+		}
+
+		return union == null ? new Rectangle2D.Double() : union;
+	}
+
+
+	private static void tracePath(final GraphicsContext gc, final java.awt.Shape geom) {
+		final PathIterator it = geom.getPathIterator(null);
+		final double[] coords = new double[6];
+
+		gc.beginPath();
+		while(!it.isDone()) {
+			switch(it.currentSegment(coords)) {
+				case PathIterator.SEG_MOVETO: gc.moveTo(coords[0], coords[1]); break;
+				case PathIterator.SEG_LINETO: gc.lineTo(coords[0], coords[1]); break;
+				case PathIterator.SEG_QUADTO: gc.quadraticCurveTo(coords[0], coords[1], coords[2], coords[3]); break;
+				case PathIterator.SEG_CUBICTO: gc.bezierCurveTo(coords[0], coords[1], coords[2], coords[3], coords[4], coords[5]); break;
+				case PathIterator.SEG_CLOSE: gc.closePath(); break;
+				default: break;
+			}
+			it.next();
+		}
+	}
+
+
+	/**
+	 * Records the painting of an arrow: the arrow is built as in its view (GenericViewArrow) but in java.awt geometries.
+	 */
+	private static final class ArrowRecorder implements GenericViewArrow {
+		private final IArrow arrow;
+		/** The transformation of the arrow (its position and its orientation). */
+		private final AffineTransform transform;
+		private final Path2D path;
+		private Paint pathFill;
+		private Paint pathStroke;
+		private double pathWidth;
+		private java.awt.Shape circle;
+		private Paint circleFill;
+		private Paint circleStroke;
+		private double circleWidth;
+		private java.awt.Shape arc;
+		private Paint arcStroke;
+		private double arcWidth;
+		private boolean pathEnabled;
+		private boolean circleEnabled;
+		private boolean arcEnabled;
+
+		ArrowRecorder(final IArrow arr) {
+			super();
+			arrow = arr;
+			transform = new AffineTransform();
+			path = new Path2D.Double();
+			// The default values of the JFX shapes of the views.
+			pathStroke = Color.BLACK;
+			pathWidth = 1d;
+			circleFill = Color.BLACK;
+			circleWidth = 1d;
+			arcWidth = 1d;
+		}
+
+		void record(final AffineTransform shapeTransform, final List<Op> target) {
+			updatePath(false);
+
+			final ILine line = arrow.getArrowLine();
+			if(line != null && arrow.getArrowStyle() != ArrowStyle.NONE) {
+				final double lineAngle = (-line.getLineAngle() + Math.PI * 2d) % (Math.PI * 2d);
+				if(!MathUtils.INST.equalsDouble(lineAngle, 0d)) {
+					transform.rotate(lineAngle);
+				}
+			}
+
+			final AffineTransform tx = new AffineTransform(shapeTransform);
+			tx.concatenate(transform);
+
+			if(pathEnabled) {
+				if(pathFill != null) {
+					target.add(new FillOp(tx, path, pathFill));
+				}
+				if(pathStroke != null) {
+					target.add(new StrokeOp(tx, path, pathStroke, pathWidth, StrokeLineCap.BUTT));
+				}
+			}
+			if(circleEnabled) {
+				if(circleFill != null) {
+					target.add(new FillOp(tx, circle, circleFill));
+				}
+				if(circleStroke != null) {
+					target.add(new StrokeOp(tx, circle, circleStroke, circleWidth, StrokeLineCap.SQUARE));
+				}
+			}
+			if(arcEnabled && arcStroke != null) {
+				target.add(new StrokeOp(tx, arc, arcStroke, arcWidth, StrokeLineCap.SQUARE));
+			}
+		}
+
+		private void enableShape(final boolean enablePath, final boolean enableArc, final boolean enableCircle) {
+			pathEnabled = enablePath;
+			arcEnabled = enableArc;
+			circleEnabled = enableCircle;
+		}
+
+		@Override
+		public IArrow getArrow() {
+			return arrow;
+		}
+
+		@Override
+		public void setTranslation(final double tx, final double ty) {
+			transform.preConcatenate(AffineTransform.getTranslateInstance(tx, ty));
+		}
+
+		@Override
+		public void createMoveTo(final double x, final double y) {
+			path.moveTo(x, y);
+			enableShape(true, false, false);
+		}
+
+		@Override
+		public void createLineTo(final double x, final double y) {
+			path.lineTo(x, y);
+		}
+
+		@Override
+		public void createClosePath() {
+			path.closePath();
+		}
+
+		@Override
+		public void createArc(final double cx, final double cy, final double rx, final double ry, final double angle, final double length,
+							final ObservableValue<Color> strokeProp, final ObservableDoubleValue strokeWidthProp) {
+			arc = new Arc2D.Double(cx - rx, cy - ry, rx * 2d, ry * 2d, angle, length, Arc2D.OPEN);
+			arcStroke = strokeProp.getValue();
+			arcWidth = strokeWidthProp.get();
+			enableShape(false, true, false);
+		}
+
+		@Override
+		public void createCircle(final double cx, final double cy, final double r) {
+			circle = new Ellipse2D.Double(cx - r, cy - r, r * 2d, r * 2d);
+			enableShape(false, false, true);
+		}
+
+		@Override
+		public void setPathStrokeWidth(final ObservableDoubleValue widthProp) {
+			pathWidth = widthProp.get();
+		}
+
+		@Override
+		public void setPathFill(final ObservableValue<Color> fill) {
+			pathFill = fill == null ? null : fill.getValue();
+		}
+
+		@Override
+		public void setCircleStrokeBinding(final ObservableValue<Color> stroke) {
+			circleStroke = stroke.getValue();
+		}
+
+		@Override
+		public void setCircleFillBinding(final ObservableValue<Color> fill) {
+			circleFill = fill.getValue();
+		}
+
+		@Override
+		public void setCircleFill(final Color fill) {
+			circleFill = fill;
+		}
+
+		@Override
+		public void setCircleStroke(final Color stroke) {
+			circleStroke = stroke;
+		}
+
+		@Override
+		public void setCircleStrokeWidth(final double width) {
+			circleWidth = width;
+		}
+
+		@Override
+		public void setPathStroke(final ObservableValue<Color> stroke) {
+			pathStroke = stroke.getValue();
+		}
+
+		@Override
+		public void setRotation180() {
+			transform.rotate(Math.PI);
+		}
+	}
+
+
+	/**
+	 * Records the ticks and the labels of axes, computed as in their view (GenericAxes).
+	 */
+	private static final class AxesRecorder implements GenericAxes<Void> {
+		private final IAxes axes;
+		final Path2D ticks;
+		final List<Op> labels;
+
+		AxesRecorder(final IAxes sh) {
+			super();
+			axes = sh;
+			ticks = new Path2D.Double();
+			labels = new ArrayList<>();
+		}
+
+		@Override
+		public IAxes getModel() {
+			return axes;
+		}
+
+		@Override
+		public Void createTextLabel(final String text, final double x, final double y, final Font font) {
+			labels.add(new TextOp(new AffineTransform(), text, x, y, font, Color.BLACK, null));
+			return null;
+		}
+
+		@Override
+		public void createPathTicksMoveTo(final double x, final double y) {
+			ticks.moveTo(x, y);
+		}
+
+		@Override
+		public void createPathTicksLineTo(final double x, final double y) {
+			ticks.lineTo(x, y);
+		}
+
+		@Override
+		public void disablePathTicks(final boolean disable) {
+			// No tick is produced when the ticks are not displayed.
+		}
+
+		@Override
+		public void setPathTicksFill(final Color color) {
+			// The ticks are lines: they have no filling.
+		}
+	}
+
+
+	/**
+	 * A painting operation.
+	 */
+	private abstract static class Op {
+		/** The transformation from the coordinate system of the operation to the one of its container. */
+		final AffineTransform transform;
+
+		Op(final AffineTransform tx) {
+			super();
+			transform = tx;
+		}
+
+		final void paint(final GraphicsContext gc) {
+			gc.save();
+			gc.transform(transform.getScaleX(), transform.getShearY(), transform.getShearX(), transform.getScaleY(),
+				transform.getTranslateX(), transform.getTranslateY());
+			paintLocal(gc);
+			gc.restore();
+		}
+
+		boolean contains(final double x, final double y) {
+			try {
+				final Point2D pt = transform.inverseTransform(new Point2D.Double(x, y), null);
+				return containsLocal(pt.getX(), pt.getY());
+			}catch(final NoninvertibleTransformException ex) {
+				return false;
+			}
+		}
+
+		/**
+		 * @return The bounds of the operation in the coordinate system of its container.
+		 */
+		final Rectangle2D getBounds() {
+			return transform.createTransformedShape(getLocalBounds()).getBounds2D();
+		}
+
+		abstract void paintLocal(final GraphicsContext gc);
+
+		abstract boolean containsLocal(final double x, final double y);
+
+		abstract Rectangle2D getLocalBounds();
+	}
+
+
+	private static final class FillOp extends Op {
+		final java.awt.Shape geom;
+		final Paint paint;
+
+		FillOp(final AffineTransform tx, final java.awt.Shape shape, final Paint fill) {
+			super(tx);
+			geom = shape;
+			paint = fill;
+		}
+
+		@Override
+		void paintLocal(final GraphicsContext gc) {
+			final PathIterator it = geom.getPathIterator(null);
+			gc.setFillRule(it.getWindingRule() == PathIterator.WIND_EVEN_ODD ? FillRule.EVEN_ODD : FillRule.NON_ZERO);
+			gc.setFill(paint);
+			tracePath(gc, geom);
+			gc.fill();
+		}
+
+		@Override
+		boolean containsLocal(final double x, final double y) {
+			return geom.contains(x, y);
+		}
+
+		@Override
+		Rectangle2D getLocalBounds() {
+			return geom.getBounds2D();
+		}
+	}
+
+
+	private static final class StrokeOp extends Op {
+		final java.awt.Shape geom;
+		final Paint paint;
+		final double width;
+		final StrokeLineCap cap;
+
+		/**
+		 * Creates a stroke which line join is a miter.
+		 */
+		StrokeOp(final AffineTransform tx, final java.awt.Shape shape, final Paint stroke, final double strokeWidth, final StrokeLineCap lineCap) {
+			super(tx);
+			geom = shape;
+			paint = stroke;
+			width = strokeWidth;
+			cap = lineCap;
+		}
+
+		@Override
+		void paintLocal(final GraphicsContext gc) {
+			gc.setStroke(paint);
+			gc.setLineWidth(width);
+			gc.setLineCap(cap);
+			gc.setLineJoin(StrokeLineJoin.MITER);
+			gc.setMiterLimit(MITER_LIMIT);
+			tracePath(gc, geom);
+			gc.stroke();
+		}
+
+		@Override
+		boolean containsLocal(final double x, final double y) {
+			return new BasicStroke((float) (width + PICK_TOLERANCE)).createStrokedShape(geom).contains(x, y);
+		}
+
+		@Override
+		Rectangle2D getLocalBounds() {
+			return createStroke(width, cap, StrokeLineJoin.MITER, new double[0]).createStrokedShape(geom).getBounds2D();
+		}
+	}
+
+
+	private static final class TextOp extends Op {
+		final String text;
+		final Font font;
+		final Paint fill;
+		final Paint stroke;
+		final double x;
+		final double y;
+		final Rectangle2D area;
+
+		/**
+		 * Creates a text which origin is its baseline.
+		 */
+		TextOp(final AffineTransform tx, final String str, final double px, final double py, final Font textFont, final Paint textFill,
+			final Paint textStroke) {
+			super(tx);
+			text = str;
+			font = textFont;
+			fill = textFill;
+			stroke = textStroke;
+			x = px;
+			y = py;
+			// This text is only used to compute the metrics of the text.
+			final Text measure = new Text(px, py, str);
+			measure.setFont(textFont);
+			final Bounds b = measure.getBoundsInLocal();
+			area = new Rectangle2D.Double(b.getMinX(), b.getMinY(), b.getWidth(), b.getHeight());
+		}
+
+		@Override
+		void paintLocal(final GraphicsContext gc) {
+			gc.setFont(font);
+			gc.setTextBaseline(VPos.BASELINE);
+			gc.setTextAlign(TextAlignment.LEFT);
+			if(fill != null) {
+				gc.setFill(fill);
+				gc.fillText(text, x, y);
+			}
+			if(stroke != null) {
+				gc.setStroke(stroke);
+				gc.setLineWidth(1d);
+				gc.strokeText(text, x, y);
+			}
+		}
+
+		@Override
+		boolean containsLocal(final double px, final double py) {
+			return area.contains(px, py);
+		}
+
+		@Override
+		Rectangle2D getLocalBounds() {
+			return area;
+		}
+	}
+
+
+	private static final class ImageOp extends Op {
+		final Image image;
+		final Rectangle2D area;
+
+		ImageOp(final AffineTransform tx, final Image img, final Rectangle2D imgArea) {
+			super(tx);
+			image = img;
+			area = imgArea;
+		}
+
+		@Override
+		void paintLocal(final GraphicsContext gc) {
+			gc.drawImage(image, area.getMinX(), area.getMinY(), area.getWidth(), area.getHeight());
+		}
+
+		@Override
+		boolean containsLocal(final double x, final double y) {
+			return area.contains(x, y);
+		}
+
+		@Override
+		Rectangle2D getLocalBounds() {
+			return area;
+		}
+	}
+
+
+	/**
+	 * Operations painted with a transformation and a clip (the clip is in the coordinate system of the operations).
+	 */
+	private static final class Layer extends Op {
+		final List<Op> ops;
+		final java.awt.Shape clip;
+
+		Layer(final AffineTransform tx, final java.awt.Shape clipArea) {
+			super(tx);
+			ops = new ArrayList<>();
+			clip = clipArea;
+		}
+
+		@Override
+		void paintLocal(final GraphicsContext gc) {
+			if(clip != null) {
+				tracePath(gc, clip);
+				gc.clip();
+			}
+			ops.forEach(op -> op.paint(gc));
+		}
+
+		@Override
+		boolean containsLocal(final double x, final double y) {
+			return (clip == null || clip.contains(x, y)) && ops.stream().anyMatch(op -> op.contains(x, y));
+		}
+
+		@Override
+		Rectangle2D getLocalBounds() {
+			final Rectangle2D rec = ShapePainting.getBounds(ops);
+			if(clip != null && !rec.isEmpty()) {
+				Rectangle2D.intersect(rec, clip.getBounds2D(), rec);
+			}
+			return rec;
+		}
+	}
+}
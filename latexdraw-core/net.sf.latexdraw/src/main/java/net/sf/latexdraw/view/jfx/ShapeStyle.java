@@ -0,0 +1,408 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.geom.Point2D;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.Stop;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeType;
+import net.sf.latexdraw.models.MathUtils;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.models.interfaces.shape.IDot;
+import net.sf.latexdraw.models.interfaces.shape.ILine;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.models.interfaces.shape.ISingleShape;
+import net.sf.latexdraw.models.interfaces.shape.LineStyle;
+
+/**
+ * The style of the shapes computed from their model, without any JFX node: paints, dashes, and positions of the shadows
+ * and of the double borders. It is used by the views and by the paintings of the shapes (ShapePainting).
+ * @author Arnaud Blouin
+ */
+final class ShapeStyle {
+	/** The singleton. */
+	static final ShapeStyle INSTANCE = new ShapeStyle();
+
+	private ShapeStyle() {
+		super();
+	}
+
+
+	/**
+	 * Receives the lines of the hatchings.
+	 */
+	interface LineSink {
+		void line(final double x1, final double y1, final double x2, final double y2);
+	}
+
+
+	/**
+	 * @return The gap between the border and the double border of the shape.
+	 */
+	double getDbleBorderGap(final ISingleShape sh) {
+		if(!sh.isDbleBorderable()) {
+			return 0d;
+		}
+
+		switch(sh.getBordersPosition()) {
+			case MID: return 0d;
+			case INTO: return sh.getThickness();
+			case OUT: return -sh.getThickness();
+		}
+
+		return 0d;
+	}
+
+
+	/**
+	 * @return The translation of the shadow of the shape.
+	 */
+	Point2D getShadowTranslation(final ISingleShape sh) {
+		final IPoint gc = sh.getGravityCentre();
+		final IPoint shadowgc = ShapeFactory.INST.createPoint(gc.getX() + sh.getShadowSize(), gc.getY());
+		shadowgc.setPoint(shadowgc.rotatePoint(gc, sh.getShadowAngle()));
+		return new Point2D.Double(shadowgc.getX() - gc.getX(), gc.getY() - shadowgc.getY());
+	}
+
+
+	/**
+	 * @return The type of the stroke of the border of the shape.
+	 */
+	StrokeType getStrokeType(final ISingleShape sh) {
+		if(!sh.isBordersMovable()) {
+			return StrokeType.CENTERED;
+		}
+
+		switch(sh.getBordersPosition()) {
+			case MID: return StrokeType.CENTERED;
+			case OUT: return StrokeType.OUTSIDE;
+			default: return StrokeType.INSIDE;
+		}
+	}
+
+
+	/**
+	 * @return The line style rendered: coarse renderings have solid lines.
+	 */
+	private LineStyle getLineStyle(final ISingleShape sh, final LevelOfDetail lod) {
+		return !sh.isLineStylable() || lod.isCoarse() ? LineStyle.SOLID : sh.getLineStyle();
+	}
+
+	/**
+	 * @return The dash array of the border of the shape. Empty for solid lines.
+	 */
+	double[] getDashArray(final ISingleShape sh, final LevelOfDetail lod) {
+		switch(getLineStyle(sh, lod)) {
+			case DASHED: return new double[] {sh.getDashSepBlack(), sh.getDashSepWhite()};
+			// FIXME problem when dotted line + INTO/OUT border position.
+			case DOTTED: return new double[] {0d, sh.getDotSep() + sh.getFullThickness()};
+			default: return new double[0];
+		}
+	}
+
+	/**
+	 * @return The line cap of the border of the shape.
+	 */
+	StrokeLineCap getLineCap(final ISingleShape sh, final LevelOfDetail lod) {
+		return getLineStyle(sh, lod) == LineStyle.DOTTED ? StrokeLineCap.ROUND : StrokeLineCap.BUTT;
+	}
+
+
+	/**
+	 * @return True if the hatchings of the shape are rendered as lines. Simplified renderings paint a tint instead.
+	 */
+	boolean hasHatchings(final ISingleShape sh, final LevelOfDetail lod) {
+		return sh.isFillable() && isHatchings(sh.getFillingStyle()) && !lod.isSimplified();
+	}
+
+	private static boolean isHatchings(final FillingStyle style) {
+		switch(style) {
+			case CLINES_PLAIN:
+			case HLINES_PLAIN:
+			case VLINES_PLAIN:
+			case CLINES:
+			case VLINES:
+			case HLINES: return true;
+			default: return false;
+		}
+	}
+
+
+	/**
+	 * @return The paint of the filling of the shape. For rendered hatchings, the paint of their background (null if transparent).
+	 */
+	Paint getFillingPaint(final ISingleShape sh, final LevelOfDetail lod) {
+		final FillingStyle style = sh.getFillingStyle();
+
+		switch(style) {
+			case NONE: return sh.hasShadow() && sh.shadowFillsShape() ? sh.getFillingCol().toJFX() : null;
+			case GRAD: return computeGradient(sh);
+			case PLAIN: return sh.getFillingCol().toJFX();
+			default:
+				if(!isHatchings(style)) {
+					return null;
+				}
+				if(lod.isSimplified()) {
+					return getHatchingsTint(sh);
+				}
+				return style.isFilled() ? sh.getFillingCol().toJFX() : null;
+		}
+	}
+
+
+	/**
+	 * @return The average colour of the hatchings, painted instead of the hatchings when the rendering is simplified.
+	 */
+	private Paint getHatchingsTint(final ISingleShape sh) {
+		final FillingStyle style = sh.getFillingStyle();
+		final Color hatchCol = sh.getHatchingsCol().toJFX();
+		final double period = sh.getHatchingsWidth() + sh.getHatchingsSep();
+		final double lineCoverage = period > 0d ? Math.min(1d, sh.getHatchingsWidth() / period) : 1d;
+		final double coverage;
+
+		if(style == FillingStyle.CLINES || style == FillingStyle.CLINES_PLAIN) {
+			coverage = 1d - (1d - lineCoverage) * (1d - lineCoverage);
+		}else {
+			coverage = lineCoverage;
+		}
+
+		if(style.isFilled()) {
+			return sh.getFillingCol().toJFX().interpolate(hatchCol, coverage);
+		}
+		return hatchCol.deriveColor(0d, 1d, 1d, coverage);
+	}
+
+
+	/**
+	 * Produces the lines of the hatchings of the shape in an area that starts at (0,0).
+	 * @param sh The shape.
+	 * @param width The width of the hatched area.
+	 * @param height The height of the hatched area.
+	 * @param sink The sink of the lines.
+	 */
+	void hatchings(final ISingleShape sh, final double width, final double height, final LineSink sink) {
+		final FillingStyle style = sh.getFillingStyle();
+		final double hAngle = sh.getHatchingsAngle();
+		final double hAngle2 = hAngle > 0d ? hAngle - Math.PI / 2d : hAngle + Math.PI / 2d;
+
+		if(style == FillingStyle.VLINES || style == FillingStyle.VLINES_PLAIN) {
+			hatchings(sh, hAngle, width, height, sink);
+		}else {
+			if(style == FillingStyle.HLINES || style == FillingStyle.HLINES_PLAIN) {
+				hatchings(sh, hAngle2, width, height, sink);
+			}else {
+				if(style == FillingStyle.CLINES || style == FillingStyle.CLINES_PLAIN) {
+					hatchings(sh, hAngle, width, height, sink);
+					hatchings(sh, hAngle2, width, height, sink);
+				}
+			}
+		}
+	}
+
+
+	private void hatchings(final ISingleShape sh, final double angle, final double width, final double height, final LineSink sink) {
+		double angle2 = angle % (Math.PI * 2d);
+		final float halfPI = (float) (Math.PI / 2d);
+		final double val = sh.getHatchingsWidth() + sh.getHatchingsSep();
+
+		if(angle2 > 0d) {
+			if((float) angle2 > 3f * halfPI) {
+				angle2 -= Math.PI * 2d;
+			}else {
+				if((float) angle2 > halfPI) {
+					angle2 -= Math.PI;
+				}
+			}
+		}else {
+			if((float) angle2 < -3f * halfPI) {
+				angle2 += Math.PI * 2d;
+			}else {
+				if((float) angle2 < -halfPI) {
+					angle2 += Math.PI;
+				}
+			}
+		}
+
+		if(MathUtils.INST.equalsDouble(angle2, 0d)) {
+			for(double x = 0d; x < width; x += val) {
+				sink.line(x, 0d, x, height);
+			}
+		}else if(MathUtils.INST.equalsDouble(angle2, Math.abs(halfPI))) {
+			for(double y = 0d; y < height; y += val) {
+				sink.line(0d, y, width, y);
+			}
+		}else {
+			final double incX = val / Math.cos(angle2);
+			final double incY = val / Math.sin(angle2);
+			final double limitX;
+			double startY;
+			double endX = 0d;
+
+			if(angle2 > 0) {
+				startY = 0d;
+				limitX = width + height * Math.tan(angle2);
+			}else {
+				startY = height;
+				limitX = width - height * Math.tan(angle2);
+			}
+
+			final double endY = startY;
+
+			while(endX < limitX) {
+				endX += incX;
+				startY += incY;
+				sink.line(0d, startY, endX, endY);
+			}
+		}
+	}
+
+
+	/**
+	 * @return The gradient of the shape, or null if the shape is empty.
+	 */
+	LinearGradient computeGradient(final ISingleShape sh) {
+		final IPoint tl = sh.getTopLeftPoint();
+		final IPoint br = sh.getBottomRightPoint();
+		IPoint pt1 = ShapeFactory.INST.createPoint((tl.getX() + br.getX()) / 2d, tl.getY());
+		IPoint pt2 = ShapeFactory.INST.createPoint((tl.getX() + br.getX()) / 2d, br.getY());
+		double angle = sh.getGradAngle() % (2d * Math.PI);
+		double gradMidPt = sh.getGradMidPt();
+
+		if(tl.equals(br)) {
+			return null;
+		}
+
+		if(angle < 0d) {
+			angle = 2d * Math.PI + angle;
+		}
+
+		if(angle >= Math.PI) {
+			gradMidPt = 1d - gradMidPt;
+			angle -= Math.PI;
+		}
+
+		if(MathUtils.INST.equalsDouble(angle, 0d)) {
+			if(gradMidPt < 0.5) {
+				pt1.setY(pt2.getY() - Point2D.distance(pt2.getX(), pt2.getY(), (tl.getX() + br.getX()) / 2d, br.getY()));
+			}
+
+			pt2.setY(tl.getY() + (br.getY() - tl.getY()) * gradMidPt);
+		}else {
+			if(MathUtils.INST.equalsDouble(angle % (Math.PI / 2d), 0d)) {
+				pt1 = ShapeFactory.INST.createPoint(tl.getX(), (tl.getY() + br.getY()) / 2d);
+				pt2 = ShapeFactory.INST.createPoint(br.getX(), (tl.getY() + br.getY()) / 2d);
+
+				if(gradMidPt < 0.5) {
+					pt1.setX(pt2.getX() - Point2D.distance(pt2.getX(), pt2.getY(), br.getX(), (tl.getY() + br.getY()) / 2d));
+				}
+
+				pt2.setX(tl.getX() + (br.getX() - tl.getX()) * gradMidPt);
+			}else {
+				final IPoint cg = sh.getGravityCentre();
+				final ILine l2;
+				final ILine l;
+
+				pt1 = pt1.rotatePoint(cg, -angle);
+				pt2 = pt2.rotatePoint(cg, -angle);
+				l = ShapeFactory.INST.createLine(pt1, pt2);
+
+				if(angle >= 0d && angle < Math.PI / 2d) {
+					l2 = l.getPerpendicularLine(tl);
+				}else {
+					l2 = l.getPerpendicularLine(ShapeFactory.INST.createPoint(tl.getX(), br.getY()));
+				}
+
+				pt1 = l.getIntersection(l2);
+				final double distance = Point2D.distance(cg.getX(), cg.getY(), pt1.getX(), pt1.getY());
+				l.setX1(pt1.getX());
+				l.setY1(pt1.getY());
+				final IPoint[] pts = l.findPoints(pt1, 2d * distance * gradMidPt);
+				pt2 = pts[0];
+
+				if(gradMidPt < 0.5) {
+					pt1 = pt1.rotatePoint(sh.getGravityCentre(), Math.PI);
+				}
+			}
+		}
+
+		return new LinearGradient(pt1.getX(), pt1.getY(), pt2.getX(), pt2.getY(), false, CycleMethod.NO_CYCLE,
+			new Stop(0d, sh.getGradColStart().toJFX()), new Stop(1d, sh.getGradColEnd().toJFX()));
+	}
+
+
+	/**
+	 * @return The filling of the round part of the dot.
+	 */
+	Paint getDotCircleFill(final IDot dot) {
+		switch(dot.getDotStyle()) {
+			case O: return dot.getFillingCol().toJFX();
+			case DOT: return dot.getLineColour().toJFX();
+			default: return null;
+		}
+	}
+
+	/**
+	 * @return The filling of the parts of the dot that are not round.
+	 */
+	Paint getDotMarkersFill(final IDot dot) {
+		switch(dot.getDotStyle()) {
+			case DIAMOND:
+			case PENTAGON:
+			case SQUARE:
+			case TRIANGLE: return dot.getFillingCol().toJFX();
+			case FDIAMOND:
+			case FPENTAGON:
+			case FSQUARE:
+			case FTRIANGLE: return dot.getLineColour().toJFX();
+			default: return null;
+		}
+	}
+
+	/**
+	 * @return The stroke width of the round part of the dot (its line cap is square).
+	 */
+	double getDotCircleStrokeWidth(final IDot dot) {
+		switch(dot.getDotStyle()) {
+			case O: return dot.getGeneralGap();
+			default: return dot.getDiametre() / IDot.THICKNESS_O_STYLE_FACTOR;
+		}
+	}
+
+	/**
+	 * @return The stroke width of the parts of the dot that are not round.
+	 */
+	double getDotMarkersStrokeWidth(final IDot dot) {
+		switch(dot.getDotStyle()) {
+			case BAR: return dot.getBarThickness();
+			case PLUS: return dot.getDiametre() / IDot.PLUS_COEFF_WIDTH;
+			case X: return dot.getCrossGap();
+			default: return dot.getGeneralGap();
+		}
+	}
+
+	/**
+	 * @return The line cap of the parts of the dot that are not round.
+	 */
+	StrokeLineCap getDotMarkersLineCap(final IDot dot) {
+		switch(dot.getDotStyle()) {
+			case OPLUS:
+			case OTIMES:
+			case FSQUARE:
+			case SQUARE: return StrokeLineCap.BUTT;
+			default: return StrokeLineCap.SQUARE;
+		}
+	}
+}
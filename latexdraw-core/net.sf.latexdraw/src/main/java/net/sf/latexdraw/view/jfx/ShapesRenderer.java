@@ -0,0 +1,313 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.canvas.GraphicsContext;
+import net.sf.latexdraw.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+
+/**
+ * The base class of the renderers that paint the shapes of a drawing without views, for the area of the drawing visible in the canvas.
+ * Each shape is painted from a display list (a ShapePainting) recorded from the model of the shape.
+ * Rendering is done at the next pulse, and only for the regions where paintings changed (the dirty regions are kept
+ * separately so that distant changes do not render the area between them).
+ * The shapes that have a view in the scene graph (e.g. the selected shapes) are not painted.
+ * @author Arnaud Blouin
+ */
+abstract class ShapesRenderer extends Group {
+	/** The maximal width or height (in pixels) of the rendered area. */
+	private static final double MAX_SIZE = 8192d;
+	/** The maximal number of dirty regions: beyond, they are merged into a single one. */
+	private static final int MAX_DIRTY_REGIONS = 64;
+
+	/** The drawing to paint. */
+	protected final IDrawing drawing;
+	/** Tests whether a shape must be painted. */
+	private final Predicate<IShape> painted;
+	/** The recorded paintings of the shapes. */
+	private final Map<IShape, ShapePainting> paintings;
+	/** The shapes which paintings must be recorded again. */
+	private final Set<IShape> invalidated;
+	/** The shapes which paintings have been recorded during the current rendering. */
+	private final Set<IShape> recorded;
+	/** The area of the drawing to render, in the coordinate system of the shapes. */
+	protected Rectangle2D area;
+	/** The number of pixels per unit of the coordinate system of the shapes. */
+	protected double resolution;
+	/** The level of detail of the paintings. */
+	private LevelOfDetail levelOfDetail;
+	/** The regions to render again, in the coordinate system of the shapes. */
+	private final List<Rectangle2D> dirty;
+	/** The regions of the new paintings that use images that may not be computed yet. */
+	private final List<Rectangle2D> deferred;
+	private boolean renderingRequested;
+
+	/**
+	 * Creates the renderer.
+	 * @param dr The drawing to paint.
+	 * @param paintedShapes Tests whether a shape must be painted.
+	 */
+	ShapesRenderer(final IDrawing dr, final Predicate<IShape> paintedShapes) {
+		super();
+		drawing = dr;
+		painted = paintedShapes;
+		paintings = new IdentityHashMap<>();
+		invalidated = Collections.newSetFromMap(new IdentityHashMap<>());
+		recorded = Collections.newSetFromMap(new IdentityHashMap<>());
+		dirty = new ArrayList<>();
+		deferred = new ArrayList<>();
+		resolution = 1d;
+		levelOfDetail = LevelOfDetail.HIGH;
+		renderingRequested = false;
+		setMouseTransparent(true);
+		setFocusTraversable(false);
+	}
+
+	/**
+	 * Sets the area of the drawing to render.
+	 * @param newArea The area to render, in the coordinate system of the shapes.
+	 * @param zoom The zoom level of the drawing: the rendering has one pixel per pixel of the screen.
+	 */
+	void setArea(final Rectangle2D newArea, final double zoom) {
+		final double res = Math.min(zoom, Math.min(MAX_SIZE / Math.max(1d, newArea.getWidth()), MAX_SIZE / Math.max(1d, newArea.getHeight())));
+		final boolean resolutionChanged = Double.compare(res, resolution) != 0;
+
+		if(newArea.equals(area) && !resolutionChanged) {
+			return;
+		}
+
+		area = new Rectangle2D.Double(newArea.getX(), newArea.getY(), newArea.getWidth(), newArea.getHeight());
+		resolution = res;
+		// The paintings of the shapes out of the area are no longer useful.
+		final Set<IShape> inArea = Collections.newSetFromMap(new IdentityHashMap<>());
+		inArea.addAll(drawing.shapesIntersecting(area));
+		paintings.keySet().retainAll(inArea);
+		onAreaChanged(resolutionChanged);
+		requestRendering();
+	}
+
+	/**
+	 * Called when the area to render or the resolution changed. The regions to render again must be marked as dirty.
+	 * @param resolutionChanged True if the resolution changed.
+	 */
+	protected abstract void onAreaChanged(final boolean resolutionChanged);
+
+	/**
+	 * Renders the given regions.
+	 * @param regions The regions to render, in the coordinate system of the shapes. Included in the area. Not empty.
+	 */
+	protected abstract void render(final List<Rectangle2D> regions);
+
+	/**
+	 * Drops the rendering.
+	 */
+	protected abstract void clearRendering();
+
+	/**
+	 * @return The area of the drawing rendered, or nothing if not defined yet.
+	 */
+	Optional<Rectangle2D> getArea() {
+		return Optional.ofNullable(area);
+	}
+
+	/**
+	 * Notifies the renderer that the painting of the given shape must be recorded again
+	 * (the shape changed, has been added or removed, or gained or lost its view).
+	 * @param sh The shape.
+	 */
+	void invalidate(final IShape sh) {
+		if(sh != null) {
+			invalidated.add(sh);
+			requestRendering();
+		}
+	}
+
+	/**
+	 * Notifies the renderer that the paintings of all the shapes must be recorded again.
+	 */
+	void invalidateAll() {
+		invalidated.addAll(paintings.keySet());
+		if(area != null) {
+			addDirty(area);
+			requestRendering();
+		}
+	}
+
+	/**
+	 * Sets the level of detail of the paintings. The paintings are recorded again if it changes.
+	 * @param lod The new level of detail. Nothing done if null.
+	 */
+	void setLevelOfDetail(final LevelOfDetail lod) {
+		if(lod != null && lod != levelOfDetail) {
+			levelOfDetail = lod;
+			invalidateAll();
+		}
+	}
+
+	/**
+	 * Drops all the paintings and the rendering.
+	 */
+	void clear() {
+		paintings.clear();
+		invalidated.clear();
+		dirty.clear();
+		deferred.clear();
+		area = null;
+		clearRendering();
+	}
+
+	/**
+	 * @return The painted shape located at the given position (in the coordinate system of the shapes), the top one first.
+	 */
+	Optional<IShape> getShapeAt(final double x, final double y) {
+		final List<IShape> candidates = drawing.shapesIntersecting(new Rectangle2D.Double(x - 1d, y - 1d, 2d, 2d));
+		final ListIterator<IShape> it = candidates.listIterator(candidates.size());
+
+		while(it.hasPrevious()) {
+			final IShape sh = it.previous();
+			if(painted.test(sh) && getPainting(sh).contains(x, y)) {
+				return Optional.of(sh);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Marks the given region as to be rendered again.
+	 * @param region The region, in the coordinate system of the shapes.
+	 */
+	protected void addDirty(final Rectangle2D region) {
+		addRegion(dirty, region);
+	}
+
+	private static void addRegion(final List<Rectangle2D> regions, final Rectangle2D region) {
+		if(region.isEmpty() || regions.stream().anyMatch(reg -> reg.contains(region))) {
+			return;
+		}
+		regions.removeIf(reg -> region.contains(reg));
+		if(regions.size() < MAX_DIRTY_REGIONS) {
+			regions.add(new Rectangle2D.Double(region.getX(), region.getY(), region.getWidth(), region.getHeight()));
+		}else {
+			final Rectangle2D union = new Rectangle2D.Double(region.getX(), region.getY(), region.getWidth(), region.getHeight());
+			regions.forEach(reg -> union.add(reg));
+			regions.clear();
+			regions.add(union);
+		}
+	}
+
+	/**
+	 * @return The regions to render again, in the coordinate system of the shapes.
+	 */
+	List<Rectangle2D> getDirtyRegions() {
+		return Collections.unmodifiableList(dirty);
+	}
+
+	private ShapePainting getPainting(final IShape sh) {
+		return paintings.computeIfAbsent(sh, key -> {
+			recorded.add(key);
+			return ShapePainting.create(key, levelOfDetail);
+		});
+	}
+
+	/**
+	 * Renders at the next pulse (several requests during a pulse produce a single rendering).
+	 */
+	private void requestRendering() {
+		if(!renderingRequested) {
+			renderingRequested = true;
+			Platform.runLater(() -> update());
+		}
+	}
+
+	/**
+	 * Records the invalidated paintings and renders the dirty region.
+	 */
+	void update() {
+		renderingRequested = false;
+
+		if(area == null) {
+			return;
+		}
+
+		// The former region of the invalidated shapes must be rendered again.
+		invalidated.forEach(sh -> {
+			final ShapePainting old = paintings.remove(sh);
+			if(old != null) {
+				addDirty(old.getBounds());
+			}
+		});
+
+		// The new region of the invalidated shapes must be rendered too.
+		drawing.shapesIntersecting(area).stream().filter(sh -> invalidated.contains(sh) && painted.test(sh)).
+			forEach(sh -> addDirty(getPainting(sh).getBounds()));
+		invalidated.clear();
+
+		if(dirty.isEmpty()) {
+			return;
+		}
+
+		// One more pixel to clear the anti-aliasing.
+		final double margin = 1d / resolution;
+		final List<Rectangle2D> regions = new ArrayList<>(dirty.size());
+		dirty.forEach(reg -> {
+			final Rectangle2D region = new Rectangle2D.Double(reg.getX() - margin, reg.getY() - margin, reg.getWidth() + 2d * margin,
+				reg.getHeight() + 2d * margin).createIntersection(area);
+			if(!region.isEmpty()) {
+				regions.add(region);
+			}
+		});
+		dirty.clear();
+
+		if(!regions.isEmpty()) {
+			render(regions);
+		}
+
+		recorded.clear();
+
+		// Images of new paintings (e.g. hatchings) may be computed later: their regions are rendered again.
+		if(!deferred.isEmpty()) {
+			deferred.forEach(reg -> addDirty(reg));
+			deferred.clear();
+			requestRendering();
+		}
+	}
+
+	/**
+	 * Paints the shapes that intersect the given region, in the drawing order.
+	 * @param gc The graphics context which transformation maps the coordinate system of the shapes.
+	 * @param region The region to paint, in the coordinate system of the shapes.
+	 */
+	protected void paintShapes(final GraphicsContext gc, final Rectangle2D region) {
+		for(final IShape sh : drawing.shapesIntersecting(region)) {
+			if(painted.test(sh)) {
+				final ShapePainting painting = getPainting(sh);
+				if(painting.getBounds().intersects(region)) {
+					painting.paint(gc);
+					if(painting.isDeferred() && recorded.contains(sh)) {
+						addRegion(deferred, painting.getBounds());
+					}
+				}
+			}
+		}
+	}
+}
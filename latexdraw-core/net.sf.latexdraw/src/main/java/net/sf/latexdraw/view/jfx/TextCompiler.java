@@ -0,0 +1,638 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import com.sun.pdfview.PDFFile;
+import com.sun.pdfview.PDFPage;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javafx.scene.image.Image;
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.commands.ExportFormat;
+import net.sf.latexdraw.util.ImageCropper;
+import net.sf.latexdraw.util.LFileUtils;
+import net.sf.latexdraw.util.LSystem;
+import net.sf.latexdraw.util.OperatingSystem;
+import net.sf.latexdraw.util.StreamExecReader;
+import net.sf.latexdraw.util.Tuple;
+import net.sf.latexdraw.view.latex.LaTeXFormatCache;
+import net.sf.latexdraw.view.latex.LaTeXGenerator;
+
+/**
+ * Compiles the LaTeX code of texts into pictures: latex, dvips, ps2pdf, then the rasterisation of the PDF pages.
+ * The texts waiting for their compilation are gathered in a single multi-page standalone document compiled once,
+ * so that TeX starts and loads the packages once for all of them. If the compilation of a batch fails (e.g. an error
+ * in one of the texts), its texts are compiled one by one so that each error stays attached to its text.
+ * The pictures are looked for in, and stored into, the cache of the compiled texts (see TextImageCache).
+ * The documents are compiled against the precompiled format of their preamble when it can be built (see LaTeXFormatCache).
+ * A compilation can be delayed, and is cancelled by cancelling its future: a text cancelled before its compilation is not compiled,
+ * and the processes of a document which texts are all cancelled are killed.
+ * The texts are compiled by a bounded number of workers (one per core) that take the waiting texts by priority
+ * (see CompilationPriority): the visible texts first, then the selected ones, then the other ones.
+ * @author Arnaud Blouin
+ */
+public final class TextCompiler {
+	/** The singleton. */
+	public static final TextCompiler INSTANCE = new TextCompiler();
+
+	/** The maximal number of texts compiled in a single document. */
+	static final int MAX_BATCH_SIZE = 64;
+	/** The default delay (in ms) of the compilation of a changed text (see getDelay). */
+	static final long DEFAULT_DELAY = 150L;
+
+	/** The default maximal number of documents compiled at the same time: one per core. */
+	static final int NB_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/** The maximal time (in s) given to the running compilations to stop at shutdown. */
+	private static final long SHUTDOWN_TIMEOUT = 2L;
+	/** The period (in ms) at which a running compilation checks whether it has been cancelled. */
+	private static final long CANCELLATION_CHECK_PERIOD = 50L;
+
+	/**
+	 * @return The preamble of the documents that compile texts: the packages.
+	 */
+	static String getPreamble() {
+		return "\\usepackage[usenames,dvipsnames]{pstricks}" + LaTeXGenerator.getPackages(); //NON-NLS
+	}
+
+	/**
+	 * @param preamble The preamble of the document.
+	 * @param body The LaTeX code of a text.
+	 * @return The standalone document that compiles the given text alone.
+	 */
+	static String getDocument(final String preamble, final String body) {
+		return getHeader(preamble) + '\n' + getContent(body);
+	}
+
+	/**
+	 * @param preamble The preamble of the document.
+	 * @param bodies The LaTeX code of the texts.
+	 * @return The multi-page standalone document that compiles each given text on its own page.
+	 */
+	static String getBatchDocument(final String preamble, final List<String> bodies) {
+		return getBatchHeader(preamble) + '\n' + getBatchContent(bodies);
+	}
+
+	/**
+	 * @return The beginning of the document of a text, up to its \begin{document} (excluded): what its LaTeX format is made of.
+	 */
+	private static String getHeader(final String preamble) {
+		return "\\documentclass{standalone}\n" + preamble; //NON-NLS
+	}
+
+	private static String getBatchHeader(final String preamble) {
+		return "\\documentclass[multi=true]{standalone}\n" + preamble; //NON-NLS
+	}
+
+	/**
+	 * @return The end of the document of a text, from its \begin{document}.
+	 */
+	private static String getContent(final String body) {
+		return "\\begin{document}\n" + body + "\n\\end{document}"; //NON-NLS
+	}
+
+	private static String getBatchContent(final List<String> bodies) {
+		final StringBuilder doc = new StringBuilder();
+		doc.append("\\begin{document}\n"); //NON-NLS
+		bodies.forEach(body -> doc.append("\\begin{standalone}").append(body).append("\\end{standalone}\n")); //NON-NLS
+		doc.append("\\end{document}"); //NON-NLS
+		return doc.toString();
+	}
+
+
+	/** The threads of the workers. */
+	private final ExecutorService pool;
+	/** The maximal number of workers. */
+	private final int maxWorkers;
+	/** Submits the delayed compilations at the end of their delay. */
+	private final ScheduledExecutorService delayer;
+	/** The texts waiting for their compilation, in their submission order. Also the lock of the scheduling. */
+	private final Deque<Request> waiting;
+	/** The texts waiting for the end of their delay. */
+	private final List<Request> delayed;
+	/** The texts being compiled. */
+	private final List<Request> running;
+	/** The number of workers that take and compile the waiting texts. */
+	private int nbWorkers;
+	private boolean shutdown;
+	/** The sum of the times (in ns) the taken texts waited for their compilation. */
+	private long queueLatency;
+	private long nbTaken;
+	/** The sum of the times (in ns) of the compilations completed since their texts have been taken. */
+	private final AtomicLong compilationLatency;
+	private final AtomicLong nbCompiled;
+	/** The delay (in ms) of the compilation of a changed text. */
+	private volatile long delay;
+
+	private TextCompiler() {
+		this(Executors.newFixedThreadPool(NB_THREADS, task -> {
+			final Thread thread = new Thread(task, "Text compiler"); //NON-NLS
+			// The pool must not prevent the application from exiting.
+			thread.setDaemon(true);
+			return thread;
+		}), NB_THREADS);
+
+		// The formats of the new packages are built at once rather than at the next compilation of a text.
+		LaTeXGenerator.PACKAGES.addListener((observable, oldValue, newValue) -> {
+			synchronized(waiting) {
+				if(!shutdown) {
+					pool.execute(() -> {
+						LaTeXFormatCache.INSTANCE.getFormat(getHeader(getPreamble()), () -> isShutdown());
+						LaTeXFormatCache.INSTANCE.getFormat(getBatchHeader(getPreamble()), () -> isShutdown());
+					});
+				}
+			}
+		});
+	}
+
+	/**
+	 * Creates a compiler.
+	 * @param workersPool The threads of the workers. Shut down with the compiler.
+	 * @param nbWorkers The maximal number of workers (documents compiled at the same time).
+	 */
+	TextCompiler(final ExecutorService workersPool, final int nbWorkers) {
+		super();
+		pool = workersPool;
+		maxWorkers = nbWorkers;
+		delayer = Executors.newSingleThreadScheduledExecutor(task -> {
+			final Thread thread = new Thread(task, "Text compilation delayer"); //NON-NLS
+			// The delayer must not prevent the application from exiting.
+			thread.setDaemon(true);
+			return thread;
+		});
+		waiting = new ArrayDeque<>();
+		delayed = new ArrayList<>();
+		running = new ArrayList<>();
+		nbWorkers = 0;
+		shutdown = false;
+		compilationLatency = new AtomicLong();
+		nbCompiled = new AtomicLong();
+		delay = DEFAULT_DELAY;
+	}
+
+	/**
+	 * @return The delay (in ms) of the compilation of a changed text: a text changed again during this delay
+	 * (e.g. while typing) cancels its former compilation before it starts.
+	 */
+	long getDelay() {
+		return delay;
+	}
+
+	/**
+	 * @param newDelay The delay (in ms) of the compilation of a changed text. Nothing done if negative.
+	 */
+	void setDelay(final long newDelay) {
+		if(newDelay >= 0L) {
+			delay = newDelay;
+		}
+	}
+
+	/**
+	 * Compiles the given text in background.
+	 * @param preamble The preamble of the document (see getPreamble).
+	 * @param body The LaTeX code of the text.
+	 * @param wait The delay (in ms) before compiling the text. Not delayed if not positive.
+	 * @param priority Gives the current priority of the compilation. Called at any time on the compilation threads.
+	 * @return The future picture of the text (or null if the compilation failed) with the log of the compilation.
+	 * Cancelling it cancels the compilation. Cancelled if the compiler is shut down.
+	 */
+	CompletableFuture<Tuple<Image, String>> compile(final String preamble, final String body, final long wait, final Supplier<CompilationPriority> priority) {
+		final Request request = new Request(preamble, body, priority);
+
+		synchronized(waiting) {
+			if(wait > 0L && !shutdown) {
+				delayed.add(request);
+				delayer.schedule(() -> submit(request), wait, TimeUnit.MILLISECONDS);
+				return request.result;
+			}
+		}
+
+		submit(request);
+		return request.result;
+	}
+
+	private void submit(final Request request) {
+		synchronized(waiting) {
+			delayed.remove(request);
+
+			// A text cancelled during its delay is not compiled.
+			if(request.result.isDone()) {
+				return;
+			}
+
+			if(shutdown) {
+				request.result.cancel(false);
+				return;
+			}
+
+			request.submission = System.nanoTime();
+			waiting.add(request);
+			// The running workers take the new texts when the pool is full: the texts submitted while the others are compiled form batches.
+			if(nbWorkers < maxWorkers) {
+				nbWorkers++;
+				pool.execute(() -> work());
+			}
+		}
+	}
+
+	/**
+	 * Compiles the waiting texts until there is no more text to compile.
+	 */
+	private void work() {
+		List<Request> batch = takeBatch();
+
+		while(!batch.isEmpty()) {
+			compileWaiting(batch);
+			synchronized(waiting) {
+				running.removeAll(batch);
+			}
+			batch = takeBatch();
+		}
+	}
+
+	/**
+	 * @return The next texts to compile in a single document: the first waiting texts of the highest priority that have the same preamble.
+	 * Empty if there is no more text to compile: the calling worker then stops.
+	 */
+	private List<Request> takeBatch() {
+		synchronized(waiting) {
+			// The cancelled texts are dropped.
+			waiting.removeIf(req -> req.result.isDone());
+
+			if(waiting.isEmpty() || shutdown) {
+				nbWorkers--;
+				return Collections.emptyList();
+			}
+
+			// The priorities may change at any time: they are read once.
+			waiting.forEach(req -> req.currentPriority = req.priority.get());
+
+			final Request first = waiting.stream().min(Comparator.comparing(req -> req.currentPriority)).orElse(waiting.peek());
+			final List<Request> batch = waiting.stream().filter(req -> req.currentPriority == first.currentPriority && req.preamble.equals(first.preamble)).
+				limit(MAX_BATCH_SIZE).collect(Collectors.toList());
+			final long now = System.nanoTime();
+
+			waiting.removeAll(batch);
+			running.addAll(batch);
+
+			batch.forEach(req -> {
+				queueLatency += now - req.submission;
+				req.result.thenRun(() -> {
+					compilationLatency.addAndGet(System.nanoTime() - now);
+					nbCompiled.incrementAndGet();
+				});
+			});
+			nbTaken += batch.size();
+
+			return batch;
+		}
+	}
+
+	private void compileWaiting(final List<Request> batch) {
+		try {
+			// The texts already compiled are taken from the cache.
+			final List<Request> toCompile = batch.stream().filter(req -> !req.result.isDone()).filter(req -> {
+				final Optional<Image> cached = TextImageCache.INSTANCE.get(req.document);
+				cached.ifPresent(img -> req.result.complete(new Tuple<>(img, ""))); //NON-NLS
+				return !cached.isPresent();
+			}).collect(Collectors.toList());
+
+			if(toCompile.size() > 1) {
+				compileBatch(toCompile);
+			}
+
+			// The texts not compiled in a batch (e.g. the batch failed because of one of them) are compiled alone.
+			toCompile.stream().filter(req -> !req.result.isDone()).forEach(req -> req.result.complete(compileAlone(req)));
+		}catch(final RuntimeException ex) {
+			// The error is given to the texts: the worker goes on with the next texts.
+			batch.forEach(req -> req.result.completeExceptionally(ex));
+		}
+	}
+
+	/**
+	 * @return The number of texts waiting for their compilation.
+	 * @since 4.0
+	 */
+	public int getQueueSize() {
+		synchronized(waiting) {
+			return (int) waiting.stream().filter(req -> !req.result.isDone()).count();
+		}
+	}
+
+	/**
+	 * @return The number of texts being compiled.
+	 * @since 4.0
+	 */
+	public int getNbRunning() {
+		synchronized(waiting) {
+			return running.size();
+		}
+	}
+
+	/**
+	 * @return The mean time (in ms) the texts waited for their compilation, since the creation or the last reset of the metrics.
+	 * @since 4.0
+	 */
+	public double getMeanQueueLatency() {
+		synchronized(waiting) {
+			return nbTaken == 0L ? 0d : queueLatency / (double) nbTaken / 1e6;
+		}
+	}
+
+	/**
+	 * @return The mean time (in ms) of the compilations of the texts (from the end of their wait to their picture),
+	 * since the creation or the last reset of the metrics.
+	 * @since 4.0
+	 */
+	public double getMeanCompilationLatency() {
+		final long nb = nbCompiled.get();
+		return nb == 0L ? 0d : compilationLatency.get() / (double) nb / 1e6;
+	}
+
+	/**
+	 * Sets the latency metrics to zero.
+	 * @since 4.0
+	 */
+	public void resetMetrics() {
+		synchronized(waiting) {
+			queueLatency = 0L;
+			nbTaken = 0L;
+		}
+		compilationLatency.set(0L);
+		nbCompiled.set(0L);
+	}
+
+	/**
+	 * @return True if the compiler is shut down.
+	 * @since 4.0
+	 */
+	public boolean isShutdown() {
+		synchronized(waiting) {
+			return shutdown;
+		}
+	}
+
+	/**
+	 * Stops the compiler, e.g. when the application exits: the waiting and delayed texts are cancelled, the processes of the running
+	 * compilations are killed, and the compilation threads are stopped. The texts submitted afterwards are cancelled.
+	 * @since 4.0
+	 */
+	public void shutdown() {
+		final List<Request> cancelled;
+
+		synchronized(waiting) {
+			shutdown = true;
+			cancelled = new ArrayList<>(waiting);
+			cancelled.addAll(delayed);
+			cancelled.addAll(running);
+			waiting.clear();
+			delayed.clear();
+		}
+
+		delayer.shutdownNow();
+		cancelled.forEach(req -> req.result.cancel(false));
+		pool.shutdown();
+
+		try {
+			// The running processes are killed within the cancellation check period.
+			if(!pool.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+				pool.shutdownNow();
+			}
+		}catch(final InterruptedException ex) {
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Compiles the given texts in a single document. The texts are not completed if the document cannot be compiled,
+	 * if it does not have a page per text, or if their picture cannot be read.
+	 */
+	private void compileBatch(final List<Request> batch) {
+		final Tuple<List<BufferedImage>, String> res = compileDocument(getBatchHeader(batch.get(0).preamble),
+			getBatchContent(batch.stream().map(req -> req.body).collect(Collectors.toList())), batch.size(),
+			() -> batch.stream().allMatch(req -> req.result.isDone()));
+
+		if(res.a.size() != batch.size()) {
+			return;
+		}
+
+		for(int i = 0, size = batch.size(); i < size; i++) {
+			final BufferedImage bi = res.a.get(i);
+			if(bi != null) {
+				final Request req = batch.get(i);
+				req.result.complete(new Tuple<>(TextImageCache.INSTANCE.put(req.document, bi), res.b));
+				bi.flush();
+			}
+		}
+	}
+
+	/**
+	 * @return The picture of the given text, or null, with the log of the compilation.
+	 */
+	private Tuple<Image, String> compileAlone(final Request req) {
+		final Tuple<List<BufferedImage>, String> res = compileDocument(getHeader(req.preamble), getContent(req.body), 1, () -> req.result.isDone());
+
+		if(res.a.size() != 1 || res.a.get(0) == null) {
+			return new Tuple<>(null, res.b);
+		}
+
+		final BufferedImage bi = res.a.get(0);
+		final Image image = TextImageCache.INSTANCE.put(req.document, bi);
+		bi.flush();
+		return new Tuple<>(image, res.b);
+	}
+
+	/**
+	 * Compiles the given document in a temporary directory, against the precompiled format of its header when possible.
+	 * @param header The beginning of the LaTeX document, up to its \begin{document} (excluded).
+	 * @param content The end of the LaTeX document, from its \begin{document}.
+	 * @param nbPages The expected number of pages.
+	 * @param cancelled Tells whether the document is no longer expected: its processes are then killed.
+	 * @return The cropped pictures of the pages (empty if the compilation failed or the number of pages differs) with the log.
+	 */
+	private Tuple<List<BufferedImage>, String> compileDocument(final String header, final String content, final int nbPages, final BooleanSupplier cancelled) {
+		final Optional<File> optDir = LFileUtils.INSTANCE.createTempDir();
+
+		if(!optDir.isPresent()) {
+			return new Tuple<>(Collections.emptyList(), "A temporary file cannot be created."); //NON-NLS
+		}
+
+		List<BufferedImage> pictures = Collections.emptyList();
+		String log = ""; //NON-NLS
+		final File tmpDir = optDir.get();
+		final String basePathPic = tmpDir.getAbsolutePath() + LSystem.FILE_SEP + "latexdrawTmpPic" + System.currentTimeMillis(); //NON-NLS
+		final String pathTex = basePathPic + ExportFormat.TEX.getFileExtension();
+		final OperatingSystem os = LSystem.INSTANCE.getSystem().orElse(OperatingSystem.LINUX);
+		final Optional<String> format = LaTeXFormatCache.INSTANCE.getFormat(header, cancelled);
+		final List<String> latexCmd = new ArrayList<>();
+
+		// Saving the LaTeX document into a file to be compiled. Against the format of its header, the document does not contain its header.
+		if(!LFileUtils.INSTANCE.saveFile(pathTex, format.isPresent() ? content : header + '\n' + content).isPresent()) {
+			LFileUtils.INSTANCE.removeDirWithContent(tmpDir.getPath());
+			return new Tuple<>(pictures, log);
+		}
+
+		// Compiling the LaTeX document.
+		latexCmd.add(os.getLatexBinPath());
+		format.ifPresent(fmt -> latexCmd.add(LaTeXFormatCache.getFormatOption(fmt)));
+		latexCmd.addAll(Arrays.asList("--halt-on-error", "--interaction=nonstopmode", "--output-directory=" + tmpDir.getAbsolutePath(), //NON-NLS
+			LFileUtils.INSTANCE.normalizeForLaTeX(pathTex)));
+		Tuple<Boolean, String> res = execute(latexCmd.toArray(new String[latexCmd.size()]), cancelled);
+		boolean ok = res.a;
+		log = res.b;
+
+		// Compiling the DVI document.
+		if(ok) {
+			res = execute(new String[]{os.getDvipsBinPath(), basePathPic + ".dvi", "-o", basePathPic + ExportFormat.EPS_LATEX.getFileExtension()}, cancelled); //NON-NLS
+			ok = res.a;
+			log = log + res.b;
+		}
+
+		// Converting the PS document as a PDF one.
+		if(ok) {
+			res = execute(new String[]{os.getPs2pdfBinPath(), basePathPic + ExportFormat.EPS_LATEX.getFileExtension(), basePathPic + ExportFormat.PDF.getFileExtension()}, cancelled);
+			ok = res.a;
+			log = log + res.b;
+		}
+
+		// Getting the images of the pages of the PDF document.
+		if(ok) {
+			pictures = readPDFPages(new File(basePathPic + ExportFormat.PDF.getFileExtension()), nbPages);
+		}
+
+		// Deleting the temporary folder and its content.
+		LFileUtils.INSTANCE.removeDirWithContent(tmpDir.getPath());
+
+		return new Tuple<>(pictures, log);
+	}
+
+	/**
+	 * Executes a given command and returns the log.
+	 * @param cmd The command to execute.
+	 * @param cancelled Tells whether the command is no longer expected: the process is then killed.
+	 * @return True if the command exits normally plus the log.
+	 */
+	private Tuple<Boolean, String> execute(final String[] cmd, final BooleanSupplier cancelled) {
+		String log = "";
+		try {
+			final Process process = Runtime.getRuntime().exec(cmd);
+			final StreamExecReader errReader = new StreamExecReader(process.getErrorStream());
+			final StreamExecReader outReader = new StreamExecReader(process.getInputStream());
+
+			errReader.start();
+			outReader.start();
+
+			while(!process.waitFor(CANCELLATION_CHECK_PERIOD, TimeUnit.MILLISECONDS)) {
+				if(cancelled.getAsBoolean()) {
+					process.destroyForcibly();
+					return new Tuple<>(false, "The compilation has been cancelled."); //NON-NLS
+				}
+			}
+
+			if(process.exitValue() == 0) {
+				return new Tuple<>(true, log);
+			}
+
+			log = outReader.getLog() + LSystem.EOL + errReader.getLog();
+		}catch(final IOException | InterruptedException | IllegalThreadStateException ex) {
+			log += ex.getMessage();
+		}
+		return new Tuple<>(false, log);
+	}
+
+	/**
+	 * Reads and returns the pages of the given pdf document.
+	 * @param file The file of the pdf document.
+	 * @param nbPages The expected number of pages.
+	 * @return The cropped images of the pages (an image may be null), or an empty list if the document does not have the expected number of pages.
+	 */
+	private List<BufferedImage> readPDFPages(final File file, final int nbPages) {
+		final List<BufferedImage> pictures = new ArrayList<>();
+
+		try(final FileChannel fc = new RandomAccessFile(file, "r").getChannel()) { //NON-NLS
+			final MappedByteBuffer mbb = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
+			final PDFFile pdfFile = new PDFFile(mbb);
+			mbb.clear();
+
+			if(pdfFile.getNumPages() == nbPages) {
+				// The pages are numbered from 1.
+				for(int i = 1; i <= nbPages; i++) {
+					final PDFPage page = pdfFile.getPage(i);
+					final Rectangle2D bound = page.getBBox();
+					final java.awt.Image img = page.getImage((int) bound.getWidth(), (int) bound.getHeight(), bound, null, false, true);
+
+					pictures.add(img instanceof BufferedImage ? ImageCropper.INSTANCE.cropImage((BufferedImage) img) : null);
+
+					if(img != null) {
+						img.flush();
+					}
+				}
+			}else if(nbPages == 1) {
+				// A failing batch is compiled again text by text: only the unexpected pages of a single text are reported.
+				BadaboomCollector.INSTANCE.add(new IllegalArgumentException("Not a single page: " + pdfFile.getNumPages())); //NON-NLS
+			}
+		}catch(final IOException | IllegalArgumentException | SecurityException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+			pictures.clear();
+		}
+
+		return pictures;
+	}
+
+
+	/**
+	 * A text to compile.
+	 */
+	private static final class Request {
+		final String preamble;
+		final String body;
+		/** The standalone document of the text alone: its key in the cache. */
+		final String document;
+		final CompletableFuture<Tuple<Image, String>> result;
+		final Supplier<CompilationPriority> priority;
+		/** The priority read at the last take of a batch. */
+		CompilationPriority currentPriority;
+		/** The time (in ns) the text started waiting. */
+		long submission;
+
+		Request(final String reqPreamble, final String reqBody, final Supplier<CompilationPriority> reqPriority) {
+			preamble = reqPreamble;
+			body = reqBody;
+			document = getDocument(reqPreamble, reqBody);
+			result = new CompletableFuture<>();
+			priority = reqPriority;
+			currentPriority = CompilationPriority.BACKGROUND;
+		}
+	}
+}
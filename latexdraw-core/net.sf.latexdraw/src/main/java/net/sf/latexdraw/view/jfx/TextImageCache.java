@@ -0,0 +1,330 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import javax.imageio.ImageIO;
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.util.LFileUtils;
+import net.sf.latexdraw.util.LPath;
+
+/**
+ * A cache of the compiled pictures of the texts, addressed by the content of the LaTeX document compiled to produce them
+ * (the text, the packages, the colour, and the scale are part of this document).
+ * The cache has two levels: a bounded in-memory LRU cache of the JFX images, and a bounded on-disk store of PNG pictures
+ * (in the user cache directory) that survives the application.
+ * Only successful compilations are cached. This class is thread-safe.
+ * @author Arnaud Blouin
+ */
+public final class TextImageCache {
+	/** The default maximal size (in bytes) of the images kept in memory. */
+	public static final long DEFAULT_MAX_MEMORY_SIZE = 64L * 1024L * 1024L;
+	/** The default maximal size (in bytes) of the pictures stored on disk. */
+	public static final long DEFAULT_MAX_DISK_SIZE = 256L * 1024L * 1024L;
+	/** The singleton. */
+	public static final TextImageCache INSTANCE = new TextImageCache(new File(LPath.PATH_CACHE_TEXTS_DIR));
+
+	private static final String PICTURE_FORMAT = "png"; //NON-NLS
+	private static final String PICTURE_EXTENSION = ".png"; //NON-NLS
+	private static final String TMP_EXTENSION = ".tmp"; //NON-NLS
+
+	/**
+	 * @param document A LaTeX document.
+	 * @return The key of the picture of the given document: the SHA-256 hash of the document.
+	 */
+	static String getKey(final String document) {
+		return LFileUtils.INSTANCE.getDigest(document);
+	}
+
+	/**
+	 * @return The size (in bytes) of the given image in memory.
+	 */
+	private static long getSize(final Image image) {
+		return (long) image.getWidth() * (long) image.getHeight() * 4L;
+	}
+
+
+	/** The directory of the pictures stored on disk. */
+	private final File dir;
+	/** The images in memory by key, from the least recently used to the most recently used. */
+	private final Map<String, Image> memory;
+	private long memorySize;
+	private long maxMemorySize;
+	/** The size of the pictures stored on disk. Negative while not computed. */
+	private long diskSize;
+	private long maxDiskSize;
+	private final AtomicLong memoryHits;
+	private final AtomicLong diskHits;
+	private final AtomicLong misses;
+
+	/**
+	 * Creates the cache.
+	 * @param cacheDir The directory where the pictures are stored. Created if it does not exist.
+	 */
+	TextImageCache(final File cacheDir) {
+		super();
+		dir = cacheDir;
+		memory = new LinkedHashMap<>(16, 0.75f, true);
+		memorySize = 0L;
+		maxMemorySize = DEFAULT_MAX_MEMORY_SIZE;
+		diskSize = -1L;
+		maxDiskSize = DEFAULT_MAX_DISK_SIZE;
+		memoryHits = new AtomicLong();
+		diskHits = new AtomicLong();
+		misses = new AtomicLong();
+	}
+
+	/**
+	 * Looks for the picture of the given document in memory only. Fast enough to be called on the JFX thread.
+	 * A miss is not counted since the picture may be on disk.
+	 * @param document The LaTeX document of the text.
+	 * @return The cached image or nothing.
+	 */
+	public synchronized Optional<Image> getFromMemory(final String document) {
+		final Image image = memory.get(getKey(document));
+		if(image != null) {
+			memoryHits.incrementAndGet();
+		}
+		return Optional.ofNullable(image);
+	}
+
+	/**
+	 * Looks for the picture of the given document in memory, then on disk.
+	 * @param document The LaTeX document of the text.
+	 * @return The cached image or nothing.
+	 */
+	public Optional<Image> get(final String document) {
+		final Optional<Image> inMemory = getFromMemory(document);
+		if(inMemory.isPresent()) {
+			return inMemory;
+		}
+
+		final String key = getKey(document);
+		final File file = getFile(key);
+
+		if(file.isFile()) {
+			try {
+				final BufferedImage bi = ImageIO.read(file);
+				if(bi != null) {
+					final Image image = SwingFXUtils.toFXImage(bi, null);
+					bi.flush();
+					// The last modification date gives the least recently used pictures on disk.
+					file.setLastModified(System.currentTimeMillis());
+					putInMemory(key, image);
+					diskHits.incrementAndGet();
+					return Optional.of(image);
+				}
+			}catch(final IOException ex) {
+				BadaboomCollector.INSTANCE.add(ex);
+			}
+		}
+
+		misses.incrementAndGet();
+		return Optional.empty();
+	}
+
+	/**
+	 * Caches the picture of the given document.
+	 * @param document The LaTeX document of the text.
+	 * @param picture The compiled picture of the document.
+	 * @return The JFX image of the picture, as cached.
+	 */
+	public Image put(final String document, final BufferedImage picture) {
+		final String key = getKey(document);
+		final Image image = SwingFXUtils.toFXImage(picture, null);
+
+		putInMemory(key, image);
+		store(key, picture);
+		return image;
+	}
+
+	private synchronized void putInMemory(final String key, final Image image) {
+		final Image former = memory.put(key, image);
+		if(former != null) {
+			memorySize -= getSize(former);
+		}
+		memorySize += getSize(image);
+		evictMemory();
+	}
+
+	/**
+	 * Removes the least recently used images until the size of the images in memory fits the maximal size.
+	 */
+	private void evictMemory() {
+		final Iterator<Image> it = memory.values().iterator();
+		while(memorySize > maxMemorySize && it.hasNext()) {
+			memorySize -= getSize(it.next());
+			it.remove();
+		}
+	}
+
+	private File getFile(final String key) {
+		return new File(dir, key + PICTURE_EXTENSION);
+	}
+
+	/**
+	 * Stores the given picture on disk. The picture is written in a temporary file moved at the end, so that a picture
+	 * being written is never read.
+	 */
+	private void store(final String key, final BufferedImage picture) {
+		final File file = getFile(key);
+
+		if(file.isFile() || (!dir.isDirectory() && !dir.mkdirs())) {
+			return;
+		}
+
+		try {
+			final File tmp = File.createTempFile(key, TMP_EXTENSION, dir);
+			if(ImageIO.write(picture, PICTURE_FORMAT, tmp)) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				onStored(file.length());
+			}else {
+				Files.deleteIfExists(tmp.toPath());
+			}
+		}catch(final IOException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+		}
+	}
+
+	private synchronized void onStored(final long size) {
+		if(diskSize < 0L) {
+			diskSize = getPictures().stream().mapToLong(f -> f.length()).sum();
+		}else {
+			diskSize += size;
+		}
+		evictDisk();
+	}
+
+	/**
+	 * Removes the least recently used pictures until the size of the pictures on disk fits the maximal size.
+	 */
+	private void evictDisk() {
+		if(diskSize <= maxDiskSize) {
+			return;
+		}
+
+		final Iterator<File> it = getPictures().stream().sorted(Comparator.comparingLong(f -> f.lastModified())).iterator();
+		while(diskSize > maxDiskSize && it.hasNext()) {
+			final File file = it.next();
+			final long size = file.length();
+			if(file.delete()) {
+				diskSize -= size;
+			}
+		}
+	}
+
+	/**
+	 * @return The pictures stored on disk.
+	 */
+	private List<File> getPictures() {
+		final File[] files = dir.listFiles((d, name) -> name.endsWith(PICTURE_EXTENSION));
+		return files == null ? Collections.emptyList() : Arrays.asList(files);
+	}
+
+	/**
+	 * Removes the images kept in memory. The pictures stored on disk are kept.
+	 */
+	public synchronized void clearMemory() {
+		memory.clear();
+		memorySize = 0L;
+	}
+
+	/**
+	 * Removes the images kept in memory and the pictures stored on disk.
+	 */
+	public synchronized void clear() {
+		clearMemory();
+		getPictures().forEach(f -> f.delete());
+		diskSize = 0L;
+	}
+
+	/**
+	 * @param max The maximal size (in bytes) of the images kept in memory. Nothing done if negative.
+	 */
+	public synchronized void setMaxMemorySize(final long max) {
+		if(max >= 0L) {
+			maxMemorySize = max;
+			evictMemory();
+		}
+	}
+
+	/**
+	 * @param max The maximal size (in bytes) of the pictures stored on disk. Nothing done if negative.
+	 */
+	public synchronized void setMaxDiskSize(final long max) {
+		if(max >= 0L) {
+			maxDiskSize = max;
+			if(diskSize < 0L) {
+				diskSize = getPictures().stream().mapToLong(f -> f.length()).sum();
+			}
+			evictDisk();
+		}
+	}
+
+	/**
+	 * @return The size (in bytes) of the images kept in memory.
+	 */
+	public synchronized long getMemorySize() {
+		return memorySize;
+	}
+
+	/**
+	 * @return The number of images kept in memory.
+	 */
+	public synchronized int getNbImagesInMemory() {
+		return memory.size();
+	}
+
+	/**
+	 * @return The number of pictures found in memory.
+	 */
+	public long getMemoryHits() {
+		return memoryHits.get();
+	}
+
+	/**
+	 * @return The number of pictures found on disk (and not in memory).
+	 */
+	public long getDiskHits() {
+		return diskHits.get();
+	}
+
+	/**
+	 * @return The number of pictures found neither in memory nor on disk.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Sets the hit and miss counters to zero.
+	 */
+	public void resetCounters() {
+		memoryHits.set(0L);
+		diskHits.set(0L);
+		misses.set(0L);
+	}
+}
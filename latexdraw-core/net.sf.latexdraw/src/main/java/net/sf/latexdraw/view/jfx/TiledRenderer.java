@@ -0,0 +1,176 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Scale;
+import net.sf.latexdraw.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+
+/**
+ * Rasterises the shapes of a drawing into tiles of the resolution of the current zoom level, shown as images.
+ * The tiles are kept while they intersect the visible area: scrolling only renders the new tiles.
+ * A tile is rendered again only when a painting that intersects it changes (or when the zoom changes),
+ * so that the cost of editing a shape does not depend on the size of the drawing.
+ * @author Arnaud Blouin
+ */
+class TiledRenderer extends ShapesRenderer {
+	/** The width and height (in pixels) of the tiles. */
+	static final int TILE_SIZE = 512;
+
+	private static long getTileKey(final int col, final int row) {
+		return ((long) col << 32) | (row & 0xffffffffL);
+	}
+
+	private static int getTileColumn(final long key) {
+		return (int) (key >> 32);
+	}
+
+	private static int getTileRow(final long key) {
+		return (int) key;
+	}
+
+
+	/** The tiles of the current resolution, by position in the grid of tiles. */
+	final Map<Long, ImageView> tiles;
+	/** The scale applied to the tiles to match the zoom of the drawing. */
+	private final Scale scale;
+	/** The JFX canvas where the tiles are painted before being copied in their image. */
+	private final javafx.scene.canvas.Canvas tileCanvas;
+	private final SnapshotParameters snapshotParameters;
+
+	/**
+	 * Creates the renderer.
+	 * @param dr The drawing to paint.
+	 * @param paintedShapes Tests whether a shape must be painted.
+	 */
+	TiledRenderer(final IDrawing dr, final Predicate<IShape> paintedShapes) {
+		super(dr, paintedShapes);
+		tiles = new HashMap<>();
+		scale = new Scale(1d, 1d, 0d, 0d);
+		tileCanvas = new javafx.scene.canvas.Canvas(TILE_SIZE, TILE_SIZE);
+		snapshotParameters = new SnapshotParameters();
+		snapshotParameters.setFill(Color.TRANSPARENT);
+		getTransforms().add(scale);
+	}
+
+	/**
+	 * @return The size of a tile in the coordinate system of the shapes.
+	 */
+	private double getTileUnit() {
+		return TILE_SIZE / resolution;
+	}
+
+	private Rectangle2D getTileBounds(final int col, final int row) {
+		final double unit = getTileUnit();
+		return new Rectangle2D.Double(col * unit, row * unit, unit, unit);
+	}
+
+	@Override
+	protected void onAreaChanged(final boolean resolutionChanged) {
+		// The tiles are specific to a zoom level.
+		if(resolutionChanged) {
+			clearRendering();
+		}
+
+		scale.setX(1d / resolution);
+		scale.setY(1d / resolution);
+		setLayoutX(Canvas.ORIGIN.getX());
+		setLayoutY(Canvas.ORIGIN.getY());
+
+		final double unit = getTileUnit();
+		final int minCol = (int) Math.floor(area.getMinX() / unit);
+		final int maxCol = (int) Math.floor(area.getMaxX() / unit);
+		final int minRow = (int) Math.floor(area.getMinY() / unit);
+		final int maxRow = (int) Math.floor(area.getMaxY() / unit);
+
+		// The tiles out of the area are dropped.
+		tiles.entrySet().removeIf(entry -> {
+			final int col = getTileColumn(entry.getKey());
+			final int row = getTileRow(entry.getKey());
+			if(col < minCol || col > maxCol || row < minRow || row > maxRow) {
+				getChildren().remove(entry.getValue());
+				return true;
+			}
+			return false;
+		});
+
+		// The missing tiles are created and must be rendered.
+		for(int col = minCol; col <= maxCol; col++) {
+			for(int row = minRow; row <= maxRow; row++) {
+				final long key = getTileKey(col, row);
+				if(!tiles.containsKey(key)) {
+					final ImageView tile = new ImageView(new WritableImage(TILE_SIZE, TILE_SIZE));
+					tile.setLayoutX((double) col * TILE_SIZE);
+					tile.setLayoutY((double) row * TILE_SIZE);
+					tiles.put(key, tile);
+					getChildren().add(tile);
+					addDirty(getTileBounds(col, row));
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void render(final List<Rectangle2D> regions) {
+		final double unit = getTileUnit();
+		// A tile covered by several regions is rendered once.
+		final Set<Long> keys = new LinkedHashSet<>();
+
+		regions.forEach(region -> {
+			final int minCol = (int) Math.floor(region.getMinX() / unit);
+			final int maxCol = (int) Math.floor(region.getMaxX() / unit);
+			final int minRow = (int) Math.floor(region.getMinY() / unit);
+			final int maxRow = (int) Math.floor(region.getMaxY() / unit);
+
+			for(int col = minCol; col <= maxCol; col++) {
+				for(int row = minRow; row <= maxRow; row++) {
+					keys.add(getTileKey(col, row));
+				}
+			}
+		});
+
+		keys.forEach(key -> {
+			final ImageView tile = tiles.get(key);
+			if(tile != null) {
+				renderTile(tile, getTileBounds(getTileColumn(key), getTileRow(key)));
+			}
+		});
+	}
+
+	private void renderTile(final ImageView tile, final Rectangle2D bounds) {
+		final GraphicsContext gc = tileCanvas.getGraphicsContext2D();
+		gc.clearRect(0d, 0d, TILE_SIZE, TILE_SIZE);
+		gc.save();
+		gc.scale(resolution, resolution);
+		gc.translate(-bounds.getX(), -bounds.getY());
+		paintShapes(gc, bounds);
+		gc.restore();
+		tileCanvas.snapshot(snapshotParameters, (WritableImage) tile.getImage());
+	}
+
+	@Override
+	protected void clearRendering() {
+		tiles.clear();
+		getChildren().clear();
+	}
+}
@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import javafx.beans.binding.Bindings;
 import javafx.beans.value.ChangeListener;
 import javafx.scene.shape.Shape;
 import net.sf.latexdraw.models.interfaces.shape.IArrow;
@@ -41,6 +42,8 @@ abstract class ViewArrowableTrait<T extends Shape, S extends IArrowableSingleSha
 
 		for(int i = 0, size = model.getNbArrows(); i < size; i++) {
 			final ViewArrow viewArrow = new ViewArrow(model.getArrowAt(i));
+			// Coarse views have no arrow.
+			viewArrow.visibleProperty().bind(Bindings.createBooleanBinding(() -> !view.getLevelOfDetail().isCoarse(), view.levelOfDetailProperty()));
 			arrows.add(viewArrow);
 			getChildren().addAll(viewArrow);
 			model.getArrowAt(i).setOnArrowChanged(() -> updateArrows(arrows.indexOf(viewArrow)));
@@ -134,6 +137,7 @@ abstract class ViewArrowableTrait<T extends Shape, S extends IArrowableSingleSha
 		model.dbleBordProperty().removeListener(updateArrow);
 		model.dbleBordSepProperty().removeListener(updateArrow);
 		model.getArrows().forEach(arr -> arr.setOnArrowChanged(null));
+		arrows.forEach(arr -> arr.visibleProperty().unbind());
 		model.getPoints().forEach(pt -> {
 			pt.xProperty().removeListener(updateArrow);
 			pt.yProperty().removeListener(updateArrow);
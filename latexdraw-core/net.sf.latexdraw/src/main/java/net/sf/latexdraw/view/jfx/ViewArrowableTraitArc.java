@@ -11,8 +11,6 @@
 package net.sf.latexdraw.view.jfx;
 
 import javafx.scene.shape.Arc;
-import net.sf.latexdraw.models.MathUtils;
-import net.sf.latexdraw.models.interfaces.shape.IArrow;
 import net.sf.latexdraw.models.interfaces.shape.ICircleArc;
 
 /**
@@ -30,35 +28,9 @@ class ViewArrowableTraitArc extends ViewArrowableTrait<Arc, ICircleArc> {
 			return;
 		}
 
-		final double width = Math.max(arc.getRadiusX() * 2d, 1d);
-		double sAngle = model.getAngleStart();
-		double eAngle = model.getAngleEnd();
-		IArrow arr = model.getArrowAt(1);
-		final double gap = Math.atan(arr.getArrowShapeLength() / width);
-
-		if(arr.getArrowStyle().isReducingShape()) {
-			if(eAngle > sAngle) {
-				eAngle -= gap;
-			}else {
-				eAngle += gap;
-			}
-		}
-
-		arr = model.getArrowAt(0);
-		if(arr.getArrowStyle().isReducingShape()) {
-			if(eAngle > sAngle) {
-				sAngle += gap;
-			}else {
-				sAngle -= gap;
-			}
-		}
-
-		sAngle = Math.toDegrees(sAngle % (2d * Math.PI));
-		eAngle = Math.toDegrees(eAngle % (2d * Math.PI));
-
-		if(MathUtils.INST.equalsDouble(sAngle, eAngle)) {
-			eAngle += 0.1;
-		}
+		final double[] angles = ShapeGeometry.INSTANCE.getArcAnglesWithoutArrows(model, arc.getRadiusX() * 2d);
+		final double sAngle = angles[0];
+		final double eAngle = angles[1];
 
 		final Arc clip = new Arc(arc.getCenterX(), arc.getCenterY(), arc.getRadiusX(), arc.getRadiusY(), sAngle, eAngle - sAngle);
 		clip.setType(arc.getType());
@@ -14,10 +14,7 @@ import javafx.beans.value.ChangeListener;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Path;
 import javafx.scene.text.Text;
-import net.sf.latexdraw.models.interfaces.shape.AxesStyle;
-import net.sf.latexdraw.models.interfaces.shape.IArrow;
 import net.sf.latexdraw.models.interfaces.shape.IAxes;
-import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.models.interfaces.shape.PlottingStyle;
 import net.sf.latexdraw.view.GenericAxes;
 
@@ -77,55 +74,14 @@ public class ViewAxes extends ViewStdGrid<IAxes> implements GenericAxes<Text> {
 	}
 
 
-	private void updatePathFrame() {
-		final double endx = model.getGridEndX();
-		final double endy = model.getGridEndY();
-
-		if(endx > 0d || endy > 0d) {
-			final double y1 = endy > 0d ? -endy * IShape.PPC : 0d;
-			final double x2 = endx > 0d ? +endx * IShape.PPC : 0d;
-
-			mainAxes.getElements().add(ViewFactory.INSTANCE.createMoveTo(0d, y1));
-			mainAxes.getElements().add(ViewFactory.INSTANCE.createLineTo(x2, y1));
-			mainAxes.getElements().add(ViewFactory.INSTANCE.createLineTo(x2, 0d));
-			mainAxes.getElements().add(ViewFactory.INSTANCE.createLineTo(0d, 0d));
-			mainAxes.getElements().add(ViewFactory.INSTANCE.createClosePath());
-		}
-	}
-
-
-	private void updatePathAxes() {
-		final IArrow arr0 = model.getArrowAt(1);
-		final IArrow arr1 = model.getArrowAt(3);
-		final double arr0Reduction = arr0.getArrowStyle().needsLineReduction() ? arr0.getArrowShapedWidth() : 0d;
-		final double arr1Reduction = arr1.getArrowStyle().needsLineReduction() ? arr1.getArrowShapedWidth() : 0d;
-
-		mainAxes.getElements().add(ViewFactory.INSTANCE.createMoveTo(model.getGridStartX() * IShape.PPC + arr0Reduction, 0d));
-		mainAxes.getElements().add(ViewFactory.INSTANCE.createLineTo(model.getGridEndX() * IShape.PPC - arr1Reduction, 0d));
-		mainAxes.getElements().add(ViewFactory.INSTANCE.createMoveTo(0d, -model.getGridStartY() * IShape.PPC - arr0Reduction));
-		mainAxes.getElements().add(ViewFactory.INSTANCE.createLineTo(0d, -model.getGridEndY() * IShape.PPC + arr1Reduction));
-	}
-
-
 	public void updatePath(final boolean axes, final boolean ticks, final boolean texts, final boolean arrows) {
-		final AxesStyle axesStyle = model.getAxesStyle();
-
 		if(arrows || axes) {
 //			viewArrows.update(model.getAxesStyle().supportsArrows());
 		}
 
 		if(axes) {
 			mainAxes.getElements().clear();
-			switch(axesStyle) {
-				case AXES:
-					updatePathAxes();
-					break;
-				case FRAME:
-					updatePathFrame();
-					break;
-				case NONE:
-					break;
-			}
+			ShapeGeometry.INSTANCE.axes(model, ShapeGeometry.INSTANCE.toElements(mainAxes.getElements()));
 		}
 
 		if(ticks) {
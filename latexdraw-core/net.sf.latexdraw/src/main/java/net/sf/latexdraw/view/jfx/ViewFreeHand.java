@@ -10,17 +10,30 @@
  */
 package net.sf.latexdraw.view.jfx;
 
+import java.util.ArrayList;
 import java.util.List;
 import javafx.beans.value.ChangeListener;
+import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.models.interfaces.shape.IFreehand;
-import net.sf.latexdraw.models.interfaces.shape.IPoint;
 
 /**
  * The JFX view of a freehand model.
+ * When points are appended to the model or when its last point is moved, the path is updated from its last point
+ * instead of being rebuilt. Coarse views render a decimated path.
  * @author Arnaud Blouin
  */
 public class ViewFreeHand extends ViewPathShape<IFreehand> {
 	private final ChangeListener<Object> update = (observable, oldValue, newValue) -> setPath();
+	private final ChangeListener<Number> pointsUpdate = (observable, oldValue, newValue) -> onPointsChanged();
+	private final ChangeListener<LevelOfDetail> lodUpdate = (observable, oldValue, newValue) -> setPath();
+	/** Builds the path of the model. */
+	private final FreeHandPath builder;
+	/** The geometry version of the model when the path was last built or updated. */
+	private long renderedVersion;
+	/** The number of points of the model rendered in the path. */
+	private int nbRenderedPts;
+	/** The interval between the points used to build the path: the interval of the model, increased when decimated. */
+	private int renderedInterval;
 
 
 	/**
@@ -29,143 +42,71 @@ public class ViewFreeHand extends ViewPathShape<IFreehand> {
 	 */
 	ViewFreeHand(final IFreehand sh) {
 		super(sh);
+		builder = new FreeHandPath(sh);
 
-		// To update on translation. To improve.
-		if(!model.getPoints().isEmpty()) {
-			model.getPoints().get(model.getPoints().size() - 1).xProperty().addListener(update);
-			model.getPoints().get(model.getPoints().size() - 1).yProperty().addListener(update);
-		}
-
+		// Notified once per modification of the points (or once per batch of modifications).
+		model.geometryVersionProperty().addListener(pointsUpdate);
 		model.intervalProperty().addListener(update);
 		model.typeProperty().addListener(update);
 		model.openedProperty().addListener(update);
+		levelOfDetail.addListener(lodUpdate);
 
 		setPath();
 	}
 
 
-	private void setPath() {
-		border.getElements().clear();
-		shadow.getElements().clear();
-
-		if(model.getNbPoints() > 1) {
-			switch(model.getType()) {
-				case CURVES:
-					setPathCurves();
-					break;
-				case LINES:
-					setPathLines();
-					break;
-			}
-
-			if(!model.isOpened()) {
-				border.getElements().add(ViewFactory.INSTANCE.createClosePath());
-			}
-
-			shadow.getElements().addAll(border.getElements());
+	private void onPointsChanged() {
+		if(nbRenderedPts > renderedInterval + 1 && model.getNbPoints() >= nbRenderedPts && computeInterval() == renderedInterval &&
+			model.getNbUnchangedPointsSince(renderedVersion) >= nbRenderedPts - 1) {
+			updatePath();
+		}else {
+			setPath();
 		}
 	}
 
 
 	/**
-	 * Fills the path of curves.
+	 * @return The interval between the points used to build the path, according to the level of detail.
 	 */
-	private void setPathCurves() {
+	private int computeInterval() {
 		final int interval = model.getInterval();
-		final List<IPoint> pts = model.getPoints();
-		final int size = pts.size();
-		double prevx = pts.get(size - 1).getX();
-		double prevy = pts.get(size - 1).getY();
-		double curx = pts.get(0).getX();
-		double cury = pts.get(0).getY();
-		double midx = (curx + prevx) / 2d;
-		double midy = (cury + prevy) / 2d;
-		int i;
-		double x1;
-		double x2;
-		double y1;
-		double y2;
-
-		border.getElements().add(ViewFactory.INSTANCE.createMoveTo(curx, cury));
-
-		// Starting the drawing of the shape with a line.
-		if(size > interval) {
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(interval).getX();
-			cury = pts.get(interval).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-
-			border.getElements().add(ViewFactory.INSTANCE.createLineTo(midx, midy));
-		}
+		return interval * getLevelOfDetail().getDecimationStep(model.getNbPoints() / Math.max(1, interval));
+	}
 
-		// Adding curves
-		for(i = interval * 2; i < size; i += interval) {
-			x1 = (midx + curx) / 2d;
-			y1 = (midy + cury) / 2d;
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(i).getX();
-			cury = pts.get(i).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-			x2 = (prevx + midx) / 2d;
-			y2 = (prevy + midy) / 2d;
-
-			border.getElements().add(ViewFactory.INSTANCE.createCubicCurveTo(x1, y1, x2, y2, midx, midy));
-		}
 
-		// If it remains not used points.
-		if(i - interval + 1 < size) {
-			x1 = (midx + curx) / 2d;
-			y1 = (midy + cury) / 2d;
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(size - 1).getX();
-			cury = pts.get(size - 1).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-			x2 = (prevx + midx) / 2d;
-			y2 = (prevy + midy) / 2d;
-
-			border.getElements().add(ViewFactory.INSTANCE.createCubicCurveTo(x1, y1, x2, y2, pts.get(size - 1).getX(), pts.get(size - 1).getY()));
-		}
+	private void setPath() {
+		final List<PathElement> elts = new ArrayList<>();
+		nbRenderedPts = model.getNbPoints();
+		renderedInterval = computeInterval();
+		renderedVersion = model.geometryVersionProperty().get();
+		builder.build(renderedInterval, ShapeGeometry.INSTANCE.toElements(elts));
+		border.getElements().setAll(elts);
+		shadow.getElements().setAll(elts);
 	}
 
 
 	/**
-	 * Fills the path of lines.
+	 * Updates the path from its last rendered point: the elements built from this point are replaced.
 	 */
-	private void setPathLines() {
-		final int interval = model.getInterval();
-		final List<IPoint> pts = model.getPoints();
-		final int size = pts.size();
-		IPoint pt = pts.get(0);
-		int i;
-
-		border.getElements().add(ViewFactory.INSTANCE.createMoveTo(pt.getX(), pt.getY()));
-
-		for(i = interval; i < size; i += interval) {
-			pt = pts.get(i);
-			border.getElements().add(ViewFactory.INSTANCE.createLineTo(pt.getX(), pt.getY()));
-		}
-
-		if(i - interval < size) {
-			border.getElements().add(ViewFactory.INSTANCE.createLineTo(pts.get(size - 1).getX(), pts.get(size - 1).getY()));
-		}
+	private void updatePath() {
+		final List<PathElement> elts = new ArrayList<>();
+		final int from = builder.getNbEltsBeforeLastPoint();
+		nbRenderedPts = model.getNbPoints();
+		renderedVersion = model.geometryVersionProperty().get();
+		border.getElements().remove(from, border.getElements().size());
+		shadow.getElements().remove(from, shadow.getElements().size());
+		builder.resume(ShapeGeometry.INSTANCE.toElements(elts));
+		border.getElements().addAll(elts);
+		shadow.getElements().addAll(elts);
 	}
 
 	@Override
 	public void flush() {
-		if(!border.getElements().isEmpty()) {
-			model.getPoints().get(model.getPoints().size() - 1).xProperty().removeListener(update);
-			model.getPoints().get(model.getPoints().size() - 1).yProperty().removeListener(update);
-		}
-
+		model.geometryVersionProperty().removeListener(pointsUpdate);
 		model.intervalProperty().removeListener(update);
 		model.typeProperty().removeListener(update);
 		model.openedProperty().removeListener(update);
+		levelOfDetail.removeListener(lodUpdate);
 
 		super.flush();
 	}
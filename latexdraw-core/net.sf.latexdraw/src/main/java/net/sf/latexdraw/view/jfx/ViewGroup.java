@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.view.jfx;
 
+import java.util.List;
 import java.util.stream.Collectors;
 import javafx.scene.Group;
 import net.sf.latexdraw.models.interfaces.shape.IGroup;
@@ -29,13 +30,25 @@ public class ViewGroup extends ViewShape<IGroup> {
 		super(gp);
 		group = new Group();
 		group.getChildren().addAll(model.getShapes().stream().map(sh -> ViewFactory.INSTANCE.createView(sh).get()).collect(Collectors.toList()));
+		// The views of the shapes of the group follow the level of detail of the group.
+		group.getChildren().forEach(ch -> ((ViewShape<?>) ch).levelOfDetailProperty().bind(levelOfDetail));
 		getChildren().add(group);
 	}
 
+	/**
+	 * @return The views of the shapes of the group.
+	 */
+	List<ViewShape<?>> getViews() {
+		return group.getChildren().stream().map(ch -> (ViewShape<?>) ch).collect(Collectors.toList());
+	}
+
 	@Override
 	public void flush() {
 		super.flush();
-		group.getChildren().forEach(ch -> ((ViewShape<?>) ch).flush());
+		group.getChildren().forEach(ch -> {
+			((ViewShape<?>) ch).levelOfDetailProperty().unbind();
+			((ViewShape<?>) ch).flush();
+		});
 		group.getChildren().clear();
 	}
 }
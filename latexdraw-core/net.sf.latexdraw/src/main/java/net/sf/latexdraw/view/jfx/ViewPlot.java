@@ -10,8 +10,6 @@
  */
 package net.sf.latexdraw.view.jfx;
 
-import java.util.List;
-import java.util.stream.Collectors;
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import net.sf.latexdraw.models.interfaces.shape.IPlot;
@@ -25,7 +23,7 @@ public class ViewPlot extends ViewPositionShape<IPlot> {
 	private ViewPolyline lineView;
 	private ViewPolygon polygonView;
 	private ViewBezierCurve curveView;
-	private List<ViewDot> dotsView;
+	private ViewPlotDots dotsView;
 	private final ChangeListener<Object> updatePath = (observable, oldValue, newValue) -> Platform.runLater(() -> updatePath());
 
 	/**
@@ -71,7 +69,7 @@ public class ViewPlot extends ViewPositionShape<IPlot> {
 				updateCurve(minX, maxX, step);
 				break;
 			case DOTS:
-				updatePoints(minX, maxX, step);
+				updatePoints();
 				break;
 			case POLYGON:
 				updatePolygon(minX, maxX, step);
@@ -80,14 +78,10 @@ public class ViewPlot extends ViewPositionShape<IPlot> {
 	}
 
 
-	private void updatePoints(final double minX, final double maxX, final double step) {
+	private void updatePoints() {
 		flushDots();
-		dotsView = PlotViewHelper.INSTANCE.updatePoints(model, 0d, 0d, minX, maxX, step).parallelStream().map(dot -> {
-			final ViewDot viewDot = new ViewDot(dot);
-			viewDot.setUserData(this);
-			return viewDot;
-		}).collect(Collectors.toList());
-		getChildren().addAll(dotsView);
+		dotsView = new ViewPlotDots(model, 0d, 0d, 0);
+		getChildren().add(dotsView);
 	}
 
 	private void updatePolygon(final double minX, final double maxX, final double step) {
@@ -153,9 +147,7 @@ public class ViewPlot extends ViewPositionShape<IPlot> {
 	}
 
 	private void flushDots() {
-		if(dotsView != null) {
-			dotsView.forEach(v -> v.flush());
-			dotsView.clear();
-		}
+		// The dots view does not listen to the model.
+		dotsView = null;
 	}
 }
@@ -0,0 +1,115 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.scene.Group;
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.HLineTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.QuadCurveTo;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.VLineTo;
+import net.sf.latexdraw.models.interfaces.shape.IDot;
+import net.sf.latexdraw.models.interfaces.shape.IPlot;
+
+/**
+ * The JFX view of the dots of a plot (DOTS plot style).
+ * The dot of the plot is drawn once for all the plotted points using two paths: one for the round part of the dots,
+ * one for their other parts. No dot shape or view is created per plotted point.
+ * This view does not listen to the plot: it must be re-created when the plot changes.
+ * @author Arnaud Blouin
+ */
+public class ViewPlotDots extends Group {
+	/** The round parts of the dots (DOT, O, OPLUS, and OTIMES styles). */
+	final Path circles;
+	/** The other parts of the dots. */
+	final Path markers;
+
+	/**
+	 * Creates the dots of a plot.
+	 * @param plot The plot. Cannot be null.
+	 * @param posX The X-coordinate of the position of the plot.
+	 * @param posY The Y-coordinate of the position of the plot.
+	 * @param firstPt The index of the first plotted point to draw.
+	 * @throws NullPointerException If the given plot is null.
+	 */
+	public ViewPlotDots(final IPlot plot, final double posX, final double posY, final int firstPt) {
+		super();
+		circles = new Path();
+		markers = new Path();
+		getChildren().addAll(circles, markers);
+
+		// The dot of the plot located at the origin gives the style of all the dots.
+		final IDot dot = ShapeGeometry.INSTANCE.createPlotDot(plot);
+		final List<PathElement> roundElts = new ArrayList<>();
+		final List<PathElement> markerElts = new ArrayList<>();
+
+		circles.setVisible(ShapeGeometry.INSTANCE.hasDotCircle(dot.getDotStyle()));
+		circles.setStroke(dot.getLineColour().toJFX());
+		circles.setFill(ShapeStyle.INSTANCE.getDotCircleFill(dot));
+		circles.setStrokeWidth(ShapeStyle.INSTANCE.getDotCircleStrokeWidth(dot));
+		circles.setStrokeLineCap(StrokeLineCap.SQUARE);
+		markers.setVisible(ShapeGeometry.INSTANCE.hasDotMarkers(dot.getDotStyle()));
+		markers.setStroke(dot.getLineColour().toJFX());
+		markers.setFill(ShapeStyle.INSTANCE.getDotMarkersFill(dot));
+		markers.setStrokeWidth(ShapeStyle.INSTANCE.getDotMarkersStrokeWidth(dot));
+		markers.setStrokeLineCap(ShapeStyle.INSTANCE.getDotMarkersLineCap(dot));
+
+		ShapeGeometry.INSTANCE.plotDots(plot, posX, posY, firstPt, ShapeGeometry.INSTANCE.toElements(roundElts),
+			ShapeGeometry.INSTANCE.toElements(markerElts));
+		circles.getElements().setAll(roundElts);
+		markers.getElements().setAll(markerElts);
+	}
+
+	/**
+	 * @return A copy of the given dot path element translated (relative elements are copied as is).
+	 * @throws IllegalArgumentException If the type of the path element is not supported.
+	 */
+	static PathElement translate(final PathElement elt, final double tx, final double ty) {
+		final double dx = elt.isAbsolute() ? tx : 0d;
+		final double dy = elt.isAbsolute() ? ty : 0d;
+		final PathElement copy;
+
+		if(elt instanceof MoveTo) {
+			copy = ViewFactory.INSTANCE.createMoveTo(((MoveTo) elt).getX() + dx, ((MoveTo) elt).getY() + dy);
+		}else if(elt instanceof LineTo) {
+			copy = ViewFactory.INSTANCE.createLineTo(((LineTo) elt).getX() + dx, ((LineTo) elt).getY() + dy);
+		}else if(elt instanceof HLineTo) {
+			copy = new HLineTo(((HLineTo) elt).getX() + dx);
+		}else if(elt instanceof VLineTo) {
+			copy = new VLineTo(((VLineTo) elt).getY() + dy);
+		}else if(elt instanceof CubicCurveTo) {
+			final CubicCurveTo curve = (CubicCurveTo) elt;
+			copy = ViewFactory.INSTANCE.createCubicCurveTo(curve.getControlX1() + dx, curve.getControlY1() + dy, curve.getControlX2() + dx,
+				curve.getControlY2() + dy, curve.getX() + dx, curve.getY() + dy);
+		}else if(elt instanceof QuadCurveTo) {
+			final QuadCurveTo curve = (QuadCurveTo) elt;
+			copy = new QuadCurveTo(curve.getControlX() + dx, curve.getControlY() + dy, curve.getX() + dx, curve.getY() + dy);
+		}else if(elt instanceof ArcTo) {
+			final ArcTo arc = (ArcTo) elt;
+			copy = new ArcTo(arc.getRadiusX(), arc.getRadiusY(), arc.getXAxisRotation(), arc.getX() + dx, arc.getY() + dy, arc.isLargeArcFlag(), arc.isSweepFlag());
+		}else if(elt instanceof ClosePath) {
+			copy = ViewFactory.INSTANCE.createClosePath();
+		}else {
+			throw new IllegalArgumentException("Unsupported path element: " + elt); //NON-NLS
+		}
+
+		copy.setAbsolute(elt.isAbsolute());
+		return copy;
+	}
+}
@@ -10,29 +10,47 @@
  */
 package net.sf.latexdraw.view.jfx;
 
-import java.util.stream.IntStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
-import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.models.interfaces.shape.IModifiablePointsShape;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 
 /**
  * The JFX shape view for multipoints shapes.
+ * Coarse views render a decimated path: the element i of the path is located at the point i*step of the model (the last element
+ * at the last point).
+ * The shadow and the double border share the path elements of the border: the geometry is updated once for the three paths.
  * @author Arnaud Blouin
  */
 public abstract class ViewPolyPoint<T extends IModifiablePointsShape> extends ViewPathShape<T> {
+	/** Updates the paths once per modification of the points (or once per batch of modifications). */
+	private final ChangeListener<Number> geometryUpdate = (observable, oldValue, newValue) -> updatePaths();
+	private final ChangeListener<LevelOfDetail> lodUpdate = (observable, oldValue, newValue) -> updateDecimation();
+	/** Gives the elements of the border to the shadow and the double border when they change. */
+	private final ListChangeListener<PathElement> eltsUpdate = evt -> shareElements();
+	/** The step between two points of the model rendered in the paths. */
+	private int step;
+
 	/**
 	 * Creates the view.
 	 * @param sh The model.
 	 */
 	ViewPolyPoint(final T sh) {
 		super(sh);
-		initPath(border);
-		initPath(shadow);
-		initPath(dblBorder);
+		step = 1;
+		border.getElements().setAll(createElements());
+		shareElements();
+		border.getElements().addListener(eltsUpdate);
+		model.geometryVersionProperty().addListener(geometryUpdate);
+		levelOfDetail.addListener(lodUpdate);
 	}
 
 	@Override
@@ -51,26 +69,72 @@ public abstract class ViewPolyPoint<T extends IModifiablePointsShape> extends Vi
 	protected void bindRotationAngle() {
 	}
 
-	private void initPath(final Path path) {
-		final ObservableList<PathElement> elts = path.getElements();
-		final MoveTo moveTo = ViewFactory.INSTANCE.createMoveTo(0d, 0d);
-		moveTo.xProperty().bind(model.getPtAt(0).xProperty());
-		moveTo.yProperty().bind(model.getPtAt(0).yProperty());
-		elts.add(moveTo);
+	/**
+	 * @return The MoveTo/LineTo elements of the points rendered according to the decimation step.
+	 */
+	private List<PathElement> createElements() {
+		final List<PathElement> elts = new ArrayList<>();
+		ShapeGeometry.INSTANCE.polyPoints(model, step, ShapeGeometry.INSTANCE.toElements(elts));
+		return elts;
+	}
+
+	/**
+	 * The shadow and the double border use the elements of the border.
+	 */
+	private void shareElements() {
+		shadow.getElements().setAll(border.getElements());
+		dblBorder.getElements().setAll(border.getElements());
+	}
+
+	/**
+	 * Builds the paths again if the decimation step changed with the level of detail.
+	 */
+	private void updateDecimation() {
+		final int newStep = getLevelOfDetail().getDecimationStep(model.getNbPoints());
+		if(newStep != step) {
+			step = newStep;
+			rebuildPath();
+		}
+	}
+
+	/**
+	 * Builds the MoveTo/LineTo elements of the border again (in a single modification of the elements). The closing elements are kept.
+	 */
+	private void rebuildPath() {
+		final ObservableList<PathElement> elts = border.getElements();
+		final List<PathElement> newElts = createElements();
+		newElts.addAll(elts.stream().filter(elt -> elt instanceof ClosePath).collect(Collectors.toList()));
+		elts.stream().filter(elt -> !(elt instanceof ClosePath)).forEach(elt -> ViewFactory.INSTANCE.flushPathElement(elt));
+		elts.setAll(newElts);
+	}
+
+	/**
+	 * Moves the MoveTo/LineTo elements of the border (and thus of the shadow and the double border) to the current positions of the points.
+	 */
+	private void updatePaths() {
+		final ObservableList<PathElement> elts = border.getElements();
+		final int nbPts = model.getNbPoints();
+		final int size = Math.min(nbPts, elts.size());
 
-		IntStream.range(1, model.getNbPoints()).forEach(i -> {
-			final LineTo lineto = ViewFactory.INSTANCE.createLineTo(0d, 0d);
-			lineto.xProperty().bind(model.getPtAt(i).xProperty());
-			lineto.yProperty().bind(model.getPtAt(i).yProperty());
-			elts.add(lineto);
-		});
+		for(int i = 0; i < size; i++) {
+			final PathElement elt = elts.get(i);
+			final IPoint pt = model.getPtAt(Math.min(i * step, nbPts - 1));
+			if(elt instanceof MoveTo) {
+				((MoveTo) elt).setX(pt.getX());
+				((MoveTo) elt).setY(pt.getY());
+			}else if(elt instanceof LineTo) {
+				((LineTo) elt).setX(pt.getX());
+				((LineTo) elt).setY(pt.getY());
+			}
+		}
 	}
 
 	@Override
 	public void flush() {
+		model.geometryVersionProperty().removeListener(geometryUpdate);
+		levelOfDetail.removeListener(lodUpdate);
+		border.getElements().removeListener(eltsUpdate);
 		border.getElements().forEach(elt -> ViewFactory.INSTANCE.flushPathElement(elt));
-		shadow.getElements().forEach(elt -> ViewFactory.INSTANCE.flushPathElement(elt));
-		dblBorder.getElements().forEach(elt -> ViewFactory.INSTANCE.flushPathElement(elt));
 		super.flush();
 	}
 }
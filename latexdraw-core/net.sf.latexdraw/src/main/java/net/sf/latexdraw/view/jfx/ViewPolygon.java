@@ -23,7 +23,5 @@ public class ViewPolygon extends ViewPolyPoint<IPolygon> {
 	ViewPolygon(final IPolygon sh) {
 		super(sh);
 		border.getElements().add(ViewFactory.INSTANCE.createClosePath());
-		shadow.getElements().add(ViewFactory.INSTANCE.createClosePath());
-		dblBorder.getElements().add(ViewFactory.INSTANCE.createClosePath());
 	}
 }
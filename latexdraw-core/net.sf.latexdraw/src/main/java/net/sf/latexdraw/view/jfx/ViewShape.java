@@ -14,6 +14,8 @@ import java.util.Collection;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javafx.application.Platform;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.Parent;
@@ -32,6 +34,9 @@ public abstract class ViewShape<S extends IShape> extends Group {
 	/** The model of the view. */
 	protected final S model;
 
+	/** The level of detail of the view. Changing it updates the view in place. */
+	protected final ObjectProperty<LevelOfDetail> levelOfDetail;
+
 	/**
 	 * Creates the view.
 	 * @param sh The model.
@@ -39,6 +44,7 @@ public abstract class ViewShape<S extends IShape> extends Group {
 	ViewShape(final S sh) {
 		super();
 		model = sh;
+		levelOfDetail = new SimpleObjectProperty<>(LevelOfDetail.HIGH);
 
 		setUserData(model);
 		setFocusTraversable(false);
@@ -87,6 +93,28 @@ public abstract class ViewShape<S extends IShape> extends Group {
 		return model;
 	}
 
+	/**
+	 * @return The level of detail of the view.
+	 * @since 4.0
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail.get();
+	}
+
+	/**
+	 * @param lod The new level of detail of the view. Nothing done if null.
+	 * @since 4.0
+	 */
+	public void setLevelOfDetail(final LevelOfDetail lod) {
+		if(lod != null && !levelOfDetail.isBound()) {
+			levelOfDetail.set(lod);
+		}
+	}
+
+	public ObjectProperty<LevelOfDetail> levelOfDetailProperty() {
+		return levelOfDetail;
+	}
+
 	protected Optional<Canvas> getCanvasParent() {
 		Parent parent = getParent();
 		while(parent != null && !(parent instanceof Canvas)) {
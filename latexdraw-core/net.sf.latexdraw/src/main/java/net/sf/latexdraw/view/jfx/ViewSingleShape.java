@@ -20,23 +20,16 @@ import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.image.WritableImage;
-import javafx.scene.paint.CycleMethod;
 import javafx.scene.paint.ImagePattern;
-import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Paint;
-import javafx.scene.paint.Stop;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.Shape;
 import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.shape.StrokeLineJoin;
-import javafx.scene.shape.StrokeType;
 import javafx.scene.transform.Rotate;
-import net.sf.latexdraw.models.MathUtils;
-import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.Color;
 import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
-import net.sf.latexdraw.models.interfaces.shape.ILine;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.ISingleShape;
 import net.sf.latexdraw.models.interfaces.shape.LineStyle;
@@ -57,6 +50,7 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 	private final ChangeListener<?> fillUpdateCall;
 	private final ChangeListener<Boolean> shadowSetCall;
 	private final ChangeListener<Number> shadowUpdateCall = (obs, oldVal, newVal) -> updateShadowPosition();
+	private final ChangeListener<LevelOfDetail> lodUpdateCall = (obs, oldVal, newVal) -> updateLevelOfDetail();
 
 
 	/**
@@ -77,7 +71,7 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 			shadowSetCall = (obs, oldVal, newVal) -> {
 				shadow.setDisable(!newVal);
 				if(newVal && model.isFillable() && model.shadowFillsShape()) {
-					border.setFill(getFillingPaint(model.getFillingStyle()));
+					border.setFill(getFillingPaint());
 				}
 			};
 			model.shadowProperty().addListener(shadowSetCall);
@@ -87,7 +81,8 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 			model.shadowAngleProperty().addListener(shadowUpdateCall);
 			model.shadowSizeProperty().addListener(shadowUpdateCall);
 			shadow.strokeTypeProperty().bind(border.strokeTypeProperty());
-			shadow.visibleProperty().bind(Bindings.createBooleanBinding(() -> !shadow.isDisable(), shadow.disableProperty()));
+			shadow.visibleProperty().bind(Bindings.createBooleanBinding(() -> !shadow.isDisable() && !getLevelOfDetail().isSimplified(),
+				shadow.disableProperty(), levelOfDetail));
 			shadow.setDisable(!model.hasShadow());
 		}else {
 			shadow = null;
@@ -106,7 +101,8 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 			model.dbleBordProperty().addListener((ChangeListener<? super Boolean>) strokesUpdateCall);
 			model.dbleBordSepProperty().addListener((ChangeListener<? super Number>) strokesUpdateCall);
 			model.dbleBordColProperty().addListener((ChangeListener<? super Color>) strokesUpdateCall);
-			dblBorder.visibleProperty().bind(Bindings.createBooleanBinding(() -> !dblBorder.isDisable(), dblBorder.disableProperty()));
+			dblBorder.visibleProperty().bind(Bindings.createBooleanBinding(() -> !dblBorder.isDisable() && !getLevelOfDetail().isSimplified(),
+				dblBorder.disableProperty(), levelOfDetail));
 		} else {
 			dblBorder = null;
 		}
@@ -123,7 +119,7 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 		}
 
 		if(model.isFillable()) {
-			fillUpdateCall = (obs, oldVal, newVal) -> border.setFill(getFillingPaint(model.getFillingStyle()));
+			fillUpdateCall = (obs, oldVal, newVal) -> border.setFill(getFillingPaint());
 			model.fillingProperty().addListener((ChangeListener<? super FillingStyle>) fillUpdateCall);
 			model.gradColStartProperty().addListener((ChangeListener<? super Color>) fillUpdateCall);
 			model.gradColEndProperty().addListener((ChangeListener<? super Color>) fillUpdateCall);
@@ -134,7 +130,7 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 			model.hatchingsSepProperty().addListener((ChangeListener<? super Number>) fillUpdateCall);
 			model.hatchingsWidthProperty().addListener((ChangeListener<? super Number>) fillUpdateCall);
 			model.hatchingsColProperty().addListener((ChangeListener<? super Color>) fillUpdateCall);
-			border.setFill(getFillingPaint(model.getFillingStyle()));
+			border.setFill(getFillingPaint());
 			// The filling must be updated on resize and co.
 			border.boundsInLocalProperty().addListener((ChangeListener<? super Bounds>) fillUpdateCall);
 
@@ -144,12 +140,25 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 
 		border.strokeProperty().bind(Bindings.createObjectBinding(() -> model.getLineColour().toJFX(), model.lineColourProperty()));
 
+		levelOfDetail.addListener(lodUpdateCall);
+
 		bindBorderMovable();
 		updateStrokes();
 		updateShadowPosition();
 		bindRotationAngle();
 	}
 
+	/**
+	 * Updates the dashes and the filling according to the level of detail of the view.
+	 * The shadow and the double border are bound to the level of detail.
+	 */
+	private void updateLevelOfDetail() {
+		updateStrokes();
+		if(fillUpdateCall != null) {
+			border.setFill(getFillingPaint());
+		}
+	}
+
 	public void fixRotationPivot(final IPoint pivot) {
 		if(pivot == null) {
 			return;
@@ -198,57 +207,42 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 
 	protected void updateShadowPosition() {
 		if(shadow != null) {
-			final IPoint gc = model.getGravityCentre();
-			final IPoint shadowgc = ShapeFactory.INST.createPoint(gc.getX() + model.getShadowSize(), gc.getY());
-			shadowgc.setPoint(shadowgc.rotatePoint(gc, model.getShadowAngle()));
-			shadow.setTranslateX(shadowgc.getX() - gc.getX());
-			shadow.setTranslateY(gc.getY() - shadowgc.getY());
+			final Point2D translation = ShapeStyle.INSTANCE.getShadowTranslation(model);
+			shadow.setTranslateX(translation.getX());
+			shadow.setTranslateY(translation.getY());
 		}
 	}
 
 
 	protected abstract T createJFXShape();
 
-	private Paint getFillingPaint(final FillingStyle style) {
-		switch(style) {
-			case NONE: return model.hasShadow() && model.shadowFillsShape() ? model.getFillingCol().toJFX() : null;
-			case GRAD: return computeGradient();
-			case PLAIN: return model.getFillingCol().toJFX();
-			case CLINES_PLAIN:
-			case HLINES_PLAIN:
-			case VLINES_PLAIN:
-			case CLINES:
-			case VLINES:
-			case HLINES: return getHatchingsFillingPaint(style);
-			default: return null;
+	private Paint getFillingPaint() {
+		if(ShapeStyle.INSTANCE.hasHatchings(model, getLevelOfDetail())) {
+			return getHatchingsFillingPaint();
 		}
+		return ShapeStyle.INSTANCE.getFillingPaint(model, getLevelOfDetail());
 	}
 
 
-	private Paint getHatchingsFillingPaint(final FillingStyle style) {
+	private Paint getHatchingsFillingPaint() {
 		final Bounds bounds = border.getBoundsInParent();
 
 		if(bounds.getWidth() > 0d && bounds.getHeight() > 0d) {
 			final Group hatchings = new Group();
-			final double hAngle = model.getHatchingsAngle();
 
-			hatchings.getChildren().add(new Rectangle(bounds.getWidth(), bounds.getHeight(), style.isFilled() ? model.getFillingCol().toJFX() : null));
+			hatchings.getChildren().add(new Rectangle(bounds.getWidth(), bounds.getHeight(),
+				ShapeStyle.INSTANCE.getFillingPaint(model, getLevelOfDetail())));
+			ShapeStyle.INSTANCE.hatchings(model, bounds.getWidth(), bounds.getHeight(),
+				(x1, y1, x2, y2) -> createHatchingLine(hatchings, x1, y1, x2, y2, bounds.getWidth(), bounds.getHeight()));
 
-			if(style == FillingStyle.VLINES || style == FillingStyle.VLINES_PLAIN) {
-				computeHatchings(hatchings, hAngle, bounds.getWidth(), bounds.getHeight());
+			final WritableImage image = new WritableImage((int) bounds.getWidth(), (int) bounds.getHeight());
+			// The hatchings are drawn at once on the JFX thread (e.g. the views realised just before a snapshot of the drawing).
+			// A snapshot must be taken on the JFX thread: the views built in background draw their hatchings at the next pulse.
+			if(Platform.isFxApplicationThread()) {
+				hatchings.snapshot(new SnapshotParameters(), image);
 			}else {
-				if(style == FillingStyle.HLINES || style == FillingStyle.HLINES_PLAIN) {
-					computeHatchings(hatchings, hAngle > 0d ? hAngle - Math.PI / 2d : hAngle + Math.PI / 2d, bounds.getWidth(), bounds.getHeight());
-				}else {
-					if(style == FillingStyle.CLINES || style == FillingStyle.CLINES_PLAIN) {
-						computeHatchings(hatchings, hAngle, bounds.getWidth(), bounds.getHeight());
-						computeHatchings(hatchings, hAngle > 0d ? hAngle - Math.PI / 2d : hAngle + Math.PI / 2d, bounds.getWidth(), bounds.getHeight());
-					}
-				}
+				Platform.runLater(() -> hatchings.snapshot(new SnapshotParameters(), image));
 			}
-
-			final WritableImage image = new WritableImage((int) bounds.getWidth(), (int) bounds.getHeight());
-			Platform.runLater(() -> hatchings.snapshot(new SnapshotParameters(), image));
 			return new ImagePattern(image, 0, 0, 1, 1, true);
 		}
 
@@ -256,62 +250,6 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 	}
 
 
-	private void computeHatchings(final Group hatchings, final double angle, final double width, final double height) {
-		double angle2 = angle % (Math.PI * 2d);
-		final float halfPI = (float) (Math.PI / 2d);
-		final double val = model.getHatchingsWidth() + model.getHatchingsSep();
-
-		if(angle2 > 0d) {
-			if((float) angle2 > 3f * halfPI) {
-				angle2 -= Math.PI * 2d;
-			}else {
-				if((float) angle2 > halfPI) {
-					angle2 -= Math.PI;
-				}
-			}
-		}else {
-			if((float) angle2 < -3f * halfPI) {
-				angle2 += Math.PI * 2d;
-			}else {
-				if((float) angle2 < -halfPI) {
-					angle2 += Math.PI;
-				}
-			}
-		}
-
-		if(MathUtils.INST.equalsDouble(angle2, 0d)) {
-			for(double x = 0d; x < width; x += val) {
-				createHatchingLine(hatchings, x, 0d, x, height, width, height);
-			}
-		}else if(MathUtils.INST.equalsDouble(angle2, Math.abs(halfPI))) {
-			for(double y = 0d; y < height; y += val) {
-				createHatchingLine(hatchings, 0d, y, width, y, width, height);
-			}
-		}else {
-			final double incX = val / Math.cos(angle2);
-			final double incY = val / Math.sin(angle2);
-			final double limitX;
-			double startY;
-			double endX = 0d;
-
-			if(angle2 > 0) {
-				startY = 0d;
-				limitX = width + height * Math.tan(angle2);
-			}else {
-				startY = height;
-				limitX = width - height * Math.tan(angle2);
-			}
-
-			final double endY = startY;
-
-			while(endX < limitX) {
-				endX += incX;
-				startY += incY;
-				createHatchingLine(hatchings, 0d, startY, endX, endY, width, height);
-			}
-		}
-	}
-
 	private void createHatchingLine(final Group group, final double x1, final double y1, final double x2, final double y2,
 									final double clipWidth, final double clipHeight) {
 		final Line line = new Line();
@@ -329,85 +267,9 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 	}
 
 
-	private LinearGradient computeGradient() {
-		final IPoint tl = model.getTopLeftPoint();
-		final IPoint br = model.getBottomRightPoint();
-		IPoint pt1 = ShapeFactory.INST.createPoint((tl.getX() + br.getX()) / 2d, tl.getY());
-		IPoint pt2 = ShapeFactory.INST.createPoint((tl.getX() + br.getX()) / 2d, br.getY());
-		double angle = model.getGradAngle() % (2d * Math.PI);
-		double gradMidPt = model.getGradMidPt();
-
-		if(tl.equals(br)) {
-			return null;
-		}
-
-		if(angle < 0d) {
-			angle = 2d * Math.PI + angle;
-		}
-
-		if(angle >= Math.PI) {
-			gradMidPt = 1d - gradMidPt;
-			angle -= Math.PI;
-		}
-
-		if(MathUtils.INST.equalsDouble(angle, 0d)) {
-			if(gradMidPt < 0.5) {
-				pt1.setY(pt2.getY() - Point2D.distance(pt2.getX(), pt2.getY(), (tl.getX() + br.getX()) / 2d, br.getY()));
-			}
-
-			pt2.setY(tl.getY() + (br.getY() - tl.getY()) * gradMidPt);
-		}else {
-			if(MathUtils.INST.equalsDouble(angle % (Math.PI / 2d), 0d)) {
-				pt1 = ShapeFactory.INST.createPoint(tl.getX(), (tl.getY() + br.getY()) / 2d);
-				pt2 = ShapeFactory.INST.createPoint(br.getX(), (tl.getY() + br.getY()) / 2d);
-
-				if(gradMidPt < 0.5) {
-					pt1.setX(pt2.getX() - Point2D.distance(pt2.getX(), pt2.getY(), br.getX(), (tl.getY() + br.getY()) / 2d));
-				}
-
-				pt2.setX(tl.getX() + (br.getX() - tl.getX()) * gradMidPt);
-			}else {
-				final IPoint cg = model.getGravityCentre();
-				final ILine l2;
-				final ILine l;
-
-				pt1 = pt1.rotatePoint(cg, -angle);
-				pt2 = pt2.rotatePoint(cg, -angle);
-				l = ShapeFactory.INST.createLine(pt1, pt2);
-
-				if(angle >= 0d && angle < Math.PI / 2d) {
-					l2 = l.getPerpendicularLine(tl);
-				}else {
-					l2 = l.getPerpendicularLine(ShapeFactory.INST.createPoint(tl.getX(), br.getY()));
-				}
-
-				pt1 = l.getIntersection(l2);
-				final double distance = Point2D.distance(cg.getX(), cg.getY(), pt1.getX(), pt1.getY());
-				l.setX1(pt1.getX());
-				l.setY1(pt1.getY());
-				final IPoint[] pts = l.findPoints(pt1, 2d * distance * gradMidPt);
-				pt2 = pts[0];
-
-				if(gradMidPt < 0.5) {
-					pt1 = pt1.rotatePoint(model.getGravityCentre(), Math.PI);
-				}
-			}
-		}
-
-		return new LinearGradient(pt1.getX(), pt1.getY(), pt2.getX(), pt2.getY(), false, CycleMethod.NO_CYCLE,
-			new Stop(0d, model.getGradColStart().toJFX()), new Stop(1d, model.getGradColEnd().toJFX()));
-	}
-
 	private void bindBorderMovable() {
 		if(model.isBordersMovable()) {
-			border.strokeTypeProperty().bind(Bindings.createObjectBinding(() -> {
-				switch(model.getBordersPosition()) {
-					case INTO: return StrokeType.INSIDE;
-					case MID: return StrokeType.CENTERED;
-					case OUT: return StrokeType.OUTSIDE;
-					default: return StrokeType.INSIDE;
-				}
-			}, model.borderPosProperty()));
+			border.strokeTypeProperty().bind(Bindings.createObjectBinding(() -> ShapeStyle.INSTANCE.getStrokeType(model), model.borderPosProperty()));
 
 			if(dblBorder != null) {
 				dblBorder.strokeTypeProperty().bind(border.strokeTypeProperty());
@@ -416,17 +278,7 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 	}
 
 	protected double getDbleBorderGap() {
-		if(!model.isDbleBorderable()) {
-			return 0d;
-		}
-
-		switch(model.getBordersPosition()) {
-			case MID: return 0d;
-			case INTO: return model.getThickness();
-			case OUT: return -model.getThickness();
-		}
-
-		return 0d;
+		return ShapeStyle.INSTANCE.getDbleBorderGap(model);
 	}
 
 	private void updateStrokes() {
@@ -446,21 +298,10 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 		}
 
 		if(model.isLineStylable()) {
-			switch(model.getLineStyle()) {
-				case DASHED:
-					border.setStrokeLineCap(StrokeLineCap.BUTT);
-					border.getStrokeDashArray().clear();
-					border.getStrokeDashArray().addAll(model.getDashSepBlack(), model.getDashSepWhite());
-					break;
-				case DOTTED:// FIXME problem when dotted line + INTO/OUT border position.
-					border.setStrokeLineCap(StrokeLineCap.ROUND);
-					border.getStrokeDashArray().clear();
-					border.getStrokeDashArray().addAll(0d, model.getDotSep() + model.getFullThickness());
-					break;
-				case SOLID:
-					border.setStrokeLineCap(StrokeLineCap.BUTT);
-					border.getStrokeDashArray().clear();
-					break;
+			border.setStrokeLineCap(ShapeStyle.INSTANCE.getLineCap(model, getLevelOfDetail()));
+			border.getStrokeDashArray().clear();
+			for(final double dash : ShapeStyle.INSTANCE.getDashArray(model, getLevelOfDetail())) {
+				border.getStrokeDashArray().add(dash);
 			}
 		}
 	}
@@ -480,6 +321,7 @@ public abstract class ViewSingleShape<S extends ISingleShape, T extends Shape> e
 	@Override
 	public void flush() {
 		super.flush();
+		levelOfDetail.removeListener(lodUpdateCall);
 		if(model.isThicknessable()) {
 			model.thicknessProperty().removeListener((ChangeListener<? super Number>) strokesUpdateCall);
 		}
@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.view.jfx;
 
+import javafx.beans.binding.Bindings;
 import javafx.scene.Group;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
@@ -29,6 +30,8 @@ public abstract class ViewStdGrid<T extends IStandardGrid> extends ViewPositionS
 	ViewStdGrid(final T sh) {
 		super(sh);
 		labels = new Group();
+		// Coarse views have no label.
+		labels.visibleProperty().bind(Bindings.createBooleanBinding(() -> !getLevelOfDetail().isCoarse(), levelOfDetail));
 		getChildren().add(labels);
 	}
 
@@ -54,6 +57,7 @@ public abstract class ViewStdGrid<T extends IStandardGrid> extends ViewPositionS
 	@Override
 	public void flush() {
 		cleanLabels();
+		labels.visibleProperty().unbind();
 		super.flush();
 	}
 
@@ -10,40 +10,25 @@
  */
 package net.sf.latexdraw.view.jfx;
 
-import com.sun.pdfview.PDFFile;
-import com.sun.pdfview.PDFPage;
-import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.nio.MappedByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import javafx.beans.value.ChangeListener;
-import javafx.embed.swing.SwingFXUtils;
+import javafx.geometry.Bounds;
 import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
-import net.sf.latexdraw.commands.ExportFormat;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.interfaces.shape.Color;
 import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.models.interfaces.shape.IText;
-import net.sf.latexdraw.util.ImageCropper;
-import net.sf.latexdraw.util.LFileUtils;
 import net.sf.latexdraw.util.LSystem;
-import net.sf.latexdraw.util.OperatingSystem;
-import net.sf.latexdraw.util.StreamExecReader;
-import net.sf.latexdraw.util.Triple;
 import net.sf.latexdraw.util.Tuple;
 import net.sf.latexdraw.view.latex.DviPsColors;
-import net.sf.latexdraw.view.latex.LaTeXGenerator;
 import net.sf.latexdraw.view.pst.PSTricksConstants;
 
 /**
@@ -51,14 +36,38 @@ import net.sf.latexdraw.view.pst.PSTricksConstants;
  * @author Arnaud Blouin
  */
 public class ViewText extends ViewPositionShape<IText> {
-	private static final ExecutorService COMPILATION_POOL = Executors.newFixedThreadPool(5);
 	private static final double SCALE_COMPILE = 2d;
 
+	/**
+	 * @return The delay (in ms) between a change of a text and its compilation: the changes made during this delay
+	 * (e.g. while typing) produce a single compilation.
+	 * @since 4.0
+	 */
+	public static long getCompilationDelay() {
+		return TextCompiler.INSTANCE.getDelay();
+	}
+
+	/**
+	 * @param delay The delay (in ms) between a change of a text and its compilation. Nothing done if negative.
+	 * @since 4.0
+	 */
+	public static void setCompilationDelay(final long delay) {
+		TextCompiler.INSTANCE.setDelay(delay);
+	}
+
+
 	private final Text text;
 	private final ImageView compiledText;
 	private final Tooltip compileTooltip;
+	/** The box drawn instead of the text when the view is coarse. */
+	private final Rectangle box;
 	private final ChangeListener<String> textUpdate;
+	private final ChangeListener<LevelOfDetail> lodUpdate;
 	private Future<?> currentCompilation;
+	/** The compilation of the latest version of the text. Cancelled when the text changes again. */
+	private volatile CompletableFuture<Tuple<Image, String>> compilation;
+	/** The priority of the compilations of the text, set by the canvas. */
+	private volatile CompilationPriority priority;
 
 
 	/**
@@ -70,6 +79,8 @@ public class ViewText extends ViewPositionShape<IText> {
 		text = new Text();
 		compiledText = new ImageView();
 		compileTooltip = new Tooltip(null);
+		box = new Rectangle();
+		priority = CompilationPriority.BACKGROUND;
 
 		compiledText.setScaleX(1d / SCALE_COMPILE);
 		compiledText.setScaleY(compiledText.getScaleX());
@@ -83,25 +94,94 @@ public class ViewText extends ViewPositionShape<IText> {
 			}
 		});
 
-		textUpdate = (observable, oldValue, newValue) -> update();
+		textUpdate = (observable, oldValue, newValue) -> update(getCompilationDelay());
 		model.textProperty().addListener(textUpdate);
 
+		lodUpdate = (observable, oldValue, newValue) -> setImageTextEnable(compiledText.getImage() != null);
+		levelOfDetail.addListener(lodUpdate);
+
 		getChildren().add(text);
 		getChildren().add(compiledText);
+		getChildren().add(box);
 		setImageTextEnable(false);
-		update();
+		update(0L);
 	}
 
 	private void setImageTextEnable(final boolean imageToEnable) {
-		compiledText.setVisible(imageToEnable);
+		final boolean coarse = getLevelOfDetail().isCoarse();
+		compiledText.setVisible(imageToEnable && !coarse);
 		compiledText.setDisable(!imageToEnable);
-		text.setVisible(!imageToEnable);
+		text.setVisible(!imageToEnable && !coarse);
 		text.setDisable(imageToEnable);
+		box.setVisible(coarse);
+		box.setDisable(!coarse);
+
+		// The box covers the text or its picture.
+		if(coarse) {
+			final Bounds bounds = imageToEnable ? compiledText.getBoundsInParent() : text.getBoundsInParent();
+			box.setX(bounds.getMinX());
+			box.setY(bounds.getMinY());
+			box.setWidth(bounds.getWidth());
+			box.setHeight(bounds.getHeight());
+			box.setFill(model.getLineColour().toJFX().deriveColor(0d, 1d, 1d, 0.3));
+		}
 	}
 
-	private void update() {
+	/**
+	 * Updates the text and compiles it.
+	 * @param wait The delay (in ms) of the compilation.
+	 */
+	private void update(final long wait) {
+		// Only the latest version of the text is compiled.
+		cancelCompilation();
 		text.setText(model.getText());
-		currentCompilation = COMPILATION_POOL.submit(() -> updateImageText(createImage()));
+		final String preamble = TextCompiler.getPreamble();
+		final String body = getLaTeXBody();
+		final Optional<Image> cached = TextImageCache.INSTANCE.getFromMemory(TextCompiler.getDocument(preamble, body));
+
+		// A text already compiled is shown at once. Its picture is the latest one: a former compilation done meanwhile is ignored.
+		if(cached.isPresent()) {
+			final Tuple<Image, String> res = new Tuple<>(cached.get(), ""); //NON-NLS
+			compilation = CompletableFuture.completedFuture(res);
+			updateImageText(res);
+			currentCompilation = CompletableFuture.completedFuture(null);
+		}else {
+			final CompletableFuture<Tuple<Image, String>> newCompilation = TextCompiler.INSTANCE.compile(preamble, body, wait, () -> priority);
+			compilation = newCompilation;
+			currentCompilation = newCompilation.handle((res, ex) -> {
+				if(ex == null) {
+					// Only the latest compilation is shown: not a compilation done just before being cancelled, nor after the flush of the view.
+					if(compilation == newCompilation) {
+						updateImageText(res);
+					}
+				}else if(!(ex instanceof CancellationException)) {
+					BadaboomCollector.INSTANCE.add(ex);
+				}
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * @param newPriority The priority of the compilations of the text. Can be changed while the text is compiled.
+	 */
+	void setCompilationPriority(final CompilationPriority newPriority) {
+		priority = newPriority;
+	}
+
+	/**
+	 * @return The priority of the compilations of the text.
+	 */
+	CompilationPriority getCompilationPriority() {
+		return priority;
+	}
+
+	private void cancelCompilation() {
+		final CompletableFuture<Tuple<Image, String>> former = compilation;
+		compilation = null;
+		if(former != null) {
+			former.cancel(false);
+		}
 	}
 
 	/**
@@ -142,7 +222,10 @@ public class ViewText extends ViewPositionShape<IText> {
 		return Optional.empty();
 	}
 
-	private String getLaTeXDocument() {
+	/**
+	 * @return The LaTeX code that renders the text (its scale, colour, and content), to be put in a document.
+	 */
+	private String getLaTeXBody() {
 		final String code = model.getText();
 		final StringBuilder doc = new StringBuilder();
 		final Color textColour = model.getLineColour();
@@ -151,9 +234,7 @@ public class ViewText extends ViewPositionShape<IText> {
 		// We must scale the text to fit its latex size: latexdrawDPI/latexDPI is the ratio to scale the created png picture.
 		final double scale = IShape.PPC * PSTricksConstants.INCH_VAL_CM / PSTricksConstants.INCH_VAL_PT * SCALE_COMPILE;
 
-		doc.append("\\documentclass{standalone}\n\\usepackage[usenames,dvipsnames]{pstricks}"); //NON-NLS
-		doc.append(LaTeXGenerator.getPackages()).append('\n');
-		doc.append("\\begin{document}\n\\psscalebox{"); //NON-NLS
+		doc.append("\\psscalebox{"); //NON-NLS
 		doc.append((float) MathUtils.INST.getCutNumber(scale)).append(' ');
 		doc.append((float) MathUtils.INST.getCutNumber(scale)).append('}').append('{');
 
@@ -169,140 +250,15 @@ public class ViewText extends ViewPositionShape<IText> {
 			doc.append('}');
 		}
 
-		doc.append("}\n\\end{document}"); //NON-NLS
+		doc.append('}');
 		return doc.toString();
 	}
 
-	/**
-	 * Executes a given command and returns the log.
-	 * @param cmd The command to execute.
-	 * @return True if the command exits normally plus the log.
-	 */
-	private Tuple<Boolean, String> execute(final String[] cmd) {
-		String log = "";
-		try {
-			final Process process = Runtime.getRuntime().exec(cmd);
-			final StreamExecReader errReader = new StreamExecReader(process.getErrorStream());
-			final StreamExecReader outReader = new StreamExecReader(process.getInputStream());
-
-			errReader.start();
-			outReader.start();
-
-			if(process.waitFor() == 0) {
-				return new Tuple<>(true, log);
-			}
-
-			log = outReader.getLog() + LSystem.EOL + errReader.getLog();
-		}catch(final IOException | InterruptedException | IllegalThreadStateException ex) {
-			log += ex.getMessage();
-		}
-		return new Tuple<>(false, log);
-	}
-
-	/**
-	 * Reads and returns the first page of the given pdf document.
-	 * @param file The file of the pdf document.
-	 * @return The image of the first page or null.
-	 */
-	private BufferedImage readPDFFirstPage(final File file) {
-		BufferedImage bi = null;
-
-		try(final FileChannel fc = new RandomAccessFile(file, "r").getChannel()) { //NON-NLS
-			final MappedByteBuffer mbb = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
-			final PDFFile pdfFile = new PDFFile(mbb);
-			mbb.clear();
-
-			if(pdfFile.getNumPages() == 1) {
-				final PDFPage page = pdfFile.getPage(0);
-				final Rectangle2D bound = page.getBBox();
-				final java.awt.Image img = page.getImage((int) bound.getWidth(), (int) bound.getHeight(), bound, null, false, true);
-
-				if(img instanceof BufferedImage) {
-					bi = ImageCropper.INSTANCE.cropImage((BufferedImage) img);
-				}
-
-				if(img != null) {
-					img.flush();
-				}
-			}else {
-				BadaboomCollector.INSTANCE.add(new IllegalArgumentException("Not a single page: " + pdfFile.getNumPages())); //NON-NLS
-			}
-		}catch(final IOException | IllegalArgumentException | SecurityException ex) {
-			BadaboomCollector.INSTANCE.add(ex);
-		}
-
-		return bi;
-	}
-
-	/**
-	 * @return The LaTeX compiled picture of the text with its file path and its log.
-	 */
-	private Tuple<Image, String> createImage() {
-		final Optional<File> optDir = LFileUtils.INSTANCE.createTempDir();
-
-		if(!optDir.isPresent()) {
-			return new Tuple<>(null, "A temporary file cannot be created.");
-		}
-
-		BufferedImage bi = null;
-		String log = ""; //NON-NLS
-		final File tmpDir = optDir.get();
-		final String doc = getLaTeXDocument();
-		final String basePathPic = tmpDir.getAbsolutePath() + LSystem.FILE_SEP + "latexdrawTmpPic" + System.currentTimeMillis(); //NON-NLS
-		final String pathTex = basePathPic + ExportFormat.TEX.getFileExtension();
-		final OperatingSystem os = LSystem.INSTANCE.getSystem().orElse(OperatingSystem.LINUX);
-
-		// Saving the LaTeX document into a file to be compiled.
-		if(!LFileUtils.INSTANCE.saveFile(pathTex, doc).isPresent()) {
-			return new Triple<>(null, basePathPic, log);
-		}
-
-		// Compiling the LaTeX document.
-		Tuple<Boolean, String> res = execute(new String[]{os.getLatexBinPath(), "--halt-on-error", "--interaction=nonstopmode", //NON-NLS
-			"--output-directory=" + tmpDir.getAbsolutePath(), LFileUtils.INSTANCE.normalizeForLaTeX(pathTex)}); //NON-NLS
-		boolean ok = res.a;
-		log = res.b;
-
-		// Compiling the DVI document.
-		if(ok) {
-			res = execute(new String[]{os.getDvipsBinPath(), basePathPic + ".dvi", "-o", basePathPic + ExportFormat.EPS_LATEX.getFileExtension()}); //NON-NLS
-			ok = res.a;
-			log = log + res.b;
-		}
-
-		// Converting the PS document as a PDF one.
-		if(ok) {
-			res = execute(new String[]{os.getPs2pdfBinPath(), basePathPic + ExportFormat.EPS_LATEX.getFileExtension(), basePathPic + ExportFormat.PDF.getFileExtension()});
-			ok = res.a;
-			log = log + res.b;
-		}
-
-		// Getting the image of the first page of the PDF document.
-		if(ok) {
-			final String pdfpath = basePathPic + ExportFormat.PDF.getFileExtension();
-			final File pdfFile = new File(pdfpath);
-			bi = readPDFFirstPage(pdfFile);
-		}
-
-		// Converting the image as a JFX one.
-		final Image fxImage;
-
-		if(bi == null) {
-			fxImage = null;
-		}else {
-			fxImage = SwingFXUtils.toFXImage(bi, null);
-			bi.flush();
-		}
-
-		// Deleting the temporary folder and its content.
-		LFileUtils.INSTANCE.removeDirWithContent(tmpDir.getPath());
-
-		return new Tuple<>(fxImage, log);
-	}
-
 	@Override
 	public void flush() {
+		cancelCompilation();
 		model.textProperty().removeListener(textUpdate);
+		levelOfDetail.removeListener(lodUpdate);
 		super.flush();
 	}
 }
@@ -0,0 +1,272 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+
+/**
+ * Builds the views of shapes on worker threads and attaches them at the next pulses.
+ * JFX nodes can be built out of the JFX thread as long as they are not attached to a scene: the shapes are split into batches
+ * built in parallel, and the finished batches are attached in their submission order with a bounded number of views per pulse.
+ * So adding many shapes at once (loading a document, pasting) does not freeze the UI.
+ * The view of a shape is built once: a shape is claimed by the thread that builds its view, so that a view asked on the JFX thread
+ * (see take) is either waited for, if a worker is building it, or built by the JFX thread, the worker then skipping it.
+ * The JFX properties of the shapes, created on demand, are created on the JFX thread before the building of their views.
+ * All the methods must be called on the JFX thread.
+ * @author Arnaud Blouin
+ */
+class ViewsBuilder extends AnimationTimer {
+	/** The minimal number of shapes added at once for building their views in background. */
+	static final int MIN_SHAPES = 100;
+	/** The number of shapes which views are built by a single task. */
+	static final int BATCH_SIZE = 100;
+	/** The maximal number of views attached per pulse (a single batch is attached at least). */
+	static final int MAX_VIEWS_PER_PULSE = 500;
+
+	private static final ExecutorService BUILDING_POOL = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), task -> {
+		final Thread thread = new Thread(task, "Views builder"); //NON-NLS
+		// The pool must not prevent the application from exiting.
+		thread.setDaemon(true);
+		return thread;
+	});
+
+
+	/** Creates the view of a shape. Called on worker threads. */
+	private final Function<IShape, Optional<ViewShape<?>>> factory;
+	/** Attaches the built views of a batch. Called on the JFX thread. */
+	private final Attacher attacher;
+	/** The batches being built, in their submission order. */
+	private final Deque<Batch> batches;
+	/** The views of the shapes of the batches by shape, claimed by the thread that builds them. Completed with null if no view is built. */
+	private final Map<IShape, CompletableFuture<ViewShape<?>>> claims;
+	/** The pending shapes which views have been taken (see take): their view is not given to the attacher. */
+	private final Set<IShape> taken;
+	/** The shapes waiting for their view. */
+	private final Set<IShape> pending;
+	/** The number of shapes waiting for their view. */
+	private final ReadOnlyIntegerWrapper nbPending;
+	private boolean running;
+
+	/**
+	 * Creates the builder.
+	 * @param viewFactory Creates the view of a shape. Called on worker threads.
+	 * @param viewsAttacher Attaches the built views of a batch. Called on the JFX thread.
+	 */
+	ViewsBuilder(final Function<IShape, Optional<ViewShape<?>>> viewFactory, final Attacher viewsAttacher) {
+		super();
+		factory = viewFactory;
+		attacher = viewsAttacher;
+		batches = new ArrayDeque<>();
+		claims = new ConcurrentHashMap<>();
+		taken = Collections.newSetFromMap(new IdentityHashMap<>());
+		pending = Collections.newSetFromMap(new IdentityHashMap<>());
+		nbPending = new ReadOnlyIntegerWrapper(0);
+		running = false;
+	}
+
+	/**
+	 * Builds the views of the given shapes in background.
+	 * @param from The position of the first shape in the drawing.
+	 * @param shapes The shapes, in the order of the drawing.
+	 */
+	void build(final int from, final List<? extends IShape> shapes) {
+		for(int i = 0, size = shapes.size(); i < size; i += BATCH_SIZE) {
+			final List<IShape> batch = new ArrayList<>(shapes.subList(i, Math.min(size, i + BATCH_SIZE)));
+			// The properties of the shapes are created on demand: the workers must not create them concurrently with the JFX thread.
+			// They are created here, the submission of the task publishing them to the worker.
+			batch.forEach(sh -> sh.createProperties());
+			batches.add(new Batch(from + i, batch, CompletableFuture.runAsync(() -> createViews(batch), BUILDING_POOL)));
+			pending.addAll(batch);
+		}
+
+		nbPending.set(pending.size());
+
+		if(!running && !batches.isEmpty()) {
+			running = true;
+			start();
+		}
+	}
+
+	/**
+	 * The views of the given shapes are no longer expected (e.g. the shapes have been removed).
+	 * Their views will be given to the attacher anyway (that must check the shapes), but the shapes are no longer pending.
+	 * @param shapes The shapes.
+	 */
+	void cancel(final Collection<? extends IShape> shapes) {
+		if(!pending.isEmpty() && pending.removeAll(shapes)) {
+			nbPending.set(pending.size());
+		}
+	}
+
+	/**
+	 * @return True if views are being built.
+	 */
+	boolean isBuilding() {
+		return !batches.isEmpty();
+	}
+
+	/**
+	 * @return True if the view of the given shape is being built.
+	 */
+	boolean isPending(final IShape sh) {
+		return pending.contains(sh);
+	}
+
+	/**
+	 * Gives the view of the given pending shape now, instead of at the attachment of its batch: if a worker is building it,
+	 * the view is waited for; otherwise it is built on the JFX thread and the worker will skip it.
+	 * The view is not given to the attacher: the caller must attach it.
+	 * @param sh The pending shape (see isPending).
+	 * @return The view of the shape or nothing.
+	 */
+	Optional<ViewShape<?>> take(final IShape sh) {
+		final ViewShape<?> view = createView(sh);
+
+		taken.add(sh);
+		pending.remove(sh);
+		nbPending.set(pending.size());
+		return Optional.ofNullable(view);
+	}
+
+	/**
+	 * @return The number of shapes waiting for their view.
+	 */
+	ReadOnlyIntegerProperty nbPendingProperty() {
+		return nbPending.getReadOnlyProperty();
+	}
+
+	private void createViews(final List<IShape> shapes) {
+		shapes.forEach(sh -> createView(sh));
+	}
+
+	/**
+	 * Builds the view of the given shape if no other thread has claimed it, or waits for the view built by the thread that claimed it.
+	 * @return The view. Null if the shape has no view.
+	 */
+	private ViewShape<?> createView(final IShape sh) {
+		final CompletableFuture<ViewShape<?>> claim = new CompletableFuture<>();
+		final CompletableFuture<ViewShape<?>> former = claims.putIfAbsent(sh, claim);
+
+		if(former != null) {
+			return former.join();
+		}
+
+		ViewShape<?> view = null;
+		try {
+			view = factory.apply(sh).orElse(null);
+		}catch(final RuntimeException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+		}finally {
+			claim.complete(view);
+		}
+		return view;
+	}
+
+	@Override
+	public void handle(final long now) {
+		int nbAttached = 0;
+
+		// The batches are attached in their order, to keep the order of the views of the shapes added in several times.
+		while(!batches.isEmpty() && batches.peek().done.isDone() && (nbAttached == 0 || nbAttached + BATCH_SIZE <= MAX_VIEWS_PER_PULSE)) {
+			final Batch batch = batches.poll();
+			final Map<IShape, ViewShape<?>> built = new IdentityHashMap<>();
+			getViews(batch).forEach(v -> built.put(v.getModel(), v));
+			pending.removeAll(batch.shapes);
+			taken.removeAll(batch.shapes);
+			claims.keySet().removeAll(batch.shapes);
+			nbAttached += batch.shapes.size();
+
+			if(!built.isEmpty()) {
+				attacher.attach(batch.from, batch.shapes, built);
+			}
+		}
+
+		if(batches.isEmpty()) {
+			running = false;
+			stop();
+		}
+
+		nbPending.set(pending.size());
+	}
+
+	/**
+	 * @return The built views of the given batch, but the taken ones. If the building failed, the missing views are built on the current thread.
+	 */
+	private List<ViewShape<?>> getViews(final Batch batch) {
+		try {
+			batch.done.get();
+		}catch(final InterruptedException | ExecutionException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+			createViews(batch.shapes);
+		}
+
+		final List<ViewShape<?>> views = new ArrayList<>(batch.shapes.size());
+		batch.shapes.stream().filter(sh -> !taken.contains(sh)).forEach(sh -> {
+			final CompletableFuture<ViewShape<?>> claim = claims.get(sh);
+			if(claim != null && claim.getNow(null) != null) {
+				views.add(claim.getNow(null));
+			}
+		});
+		return views;
+	}
+
+
+	/**
+	 * Attaches the built views of a batch of shapes.
+	 */
+	interface Attacher {
+		/**
+		 * @param from The position of the first shape of the batch in the drawing when the batch was built.
+		 * The drawing may have been modified since.
+		 * @param shapes The shapes of the batch, in the order of the drawing.
+		 * @param built The built views of the shapes, but the taken ones (see take).
+		 */
+		void attach(final int from, final List<IShape> shapes, final Map<IShape, ViewShape<?>> built);
+	}
+
+
+	/**
+	 * A set of contiguous shapes which views are built by a single task.
+	 */
+	private static final class Batch {
+		/** The position of the first shape in the drawing. */
+		final int from;
+		final List<IShape> shapes;
+		/** Completed when the views of the shapes are built (see claims). */
+		final CompletableFuture<Void> done;
+
+		Batch(final int batchFrom, final List<IShape> batchShapes, final CompletableFuture<Void> batchDone) {
+			from = batchFrom;
+			shapes = batchShapes;
+			done = batchDone;
+		}
+	}
+}
@@ -0,0 +1,334 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.latex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.commands.ExportFormat;
+import net.sf.latexdraw.util.LFileUtils;
+import net.sf.latexdraw.util.LPath;
+import net.sf.latexdraw.util.LSystem;
+import net.sf.latexdraw.util.OperatingSystem;
+import net.sf.latexdraw.util.StreamExecReader;
+
+/**
+ * A cache of the LaTeX formats precompiled from the preambles of the documents.
+ * Processing the document class and the packages of a small document takes most of its compilation time.
+ * A format is a dump of TeX once a preamble is processed (latex -ini): a document is compiled against the format
+ * of its preamble with the latex option -fmt and without its preamble.
+ * A format is built the first time its preamble is asked for (so a new one when the packages change) and is checked once per session,
+ * since a format only works with the TeX that dumped it. When a format cannot be built, the documents must be compiled with their preamble.
+ * This class is thread-safe: a format is built by the first thread that asks for it, the other threads asking for it wait for it,
+ * and the formats of different preambles are built concurrently.
+ * @author Arnaud Blouin
+ */
+public final class LaTeXFormatCache {
+	/** The maximal number of formats stored on disk. */
+	public static final int MAX_FORMATS = 4;
+	/** The singleton. */
+	public static final LaTeXFormatCache INSTANCE = new LaTeXFormatCache(new File(LPath.PATH_CACHE_FORMATS_DIR));
+
+	private static final String FORMAT_EXTENSION = ".fmt"; //NON-NLS
+	/** The period (in ms) at which a build checks whether it has been cancelled. */
+	private static final long CANCELLATION_CHECK_PERIOD = 50L;
+	/** Builds the formats asked for in background (see prepare). */
+	private static final ExecutorService BUILDER = Executors.newSingleThreadExecutor(task -> {
+		final Thread thread = new Thread(task, "LaTeX formats builder"); //NON-NLS
+		// The builder must not prevent the application from exiting.
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * @param format The path of a format (see getFormat).
+	 * @return The latex option that compiles a document against the given format.
+	 */
+	public static String getFormatOption(final String format) {
+		return "-fmt=" + format; //NON-NLS
+	}
+
+
+	/** The directory of the formats. */
+	private final File dir;
+	/** The formats asked for during this session by preamble key: the path of the format, or nothing if it cannot be built. */
+	private final Map<String, CompletableFuture<Optional<String>>> formats;
+
+	/**
+	 * Creates the cache.
+	 * @param formatsDir The directory where the formats are stored. Created if it does not exist.
+	 */
+	LaTeXFormatCache(final File formatsDir) {
+		super();
+		dir = formatsDir;
+		formats = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Gives the format of the given preamble, built if needed. May take a few seconds: must not be called on the JFX thread.
+	 * @param preamble The preamble of a document: from its document class to its \begin{document} (excluded).
+	 * @param cancelled Tells whether the format is no longer expected: the build, or the wait for the build, then stops.
+	 * @return The path of the format (without its extension, see getFormatOption), or nothing if the format cannot be built or if cancelled.
+	 */
+	public Optional<String> getFormat(final String preamble, final BooleanSupplier cancelled) {
+		final String key = LFileUtils.INSTANCE.getDigest(preamble);
+		final CompletableFuture<Optional<String>> claim = new CompletableFuture<>();
+		final CompletableFuture<Optional<String>> known = formats.putIfAbsent(key, claim);
+
+		// The format is built, or being built, by another thread.
+		if(known != null) {
+			final Optional<String> format = await(known, cancelled);
+			// A format evicted from the disk must be built again.
+			if(format.isPresent() && !getFile(key).isFile()) {
+				formats.remove(key, known);
+				return getFormat(preamble, cancelled);
+			}
+			format.ifPresent(p -> getFile(key).setLastModified(System.currentTimeMillis()));
+			return format;
+		}
+
+		Optional<String> format = Optional.empty();
+
+		try {
+			format = load(key, preamble, cancelled);
+		}finally {
+			// A cancelled build is tried again at the next request.
+			if(cancelled.getAsBoolean()) {
+				formats.remove(key, claim);
+			}
+			claim.complete(format);
+		}
+
+		return format;
+	}
+
+	/**
+	 * Gives the format of the given preamble only if it is already built and checked during this session. Never waits.
+	 * @param preamble The preamble of a document: from its document class to its \begin{document} (excluded).
+	 * @return The path of the format (see getFormatOption) or nothing.
+	 */
+	public Optional<String> getBuiltFormat(final String preamble) {
+		final String key = LFileUtils.INSTANCE.getDigest(preamble);
+		final CompletableFuture<Optional<String>> known = formats.get(key);
+
+		if(known == null || !known.isDone()) {
+			return Optional.empty();
+		}
+
+		final Optional<String> format = known.getNow(Optional.empty());
+		return format.isPresent() && getFile(key).isFile() ? format : Optional.empty();
+	}
+
+	/**
+	 * Builds the format of the given preamble in background, if it is not built yet, for the next documents.
+	 * @param preamble The preamble of a document: from its document class to its \begin{document} (excluded).
+	 */
+	public void prepare(final String preamble) {
+		if(!getBuiltFormat(preamble).isPresent()) {
+			BUILDER.execute(() -> getFormat(preamble, () -> false));
+		}
+	}
+
+	/**
+	 * Waits for the given format build, unless cancelled.
+	 */
+	private Optional<String> await(final CompletableFuture<Optional<String>> build, final BooleanSupplier cancelled) {
+		try {
+			while(!build.isDone()) {
+				if(cancelled.getAsBoolean()) {
+					return Optional.empty();
+				}
+				try {
+					return build.get(CANCELLATION_CHECK_PERIOD, TimeUnit.MILLISECONDS);
+				}catch(final TimeoutException ex) {
+					// The build goes on: the cancellation is checked again.
+				}
+			}
+			return build.get();
+		}catch(final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return Optional.empty();
+		}catch(final ExecutionException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+			return Optional.empty();
+		}
+	}
+
+	private File getFile(final String key) {
+		return new File(dir, key + FORMAT_EXTENSION);
+	}
+
+	/**
+	 * Checks the stored format of the given preamble, or builds it.
+	 * @return The path of the format or nothing.
+	 */
+	private Optional<String> load(final String key, final String preamble, final BooleanSupplier cancelled) {
+		final File file = getFile(key);
+		final String path = new File(dir, key).getAbsolutePath();
+
+		// A format stored during a former session may come from another version of TeX.
+		if(file.isFile() && !isValid(path, cancelled)) {
+			deleteFormat(file);
+		}
+
+		if(!file.isFile() && !(build(key, preamble, cancelled) && isValid(path, cancelled))) {
+			deleteFormat(file);
+		}
+
+		if(!file.isFile()) {
+			return Optional.empty();
+		}
+
+		// The last modification date gives the least recently used formats.
+		file.setLastModified(System.currentTimeMillis());
+		evict();
+		return Optional.of(path);
+	}
+
+	/**
+	 * Dumps the format of the given preamble into the directory of the formats.
+	 * @return True if the format has been dumped.
+	 */
+	private boolean build(final String key, final String preamble, final BooleanSupplier cancelled) {
+		if(!dir.isDirectory() && !dir.mkdirs()) {
+			return false;
+		}
+
+		final Optional<File> optDir = LFileUtils.INSTANCE.createTempDir();
+
+		if(!optDir.isPresent()) {
+			return false;
+		}
+
+		final File tmpDir = optDir.get();
+		final String pathTex = tmpDir.getAbsolutePath() + LSystem.FILE_SEP + key + ExportFormat.TEX.getFileExtension();
+		final File dumped = new File(tmpDir, key + FORMAT_EXTENSION);
+		final OperatingSystem os = LSystem.INSTANCE.getSystem().orElse(OperatingSystem.LINUX);
+		boolean ok = false;
+
+		if(LFileUtils.INSTANCE.saveFile(pathTex, preamble + LSystem.EOL + "\\dump" + LSystem.EOL).isPresent()) { //NON-NLS
+			// The format of LaTeX is loaded (&latex) to process the preamble, then TeX is dumped into the new format.
+			ok = execute(new String[]{os.getLatexBinPath(), "-ini", "-jobname=" + key, "--interaction=nonstopmode", "--halt-on-error", //NON-NLS
+				"--output-directory=" + tmpDir.getAbsolutePath(), "&latex", LFileUtils.INSTANCE.normalizeForLaTeX(pathTex)}, tmpDir, cancelled) && dumped.isFile(); //NON-NLS
+		}
+
+		if(ok) {
+			try {
+				Files.move(dumped.toPath(), getFile(key).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}catch(final IOException ex) {
+				BadaboomCollector.INSTANCE.add(ex);
+				ok = false;
+			}
+		}
+
+		LFileUtils.INSTANCE.removeDirWithContent(tmpDir.getPath());
+		return ok;
+	}
+
+	/**
+	 * @return True if an empty document can be compiled against the given format.
+	 */
+	private boolean isValid(final String format, final BooleanSupplier cancelled) {
+		final Optional<File> optDir = LFileUtils.INSTANCE.createTempDir();
+
+		if(!optDir.isPresent()) {
+			return false;
+		}
+
+		final File tmpDir = optDir.get();
+		final String pathTex = tmpDir.getAbsolutePath() + LSystem.FILE_SEP + "latexdrawFormatCheck" + ExportFormat.TEX.getFileExtension(); //NON-NLS
+		final OperatingSystem os = LSystem.INSTANCE.getSystem().orElse(OperatingSystem.LINUX);
+		boolean ok = false;
+
+		if(LFileUtils.INSTANCE.saveFile(pathTex, "\\begin{document}" + LSystem.EOL + "\\end{document}" + LSystem.EOL).isPresent()) { //NON-NLS
+			ok = execute(new String[]{os.getLatexBinPath(), getFormatOption(format), "--interaction=nonstopmode", "--halt-on-error", //NON-NLS
+				"--output-directory=" + tmpDir.getAbsolutePath(), LFileUtils.INSTANCE.normalizeForLaTeX(pathTex)}, tmpDir, cancelled); //NON-NLS
+		}
+
+		LFileUtils.INSTANCE.removeDirWithContent(tmpDir.getPath());
+		return ok;
+	}
+
+	/**
+	 * Executes the given command.
+	 * @param cancelled Tells whether the command is no longer expected: the process is then killed.
+	 * @return True if the command exits normally.
+	 */
+	private boolean execute(final String[] cmd, final File workingDir, final BooleanSupplier cancelled) {
+		try {
+			final Process process = Runtime.getRuntime().exec(cmd, null, workingDir);
+			final StreamExecReader errReader = new StreamExecReader(process.getErrorStream());
+			final StreamExecReader outReader = new StreamExecReader(process.getInputStream());
+
+			errReader.start();
+			outReader.start();
+
+			while(!process.waitFor(CANCELLATION_CHECK_PERIOD, TimeUnit.MILLISECONDS)) {
+				if(cancelled.getAsBoolean()) {
+					process.destroyForcibly();
+					return false;
+				}
+			}
+
+			return process.exitValue() == 0;
+		}catch(final IOException | IllegalThreadStateException ex) {
+			return false;
+		}catch(final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void deleteFormat(final File file) {
+		try {
+			Files.deleteIfExists(file.toPath());
+		}catch(final IOException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+		}
+	}
+
+	/**
+	 * Removes the least recently used formats until their number fits the maximal number of formats.
+	 */
+	private synchronized void evict() {
+		final File[] files = dir.listFiles((d, name) -> name.endsWith(FORMAT_EXTENSION));
+
+		if(files != null && files.length > MAX_FORMATS) {
+			Arrays.sort(files, Comparator.comparingLong(f -> -f.lastModified()));
+			Arrays.stream(files).skip(MAX_FORMATS).forEach(f -> deleteFormat(f));
+		}
+	}
+
+	/**
+	 * Removes the formats stored on disk.
+	 */
+	public synchronized void clear() {
+		formats.clear();
+		final File[] files = dir.listFiles((d, name) -> name.endsWith(FORMAT_EXTENSION));
+		if(files != null) {
+			Arrays.stream(files).forEach(f -> deleteFormat(f));
+		}
+	}
+}
@@ -19,6 +19,7 @@ import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
@@ -264,6 +265,20 @@ public abstract class LaTeXGenerator implements Modifiable {
 	 */
 	public abstract String getDocumentCode();
 
+	/**
+	 * @return The preamble of the latex document compiled for the PS, EPS, and PDF exports: from the document class
+	 * to the \begin{document} (excluded). It does not depend on the drawing so that it can be precompiled (see LaTeXFormatCache).
+	 * This document is only compiled internally: it may differ from the exported one (see getDocumentCode).
+	 * @since 4.0
+	 */
+	protected abstract String getCompiledPreamble();
+
+	/**
+	 * @return The latex document compiled for the PS, EPS, and PDF exports without its preamble (see getCompiledPreamble).
+	 * @since 4.0
+	 */
+	protected abstract String getCompiledBody();
+
 	/**
 	 * Create a .ps file that corresponds to the compiled latex document containing
 	 * the pstricks drawing.
@@ -343,7 +358,16 @@ public abstract class LaTeXGenerator implements Modifiable {
 		}
 
 		final String path = tmpDir2.getAbsolutePath() + LSystem.FILE_SEP;
-		final Optional<File> optFile = LFileUtils.INSTANCE.saveFile(path + name + ExportFormat.TEX.getFileExtension(), getDocumentCode());
+		// The format of the preamble is prepared in background when the generator is created or when the packages change.
+		// Off the JFX thread, the export waits for it; on the JFX thread, it is used if already built.
+		final Optional<String> format = Platform.isFxApplicationThread() ? LaTeXFormatCache.INSTANCE.getBuiltFormat(getCompiledPreamble()) :
+			LaTeXFormatCache.INSTANCE.getFormat(getCompiledPreamble(), () -> false);
+		if(!format.isPresent()) {
+			LaTeXFormatCache.INSTANCE.prepare(getCompiledPreamble());
+		}
+		// Against the precompiled format of the preamble, the document does not contain its preamble.
+		final Optional<File> optFile = LFileUtils.INSTANCE.saveFile(path + name + ExportFormat.TEX.getFileExtension(),
+			format.isPresent() ? getCompiledBody() : getDocumentCode());
 
 		if(!optFile.isPresent()) {
 			return Optional.empty();
@@ -364,7 +388,19 @@ public abstract class LaTeXGenerator implements Modifiable {
 
 		final String[] paramsLatex = {os.getLatexBinPath(), "--interaction=nonstopmode", "--output-directory=" + tmpDir2.getAbsolutePath(), //NON-NLS
 			LFileUtils.INSTANCE.normalizeForLaTeX(texFile.getAbsolutePath())}; //NON-NLS
-		log = LSystem.INSTANCE.execute(paramsLatex, tmpDir2);
+
+		if(format.isPresent()) {
+			final String[] paramsLatexFormat = {os.getLatexBinPath(), LaTeXFormatCache.getFormatOption(format.get()), "--interaction=nonstopmode", //NON-NLS
+				"--output-directory=" + tmpDir2.getAbsolutePath(), LFileUtils.INSTANCE.normalizeForLaTeX(texFile.getAbsolutePath())}; //NON-NLS
+			log = LSystem.INSTANCE.execute(paramsLatexFormat, tmpDir2);
+
+			// The compilation against the format failed: the document is compiled with its preamble.
+			if(!new File(path + name + ".dvi").exists() && LFileUtils.INSTANCE.saveFile(texFile.getAbsolutePath(), getDocumentCode()).isPresent()) { //NON-NLS
+				log = LSystem.INSTANCE.execute(paramsLatex, tmpDir2);
+			}
+		}else {
+			log = LSystem.INSTANCE.execute(paramsLatex, tmpDir2);
+		}
 
 		final String[] paramsDvi = {os.getDvipsBinPath(), "-Pdownload35", "-T", //NON-NLS
 			(tr.getX() - bl.getX()) / ppc * scale + dec + "cm," + ((bl.getY() - tr.getY()) / ppc * scale + dec) + "cm", //NON-NLS
@@ -16,6 +16,7 @@ import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.util.LSystem;
 import net.sf.latexdraw.view.latex.DviPsColors;
+import net.sf.latexdraw.view.latex.LaTeXFormatCache;
 import net.sf.latexdraw.view.latex.LaTeXGenerator;
 import net.sf.latexdraw.view.latex.VerticalPosition;
 
@@ -33,11 +34,29 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 		"\\patchcmd\\Gread@eps{\\@inputcheck#1 }{\\@inputcheck\"#1\"\\relax}{}{}" + LSystem.EOL + "\\makeatother" + LSystem.EOL; //NON-NLS
 
 
+	static {
+		// The format of the compiled documents is built in background when the packages change, before the next export.
+		PACKAGES.addListener((observable, oldValue, newValue) -> LaTeXFormatCache.INSTANCE.prepare(createCompiledPreamble()));
+	}
+
+	/**
+	 * @return The preamble of the documents compiled for the exports (see getCompiledPreamble).
+	 */
+	private static String createCompiledPreamble() {
+		// The geometry of the page depends on the drawing: the package is configured in the body of the document.
+		return "\\documentclass{article}" + LSystem.EOL + "\\pagestyle{empty}" + LSystem.EOL + getPackages() + LSystem.EOL + //NON-NLS
+			"\\usepackage{geometry}" + LSystem.EOL + "\\usepackage[usenames,dvipsnames]{pstricks}" + LSystem.EOL + //NON-NLS
+			"\\usepackage{epsfig}" + LSystem.EOL + "\\usepackage{pst-grad}" + LSystem.EOL + "\\usepackage{pst-plot}" + LSystem.EOL + //NON-NLS
+			PSTCodeGenerator.PACKAGE_FOR_SPACE_PICTURE;
+	}
+
+
 	/**
-	 * Creates and initialises the generator.
+	 * Creates and initialises the generator. The format of the compiled documents is built in background for the first export.
 	 */
 	public PSTCodeGenerator() {
 		super();
+		LaTeXFormatCache.INSTANCE.prepare(createCompiledPreamble());
 	}
 
 
@@ -66,6 +85,34 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 	}
 
 
+	@Override
+	protected String getCompiledPreamble() {
+		return createCompiledPreamble();
+	}
+
+
+	@Override
+	protected String getCompiledBody() {
+		final StringBuilder doc = new StringBuilder();
+		final IPoint bl = handler.getBottomLeftDrawingPoint();
+		final IPoint tr = handler.getTopRightDrawingPoint();
+		final float ppc = handler.getPPCDrawing();
+
+		if(tr.getY() < 0d) {
+			bl.setY(bl.getY() - tr.getY());
+			tr.setY(0d);
+		}
+
+		doc.append("\\geometry{left=0cm,top=0.1cm,right=0cm,bottom=0cm,nohead,nofoot,paperwidth="). //NON-NLS
+			append(tr.getX() / ppc * scale).append("cm,paperheight=").append(bl.getY() / ppc * scale + 0.2).append("cm}").append(LSystem.EOL). //NON-NLS
+			append("\\begin{document}").append(LSystem.EOL). //NON-NLS
+			append("\\addtolength{\\oddsidemargin}{-0.2in}").append(LSystem.EOL).append("\\addtolength{\\evensidemargin}{-0.2in}"). //NON-NLS
+			append(LSystem.EOL).append(getDrawingCode()).append(LSystem.EOL).append("\\end{document}"); //NON-NLS
+
+		return doc.toString();
+	}
+
+
 	@Override
 	public String getDrawingCode() {
 		if(drawing.isEmpty()) {
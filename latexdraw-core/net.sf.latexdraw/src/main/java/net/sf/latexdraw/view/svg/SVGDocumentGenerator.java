@@ -20,6 +20,7 @@ import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -597,32 +598,42 @@ public final class SVGDocumentGenerator implements OpenSaver<Label> {
 				// Adding loaded shapes.
 				final double incrProgressBar = Math.max(50d / (svgDoc.getDocumentElement().getChildNodes().getLength() + 1d), 1d);
 
-				Platform.runLater(() -> {
-					toLatexdraw(svgDoc, incrProgressBar).forEach(s -> drawing.addShape(s));
-					updateProgress(getProgress() + 50d, 100d);
-
-					// Loads the canvas' data.
-					canvas.load(false, LNamespace.LATEXDRAW_NAMESPACE_URI, ldMeta);
-					updateProgress(getProgress() + incrProgressBar, 100d);
+				// Completed when the document is loaded in the drawing. The views of large numbers of shapes are built in background:
+				// they are attached to the canvas after the loading.
+				final CompletableFuture<Boolean> loaded = new CompletableFuture<>();
 
-					// The parameters of the instruments are loaded.
-					if(ldMeta != null) {
-						loadInstruments(ldMeta, instruments);
-					}
+				Platform.runLater(() -> {
+					try {
+						drawing.addShapes(toLatexdraw(svgDoc, incrProgressBar));
+						updateProgress(getProgress() + 50d, 100d);
 
-					// Updating the possible widgets of the instruments.
-					instruments.forEach(ins -> {
-						ins.interimFeedback();
+						// Loads the canvas' data.
+						canvas.load(false, LNamespace.LATEXDRAW_NAMESPACE_URI, ldMeta);
+						updateProgress(getProgress() + incrProgressBar, 100d);
 
+						// The parameters of the instruments are loaded.
 						if(ldMeta != null) {
-							LaTeXDraw.getInstance().load(false, LNamespace.LATEXDRAW_NAMESPACE_URI, ldMeta);
+							loadInstruments(ldMeta, instruments);
 						}
 
-						LaTeXDraw.getInstance().getMainStage().setTitle(getDocumentName());
-					});
+						// Updating the possible widgets of the instruments.
+						instruments.forEach(ins -> {
+							ins.interimFeedback();
+
+							if(ldMeta != null) {
+								LaTeXDraw.getInstance().load(false, LNamespace.LATEXDRAW_NAMESPACE_URI, ldMeta);
+							}
+
+							LaTeXDraw.getInstance().getMainStage().setTitle(getDocumentName());
+						});
+						loaded.complete(true);
+					}catch(final RuntimeException ex) {
+						BadaboomCollector.INSTANCE.add(ex);
+						loaded.complete(false);
+					}
 				});
 
-				return true;
+				return loaded.get();
 			}catch(final Exception e) {
 				BadaboomCollector.INSTANCE.add(e);
 				return false;
@@ -22,6 +22,8 @@ import net.sf.latexdraw.parsers.svg.SVGElement;
 import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.util.LNamespace;
 import net.sf.latexdraw.view.PlotViewHelper;
+import net.sf.latexdraw.view.jfx.JFXToSVG;
+import net.sf.latexdraw.view.jfx.ViewPlotDots;
 
 /**
  * An SVG generator for plotted functions.
@@ -162,7 +164,7 @@ class SVGPlot extends SVGShape<IPlot> {
 				toSVGCurve(elt, doc, posX, posY, minX, maxX, step);
 				break;
 			case DOTS:
-				toSVGDots(elt, doc, posX, posY, minX, maxX, step);
+				toSVGDots(elt, doc, posX, posY);
 				break;
 			case POLYGON:
 				toSVGPolygon(elt, doc, posX, posY, minX, maxX, step);
@@ -213,10 +215,24 @@ class SVGPlot extends SVGShape<IPlot> {
 	}
 
 
-	private void toSVGDots(final SVGElement elt, final SVGDocument doc, final double posX, final double posY, final double minX, final double maxX, final double step) {
-		for(final IDot dot : PlotViewHelper.INSTANCE.updatePoints(shape, posX, posY, minX, maxX, step)) {
-			elt.appendChild(SVGShapesFactory.INSTANCE.createSVGElement(dot, doc));
+	/**
+	 * The dot of the first plotted point is exported as a dot element: it defines the dot parameters of the plot when
+	 * importing the SVG document. The other dots are exported as a single group of paths.
+	 */
+	private void toSVGDots(final SVGElement elt, final SVGDocument doc, final double posX, final double posY) {
+		final double[] xs = shape.getPlottedPointsX();
+		final double[] ys = shape.getPlottedPointsY();
+
+		if(xs.length == 0) {
+			return;
 		}
+
+		final IDot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint(posX + xs[0], posY + ys[0]));
+		dot.copy(shape);
+		dot.setPosition(posX + xs[0], posY + ys[0]);
+		dot.setRotationAngle(0d);
+		elt.appendChild(SVGShapesFactory.INSTANCE.createSVGElement(dot, doc));
+		elt.appendChild(JFXToSVG.INSTANCE.groupToSVGGElement(new ViewPlotDots(shape, posX, posY, 1), doc));
 	}
 
 
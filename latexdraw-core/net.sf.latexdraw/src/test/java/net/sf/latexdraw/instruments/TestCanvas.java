@@ -1,17 +1,34 @@
 package net.sf.latexdraw.instruments;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javafx.application.Platform;
 import javafx.scene.Group;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.util.Injector;
 import net.sf.latexdraw.view.MagneticGrid;
 import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.jfx.LevelOfDetail;
 import net.sf.latexdraw.view.jfx.PageView;
+import net.sf.latexdraw.view.jfx.RenderingBackend;
+import net.sf.latexdraw.view.jfx.ViewCircle;
 import net.sf.latexdraw.view.jfx.ViewRectangle;
+import net.sf.latexdraw.view.jfx.ViewShape;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -74,4 +91,287 @@ public class TestCanvas extends BaseTestCanvas {
 		new CompositeGUIVoidCommand(addRec, waitFXEvents).execute();
 		assertTrue(getPane().getChildren().get(0) instanceof ViewRectangle);
 	}
+
+	@Test
+	public void testShapesAddedViewsCreatedInOrder() {
+		new CompositeGUIVoidCommand(() -> Platform.runLater(() -> canvas.getDrawing().addShapes(Arrays.asList(
+			ShapeFactory.INST.createRectangle(), ShapeFactory.INST.createCircle(), ShapeFactory.INST.createRectangle()))), waitFXEvents).execute();
+		assertEquals(3, getPane().getChildren().size());
+		assertTrue(getPane().getChildren().get(1) instanceof ViewCircle);
+	}
+
+	@Test
+	public void testShapeInsertedViewAtSamePosition() {
+		new CompositeGUIVoidCommand(() -> Platform.runLater(() -> {
+			canvas.getDrawing().addShapes(Arrays.asList(ShapeFactory.INST.createRectangle(), ShapeFactory.INST.createRectangle()));
+			canvas.getDrawing().addShape(ShapeFactory.INST.createCircle(), 1);
+		}), waitFXEvents).execute();
+		assertTrue(getPane().getChildren().get(1) instanceof ViewCircle);
+	}
+
+	@Test
+	public void testShapeInsertedAfterShapeWithoutViewAtSamePosition() {
+		// A shape without view shifts the positions in the drawing from the positions in the views pane.
+		new CompositeGUIVoidCommand(() -> Platform.runLater(() -> {
+			canvas.getDrawing().addShapes(Arrays.asList(ShapeFactory.INST.createRectangle(), Mockito.mock(IShape.class), ShapeFactory.INST.createRectangle()));
+			canvas.getDrawing().addShape(ShapeFactory.INST.createCircle(), 2);
+		}), waitFXEvents).execute();
+		assertEquals(3, getPane().getChildren().size());
+		assertTrue(getPane().getChildren().get(1) instanceof ViewCircle);
+	}
+
+	@Test
+	public void testShapesRemovedViewsRemoved() {
+		new CompositeGUIVoidCommand(() -> Platform.runLater(() -> {
+			canvas.getDrawing().addShapes(Arrays.asList(ShapeFactory.INST.createRectangle(), ShapeFactory.INST.createCircle(), ShapeFactory.INST.createRectangle()));
+			canvas.getDrawing().getShapes().remove(0, 2);
+		}), waitFXEvents).execute();
+		assertEquals(1, getPane().getChildren().size());
+		assertTrue(getPane().getChildren().get(0) instanceof ViewRectangle);
+	}
+
+	final GUIVoidCommand addManyShapes = () -> Platform.runLater(() -> canvas.getDrawing().addShapes(IntStream.range(0, 250).
+		mapToObj(i -> i == 150 ? ShapeFactory.INST.createCircle() : ShapeFactory.INST.createRectangle()).collect(Collectors.toList())));
+
+	@Test
+	public void testManyShapesViewsBuiltInBackground() throws TimeoutException {
+		new CompositeGUIVoidCommand(addManyShapes, waitFXEvents).execute();
+		WaitForAsyncUtils.waitFor(10, TimeUnit.SECONDS, () -> canvas.getNbPendingViews() == 0);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(250, getPane().getChildren().size());
+		assertTrue(getPane().getChildren().get(150) instanceof ViewCircle);
+	}
+
+	@Test
+	public void testManyShapesRemovedWhileBuildingNoView() throws TimeoutException {
+		new CompositeGUIVoidCommand(addManyShapes, () -> Platform.runLater(() -> canvas.getDrawing().clear()), waitFXEvents).execute();
+		WaitForAsyncUtils.waitFor(10, TimeUnit.SECONDS, () -> canvas.getNbPendingViews() == 0);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(getPane().getChildren().isEmpty());
+	}
+
+	@Test
+	public void testManyShapesViewOnDemandWhileBuilding() {
+		new CompositeGUIVoidCommand(addManyShapes, waitFXEvents).execute();
+		assertTrue(canvas.getViewFromShape(canvas.getDrawing().getShapeAt(200)).isPresent());
+	}
+
+	@Test
+	public void testManyShapesViewOnDemandWhileBuildingNotBuiltTwice() throws TimeoutException {
+		final AtomicReference<ViewShape<?>> view = new AtomicReference<>();
+		// The view is asked on the JFX thread right after the shapes are added: its batch is being built.
+		new CompositeGUIVoidCommand(addManyShapes, () -> Platform.runLater(() ->
+			view.set(canvas.getViewFromShape(canvas.getDrawing().getShapeAt(200)).get())), waitFXEvents).execute();
+		final IShape sh = canvas.getDrawing().getShapeAt(200);
+		WaitForAsyncUtils.waitFor(10, TimeUnit.SECONDS, () -> canvas.getNbPendingViews() == 0);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(250, getPane().getChildren().size());
+		assertSame(view.get(), canvas.getViewFromShape(sh).get());
+		assertSame(view.get(), getPane().getChildren().get(200));
+	}
+
+	IRectangle farRec;
+
+	final GUIVoidCommand addFarRec = () -> Platform.runLater(() -> {
+		farRec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(Canvas.ORIGIN.getX() * 2d, Canvas.ORIGIN.getY() * 2d), 100, 100);
+		canvas.getDrawing().addShape(farRec);
+	});
+
+	final GUIVoidCommand virtualise = () -> Platform.runLater(() -> canvas.setVirtualised(true));
+
+	@Test
+	public void testNotVirtualisedByDefault() {
+		assertFalse(canvas.isVirtualised());
+	}
+
+	@Test
+	public void testVirtualisedOnlyVisibleViewsRealised() {
+		new CompositeGUIVoidCommand(addRec, addFarRec, virtualise, waitFXEvents).execute();
+		assertEquals(1, getPane().getChildren().size());
+		assertEquals(addedRec, getPane().getChildren().get(0).getUserData());
+	}
+
+	@Test
+	public void testVirtualisedViewRealisedOnDemand() {
+		new CompositeGUIVoidCommand(addRec, addFarRec, virtualise, waitFXEvents).execute();
+		assertTrue(canvas.getViewFromShape(farRec).isPresent());
+		assertEquals(2, getPane().getChildren().size());
+		assertEquals(farRec, getPane().getChildren().get(1).getUserData());
+	}
+
+	@Test
+	public void testVirtualisedViewRealisedOnDemandFollowsShapesOrder() {
+		new CompositeGUIVoidCommand(addFarRec, addRec, virtualise, waitFXEvents).execute();
+		assertTrue(canvas.getViewFromShape(farRec).isPresent());
+		assertEquals(2, getPane().getChildren().size());
+		assertEquals(farRec, getPane().getChildren().get(0).getUserData());
+		assertEquals(addedRec, getPane().getChildren().get(1).getUserData());
+	}
+
+	@Test
+	public void testVirtualisedRealiseAllViews() {
+		new CompositeGUIVoidCommand(addRec, addFarRec, virtualise, waitFXEvents).execute();
+		Platform.runLater(() -> canvas.realiseAllViews());
+		waitFXEvents.execute();
+		assertEquals(2, getPane().getChildren().size());
+		assertEquals(addedRec, getPane().getChildren().get(0).getUserData());
+		assertEquals(farRec, getPane().getChildren().get(1).getUserData());
+	}
+
+	@Test
+	public void testVirtualisedReleaseViews() {
+		new CompositeGUIVoidCommand(addRec, addFarRec, virtualise, waitFXEvents).execute();
+		Platform.runLater(() -> {
+			canvas.realiseAllViews();
+			canvas.releaseViews();
+		});
+		waitFXEvents.execute();
+		assertEquals(1, getPane().getChildren().size());
+		assertEquals(addedRec, getPane().getChildren().get(0).getUserData());
+	}
+
+	@Test
+	public void testVirtualisedSelectedViewRealised() {
+		new CompositeGUIVoidCommand(addRec, addFarRec, virtualise, waitFXEvents).execute();
+		Platform.runLater(() -> canvas.getDrawing().getSelection().addShape(farRec));
+		waitFXEvents.execute();
+		assertEquals(2, getPane().getChildren().size());
+	}
+
+	@Test
+	public void testNotVirtualisedAllViewsRealised() {
+		new CompositeGUIVoidCommand(addRec, addFarRec, virtualise, waitFXEvents).execute();
+		Platform.runLater(() -> canvas.setVirtualised(false));
+		waitFXEvents.execute();
+		assertEquals(2, getPane().getChildren().size());
+	}
+
+	final GUIVoidCommand immediate = () -> Platform.runLater(() -> canvas.setRenderingBackend(RenderingBackend.IMMEDIATE));
+
+	@Test
+	public void testSceneGraphBackendByDefault() {
+		assertEquals(RenderingBackend.SCENE_GRAPH, canvas.getRenderingBackend());
+	}
+
+	@Test
+	public void testImmediateNoViewForNotSelectedShapes() {
+		new CompositeGUIVoidCommand(addRec, immediate, waitFXEvents).execute();
+		assertTrue(getPane().getChildren().isEmpty());
+	}
+
+	@Test
+	public void testImmediateRendererBelowViews() {
+		new CompositeGUIVoidCommand(immediate, waitFXEvents).execute();
+		assertEquals(3, canvas.getChildren().indexOf(getPane()));
+	}
+
+	@Test
+	public void testImmediateRendererRemovedWithSceneGraph() {
+		new CompositeGUIVoidCommand(addRec, immediate, waitFXEvents).execute();
+		Platform.runLater(() -> canvas.setRenderingBackend(RenderingBackend.SCENE_GRAPH));
+		waitFXEvents.execute();
+		assertEquals(2, canvas.getChildren().indexOf(getPane()));
+		assertEquals(1, getPane().getChildren().size());
+	}
+
+	@Test
+	public void testImmediateSelectedShapeHasView() {
+		new CompositeGUIVoidCommand(addRec, immediate, waitFXEvents).execute();
+		Platform.runLater(() -> canvas.getDrawing().getSelection().addShape(addedRec));
+		waitFXEvents.execute();
+		assertEquals(1, getPane().getChildren().size());
+		assertEquals(addedRec, getPane().getChildren().get(0).getUserData());
+	}
+
+	@Test
+	public void testImmediatePaintedShapePicked() {
+		new CompositeGUIVoidCommand(addRec, immediate, waitFXEvents).execute();
+		assertEquals(addedRec, canvas.getPaintedShapeAt(addedRec.getGravityCentre().getX(), addedRec.getGravityCentre().getY()).orElse(null));
+	}
+
+	@Test
+	public void testImmediateNoPaintedShapePicked() {
+		new CompositeGUIVoidCommand(addRec, immediate, waitFXEvents).execute();
+		assertFalse(canvas.getPaintedShapeAt(addedRec.getGravityCentre().getX() - 500d, addedRec.getGravityCentre().getY()).isPresent());
+	}
+
+	@Test
+	public void testNoPaintedShapeWithSceneGraph() {
+		new CompositeGUIVoidCommand(addRec, waitFXEvents).execute();
+		assertFalse(canvas.getPaintedShapeAt(addedRec.getGravityCentre().getX(), addedRec.getGravityCentre().getY()).isPresent());
+	}
+
+	final GUIVoidCommand tiled = () -> Platform.runLater(() -> canvas.setRenderingBackend(RenderingBackend.TILED));
+
+	@Test
+	public void testTiledNoViewForNotSelectedShapes() {
+		new CompositeGUIVoidCommand(addRec, tiled, waitFXEvents).execute();
+		assertTrue(getPane().getChildren().isEmpty());
+	}
+
+	@Test
+	public void testTiledRendererReplacesImmediateRenderer() {
+		new CompositeGUIVoidCommand(immediate, tiled, waitFXEvents).execute();
+		assertEquals(3, canvas.getChildren().indexOf(getPane()));
+	}
+
+	@Test
+	public void testTiledPaintedShapePicked() {
+		new CompositeGUIVoidCommand(addRec, tiled, waitFXEvents).execute();
+		assertEquals(addedRec, canvas.getPaintedShapeAt(addedRec.getGravityCentre().getX(), addedRec.getGravityCentre().getY()).orElse(null));
+	}
+
+	final GUIVoidCommand zoomOut = () -> Platform.runLater(() -> canvas.setZoom(Double.NaN, Double.NaN, 0.1));
+
+	@Test
+	public void testFullDetailByDefault() {
+		assertEquals(LevelOfDetail.HIGH, canvas.getLevelOfDetail());
+	}
+
+	@Test
+	public void testLevelOfDetailLowWhenZoomedOut() {
+		new CompositeGUIVoidCommand(zoomOut, waitFXEvents).execute();
+		assertEquals(LevelOfDetail.LOW, canvas.getLevelOfDetail());
+	}
+
+	@Test
+	public void testLevelOfDetailMediumWithThresholds() {
+		Platform.runLater(() -> canvas.setLevelOfDetailThresholds(0.2, 0.05));
+		new CompositeGUIVoidCommand(zoomOut, waitFXEvents).execute();
+		assertEquals(LevelOfDetail.MEDIUM, canvas.getLevelOfDetail());
+	}
+
+	@Test
+	public void testViewSwitchesLevelOfDetailWithoutBeingCreatedAgain() {
+		new CompositeGUIVoidCommand(addRec, waitFXEvents).execute();
+		final Object view = getPane().getChildren().get(0);
+		new CompositeGUIVoidCommand(zoomOut, waitFXEvents).execute();
+		assertEquals(view, getPane().getChildren().get(0));
+		assertEquals(LevelOfDetail.LOW, ((ViewShape<?>) view).getLevelOfDetail());
+	}
+
+	@Test
+	public void testViewCreatedAtCurrentLevelOfDetail() {
+		new CompositeGUIVoidCommand(zoomOut, addRec, waitFXEvents).execute();
+		assertEquals(LevelOfDetail.LOW, ((ViewShape<?>) getPane().getChildren().get(0)).getLevelOfDetail());
+	}
+
+	@Test
+	public void testFullDetailForced() {
+		new CompositeGUIVoidCommand(addRec, zoomOut, waitFXEvents).execute();
+		Platform.runLater(() -> canvas.setFullDetail(true));
+		waitFXEvents.execute();
+		assertEquals(LevelOfDetail.HIGH, ((ViewShape<?>) getPane().getChildren().get(0)).getLevelOfDetail());
+	}
+
+	@Test
+	public void testFullDetailReleased() {
+		new CompositeGUIVoidCommand(addRec, zoomOut, waitFXEvents).execute();
+		Platform.runLater(() -> {
+			canvas.setFullDetail(true);
+			canvas.setFullDetail(false);
+		});
+		waitFXEvents.execute();
+		assertEquals(LevelOfDetail.LOW, canvas.getLevelOfDetail());
+	}
 }
@@ -6,8 +6,10 @@ import java.net.URL;
 import javafx.geometry.Point2D;
 import javafx.scene.input.MouseButton;
 import javafx.stage.FileChooser;
+import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.ArcStyle;
+import net.sf.latexdraw.models.interfaces.shape.FreeHandStyle;
 import net.sf.latexdraw.models.interfaces.shape.IAxes;
 import net.sf.latexdraw.models.interfaces.shape.IBezierCurve;
 import net.sf.latexdraw.models.interfaces.shape.ICircle;
@@ -21,11 +23,13 @@ import net.sf.latexdraw.models.interfaces.shape.IPicture;
 import net.sf.latexdraw.models.interfaces.shape.IPolygon;
 import net.sf.latexdraw.models.interfaces.shape.IPolyline;
 import net.sf.latexdraw.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.models.interfaces.shape.ISquare;
 import net.sf.latexdraw.models.interfaces.shape.IText;
 import net.sf.latexdraw.ui.TextAreaAutoSize;
 import net.sf.latexdraw.util.Injector;
 import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.pst.PSTViewsFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -172,6 +176,23 @@ public class TestCanvasCreation extends BaseTestCanvas {
 		assertEquals(-Canvas.getMargins() + canvas.screenToLocal(pos).getY(), drawing.getShapeAt(0).getTopLeftPoint().getY(), 1d);
 	}
 
+	@Test
+	public void testDrawSimplifiedFreeHandExportsAllVertices() {
+		pencil.setCurrentChoice(EditionChoice.FREE_HAND);
+		pencil.getGroupParams().setInterval(3);
+		pencil.getGroupParams().setType(FreeHandStyle.LINES);
+		final Point2D pos = point(canvas).query();
+		drag(pos, MouseButton.PRIMARY).moveBy(100d, 0d).moveBy(0d, 100d).moveBy(-100d, 0d).drop();
+		waitFXEvents.execute();
+
+		final IFreehand sh = (IFreehand) drawing.getShapeAt(0);
+		assertEquals(1, sh.getInterval());
+		assertTrue(sh.getNbPoints() > 2);
+		final String code = PSTViewsFactory.INSTANCE.createView(sh).get().getCode(ShapeFactory.INST.createPoint(), IShape.PPC);
+		sh.getPoints().stream().skip(1).forEach(pt -> assertTrue(code.contains("\\lineto(" + MathUtils.INST.getCutNumberFloat(pt.getX() / IShape.PPC) +
+			',' + MathUtils.INST.getCutNumberFloat(-pt.getY() / IShape.PPC) + ')')));
+	}
+
 	@Test
 	public void testDrawPolygon() {
 		pencil.setCurrentChoice(EditionChoice.POLYGON);
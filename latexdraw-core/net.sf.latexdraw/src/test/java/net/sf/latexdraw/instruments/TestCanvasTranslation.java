@@ -21,6 +21,7 @@ import org.mockito.Mockito;
 import org.testfx.util.WaitForAsyncUtils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 @RunWith(Theories.class)
@@ -132,4 +133,59 @@ public class TestCanvasTranslation extends BaseTestCanvas {
 		waitFXEvents.execute();
 		assertEquals(tl, canvas.getDrawing().getShapeAt(0).getTopLeftPoint());
 	}
+
+	@Test
+	public void testTranslateDeferredDoesNotModifyShapesBeforeRelease() {
+		hand.translationCommitDelayProperty().set(0L);
+		new CompositeGUIVoidCommand(addRec, waitFXEvents).execute();
+		final IPoint tl = canvas.getDrawing().getShapeAt(0).getTopLeftPoint();
+		drag(canvas.getViews().getChildren().get(0)).sleep(10).moveBy(100d, 200d);
+		waitFXEvents.execute();
+		assertEquals(tl, canvas.getDrawing().getShapeAt(0).getTopLeftPoint());
+		drop();
+		waitFXEvents.execute();
+		assertEquals(tl.getX() + 100d, canvas.getDrawing().getShapeAt(0).getTopLeftPoint().getX(), 1d);
+		assertEquals(tl.getY() + 200d, canvas.getDrawing().getShapeAt(0).getTopLeftPoint().getY(), 1d);
+		assertTrue(canvas.getViews().getChildren().get(0).getTransforms().isEmpty());
+	}
+
+	@Test
+	public void testTranslateLiveByDefault() {
+		assertTrue(hand.translationCommitDelayProperty().get() < 0L);
+	}
+
+	@Test
+	public void testTranslateLive() {
+		hand.translationCommitDelayProperty().set(-1L);
+		new CompositeGUIVoidCommand(addRec, waitFXEvents).execute();
+		final IPoint tl = canvas.getDrawing().getShapeAt(0).getTopLeftPoint();
+		drag(canvas.getViews().getChildren().get(0)).sleep(10).moveBy(100d, 200d);
+		waitFXEvents.execute();
+		assertEquals(tl.getX() + 100d, canvas.getDrawing().getShapeAt(0).getTopLeftPoint().getX(), 1d);
+		drop();
+		waitFXEvents.execute();
+		assertEquals(tl.getX() + 100d, canvas.getDrawing().getShapeAt(0).getTopLeftPoint().getX(), 1d);
+		assertEquals(tl.getY() + 200d, canvas.getDrawing().getShapeAt(0).getTopLeftPoint().getY(), 1d);
+	}
+
+	@Test
+	public void testTranslateThrottled() {
+		hand.translationCommitDelayProperty().set(1L);
+		new CompositeGUIVoidCommand(addRec, waitFXEvents).execute();
+		final IPoint tl = canvas.getDrawing().getShapeAt(0).getTopLeftPoint();
+		drag(canvas.getViews().getChildren().get(0)).sleep(10).moveBy(50d, 100d).sleep(10).moveBy(50d, 100d).drop();
+		waitFXEvents.execute();
+		assertEquals(tl.getX() + 100d, canvas.getDrawing().getShapeAt(0).getTopLeftPoint().getX(), 1d);
+		assertEquals(tl.getY() + 200d, canvas.getDrawing().getShapeAt(0).getTopLeftPoint().getY(), 1d);
+	}
+
+	@Test
+	public void testTranslateThrottledAbortOK() {
+		hand.translationCommitDelayProperty().set(1L);
+		new CompositeGUIVoidCommand(addRec, waitFXEvents).execute();
+		final IPoint tl = canvas.getDrawing().getShapeAt(0).getTopLeftPoint();
+		drag(canvas.getViews().getChildren().get(0)).sleep(10).moveBy(50d, 100d).sleep(10).moveBy(50d, 100d).type(KeyCode.ESCAPE);
+		waitFXEvents.execute();
+		assertEquals(tl, canvas.getDrawing().getShapeAt(0).getTopLeftPoint());
+	}
 }
@@ -13,6 +13,8 @@ import net.sf.latexdraw.util.Injector;
 import net.sf.latexdraw.util.Preference;
 import net.sf.latexdraw.view.GridStyle;
 import net.sf.latexdraw.view.MagneticGrid;
+import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.jfx.RenderingBackend;
 import org.junit.Before;
 import org.junit.Test;
 import org.malai.command.CommandsRegistry;
@@ -39,6 +41,8 @@ public class TestPreferencesSetter extends TestLatexdrawGUI implements FxRobotLi
 				bindToInstance(FileLoaderSaver.class, Mockito.mock(FileLoaderSaver.class));
 				bindToInstance(MagneticGrid.class, Mockito.mock(MagneticGrid.class));
 				bindToInstance(Exporter.class, Mockito.mock(Exporter.class));
+				bindToInstance(Pencil.class, Mockito.mock(Pencil.class));
+				bindToInstance(Canvas.class, Mockito.mock(Canvas.class));
 			}
 		};
 	}
@@ -71,6 +75,41 @@ public class TestPreferencesSetter extends TestLatexdrawGUI implements FxRobotLi
 		assertTrue(CommandsRegistry.INSTANCE.getCommands().get(0) instanceof ModifyMagneticGrid);
 	}
 
+	@Test
+	public void testReadWriteVirtualised() {
+		Platform.runLater(() -> setter.readXMLPreferences());
+		waitFXEvents.execute();
+		clickOn(setter.virtualisedCB);
+		waitFXEvents.execute();
+		final boolean value = setter.virtualisedCB.isSelected();
+		writeReadPrefs();
+		assertEquals(value, setter.virtualisedCB.isSelected());
+	}
+
+	@Test
+	public void testReadWriteRenderingBackend() {
+		Platform.runLater(() -> setter.readXMLPreferences());
+		waitFXEvents.execute();
+		Platform.runLater(() -> setter.backendList.getSelectionModel().select(RenderingBackend.IMMEDIATE));
+		waitFXEvents.execute();
+		writeReadPrefs();
+		assertEquals(RenderingBackend.IMMEDIATE, setter.backendList.getSelectionModel().getSelectedItem());
+	}
+
+	@Test
+	public void testReadWriteLevelOfDetailThresholds() {
+		Platform.runLater(() -> setter.readXMLPreferences());
+		waitFXEvents.execute();
+		incrementSpinner(setter.lodMediumField);
+		incrementSpinner(setter.lodLowField);
+		waitFXEvents.execute();
+		final double medium = setter.lodMediumField.getValue();
+		final double low = setter.lodLowField.getValue();
+		writeReadPrefs();
+		assertEquals(medium, setter.lodMediumField.getValue(), 0.0001);
+		assertEquals(low, setter.lodLowField.getValue(), 0.0001);
+	}
+
 	@Test
 	public void testReadWriteCheckNewVersion() {
 		Platform.runLater(() -> setter.readXMLPreferences());
@@ -106,6 +145,17 @@ public class TestPreferencesSetter extends TestLatexdrawGUI implements FxRobotLi
 		assertTrue(CommandsRegistry.INSTANCE.getCommands().get(0) instanceof ModifyMagneticGrid);
 	}
 
+	@Test
+	public void testReadWriteStrokeTolerance() {
+		Platform.runLater(() -> setter.readXMLPreferences());
+		waitFXEvents.execute();
+		incrementSpinner(setter.strokeToleranceField);
+		waitFXEvents.execute();
+		final double value = setter.strokeToleranceField.getValue();
+		writeReadPrefs();
+		assertEquals(value, setter.strokeToleranceField.getValue(), 0.0001);
+	}
+
 	@Test
 	public void testClickChooseLoadFolder() throws NoSuchFieldException, IllegalAccessException {
 		final DirectoryChooser chooser = Mockito.mock(DirectoryChooser.class);
@@ -0,0 +1,56 @@
+package net.sf.latexdraw.instruments;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestStrokeSimplifier {
+	@Test
+	public void testFirstPointAppended() {
+		final StrokeSimplifier simplifier = new StrokeSimplifier(1d, 0d, 0d);
+		assertTrue(simplifier.add(10d, 0d));
+	}
+
+	@Test
+	public void testAlignedPointsReplaceTheLastPoint() {
+		final StrokeSimplifier simplifier = new StrokeSimplifier(1d, 0d, 0d);
+		simplifier.add(10d, 0d);
+		assertFalse(simplifier.add(20d, 0.5d));
+		assertFalse(simplifier.add(30d, 0d));
+	}
+
+	@Test
+	public void testCornerKept() {
+		final StrokeSimplifier simplifier = new StrokeSimplifier(1d, 0d, 0d);
+		simplifier.add(10d, 0d);
+		simplifier.add(20d, 0d);
+		assertTrue(simplifier.add(20d, 10d));
+		assertFalse(simplifier.add(20d, 20d));
+	}
+
+	@Test
+	public void testBackwardStrokeKept() {
+		final StrokeSimplifier simplifier = new StrokeSimplifier(1d, 0d, 0d);
+		simplifier.add(10d, 0d);
+		assertTrue(simplifier.add(5d, 0d));
+	}
+
+	@Test
+	public void testNoToleranceNoSimplification() {
+		final StrokeSimplifier simplifier = new StrokeSimplifier(0d, 0d, 0d);
+		assertTrue(simplifier.add(10d, 0d));
+		assertTrue(simplifier.add(20d, 0d));
+		assertTrue(simplifier.add(30d, 0d));
+	}
+
+	@Test
+	public void testPendingPointsBounded() {
+		final StrokeSimplifier simplifier = new StrokeSimplifier(1d, 0d, 0d);
+		simplifier.add(1d, 0d);
+		for(int i = 2; i <= StrokeSimplifier.MAX_PENDING; i++) {
+			assertFalse(simplifier.add(i, 0d));
+		}
+		assertTrue(simplifier.add(StrokeSimplifier.MAX_PENDING + 1d, 0d));
+	}
+}
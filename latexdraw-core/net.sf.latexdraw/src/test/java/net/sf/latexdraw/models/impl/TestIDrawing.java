@@ -1,17 +1,29 @@
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.collections.ListChangeListener;
 import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IBezierCurve;
 import net.sf.latexdraw.models.interfaces.shape.IDrawing;
 import net.sf.latexdraw.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.models.interfaces.shape.IRectangle;
 import net.sf.latexdraw.models.interfaces.shape.IShape;
+import net.sf.latexdraw.models.interfaces.shape.IText;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class TestIDrawing {
 	IDrawing drawing;
@@ -67,4 +79,293 @@ public class TestIDrawing {
 		assertNotNull(drawing.getSelection());
 		assertEquals(0, drawing.getSelection().size());
 	}
+
+	private IRectangle addRectangle(final double x, final double y) {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(x, y), 20d, 20d);
+		drawing.addShape(rec);
+		return rec;
+	}
+
+	@Test
+	public void testShapesIntersectingEmpty() {
+		assertTrue(drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 100d, 100d)).isEmpty());
+		assertFalse(drawing.shapeAt(ShapeFactory.INST.createPoint(10d, 10d)).isPresent());
+	}
+
+	@Test
+	public void testShapesIntersecting() {
+		final IRectangle rec1 = addRectangle(10d, 10d);
+		addRectangle(100d, 100d);
+		assertEquals(Collections.singletonList(rec1), drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 15d, 15d)));
+	}
+
+	@Test
+	public void testShapesIntersectingInDrawingOrder() {
+		final IRectangle rec1 = addRectangle(10d, 10d);
+		final IRectangle rec2 = addRectangle(15d, 15d);
+		assertEquals(Arrays.asList(rec1, rec2), drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 100d, 100d)));
+		assertEquals(rec2, drawing.shapeAt(ShapeFactory.INST.createPoint(20d, 20d)).get());
+	}
+
+	@Test
+	public void testShapesIntersectingAfterTranslation() {
+		final IRectangle rec1 = addRectangle(10d, 10d);
+		drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 15d, 15d));
+		rec1.translate(200d, 200d);
+		assertTrue(drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 50d, 50d)).isEmpty());
+		assertEquals(rec1, drawing.shapeAt(ShapeFactory.INST.createPoint(215d, 215d)).get());
+	}
+
+	@Test
+	public void testShapesIntersectingAfterRemoval() {
+		final IRectangle rec1 = addRectangle(10d, 10d);
+		drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 15d, 15d));
+		drawing.removeShape(rec1);
+		assertTrue(drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 50d, 50d)).isEmpty());
+	}
+
+	@Test
+	public void testShapesIntersectingConsidersThickness() {
+		final IRectangle rec1 = addRectangle(10d, 10d);
+		rec1.setThickness(20d);
+		assertEquals(rec1, drawing.shapeAt(ShapeFactory.INST.createPoint(35d, 35d)).get());
+	}
+
+	@Test
+	public void testShapesIntersectingConsidersRotation() {
+		final IRectangle rec1 = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(0d, 0d), 100d, 2d);
+		rec1.setThickness(1d);
+		drawing.addShape(rec1);
+		assertFalse(drawing.shapeAt(ShapeFactory.INST.createPoint(50d, 40d)).isPresent());
+		rec1.setRotationAngle(Math.PI / 2d);
+		assertEquals(rec1, drawing.shapeAt(ShapeFactory.INST.createPoint(50d, 40d)).get());
+	}
+
+	@Test
+	public void testShapesIntersectingAfterThicknessPropertyChange() {
+		final IRectangle rec1 = addRectangle(10d, 10d);
+		drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 15d, 15d));
+		rec1.thicknessProperty().set(20d);
+		assertEquals(rec1, drawing.shapeAt(ShapeFactory.INST.createPoint(35d, 35d)).get());
+	}
+
+	@Test
+	public void testShapesIntersectingAfterBoundRotation() {
+		final IRectangle rec1 = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(0d, 0d), 100d, 2d);
+		final DoubleProperty angle = new SimpleDoubleProperty(0d);
+		rec1.setThickness(1d);
+		rec1.rotationAngleProperty().bind(angle);
+		drawing.addShape(rec1);
+		assertFalse(drawing.shapeAt(ShapeFactory.INST.createPoint(50d, 40d)).isPresent());
+		angle.set(Math.PI / 2d);
+		assertEquals(rec1, drawing.shapeAt(ShapeFactory.INST.createPoint(50d, 40d)).get());
+	}
+
+	@Test
+	public void testShapesIntersectingAfterCopy() {
+		final IRectangle rec1 = addRectangle(10d, 10d);
+		final IRectangle thick = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(10d, 10d), 20d, 20d);
+		thick.setThickness(20d);
+		rec1.thicknessProperty();
+		drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 15d, 15d));
+		rec1.copy(thick);
+		assertEquals(rec1, drawing.shapeAt(ShapeFactory.INST.createPoint(35d, 35d)).get());
+	}
+
+	@Test
+	public void testShapesIntersectingShapeInTwoDrawings() {
+		final IDrawing drawing2 = ShapeFactory.INST.createDrawing();
+		final IRectangle rec1 = addRectangle(10d, 10d);
+		drawing2.addShape(rec1);
+		drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 15d, 15d));
+		drawing2.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 15d, 15d));
+		rec1.translate(200d, 200d);
+		assertTrue(drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 50d, 50d)).isEmpty());
+		assertTrue(drawing2.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 50d, 50d)).isEmpty());
+		assertEquals(rec1, drawing2.shapeAt(ShapeFactory.INST.createPoint(215d, 215d)).get());
+	}
+
+	private IBezierCurve addBulgingCurve() {
+		final IBezierCurve curve = ShapeFactory.INST.createBezierCurve(Arrays.asList(ShapeFactory.INST.createPoint(0d, 0d),
+			ShapeFactory.INST.createPoint(100d, 0d)), Arrays.asList(ShapeFactory.INST.createPoint(0d, 200d), ShapeFactory.INST.createPoint(100d, 200d)));
+		drawing.addShape(curve);
+		return curve;
+	}
+
+	@Test
+	public void testShapesIntersectingConsidersControlPoints() {
+		final IBezierCurve curve = addBulgingCurve();
+		assertEquals(Collections.singletonList(curve), drawing.shapesIntersecting(new Rectangle2D.Double(40d, 140d, 20d, 20d)));
+	}
+
+	@Test
+	public void testShapesIntersectingAfterMovingControlPoint() {
+		final IBezierCurve curve = addBulgingCurve();
+		drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 1d, 1d));
+		curve.setYFirstCtrlPt(500d, 0);
+		curve.setYFirstCtrlPt(500d, 1);
+		assertEquals(Collections.singletonList(curve), drawing.shapesIntersecting(new Rectangle2D.Double(40d, 440d, 20d, 20d)));
+	}
+
+	@Test
+	public void testShapesIntersectingAfterControlPointPropertyChange() {
+		final IBezierCurve curve = addBulgingCurve();
+		drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 1d, 1d));
+		curve.getFirstCtrlPtAt(0).yProperty().set(500d);
+		curve.getFirstCtrlPtAt(1).yProperty().set(500d);
+		assertEquals(Collections.singletonList(curve), drawing.shapesIntersecting(new Rectangle2D.Double(40d, 440d, 20d, 20d)));
+	}
+
+	@Test
+	public void testShapesIntersectingAlwaysGivesTexts() {
+		final IText text = ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(500d, 500d), "foo");
+		drawing.addShape(text);
+		assertEquals(Collections.singletonList(text), drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 10d, 10d)));
+		assertFalse(drawing.shapeAt(ShapeFactory.INST.createPoint(5d, 5d)).isPresent());
+	}
+
+	@Test
+	public void testBoundedShapesIntersectingIgnoresTexts() {
+		final IRectangle rec = addRectangle(10d, 10d);
+		drawing.addShape(ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(10d, 10d), "foo"));
+		assertEquals(Collections.singletonList(rec), drawing.boundedShapesIntersecting(new Rectangle2D.Double(0d, 0d, 15d, 15d)));
+	}
+
+	@Test
+	public void testShapesIntersectingSameAsLinearSearch() {
+		final List<IRectangle> recs = new ArrayList<>();
+		for(int i = 0; i < 100; i++) {
+			for(int j = 0; j < 100; j++) {
+				recs.add(addRectangle(i * 30d, j * 30d));
+			}
+		}
+		drawing.shapesIntersecting(new Rectangle2D.Double(0d, 0d, 1d, 1d));
+		for(int i = 0; i < recs.size(); i += 7) {
+			recs.get(i).translate(13d, -17d);
+		}
+		final Rectangle2D area = new Rectangle2D.Double(312d, 1003d, 250d, 180d);
+		final double[] bounds = new double[4];
+		final List<IShape> expected = drawing.getShapes().stream().filter(sh -> LShapeIndex.computeBounds(sh, bounds) &&
+			area.intersects(bounds[0], bounds[1], bounds[2] - bounds[0], bounds[3] - bounds[1])).collect(Collectors.toList());
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, drawing.shapesIntersecting(area));
+	}
+
+	@Test
+	public void testAddShapesSingleChange() {
+		final List<IShape> shapes = Arrays.asList(ShapeFactory.INST.createRectangle(), ShapeFactory.INST.createCircle());
+		final List<Integer> changes = new ArrayList<>();
+		drawing.getShapes().addListener((ListChangeListener<IShape>) evt -> {
+			while(evt.next()) {
+				changes.add(evt.getAddedSize());
+			}
+		});
+		drawing.addShapes(shapes);
+		assertEquals(Collections.singletonList(2), changes);
+		assertEquals(shapes, drawing.getShapes());
+	}
+
+	@Test
+	public void testAddShapesIgnoresNullAndEmptyGroups() {
+		final IShape rec = ShapeFactory.INST.createRectangle();
+		drawing.addShapes(Arrays.asList(null, ShapeFactory.INST.createGroup(), rec));
+		assertEquals(Collections.singletonList(rec), drawing.getShapes());
+	}
+
+	@Test
+	public void testAddShapesEmpty() {
+		drawing.addShapes(Collections.emptyList());
+		assertTrue(drawing.isEmpty());
+	}
+
+	@Test
+	public void testShapeChangeHandlerStyleSetter() {
+		final IShape rec = ShapeFactory.INST.createRectangle();
+		final List<IShape> changed = new ArrayList<>();
+		drawing.addShape(rec);
+		drawing.addShapeChangeHandler(sh -> changed.add(sh));
+		rec.setDashSepBlack(12d);
+		assertEquals(Collections.singletonList(rec), changed);
+	}
+
+	@Test
+	public void testShapeChangeHandlerProperty() {
+		final IRectangle rec = ShapeFactory.INST.createRectangle();
+		final List<IShape> changed = new ArrayList<>();
+		drawing.addShapeChangeHandler(sh -> changed.add(sh));
+		drawing.addShape(rec);
+		rec.dashSepBlackProperty().set(12d);
+		assertEquals(Collections.singletonList(rec), changed);
+	}
+
+	@Test
+	public void testShapeChangeHandlerPoints() {
+		final IShape rec = ShapeFactory.INST.createRectangle();
+		final List<IShape> changed = new ArrayList<>();
+		drawing.addShape(rec);
+		drawing.addShapeChangeHandler(sh -> changed.add(sh));
+		rec.translate(10d, 10d);
+		assertFalse(changed.isEmpty());
+		assertTrue(changed.stream().allMatch(sh -> sh == rec));
+	}
+
+	@Test
+	public void testShapeChangeHandlerText() {
+		final IText text = ShapeFactory.INST.createText();
+		final List<IShape> changed = new ArrayList<>();
+		drawing.addShape(text);
+		drawing.addShapeChangeHandler(sh -> changed.add(sh));
+		text.setText("foo");
+		assertEquals(Collections.singletonList(text), changed);
+	}
+
+	@Test
+	public void testShapeChangeHandlerNestedGroup() {
+		final IShape rec = ShapeFactory.INST.createRectangle();
+		final IGroup inner = ShapeFactory.INST.createGroup();
+		final IGroup outer = ShapeFactory.INST.createGroup();
+		final List<IShape> changed = new ArrayList<>();
+		inner.addShape(rec);
+		outer.addShape(inner);
+		drawing.addShape(outer);
+		drawing.addShapeChangeHandler(sh -> changed.add(sh));
+		rec.setDashSepBlack(12d);
+		assertEquals(Collections.singletonList(outer), changed);
+	}
+
+	@Test
+	public void testShapeChangeHandlerRemovedShape() {
+		final IShape rec = ShapeFactory.INST.createRectangle();
+		final List<IShape> changed = new ArrayList<>();
+		drawing.addShape(rec);
+		drawing.addShapeChangeHandler(sh -> changed.add(sh));
+		drawing.removeShape(rec);
+		rec.setDashSepBlack(12d);
+		assertTrue(changed.isEmpty());
+	}
+
+	@Test
+	public void testShapeChangeHandlerMovedShape() {
+		final IShape rec = ShapeFactory.INST.createRectangle();
+		final List<IShape> changed = new ArrayList<>();
+		drawing.addShape(rec);
+		drawing.addShape(ShapeFactory.INST.createCircle());
+		drawing.addShapeChangeHandler(sh -> changed.add(sh));
+		drawing.getShapes().remove(rec);
+		drawing.getShapes().add(rec);
+		rec.setDashSepBlack(12d);
+		assertEquals(Collections.singletonList(rec), changed);
+	}
+
+	@Test
+	public void testRemoveShapeChangeHandler() {
+		final IShape rec = ShapeFactory.INST.createRectangle();
+		final List<IShape> changed = new ArrayList<>();
+		final Consumer<IShape> handler = sh -> changed.add(sh);
+		drawing.addShape(rec);
+		drawing.addShapeChangeHandler(handler);
+		drawing.removeShapeChangeHandler(handler);
+		rec.setDashSepBlack(12d);
+		assertTrue(changed.isEmpty());
+	}
 }
@@ -97,4 +97,86 @@ public class TestIFreehand implements HelperTest {
 		assertTrue(shape.isTypeOf(IFreehand.class));
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
+
+	@Test
+	public void testAppendPoint() {
+		assertTrue(shape.appendPoint(10d, 20d));
+		assertTrue(shape.appendPoint(30d, -5d));
+		assertEquals(2, shape.getNbPoints());
+		assertEqualsDouble(30d, shape.getPtAt(-1).getX());
+		assertEqualsDouble(-5d, shape.getPtAt(-1).getY());
+		assertEqualsDouble(30d, shape.getMaxX());
+		assertEqualsDouble(-5d, shape.getMinY());
+	}
+
+	@Test
+	public void testAppendPointKO() {
+		assertFalse(shape.appendPoint(Double.NaN, 20d));
+		assertFalse(shape.appendPoint(1d, Double.POSITIVE_INFINITY));
+		assertEquals(0, shape.getNbPoints());
+	}
+
+	@Test
+	public void testSetLastPoint() {
+		shape.appendPoint(10d, 20d);
+		shape.appendPoint(30d, 40d);
+		assertTrue(shape.setLastPoint(50d, 60d));
+		assertEquals(2, shape.getNbPoints());
+		assertEqualsDouble(50d, shape.getPtAt(-1).getX());
+		assertEqualsDouble(60d, shape.getPtAt(-1).getY());
+		assertEqualsDouble(60d, shape.getMaxY());
+	}
+
+	@Test
+	public void testSetLastPointKO() {
+		assertFalse(shape.setLastPoint(1d, 2d));
+		shape.appendPoint(10d, 20d);
+		assertFalse(shape.setLastPoint(Double.NaN, 2d));
+		assertEqualsDouble(10d, shape.getPtAt(-1).getX());
+	}
+
+	@Test
+	public void testGetNbUnchangedPointsSinceAppend() {
+		shape.appendPoint(10d, 20d);
+		shape.appendPoint(30d, 40d);
+		final long version = shape.geometryVersionProperty().get();
+		shape.appendPoint(50d, 60d);
+		assertEquals(2, shape.getNbUnchangedPointsSince(version));
+		assertEquals(3, shape.getNbUnchangedPointsSince(shape.geometryVersionProperty().get()));
+	}
+
+	@Test
+	public void testGetNbUnchangedPointsSinceSetLastPoint() {
+		shape.appendPoint(10d, 20d);
+		shape.appendPoint(30d, 40d);
+		final long version = shape.geometryVersionProperty().get();
+		shape.setLastPoint(50d, 60d);
+		assertEquals(1, shape.getNbUnchangedPointsSince(version));
+	}
+
+	@Test
+	public void testGetNbUnchangedPointsSinceSeveralChanges() {
+		shape.appendPoint(10d, 20d);
+		final long version = shape.geometryVersionProperty().get();
+		shape.appendPoint(30d, 40d);
+		shape.appendPoint(50d, 60d);
+		assertEquals(-1, shape.getNbUnchangedPointsSince(version));
+	}
+
+	@Test
+	public void testGetNbUnchangedPointsSinceTranslation() {
+		shape.appendPoint(10d, 20d);
+		shape.appendPoint(30d, 40d);
+		final long version = shape.geometryVersionProperty().get();
+		shape.translate(5d, 5d);
+		assertEquals(-1, shape.getNbUnchangedPointsSince(version));
+	}
+
+	@Test
+	public void testGetNbUnchangedPointsSinceBatch() {
+		shape.appendPoint(10d, 20d);
+		final long version = shape.geometryVersionProperty().get();
+		shape.runBatched(() -> shape.appendPoint(30d, 40d));
+		assertEquals(-1, shape.getNbUnchangedPointsSince(version));
+	}
 }
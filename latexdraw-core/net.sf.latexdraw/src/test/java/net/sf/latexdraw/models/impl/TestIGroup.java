@@ -193,6 +193,127 @@ public class TestIGroup implements HelperTest {
 		assertEquals(sh1.getTopLeftPoint(), shape.getTopLeftPoint());
 	}
 
+	@Test
+	public void testMinMaxFollowChildrenChanges() {
+		sh1.setPosition(10d, 20d);
+		sh1.setWidth(11d);
+		sh3.setPosition(30d, 40d);
+		shape.addShape(sh1);
+		shape.addShape(sh3);
+		sh1.translate(-5d, 0d);
+		sh3.translate(0d, 100d);
+		assertEqualsDouble(sh1.getMinX(), shape.getMinX());
+		assertEqualsDouble(sh3.getMaxY(), shape.getMaxY());
+		assertEquals(shape.getTopLeftPoint(), ShapeFactory.INST.createPoint(shape.getMinX(), shape.getMinY()));
+		assertEquals(shape.getBottomRightPoint(), ShapeFactory.INST.createPoint(shape.getMaxX(), shape.getMaxY()));
+	}
+
+	@Test
+	public void testBatchNotifiesEachChildOnce() {
+		final IRectangle rec1 = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d);
+		final IRectangle rec2 = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(5d, 6d), 10d, 20d);
+		shape.addShape(rec1);
+		shape.addShape(rec2);
+		final long v1 = rec1.geometryVersionProperty().get();
+		final long v2 = rec2.geometryVersionProperty().get();
+		final long vGroup = shape.geometryVersionProperty().get();
+		shape.runBatched(() -> {
+			shape.translate(10d, 10d);
+			shape.mirrorVertical(0d);
+		});
+		assertEquals(v1 + 1L, rec1.geometryVersionProperty().get());
+		assertEquals(v2 + 1L, rec2.geometryVersionProperty().get());
+		assertEquals(vGroup + 1L, shape.geometryVersionProperty().get());
+	}
+
+	@Test
+	public void testBatchWithoutChangeKeepsVersion() {
+		shape.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d));
+		final long vGroup = shape.geometryVersionProperty().get();
+		shape.runBatched(() -> { });
+		assertEquals(vGroup, shape.geometryVersionProperty().get());
+	}
+
+	@Test
+	public void testNestedBatchesNotifyOnce() {
+		shape.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d));
+		final long vGroup = shape.geometryVersionProperty().get();
+		shape.runBatched(() -> shape.runBatched(() -> shape.translate(10d, 10d)));
+		assertEquals(vGroup + 1L, shape.geometryVersionProperty().get());
+	}
+
+	@Test
+	public void testBatchAddingShapeChangesVersion() {
+		final long vGroup = shape.geometryVersionProperty().get();
+		shape.runBatched(() -> shape.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d)));
+		assertEquals(vGroup + 1L, shape.geometryVersionProperty().get());
+	}
+
+	@Test
+	public void testMinMaxKO() {
+		assertTrue(Double.isNaN(shape.getMinX()));
+		assertTrue(Double.isNaN(shape.getMaxY()));
+	}
+
+	@Test
+	public void testMinMaxUpdatedOnShapeTranslation() {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d);
+		shape.addShape(rec);
+		assertEqualsDouble(11d, shape.getMaxX());
+		rec.translate(100d, 0d);
+		assertEqualsDouble(101d, shape.getMinX());
+		assertEqualsDouble(111d, shape.getMaxX());
+	}
+
+	@Test
+	public void testMinMaxUpdatedOnShapePropertyChange() {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d);
+		shape.addShape(rec);
+		assertEqualsDouble(1d, shape.getMinX());
+		rec.getPtAt(0).xProperty().set(-5d);
+		assertEqualsDouble(-5d, shape.getMinX());
+	}
+
+	@Test
+	public void testMinMaxUpdatedOnShapeRemoval() {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d);
+		shape.addShape(rec);
+		shape.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(50d, 60d), 10d, 20d));
+		assertEqualsDouble(1d, shape.getMinX());
+		shape.removeShape(rec);
+		assertEqualsDouble(50d, shape.getMinX());
+		rec.translate(-100d, 0d);
+		assertEqualsDouble(50d, shape.getMinX());
+	}
+
+	@Test
+	public void testMinMaxUpdatedInNestedGroup() {
+		final IGroup nested = ShapeFactory.INST.createGroup();
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d);
+		nested.addShape(rec);
+		shape.addShape(nested);
+		assertEqualsDouble(22d, shape.getMaxY());
+		rec.translate(0d, 10d);
+		assertEqualsDouble(32d, shape.getMaxY());
+	}
+
+	@Test
+	public void testMinMaxUpdatedOnDotDiametreChange() {
+		final IDot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint(100d, 100d));
+		shape.addShape(dot);
+		final double maxX = shape.getMaxX();
+		dot.setDiametre(dot.getDiametre() * 4d);
+		assertTrue(shape.getMaxX() > maxX);
+	}
+
+	@Test
+	public void testMinMaxIgnoresEmptyShapes() {
+		shape.addShape(ShapeFactory.INST.createPolyline(Collections.emptyList()));
+		shape.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(1d, 2d), 10d, 20d));
+		assertEqualsDouble(1d, shape.getMinX());
+		assertEqualsDouble(22d, shape.getMaxY());
+	}
+
 	@Test
 	public void testGetTopLeftPointKO() {
 		assertTrue(Double.isNaN(shape.getTopLeftPoint().getX()));
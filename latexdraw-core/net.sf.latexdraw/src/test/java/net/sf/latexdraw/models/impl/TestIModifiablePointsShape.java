@@ -5,8 +5,10 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javafx.beans.property.DoubleProperty;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.data.DoubleData;
 import net.sf.latexdraw.models.ShapeFactory;
@@ -22,7 +24,9 @@ import org.junit.experimental.theories.suppliers.TestedOn;
 import org.junit.runner.RunWith;
 
 import static java.lang.annotation.ElementType.PARAMETER;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(Theories.class)
@@ -63,6 +67,44 @@ public class TestIModifiablePointsShape implements HelperTest {
 		assertEqualsDouble(1., shape.getPtAt(1).getY());
 	}
 
+	@Theory
+	public void testTranslateUpdatesCreatedProperties(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 1d}) final IModifiablePointsShape shape) {
+		final DoubleProperty x = shape.getPtAt(1).xProperty();
+		shape.translate(10, 5);
+		assertEqualsDouble(13., x.get());
+		assertEqualsDouble(6., shape.getPtAt(1).yProperty().get());
+	}
+
+	@Theory
+	public void testSetPropertyUpdatesPoint(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 1d}) final IModifiablePointsShape shape) {
+		shape.getPtAt(0).xProperty().set(-5d);
+		assertEqualsDouble(-5., shape.getPtAt(0).getX());
+		assertEqualsDouble(-5., shape.getTopLeftPoint().getX());
+	}
+
+	@Theory
+	public void testSetPointUpdatesPropertyListeners(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 1d}) final IModifiablePointsShape shape) {
+		final AtomicInteger cpt = new AtomicInteger();
+		shape.getPtAt(0).yProperty().addListener((obs, oldV, newV) -> cpt.incrementAndGet());
+		shape.setPoint(2d, 8d, 0);
+		assertEquals(1, cpt.get());
+		assertEqualsDouble(8., shape.getPtAt(0).yProperty().get());
+	}
+
+	@Theory
+	public void testSamePropertyForSamePoint(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 1d}) final IModifiablePointsShape shape) {
+		assertSame(shape.getPtAt(1).xProperty(), shape.getPtAt(1).xProperty());
+		assertSame(shape.getPtAt(-1).yProperty(), shape.getPoints().get(1).yProperty());
+	}
+
+	@Theory
+	public void testIndexOfPoint(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 1d}) final IModifiablePointsShape shape) {
+		final IPoint pt = shape.getPtAt(1);
+		shape.setPoint(1d, 1d, 1);
+		assertEquals(1, shape.getPoints().indexOf(pt));
+		assertEquals(0, shape.getPoints().indexOf(ShapeFactory.INST.createPoint(1d, 1d)));
+	}
+
 	@Theory
 	public void testTranslateKO(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 1d}) final IModifiablePointsShape shape,
 								@DoubleData(vals = {}, bads = true) final double value) {
@@ -122,6 +164,84 @@ public class TestIModifiablePointsShape implements HelperTest {
 		assertEqualsDouble(2d, shape.getBottomLeftPoint().getY());
 	}
 
+	@Theory
+	public void testBoundsUpdatedOnSetPoint(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 2d}) final IModifiablePointsShape shape) {
+		assertEqualsDouble(3d, shape.getMaxX());
+		shape.setPoint(5d, 10d, 1);
+		assertEqualsDouble(5d, shape.getMaxX());
+		assertEqualsDouble(10d, shape.getMaxY());
+		assertEqualsDouble(1d, shape.getMinX());
+	}
+
+	@Theory
+	public void testBoundsUpdatedOnPropertyChange(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 2d}) final IModifiablePointsShape shape) {
+		assertEqualsDouble(1d, shape.getMinY());
+		shape.getPtAt(0).yProperty().set(-4d);
+		assertEqualsDouble(-4d, shape.getMinY());
+	}
+
+	@Theory
+	public void testBoundsUpdatedOnAddedPoint(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 2d}) final IModifiablePointsShape shape) {
+		assertEqualsDouble(3d, shape.getMaxX());
+		shape.getPoints().add(ShapeFactory.INST.createPoint(-8d, 30d));
+		assertEqualsDouble(-8d, shape.getMinX());
+		assertEqualsDouble(30d, shape.getMaxY());
+	}
+
+	@Theory
+	public void testGeometryVersionIncrementedOnSetPoint(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 2d}) final IModifiablePointsShape shape) {
+		final long version = shape.geometryVersionProperty().get();
+		shape.setPoint(2d, 8d, 0);
+		assertEquals(version + 1L, shape.geometryVersionProperty().get());
+	}
+
+	@Theory
+	public void testGeometryVersionIncrementedOncePerBatch(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 2d}) final IModifiablePointsShape shape) {
+		final AtomicInteger cpt = new AtomicInteger();
+		shape.geometryVersionProperty().addListener((obs, oldV, newV) -> cpt.incrementAndGet());
+		shape.runBatched(() -> {
+			shape.translate(10d, 5d);
+			shape.setPoint(2d, 8d, 1);
+			shape.mirrorHorizontal(0d);
+		});
+		assertEquals(1, cpt.get());
+	}
+
+	@Theory
+	public void testPropertiesUpdatedAtTheEndOfTheBatch(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 2d}) final IModifiablePointsShape shape) {
+		final AtomicInteger cpt = new AtomicInteger();
+		final DoubleProperty prop = shape.getPtAt(0).xProperty();
+		prop.addListener((obs, oldV, newV) -> cpt.incrementAndGet());
+		shape.beginUpdate();
+		shape.translate(10d, 5d);
+		shape.translate(10d, 5d);
+		assertEquals(0, cpt.get());
+		assertEqualsDouble(21d, shape.getPtAt(0).getX());
+		assertEqualsDouble(21d, shape.getMinX());
+		shape.endUpdate();
+		assertEquals(1, cpt.get());
+		assertEqualsDouble(21d, prop.get());
+	}
+
+	@Theory
+	public void testNestedBatchesNotifyOnce(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 2d}) final IModifiablePointsShape shape) {
+		final AtomicInteger cpt = new AtomicInteger();
+		shape.geometryVersionProperty().addListener((obs, oldV, newV) -> cpt.incrementAndGet());
+		shape.runBatched(() -> {
+			shape.runBatched(() -> shape.translate(1d, 1d));
+			assertEquals(0, cpt.get());
+			shape.translate(1d, 1d);
+		});
+		assertEquals(1, cpt.get());
+	}
+
+	@Theory
+	public void testEmptyBatchDoesNotNotify(@ModifPtShapeData(x = {1d, 3d}, y = {1d, 2d}) final IModifiablePointsShape shape) {
+		final long version = shape.geometryVersionProperty().get();
+		shape.runBatched(() -> { });
+		assertEquals(version, shape.geometryVersionProperty().get());
+	}
+
 	@Retention(RetentionPolicy.RUNTIME)
 	@ParametersSuppliedBy(ModifPtShapeSupplier.class)
 	@Target(PARAMETER)
@@ -29,6 +29,8 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeThat;
 
@@ -356,4 +358,86 @@ public class TestIPlot implements HelperTest {
 		assertTrue(shape.isTypeOf(IPlotProp.class));
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
+
+	@Test
+	public void testGetYArraySameAsGetY() {
+		shape.setPlotEquation("x 2 mul 1 add");
+		final double[] xs = {-2d, 0d, 1.5, 10d};
+		final double[] ys = new double[xs.length];
+		shape.getY(xs, ys);
+		for(int i = 0; i < xs.length; i++) {
+			assertEquals(shape.getY(xs[i]), ys[i], 0.0);
+		}
+	}
+
+	@Test
+	public void testPlottedPointsCached() {
+		final double[] xs = shape.getPlottedPointsX();
+		shape.getMinY();
+		shape.getMaxY();
+		assertSame(xs, shape.getPlottedPointsX());
+	}
+
+	@Test
+	public void testPlottedPoints() {
+		shape.setPlotEquation("x 2 mul");
+		shape.setNbPlottedPoints(10);
+		shape.setYScale(2d);
+		final double[] xs = shape.getPlottedPointsX();
+		final double[] ys = shape.getPlottedPointsY();
+		assertEquals(10, xs.length);
+		assertEquals(10, ys.length);
+		assertEquals(shape.getPlotMinX() * IShape.PPC, xs[0], 0.0001);
+		assertEquals(shape.getPlotMaxX() * IShape.PPC, xs[9], 0.0001);
+		assertEquals(-shape.getPlotMaxX() * 2d * IShape.PPC * 2d, ys[9], 0.0001);
+	}
+
+	@Test
+	public void testPlottedPointsPolarHasMaxXPoint() {
+		shape.setNbPlottedPoints(10);
+		shape.setPolar(true);
+		assertEquals(11, shape.getPlottedPointsX().length);
+	}
+
+	@Theory
+	public void testPlottedPointsRecomputedOnChange(@TestedOn(ints = {0, 1, 2, 3, 4, 5}) final int change) {
+		final double[] xs = shape.getPlottedPointsX();
+		switch(change) {
+			case 0:
+				shape.setPlotEquation("x 3 mul");
+				break;
+			case 1:
+				shape.setPlotMinX(-5d);
+				break;
+			case 2:
+				shape.setPlotMaxX(20d);
+				break;
+			case 3:
+				shape.setNbPlottedPoints(shape.getNbPlottedPoints() + 3);
+				break;
+			case 4:
+				shape.setPolar(true);
+				break;
+			default:
+				shape.setXScale(3d);
+				break;
+		}
+		assertNotSame(xs, shape.getPlottedPointsX());
+	}
+
+	@Test
+	public void testPlottedPointsRecomputedOnPropertyChange() {
+		final double[] ys = shape.getPlottedPointsY();
+		shape.yScaleProperty().set(4d);
+		assertNotSame(ys, shape.getPlottedPointsY());
+	}
+
+	@Test
+	public void testBoundsFollowEquationChange() {
+		shape.setPlotEquation("x");
+		final double minY = shape.getMinY();
+		shape.setPlotEquation("x 2 mul");
+		assertEquals(shape.getY(shape.getPlotMaxX()) * IShape.PPC, shape.getPosition().getY() - shape.getMinY(), 0.0001);
+		assertTrue(shape.getMinY() < minY);
+	}
 }
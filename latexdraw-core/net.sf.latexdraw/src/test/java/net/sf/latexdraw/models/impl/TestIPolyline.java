@@ -40,4 +40,13 @@ public class TestIPolyline implements HelperTest {
 		assertTrue(shape.isTypeOf(IPolyline.class));
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
+
+	@Test
+	public void testMinMaxEmptyIsNaN() {
+		final IPolyline shape = ShapeFactory.INST.createPolyline(Collections.emptyList());
+		assertTrue(Double.isNaN(shape.getMinX()));
+		assertTrue(Double.isNaN(shape.getMinY()));
+		assertTrue(Double.isNaN(shape.getMaxX()));
+		assertTrue(Double.isNaN(shape.getMaxY()));
+	}
 }
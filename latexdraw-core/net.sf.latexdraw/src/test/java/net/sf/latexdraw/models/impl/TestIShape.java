@@ -684,4 +684,34 @@ public class TestIShape implements HelperTest {
 		shape.setFillingStyle(null);
 		assertEquals(FillingStyle.CLINES, shape.getFillingStyle());
 	}
+
+	@Theory
+	public void testMinMaxSameAsCornerPoints(@ShapeData final IShape shape) {
+		assertEqualsDouble(shape.getTopLeftPoint().getX(), shape.getMinX());
+		assertEqualsDouble(shape.getTopLeftPoint().getY(), shape.getMinY());
+		assertEqualsDouble(shape.getBottomRightPoint().getX(), shape.getMaxX());
+		assertEqualsDouble(shape.getBottomRightPoint().getY(), shape.getMaxY());
+	}
+
+	@Theory
+	public void testMinMaxUpdatedOnTranslate(@ShapeData final IShape shape) {
+		final double minX = shape.getMinX();
+		final double maxY = shape.getMaxY();
+		shape.translate(11d, -23d);
+		assertEqualsDouble(minX + 11d, shape.getMinX());
+		assertEqualsDouble(maxY - 23d, shape.getMaxY());
+		assertEqualsDouble(shape.getTopLeftPoint().getX(), shape.getMinX());
+		assertEqualsDouble(shape.getBottomRightPoint().getY(), shape.getMaxY());
+	}
+
+	@Theory
+	public void testMinMaxUpdatedOnMirror(@ShapeData final IShape shape) {
+		shape.getMinX();
+		shape.mirrorHorizontal(100d);
+		shape.mirrorVertical(-50d);
+		assertEqualsDouble(shape.getTopLeftPoint().getX(), shape.getMinX());
+		assertEqualsDouble(shape.getTopLeftPoint().getY(), shape.getMinY());
+		assertEqualsDouble(shape.getBottomRightPoint().getX(), shape.getMaxX());
+		assertEqualsDouble(shape.getBottomRightPoint().getY(), shape.getMaxY());
+	}
 }
@@ -0,0 +1,140 @@
+package net.sf.latexdraw.models.impl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.Property;
+import net.sf.latexdraw.HelperTest;
+import net.sf.latexdraw.data.ShapeData;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IArrow;
+import net.sf.latexdraw.models.interfaces.shape.IArrowableShape;
+import net.sf.latexdraw.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+import org.junit.Test;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(Theories.class)
+public class TestShapeFootprint implements HelperTest {
+	static final int NB_SHAPES = 50000;
+
+	static List<Field> getPropertyFields(final Class<?> clazz) {
+		final List<Field> fields = new ArrayList<>();
+		Class<?> current = clazz;
+		while(current != null) {
+			for(final Field field : current.getDeclaredFields()) {
+				if(Property.class.isAssignableFrom(field.getType())) {
+					field.setAccessible(true);
+					fields.add(field);
+				}
+			}
+			current = current.getSuperclass();
+		}
+		return fields;
+	}
+
+	static void createAllProperties(final IShape shape) throws InvocationTargetException, IllegalAccessException {
+		for(final Method method : shape.getClass().getMethods()) {
+			if(method.getParameterCount() == 0 && method.getName().endsWith("Property") && Property.class.isAssignableFrom(method.getReturnType())) {
+				method.invoke(shape);
+			}
+		}
+	}
+
+	static long usedMemory() {
+		final Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	@Theory
+	public void testNoPropertyCreatedAtInstantiation(@ShapeData final IShape shape) throws IllegalAccessException {
+		for(final Field field : getPropertyFields(shape.getClass())) {
+			assertNull(field.getName(), field.get(shape));
+		}
+	}
+
+	@Theory
+	public void testPropertyCreatedOnDemandHasTheValue(@ShapeData final IShape shape) {
+		assumeTrue(shape.isThicknessable());
+		shape.setThickness(12.3);
+		final DoubleProperty prop = shape.thicknessProperty();
+		assertEqualsDouble(12.3, prop.get());
+	}
+
+	@Theory
+	public void testPropertyCreatedOnce(@ShapeData final IShape shape) {
+		assertSame(shape.thicknessProperty(), shape.thicknessProperty());
+	}
+
+	@Theory
+	public void testSetterNotifiesCreatedProperty(@ShapeData final IShape shape) {
+		assumeTrue(shape.isThicknessable());
+		final AtomicInteger cpt = new AtomicInteger();
+		shape.thicknessProperty().addListener((obs, oldValue, newValue) -> cpt.incrementAndGet());
+		shape.setThickness(shape.getThickness() + 5d);
+		assertEquals(1, cpt.get());
+	}
+
+	@Theory
+	public void testCreatedPropertyUpdatesGetter(@ShapeData final IShape shape) {
+		shape.thicknessProperty().set(21.5);
+		assertEqualsDouble(21.5, shape.getThickness());
+	}
+
+	@Theory
+	public void testCopyUpdatesCreatedProperty(@ShapeData final IShape shape) {
+		assumeTrue(shape.isThicknessable());
+		final DoubleProperty prop = shape.thicknessProperty();
+		final IShape dup = shape.duplicate();
+		dup.setThickness(shape.getThickness() + 3d);
+		shape.copy(dup);
+		assertEqualsDouble(dup.getThickness(), prop.get());
+	}
+
+	@Theory
+	public void testCreatePropertiesCreatesAllProperties(@ShapeData final IShape shape) throws IllegalAccessException {
+		shape.createProperties();
+		for(final Field field : getPropertyFields(shape.getClass())) {
+			assertNotNull(field.getName(), field.get(shape));
+		}
+		if(shape instanceof IArrowableShape) {
+			for(final IArrow arrow : ((IArrowableShape) shape).getArrows()) {
+				for(final Field field : getPropertyFields(arrow.getClass())) {
+					assertNotNull(field.getName(), field.get(arrow));
+				}
+			}
+		}
+	}
+
+	// Benchmark: the figures depend on the garbage collector, they are printed but not asserted.
+	@Test
+	public void testLazyPropertiesFootprint() throws InvocationTargetException, IllegalAccessException {
+		final List<IRectangle> shapes = new ArrayList<>(NB_SHAPES);
+		final long before = usedMemory();
+		for(int i = 0; i < NB_SHAPES; i++) {
+			shapes.add(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(i, i), 10d, 20d));
+		}
+		final long lazy = usedMemory() - before;
+		for(final IRectangle rec : shapes) {
+			createAllProperties(rec);
+		}
+		final long eager = usedMemory() - before;
+		assertEquals(NB_SHAPES, shapes.size());
+		System.out.println("Rectangle footprint. lazy: " + lazy / NB_SHAPES + " bytes/shape, eager: " + eager / NB_SHAPES + " bytes/shape"); //NON-NLS
+	}
+}
@@ -2,9 +2,12 @@ package net.sf.latexdraw.parsers.ps;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Iterator;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 public abstract class TestPSCommand<T extends PSArithemticCommand> {
 	T cmd;
 	Deque<Double> dequeue = new ArrayDeque<>();
@@ -28,4 +31,19 @@ public abstract class TestPSCommand<T extends PSArithemticCommand> {
 
 	@Test
 	public abstract void testExecuteInvalidDequeueSize() throws InvalidFormatPSFunctionException;
+
+	@Test
+	public void testExecuteArraySameAsDequeue() {
+		final double[] stack = {3d, -2d, 5d, 0d, 0d};
+		dequeue.push(3d);
+		dequeue.push(-2d);
+		dequeue.push(5d);
+		cmd.execute(dequeue, 7d);
+		final int size = cmd.execute(stack, 3, 7d);
+		assertEquals(dequeue.size(), size);
+		final Iterator<Double> it = dequeue.descendingIterator();
+		for(int i = 0; i < size; i++) {
+			assertEquals(it.next(), stack[i], 0.000001);
+		}
+	}
 }
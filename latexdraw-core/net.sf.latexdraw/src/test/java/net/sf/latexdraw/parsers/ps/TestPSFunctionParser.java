@@ -2,6 +2,7 @@ package net.sf.latexdraw.parsers.ps;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class TestPSFunctionParser {
@@ -166,4 +167,75 @@ public class TestPSFunctionParser {
 		PSFunctionParser parser = new PSFunctionParser("x add");
 		parser.getY(3);
 	}
+
+	@Test
+	public void testGetYStackOps() {
+		final PSFunctionParser parser = new PSFunctionParser("x 10 exch sub dup mul 2 div");
+		assertEquals(24.5, parser.getY(3), 0.000001);
+	}
+
+	@Test
+	public void testGetYCount() {
+		final PSFunctionParser parser = new PSFunctionParser("x x count");
+		assertEquals(2d, parser.getY(3), 0.0);
+	}
+
+	@Test
+	public void testGetYClear() {
+		final PSFunctionParser parser = new PSFunctionParser("x 2 clear 4");
+		assertEquals(4d, parser.getY(3), 0.0);
+	}
+
+	@Test
+	public void testGetYSeveralTimes() {
+		final PSFunctionParser parser = new PSFunctionParser("x 2 exp 1 add");
+		assertEquals(10d, parser.getY(3), 0.000001);
+		assertEquals(5d, parser.getY(-2), 0.000001);
+		assertEquals(1d, parser.getY(0), 0.000001);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testGetYDivZero() {
+		new PSFunctionParser("1 x div").getY(0);
+	}
+
+	@Test(expected = InvalidFormatPSFunctionException.class)
+	public void testGetYEmptyStack() {
+		new PSFunctionParser("x pop").getY(1);
+	}
+
+	@Test(expected = InvalidFormatPSFunctionException.class)
+	public void testGetYUnsupportedCommand() {
+		new PSFunctionParser("x sqrt").getY(1);
+	}
+
+	@Test
+	public void testEvaluateSameAsGetY() {
+		final PSFunctionParser parser = new PSFunctionParser("x sin x cos mul 3 x abs add log div");
+		final double[] xs = {-10d, -1.5, 0d, 2d, 45d, 360d};
+		final double[] ys = new double[xs.length];
+		final double[] expected = new double[xs.length];
+		for(int i = 0; i < xs.length; i++) {
+			expected[i] = parser.getY(xs[i]);
+		}
+		parser.evaluate(xs, ys);
+		assertArrayEquals(expected, ys, 0.0);
+	}
+
+	@Test
+	public void testEvaluateEmpty() {
+		final double[] ys = {};
+		new PSFunctionParser("x").evaluate(new double[0], ys);
+		assertEquals(0, ys.length);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEvaluateYsTooShort() {
+		new PSFunctionParser("x").evaluate(new double[] {1d, 2d}, new double[1]);
+	}
+
+	@Test(expected = InvalidFormatPSFunctionException.class)
+	public void testEvaluateInvalid() {
+		new PSFunctionParser("x add").evaluate(new double[] {1d}, new double[1]);
+	}
 }
@@ -0,0 +1,117 @@
+package net.sf.latexdraw.ui;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeoutException;
+import javafx.scene.shape.PathElement;
+import net.sf.latexdraw.util.Unit;
+import net.sf.latexdraw.view.jfx.Canvas;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestScaleRuler {
+	Canvas canvas;
+	ScaleRuler xruler;
+	ScaleRuler yruler;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@AfterClass
+	public static void afterClass() throws TimeoutException {
+		FxToolkit.cleanupStages();
+	}
+
+	@Before
+	public void setUp() {
+		ScaleRuler.setUnit(Unit.CM);
+		canvas = new Canvas();
+		xruler = new ScaleRuler(false);
+		yruler = new ScaleRuler(true);
+		xruler.resize(500d, 10d);
+		yruler.resize(10d, 500d);
+		xruler.setCanvas(canvas);
+		yruler.setCanvas(canvas);
+	}
+
+	@Test
+	public void testNoTickWithoutCanvas() {
+		final ScaleRuler ruler = new ScaleRuler(false);
+		ruler.resize(500d, 10d);
+		assertTrue(ruler.getTicks().getElements().isEmpty());
+	}
+
+	@Test
+	public void testTicksCoverTheRulerOnly() {
+		// 8 main ticks and 63 sub-ticks, two elements per tick.
+		assertEquals(142, xruler.getTicks().getElements().size());
+	}
+
+	@Test
+	public void testTicksAlignedOnOrigin() {
+		assertEquals(-100d, xruler.getTicks().getTranslateX(), 0.0001);
+		assertEquals(-100d, yruler.getTicks().getTranslateY(), 0.0001);
+	}
+
+	@Test
+	public void testScrollMovesTicks() {
+		final PathElement elt = xruler.getTicks().getElements().get(0);
+		canvas.setTranslateX(30d);
+		assertEquals(-70d, xruler.getTicks().getTranslateX(), 0.0001);
+		assertSame(elt, xruler.getTicks().getElements().get(0));
+	}
+
+	@Test
+	public void testZoomBuildsTicks() {
+		final PathElement elt = xruler.getTicks().getElements().get(0);
+		canvas.setScaleX(2d);
+		assertNotSame(elt, xruler.getTicks().getElements().get(0));
+	}
+
+	@Test
+	public void testResizeBuildsTicks() {
+		xruler.resize(1000d, 10d);
+		assertEquals(242, xruler.getTicks().getElements().size());
+	}
+
+	@Test
+	public void testUnitBuildsTicks() {
+		final PathElement elt = xruler.getTicks().getElements().get(0);
+		ScaleRuler.setUnit(Unit.INCH);
+		assertNotSame(elt, xruler.getTicks().getElements().get(0));
+		ScaleRuler.setUnit(Unit.CM);
+	}
+
+	@Test(timeout = 10000L)
+	public void testRulerNotRetainedByUnit() throws InterruptedException {
+		final WeakReference<ScaleRuler> ref = new WeakReference<>(new ScaleRuler(false));
+		final int maxCollections = 50;
+		int nbCollections = 0;
+		while(ref.get() != null && nbCollections < maxCollections) {
+			System.gc();
+			Thread.sleep(20L);
+			nbCollections++;
+		}
+		assertNull("The ruler is still reachable after " + maxCollections +
+			" garbage collections: a strong listener may remain registered on the static unit property", ref.get());
+	}
+
+	@Test
+	public void testUnitBuildsTicksAfterGC() {
+		final PathElement elt = xruler.getTicks().getElements().get(0);
+		System.gc();
+		ScaleRuler.setUnit(Unit.INCH);
+		assertNotSame(elt, xruler.getTicks().getElements().get(0));
+		ScaleRuler.setUnit(Unit.CM);
+	}
+}
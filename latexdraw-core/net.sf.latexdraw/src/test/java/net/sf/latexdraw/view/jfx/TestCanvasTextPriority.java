@@ -0,0 +1,114 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.geom.Rectangle2D;
+import java.util.concurrent.TimeoutException;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.models.interfaces.shape.IText;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestCanvasTextPriority {
+	static final Rectangle2D AREA = new Rectangle2D.Double(0d, 0d, 500d, 500d);
+
+	Canvas canvas;
+	IText visibleText;
+	IText farText;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@AfterClass
+	public static void afterClass() throws TimeoutException {
+		FxToolkit.cleanupStages();
+	}
+
+	@Before
+	public void setUp() {
+		canvas = new Canvas();
+		visibleText = ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(100d, 100d), "foo");
+		farText = ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(10000d, 10000d), "bar");
+		canvas.getDrawing().addShape(visibleText);
+		canvas.getDrawing().addShape(farText);
+	}
+
+	private CompilationPriority getPriority(final IText text) {
+		return ((ViewText) canvas.getViewFromShape(text).get()).getCompilationPriority();
+	}
+
+	@Test
+	public void testVisibleText() {
+		canvas.updateTextsPriority(AREA);
+		assertEquals(CompilationPriority.VISIBLE, getPriority(visibleText));
+	}
+
+	@Test
+	public void testOffScreenText() {
+		canvas.updateTextsPriority(AREA);
+		assertEquals(CompilationPriority.BACKGROUND, getPriority(farText));
+	}
+
+	@Test
+	public void testSelectedOffScreenText() {
+		canvas.getDrawing().getSelection().addShape(farText);
+		canvas.updateTextsPriority(AREA);
+		assertEquals(CompilationPriority.SELECTED, getPriority(farText));
+		assertEquals(CompilationPriority.VISIBLE, getPriority(visibleText));
+	}
+
+	@Test
+	public void testTextNoLongerVisible() {
+		canvas.updateTextsPriority(AREA);
+		canvas.updateTextsPriority(new Rectangle2D.Double(9900d, 9900d, 500d, 500d));
+		assertEquals(CompilationPriority.BACKGROUND, getPriority(visibleText));
+		assertEquals(CompilationPriority.VISIBLE, getPriority(farText));
+	}
+
+	@Test
+	public void testTextNoLongerSelected() {
+		canvas.getDrawing().getSelection().addShape(farText);
+		canvas.updateTextsPriority(AREA);
+		canvas.getDrawing().getSelection().clear();
+		canvas.updateTextsPriority(AREA);
+		assertEquals(CompilationPriority.BACKGROUND, getPriority(farText));
+	}
+
+	@Test
+	public void testNotDisplayedCanvas() {
+		canvas.updateTextsPriority(null);
+		assertEquals(CompilationPriority.BACKGROUND, getPriority(visibleText));
+	}
+
+	@Test
+	public void testTextsInGroup() {
+		final IText text1 = ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(50d, 50d), "a");
+		final IText text2 = ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(20000d, 20000d), "b");
+		final IGroup group = ShapeFactory.INST.createGroup();
+		group.addShape(text1);
+		group.addShape(text2);
+		canvas.getDrawing().addShape(group);
+		canvas.updateTextsPriority(AREA);
+		final ViewGroup view = (ViewGroup) canvas.getViewFromShape(group).get();
+		assertEquals(CompilationPriority.VISIBLE, ((ViewText) view.getViews().get(0)).getCompilationPriority());
+		assertEquals(CompilationPriority.BACKGROUND, ((ViewText) view.getViews().get(1)).getCompilationPriority());
+	}
+
+	@Test
+	public void testTextsInSelectedGroup() {
+		final IText text = ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(20000d, 20000d), "b");
+		final IGroup group = ShapeFactory.INST.createGroup();
+		group.addShape(text);
+		canvas.getDrawing().addShape(group);
+		canvas.getDrawing().getSelection().addShape(group);
+		canvas.updateTextsPriority(AREA);
+		final ViewGroup view = (ViewGroup) canvas.getViewFromShape(group).get();
+		assertEquals(CompilationPriority.SELECTED, ((ViewText) view.getViews().get(0)).getCompilationPriority());
+	}
+}
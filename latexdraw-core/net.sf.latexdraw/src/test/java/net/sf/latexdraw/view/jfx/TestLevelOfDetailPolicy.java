@@ -0,0 +1,81 @@
+package net.sf.latexdraw.view.jfx;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestLevelOfDetailPolicy {
+	LevelOfDetailPolicy policy;
+
+	@Before
+	public void setUp() {
+		policy = new LevelOfDetailPolicy();
+	}
+
+	@Test
+	public void testHighByDefault() {
+		assertEquals(LevelOfDetail.HIGH, policy.getLevel(1d));
+	}
+
+	@Test
+	public void testHighAtMediumThreshold() {
+		assertEquals(LevelOfDetail.HIGH, policy.getLevel(LevelOfDetailPolicy.DEFAULT_MEDIUM_THRESHOLD));
+	}
+
+	@Test
+	public void testMediumBelowMediumThreshold() {
+		assertEquals(LevelOfDetail.MEDIUM, policy.getLevel(0.2));
+	}
+
+	@Test
+	public void testLowBelowLowThreshold() {
+		assertEquals(LevelOfDetail.LOW, policy.getLevel(0.1));
+	}
+
+	@Test
+	public void testSetThresholds() {
+		policy.setThresholds(0.5, 0.4);
+		assertEquals(LevelOfDetail.MEDIUM, policy.getLevel(0.45));
+		assertEquals(LevelOfDetail.LOW, policy.getLevel(0.3));
+	}
+
+	@Test
+	public void testSetThresholdsLowGreaterThanMedium() {
+		policy.setThresholds(0.2, 0.4);
+		assertEquals(0.2, policy.getLowThreshold(), 0.0001);
+	}
+
+	@Test
+	public void testSetThresholdsNegative() {
+		policy.setThresholds(-1d, 0.1);
+		assertEquals(LevelOfDetailPolicy.DEFAULT_MEDIUM_THRESHOLD, policy.getMediumThreshold(), 0.0001);
+	}
+
+	@Test
+	public void testSetThresholdsNaN() {
+		policy.setThresholds(0.5, Double.NaN);
+		assertEquals(LevelOfDetailPolicy.DEFAULT_LOW_THRESHOLD, policy.getLowThreshold(), 0.0001);
+	}
+
+	@Test
+	public void testSetThresholdsZeroAlwaysHigh() {
+		policy.setThresholds(0d, 0d);
+		assertEquals(LevelOfDetail.HIGH, policy.getLevel(0.01));
+	}
+
+	@Test
+	public void testNoDecimationWhenNotCoarse() {
+		assertEquals(1, LevelOfDetail.MEDIUM.getDecimationStep(10000));
+	}
+
+	@Test
+	public void testNoDecimationFewPoints() {
+		assertEquals(1, LevelOfDetail.LOW.getDecimationStep(100));
+	}
+
+	@Test
+	public void testDecimationStep() {
+		assertEquals(3, LevelOfDetail.LOW.getDecimationStep(250));
+	}
+}
@@ -0,0 +1,120 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.concurrent.TimeoutException;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.PathElement;
+import net.sf.latexdraw.ui.ScaleRuler;
+import net.sf.latexdraw.util.Unit;
+import net.sf.latexdraw.view.GridStyle;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestMagneticGridImpl {
+	Canvas canvas;
+	MagneticGridImpl grid;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@AfterClass
+	public static void afterClass() throws TimeoutException {
+		FxToolkit.cleanupStages();
+	}
+
+	@Before
+	public void setUp() {
+		ScaleRuler.setUnit(Unit.CM);
+		canvas = new Canvas();
+		grid = new MagneticGridImpl(canvas);
+	}
+
+	private double getMaxCoord() {
+		return grid.mainLines.getElements().stream().mapToDouble(elt -> elt instanceof MoveTo ? ((MoveTo) elt).getX() : ((LineTo) elt).getX()).max().orElse(0d);
+	}
+
+	@Test
+	public void testNoLineWithNoneStyle() {
+		grid.setGridStyle(GridStyle.NONE);
+		grid.update();
+		assertTrue(grid.mainLines.getElements().isEmpty());
+		assertTrue(grid.subLines.getElements().isEmpty());
+	}
+
+	@Test
+	public void testCustomisedGridNoSubLine() {
+		grid.setGridStyle(GridStyle.CUSTOMISED);
+		grid.update();
+		assertFalse(grid.mainLines.getElements().isEmpty());
+		assertTrue(grid.subLines.getElements().isEmpty());
+	}
+
+	@Test
+	public void testStandardGridHasSubLines() {
+		grid.setGridStyle(GridStyle.STANDARD);
+		grid.update();
+		assertFalse(grid.subLines.getElements().isEmpty());
+	}
+
+	@Test
+	public void testSubLinesNotOnMainLines() {
+		grid.setGridStyle(GridStyle.STANDARD);
+		grid.update();
+		final double ppc = canvas.getPPCDrawing();
+		assertTrue(grid.subLines.getElements().stream().filter(elt -> elt instanceof MoveTo).
+			noneMatch(elt -> ((MoveTo) elt).getX() > 0d && Math.abs(((MoveTo) elt).getX() % ppc) < 0.0001 &&
+				Math.abs(((MoveTo) elt).getY()) < 0.0001));
+	}
+
+	@Test
+	public void testNotDisplayedCanvasWholeGrid() {
+		grid.setGridStyle(GridStyle.CUSTOMISED);
+		grid.setGridSpacing(10);
+		grid.update();
+		assertTrue(getMaxCoord() <= canvas.getPrefWidth());
+		assertTrue(getMaxCoord() > canvas.getPrefWidth() - 10d);
+	}
+
+	@Test
+	public void testLinesPairs() {
+		grid.update();
+		final PathElement first = grid.mainLines.getElements().get(0);
+		assertTrue(first instanceof MoveTo);
+		assertEquals(0, grid.mainLines.getElements().size() % 2);
+	}
+
+	@Test
+	public void testDenseGridSkipsLinesWhenZoomedOut() {
+		grid.setGridStyle(GridStyle.CUSTOMISED);
+		grid.setGridSpacing(2);
+		grid.update();
+		final int size = grid.mainLines.getElements().size();
+		canvas.zoomProperty().set(0.1);
+		grid.update();
+		assertTrue(grid.mainLines.getElements().size() * 10 < size);
+	}
+
+	@Test
+	public void testNoSubLineWhenZoomedOut() {
+		grid.setGridStyle(GridStyle.STANDARD);
+		canvas.zoomProperty().set(0.5);
+		grid.update();
+		assertTrue(grid.subLines.getElements().isEmpty());
+	}
+
+	@Test
+	public void testNoLineWhenDisabled() {
+		grid.setDisable(true);
+		grid.update();
+		assertTrue(grid.mainLines.getElements().isEmpty());
+	}
+}
@@ -0,0 +1,100 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.concurrent.TimeoutException;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.models.interfaces.shape.LineStyle;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestShapePainting {
+	IRectangle rec;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@AfterClass
+	public static void afterClass() throws TimeoutException {
+		FxToolkit.cleanupStages();
+	}
+
+	@Before
+	public void setUp() {
+		rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(10d, 20d), 100d, 50d);
+	}
+
+	@Test
+	public void testRectanglePaintable() {
+		assertTrue(ShapePainting.isPaintable(rec));
+	}
+
+	@Test
+	public void testTextNotPaintable() {
+		assertFalse(ShapePainting.isPaintable(ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(), "foo")));
+	}
+
+	@Test
+	public void testGroupWithTextNotPaintable() {
+		final IGroup group = ShapeFactory.INST.createGroup(rec);
+		group.addShape(ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(), "foo"));
+		assertFalse(ShapePainting.isPaintable(group));
+	}
+
+	@Test
+	public void testGroupPaintable() {
+		assertTrue(ShapePainting.isPaintable(ShapeFactory.INST.createGroup(rec)));
+	}
+
+	@Test
+	public void testBoundsContainShape() {
+		final ShapePainting painting = ShapePainting.create(rec);
+		assertTrue(painting.getBounds().contains(10d, 20d, 100d, 50d));
+	}
+
+	@Test
+	public void testContainsBorder() {
+		assertTrue(ShapePainting.create(rec).contains(11d, 45d));
+	}
+
+	@Test
+	public void testNotContainsInsideNotFilled() {
+		assertFalse(ShapePainting.create(rec).contains(60d, 45d));
+	}
+
+	@Test
+	public void testContainsInsideFilled() {
+		rec.setFillingStyle(FillingStyle.PLAIN);
+		assertTrue(ShapePainting.create(rec).contains(60d, 45d));
+	}
+
+	@Test
+	public void testNotContainsOutside() {
+		assertFalse(ShapePainting.create(rec).contains(300d, 300d));
+	}
+
+	@Test
+	public void testContainsDashedBorder() {
+		rec.setLineStyle(LineStyle.DASHED);
+		rec.setFillingStyle(FillingStyle.PLAIN);
+		assertTrue(ShapePainting.create(rec).contains(60d, 45d));
+	}
+
+	@Test
+	public void testPaint() {
+		rec.setLineStyle(LineStyle.DOTTED);
+		rec.setFillingStyle(FillingStyle.GRAD);
+		rec.setHasShadow(true);
+		rec.setRotationAngle(1d);
+		ShapePainting.create(rec).paint(new javafx.scene.canvas.Canvas(200d, 200d).getGraphicsContext2D());
+	}
+}
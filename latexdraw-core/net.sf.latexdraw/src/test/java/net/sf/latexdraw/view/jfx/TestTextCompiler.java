@@ -0,0 +1,231 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import javafx.scene.image.Image;
+import net.sf.latexdraw.util.LSystem;
+import net.sf.latexdraw.util.Tuple;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class TestTextCompiler {
+	@Test
+	public void testGetDocument() {
+		assertEquals("\\documentclass{standalone}\n\\usepackage{foo}\n\\begin{document}\nbar\n\\end{document}",
+			TextCompiler.getDocument("\\usepackage{foo}", "bar"));
+	}
+
+	@Test
+	public void testGetPreambleContainsPSTricks() {
+		assertTrue(TextCompiler.getPreamble().contains("{pstricks}"));
+	}
+
+	@Test
+	public void testGetBatchDocumentIsMultiPage() {
+		assertTrue(TextCompiler.getBatchDocument("", Arrays.asList("a", "b")).startsWith("\\documentclass[multi=true]{standalone}"));
+	}
+
+	@Test
+	public void testGetBatchDocumentOnePagePerText() {
+		final String doc = TextCompiler.getBatchDocument("\\usepackage{foo}", Arrays.asList("a", "b", "c"));
+		assertEquals(3, doc.split("\\\\begin\\{standalone\\}", -1).length - 1);
+		assertTrue(doc.indexOf("\\begin{standalone}a\\end{standalone}") < doc.indexOf("\\begin{standalone}b\\end{standalone}"));
+		assertTrue(doc.indexOf("\\begin{standalone}b\\end{standalone}") < doc.indexOf("\\begin{standalone}c\\end{standalone}"));
+	}
+
+	@Test
+	public void testGetBatchDocumentHasPreamble() {
+		final String doc = TextCompiler.getBatchDocument("\\usepackage{foo}", Arrays.asList("a", "b"));
+		assertTrue(doc.indexOf("\\usepackage{foo}") < doc.indexOf("\\begin{document}"));
+		assertTrue(doc.endsWith("\\end{document}"));
+	}
+
+	@Test
+	public void testCancelledDuringDelay() {
+		final CompletableFuture<?> compilation = TextCompiler.INSTANCE.compile(TextCompiler.getPreamble(), "foo", 10000L, () -> CompilationPriority.BACKGROUND);
+		compilation.cancel(false);
+		assertTrue(compilation.isCancelled());
+	}
+
+	@Test
+	public void testDelayedTextNotInQueue() {
+		final int size = TextCompiler.INSTANCE.getQueueSize();
+		final CompletableFuture<?> compilation = TextCompiler.INSTANCE.compile(TextCompiler.getPreamble(), "bar", 10000L, () -> CompilationPriority.VISIBLE);
+		assertEquals(size, TextCompiler.INSTANCE.getQueueSize());
+		compilation.cancel(false);
+	}
+
+	/**
+	 * @return A compiler with a single worker that does not start before the given latch is released (or one second).
+	 */
+	private static TextCompiler createBlockedCompiler(final CountDownLatch latch) {
+		final ExecutorService pool = Executors.newSingleThreadExecutor();
+		pool.execute(() -> {
+			try {
+				latch.await(1L, TimeUnit.SECONDS);
+			}catch(final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		return new TextCompiler(pool, 1);
+	}
+
+	@Test
+	public void testQueueSize() {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final TextCompiler compiler = createBlockedCompiler(latch);
+		compiler.compile(TextCompiler.getPreamble(), "a", 0L, () -> CompilationPriority.BACKGROUND);
+		compiler.compile(TextCompiler.getPreamble(), "b", 0L, () -> CompilationPriority.BACKGROUND);
+		assertEquals(2, compiler.getQueueSize());
+		latch.countDown();
+		compiler.shutdown();
+	}
+
+	@Test
+	public void testCompiledByPriority() {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final TextCompiler compiler = createBlockedCompiler(latch);
+		final List<String> order = Collections.synchronizedList(new ArrayList<>());
+		final List<CompletableFuture<?>> done = new ArrayList<>();
+		done.add(compiler.compile(TextCompiler.getPreamble(), "bg", 0L, () -> CompilationPriority.BACKGROUND).thenRun(() -> order.add("bg")));
+		done.add(compiler.compile(TextCompiler.getPreamble(), "sel", 0L, () -> CompilationPriority.SELECTED).thenRun(() -> order.add("sel")));
+		done.add(compiler.compile(TextCompiler.getPreamble(), "vis1", 0L, () -> CompilationPriority.VISIBLE).thenRun(() -> order.add("vis1")));
+		done.add(compiler.compile(TextCompiler.getPreamble(), "vis2", 0L, () -> CompilationPriority.VISIBLE).thenRun(() -> order.add("vis2")));
+		latch.countDown();
+		done.forEach(f -> f.join());
+		assertEquals(Arrays.asList("vis1", "vis2", "sel", "bg"), order);
+		compiler.shutdown();
+	}
+
+	@Test
+	public void testPriorityReadWhenTaken() {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final TextCompiler compiler = createBlockedCompiler(latch);
+		final List<String> order = Collections.synchronizedList(new ArrayList<>());
+		final AtomicReference<CompilationPriority> priority = new AtomicReference<>(CompilationPriority.BACKGROUND);
+		final CompletableFuture<?> first = compiler.compile(TextCompiler.getPreamble(), "a", 0L, () -> CompilationPriority.SELECTED).thenRun(() -> order.add("a"));
+		final CompletableFuture<?> second = compiler.compile(TextCompiler.getPreamble(), "b", 0L, priority::get).thenRun(() -> order.add("b"));
+		// The text becomes visible (e.g. scrolling) while waiting.
+		priority.set(CompilationPriority.VISIBLE);
+		latch.countDown();
+		first.join();
+		second.join();
+		assertEquals(Arrays.asList("b", "a"), order);
+		compiler.shutdown();
+	}
+
+	@Test
+	public void testShutdownCancelsWaitingAndDelayedTexts() {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final TextCompiler compiler = createBlockedCompiler(latch);
+		final CompletableFuture<?> waiting = compiler.compile(TextCompiler.getPreamble(), "a", 0L, () -> CompilationPriority.VISIBLE);
+		final CompletableFuture<?> delayed = compiler.compile(TextCompiler.getPreamble(), "b", 10000L, () -> CompilationPriority.VISIBLE);
+		compiler.shutdown();
+		latch.countDown();
+		assertTrue(compiler.isShutdown());
+		assertTrue(waiting.isCancelled());
+		assertTrue(delayed.isCancelled());
+		assertEquals(0, compiler.getQueueSize());
+	}
+
+	@Test
+	public void testCompileAfterShutdownCancelled() {
+		final TextCompiler compiler = createBlockedCompiler(new CountDownLatch(0));
+		compiler.shutdown();
+		assertTrue(compiler.compile(TextCompiler.getPreamble(), "a", 0L, () -> CompilationPriority.VISIBLE).isCancelled());
+		assertTrue(compiler.compile(TextCompiler.getPreamble(), "b", 100L, () -> CompilationPriority.VISIBLE).isCancelled());
+	}
+
+	@Test
+	public void testResetMetrics() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final TextCompiler compiler = createBlockedCompiler(latch);
+		final CompletableFuture<?> compilation = compiler.compile(TextCompiler.getPreamble(), "a", 0L, () -> CompilationPriority.VISIBLE);
+		Thread.sleep(20L);
+		latch.countDown();
+		compilation.join();
+		assertTrue(compiler.getMeanQueueLatency() >= 20d);
+		compiler.resetMetrics();
+		assertEquals(0d, compiler.getMeanQueueLatency(), 0.0001);
+		assertEquals(0d, compiler.getMeanCompilationLatency(), 0.0001);
+		compiler.shutdown();
+	}
+
+	/**
+	 * @return True if latex, dvips, and ps2pdf can be executed.
+	 */
+	private static boolean isTeXAvailable() {
+		return !LSystem.INSTANCE.getLaTeXVersion().startsWith("ERR") && !LSystem.INSTANCE.getDVIPSVersion().startsWith("ERR") &&
+			!LSystem.INSTANCE.getPS2PDFVersion().startsWith("ERR");
+	}
+
+	/**
+	 * @return The given LaTeX code made unique (the texts compiled by the former tests are cached).
+	 */
+	private static String unique(final String body) {
+		return "\\def\\ldtest{" + System.nanoTime() + "}" + body;
+	}
+
+	/**
+	 * Compiles the given texts in a single batch.
+	 */
+	private static List<Tuple<Image, String>> compileBatch(final String... bodies) throws InterruptedException, ExecutionException, TimeoutException {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final TextCompiler compiler = createBlockedCompiler(latch);
+		final List<CompletableFuture<Tuple<Image, String>>> compilations = new ArrayList<>();
+		for(final String body : bodies) {
+			compilations.add(compiler.compile(TextCompiler.getPreamble(), unique(body), 0L, () -> CompilationPriority.VISIBLE));
+		}
+		latch.countDown();
+		final List<Tuple<Image, String>> res = new ArrayList<>();
+		for(final CompletableFuture<Tuple<Image, String>> compilation : compilations) {
+			res.add(compilation.get(1L, TimeUnit.MINUTES));
+		}
+		compiler.shutdown();
+		return res;
+	}
+
+	@Test
+	public void testBatchPagesGivenToTheirTexts() throws InterruptedException, ExecutionException, TimeoutException {
+		assumeTrue(isTeXAvailable());
+		final List<Tuple<Image, String>> res = compileBatch("\\rule{2cm}{1cm}", "\\rule{1cm}{1cm}", "\\rule{4cm}{1cm}");
+		res.forEach(pic -> assertNotNull(pic.a));
+		assertTrue(res.get(1).a.getWidth() < res.get(0).a.getWidth());
+		assertTrue(res.get(0).a.getWidth() < res.get(2).a.getWidth());
+	}
+
+	@Test
+	public void testInvalidTextInBatchCompiledAlone() throws InterruptedException, ExecutionException, TimeoutException {
+		assumeTrue(isTeXAvailable());
+		final List<Tuple<Image, String>> res = compileBatch("\\rule{1cm}{1cm}", "\\ldUndefinedCommand", "\\rule{4cm}{1cm}");
+		assertNotNull(res.get(0).a);
+		assertNull(res.get(1).a);
+		assertNotNull(res.get(2).a);
+		assertTrue(res.get(0).a.getWidth() < res.get(2).a.getWidth());
+	}
+
+	@Test
+	public void testInvalidTextInBatchHasItsOwnLog() throws InterruptedException, ExecutionException, TimeoutException {
+		assumeTrue(isTeXAvailable());
+		final List<Tuple<Image, String>> res = compileBatch("a", "\\ldUndefinedCommand", "b");
+		assertTrue(res.get(1).b.contains("ldUndefinedCommand"));
+		assertFalse(res.get(0).b.contains("ldUndefinedCommand"));
+		assertFalse(res.get(2).b.contains("ldUndefinedCommand"));
+	}
+}
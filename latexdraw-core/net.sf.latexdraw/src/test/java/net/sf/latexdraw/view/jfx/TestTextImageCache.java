@@ -0,0 +1,125 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.concurrent.TimeoutException;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.testfx.api.FxToolkit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestTextImageCache {
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	File dir;
+	TextImageCache cache;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@AfterClass
+	public static void afterClass() throws TimeoutException {
+		FxToolkit.cleanupStages();
+	}
+
+	@Before
+	public void setUp() {
+		dir = new File(folder.getRoot(), "texts");
+		cache = new TextImageCache(dir);
+	}
+
+	private BufferedImage createPicture(final int width, final int height) {
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	@Test
+	public void testKeyDependsOnDocument() {
+		assertEquals(TextImageCache.getKey("foo"), TextImageCache.getKey("foo"));
+		assertNotEquals(TextImageCache.getKey("foo"), TextImageCache.getKey("bar"));
+		assertEquals(64, TextImageCache.getKey("foo").length());
+	}
+
+	@Test
+	public void testMissWhenEmpty() {
+		assertFalse(cache.get("foo").isPresent());
+		assertEquals(1L, cache.getMisses());
+	}
+
+	@Test
+	public void testHitInMemory() {
+		cache.put("foo", createPicture(10, 20));
+		assertEquals(20d, cache.getFromMemory("foo").get().getHeight(), 0.0001);
+		assertTrue(cache.get("foo").isPresent());
+		assertEquals(2L, cache.getMemoryHits());
+		assertEquals(0L, cache.getMisses());
+	}
+
+	@Test
+	public void testNoMemoryMissCounted() {
+		assertFalse(cache.getFromMemory("foo").isPresent());
+		assertEquals(0L, cache.getMisses());
+	}
+
+	@Test
+	public void testHitOnDisk() {
+		cache.put("foo", createPicture(10, 20));
+		cache.clearMemory();
+		assertFalse(cache.getFromMemory("foo").isPresent());
+		assertEquals(10d, cache.get("foo").get().getWidth(), 0.0001);
+		assertEquals(1L, cache.getDiskHits());
+		assertTrue(cache.getFromMemory("foo").isPresent());
+	}
+
+	@Test
+	public void testHitOnDiskFromAnotherCache() {
+		cache.put("foo", createPicture(10, 20));
+		assertTrue(new TextImageCache(dir).get("foo").isPresent());
+	}
+
+	@Test
+	public void testMemoryEviction() {
+		cache.setMaxMemorySize(10L * 10L * 4L * 2L);
+		cache.put("foo", createPicture(10, 10));
+		cache.put("bar", createPicture(10, 10));
+		cache.getFromMemory("foo");
+		cache.put("yoo", createPicture(10, 10));
+		assertEquals(2, cache.getNbImagesInMemory());
+		assertTrue(cache.getFromMemory("foo").isPresent());
+		assertFalse(cache.getFromMemory("bar").isPresent());
+		assertEquals(800L, cache.getMemorySize());
+	}
+
+	@Test
+	public void testDiskEviction() {
+		cache.put("foo", createPicture(100, 100));
+		cache.put("bar", createPicture(100, 100));
+		cache.setMaxDiskSize(0L);
+		cache.clearMemory();
+		assertFalse(cache.get("foo").isPresent());
+		assertFalse(cache.get("bar").isPresent());
+	}
+
+	@Test
+	public void testClear() {
+		cache.put("foo", createPicture(10, 10));
+		cache.clear();
+		assertFalse(cache.get("foo").isPresent());
+		assertEquals(0L, cache.getMemorySize());
+	}
+
+	@Test
+	public void testResetCounters() {
+		cache.get("foo");
+		cache.resetCounters();
+		assertEquals(0L, cache.getMisses());
+	}
+}
@@ -0,0 +1,144 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.geom.Rectangle2D;
+import java.util.concurrent.TimeoutException;
+import javafx.application.Platform;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.models.interfaces.shape.IDrawing;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestTiledRenderer {
+	IDrawing drawing;
+	TiledRenderer renderer;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@AfterClass
+	public static void afterClass() throws TimeoutException {
+		FxToolkit.cleanupStages();
+	}
+
+	@Before
+	public void setUp() {
+		drawing = ShapeFactory.INST.createDrawing();
+		drawing.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(10d, 20d), 100d, 50d));
+		renderer = new TiledRenderer(drawing, sh -> true);
+	}
+
+	void setArea(final Rectangle2D area, final double zoom) {
+		Platform.runLater(() -> renderer.setArea(area, zoom));
+		WaitForAsyncUtils.waitForFxEvents();
+	}
+
+	@Test
+	public void testNoTileWithoutArea() {
+		assertTrue(renderer.tiles.isEmpty());
+		assertFalse(renderer.getArea().isPresent());
+	}
+
+	@Test
+	public void testTilesCoverArea() {
+		setArea(new Rectangle2D.Double(0d, 0d, 1000d, 600d), 1d);
+		assertEquals(4, renderer.tiles.size());
+		assertEquals(4, renderer.getChildren().size());
+	}
+
+	@Test
+	public void testTilesCoverAreaNegativeCoordinates() {
+		setArea(new Rectangle2D.Double(-10d, -10d, 20d, 20d), 1d);
+		assertEquals(4, renderer.tiles.size());
+	}
+
+	@Test
+	public void testTilesDependOnZoom() {
+		setArea(new Rectangle2D.Double(0d, 0d, 1000d, 600d), 2d);
+		assertEquals(12, renderer.tiles.size());
+	}
+
+	@Test
+	public void testTilesKeptOnScroll() {
+		setArea(new Rectangle2D.Double(0d, 0d, 500d, 500d), 1d);
+		final Object tile = renderer.tiles.values().iterator().next();
+		setArea(new Rectangle2D.Double(10d, 10d, 400d, 400d), 1d);
+		assertEquals(1, renderer.tiles.size());
+		assertEquals(tile, renderer.tiles.values().iterator().next());
+	}
+
+	@Test
+	public void testTilesOutOfAreaDropped() {
+		setArea(new Rectangle2D.Double(0d, 0d, 1000d, 600d), 1d);
+		setArea(new Rectangle2D.Double(0d, 0d, 100d, 100d), 1d);
+		assertEquals(1, renderer.tiles.size());
+		assertEquals(1, renderer.getChildren().size());
+	}
+
+	@Test
+	public void testTilesDroppedOnZoom() {
+		setArea(new Rectangle2D.Double(0d, 0d, 500d, 500d), 1d);
+		final Object tile = renderer.tiles.values().iterator().next();
+		setArea(new Rectangle2D.Double(0d, 0d, 500d, 500d), 0.5);
+		assertEquals(1, renderer.tiles.size());
+		assertFalse(renderer.tiles.containsValue(tile));
+	}
+
+	@Test
+	public void testClear() {
+		setArea(new Rectangle2D.Double(0d, 0d, 1000d, 600d), 1d);
+		Platform.runLater(() -> renderer.clear());
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(renderer.tiles.isEmpty());
+		assertTrue(renderer.getChildren().isEmpty());
+	}
+
+	@Test
+	public void testDistantDirtyRegionsNotMerged() {
+		setArea(new Rectangle2D.Double(0d, 0d, 1000d, 600d), 1d);
+		Platform.runLater(() -> {
+			renderer.addDirty(new Rectangle2D.Double(0d, 0d, 10d, 10d));
+			renderer.addDirty(new Rectangle2D.Double(900d, 500d, 10d, 10d));
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(2, renderer.getDirtyRegions().size());
+	}
+
+	@Test
+	public void testContainedDirtyRegionIgnored() {
+		setArea(new Rectangle2D.Double(0d, 0d, 1000d, 600d), 1d);
+		Platform.runLater(() -> {
+			renderer.addDirty(new Rectangle2D.Double(0d, 0d, 100d, 100d));
+			renderer.addDirty(new Rectangle2D.Double(10d, 10d, 10d, 10d));
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(1, renderer.getDirtyRegions().size());
+	}
+
+	@Test
+	public void testDirtyRegionsRendered() {
+		setArea(new Rectangle2D.Double(0d, 0d, 1000d, 600d), 1d);
+		Platform.runLater(() -> {
+			renderer.addDirty(new Rectangle2D.Double(0d, 0d, 10d, 10d));
+			renderer.update();
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(renderer.getDirtyRegions().isEmpty());
+	}
+
+	@Test
+	public void testShapeAt() {
+		drawing.getShapeAt(0).setFillingStyle(FillingStyle.PLAIN);
+		assertTrue(renderer.getShapeAt(60d, 45d).isPresent());
+	}
+}
@@ -610,4 +610,74 @@ abstract class TestViewBorderedShape<T extends ViewSingleShape<S, R>, S extends
 		assumeTrue(model.isDbleBorderable());
 		assertTrue(view.getChildren().indexOf(border) < view.getChildren().indexOf(view.getDbleBorder().get()));
 	}
+
+	@Test
+	public void testShadowHiddenWhenSimplified() {
+		assumeTrue(model.isShadowable());
+		model.setHasShadow(true);
+		view.setLevelOfDetail(LevelOfDetail.MEDIUM);
+		assertFalse(view.getShadow().get().isVisible());
+	}
+
+	@Test
+	public void testShadowVisibleWhenDetailedAgain() {
+		assumeTrue(model.isShadowable());
+		model.setHasShadow(true);
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		view.setLevelOfDetail(LevelOfDetail.HIGH);
+		assertTrue(view.getShadow().get().isVisible());
+	}
+
+	@Test
+	public void testDoubleBorderHiddenWhenSimplified() {
+		assumeTrue(model.isDbleBorderable());
+		model.setHasDbleBord(true);
+		view.setLevelOfDetail(LevelOfDetail.MEDIUM);
+		assertFalse(view.getDbleBorder().get().isVisible());
+	}
+
+	@Test
+	public void testFillHatchingsTintWhenSimplified() {
+		assumeTrue(model.isFillable());
+		model.setFillingStyle(FillingStyle.CLINES);
+		view.setLevelOfDetail(LevelOfDetail.MEDIUM);
+		assertTrue(border.getFill() instanceof Color);
+	}
+
+	@Test
+	public void testFillHatchingsPlainTintWhenSimplified() {
+		assumeTrue(model.isFillable());
+		model.setFillingCol(DviPsColors.WHITE);
+		model.setHatchingsCol(DviPsColors.BLACK);
+		model.setFillingStyle(FillingStyle.VLINES_PLAIN);
+		view.setLevelOfDetail(LevelOfDetail.MEDIUM);
+		assertTrue(((Color) border.getFill()).getBrightness() < 1d);
+		assertTrue(((Color) border.getFill()).getBrightness() > 0d);
+	}
+
+	@Test
+	public void testFillHatchingsWhenDetailedAgain() {
+		assumeTrue(model.isFillable());
+		model.setFillingStyle(FillingStyle.CLINES);
+		view.setLevelOfDetail(LevelOfDetail.MEDIUM);
+		view.setLevelOfDetail(LevelOfDetail.HIGH);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(border.getFill() instanceof ImagePattern);
+	}
+
+	@Test
+	public void testLineStyleSolidWhenCoarse() {
+		assumeTrue(model.isLineStylable());
+		model.setLineStyle(LineStyle.DASHED);
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		assertTrue(border.getStrokeDashArray().isEmpty());
+	}
+
+	@Test
+	public void testLineStyleDashedWhenSimplified() {
+		assumeTrue(model.isLineStylable());
+		model.setLineStyle(LineStyle.DASHED);
+		view.setLevelOfDetail(LevelOfDetail.MEDIUM);
+		assertFalse(border.getStrokeDashArray().isEmpty());
+	}
 }
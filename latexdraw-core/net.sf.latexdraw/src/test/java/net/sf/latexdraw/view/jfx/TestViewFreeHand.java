@@ -3,6 +3,9 @@ package net.sf.latexdraw.view.jfx;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.models.ShapeFactory;
@@ -16,6 +19,7 @@ import org.testfx.api.FxToolkit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestViewFreeHand extends TestViewBorderedShape<ViewFreeHand, IFreehand, Path> {
 	List<PathElement> before;
@@ -89,4 +93,116 @@ public class TestViewFreeHand extends TestViewBorderedShape<ViewFreeHand, IFreeh
 		model.translate(0d, 11d);
 		assertPathSameButNotEqual(before, border.getElements());
 	}
+
+	private static void assertSamePath(final List<PathElement> expected, final List<PathElement> path) {
+		assertEquals(expected.size(), path.size());
+		for(int i = 0, size = path.size(); i < size; i++) {
+			assertEquals(expected.get(i).getClass(), path.get(i).getClass());
+			if(expected.get(i) instanceof MoveTo) {
+				assertEquals(((MoveTo) expected.get(i)).getX(), ((MoveTo) path.get(i)).getX(), 0.0001);
+				assertEquals(((MoveTo) expected.get(i)).getY(), ((MoveTo) path.get(i)).getY(), 0.0001);
+			}else if(expected.get(i) instanceof LineTo) {
+				assertEquals(((LineTo) expected.get(i)).getX(), ((LineTo) path.get(i)).getX(), 0.0001);
+				assertEquals(((LineTo) expected.get(i)).getY(), ((LineTo) path.get(i)).getY(), 0.0001);
+			}else if(expected.get(i) instanceof CubicCurveTo) {
+				final CubicCurveTo c1 = (CubicCurveTo) expected.get(i);
+				final CubicCurveTo c2 = (CubicCurveTo) path.get(i);
+				assertEquals(c1.getControlX1(), c2.getControlX1(), 0.0001);
+				assertEquals(c1.getControlY1(), c2.getControlY1(), 0.0001);
+				assertEquals(c1.getControlX2(), c2.getControlX2(), 0.0001);
+				assertEquals(c1.getControlY2(), c2.getControlY2(), 0.0001);
+				assertEquals(c1.getX(), c2.getX(), 0.0001);
+				assertEquals(c1.getY(), c2.getY(), 0.0001);
+			}
+		}
+	}
+
+	private void assertAppendedPathSameAsRebuiltPath() {
+		for(int i = 0; i < 7; i++) {
+			model.appendPoint(10d * i, 300d - 20d * i);
+			model.setLastPoint(10d * i + 3d, 300d - 20d * i + 5d);
+		}
+		final ViewFreeHand rebuilt = (ViewFreeHand) ViewFactory.INSTANCE.createView(model.duplicate()).get();
+		assertSamePath(rebuilt.getBorder().getElements(), border.getElements());
+		assertEquals(border.getElements(), view.getShadow().get().getElements());
+		rebuilt.flush();
+	}
+
+	@Test
+	public void testAppendPointCurves() {
+		model.setType(FreeHandStyle.CURVES);
+		assertAppendedPathSameAsRebuiltPath();
+	}
+
+	@Test
+	public void testAppendPointLines() {
+		model.setType(FreeHandStyle.LINES);
+		assertAppendedPathSameAsRebuiltPath();
+	}
+
+	@Test
+	public void testAppendPointClosed() {
+		model.setOpened(false);
+		assertAppendedPathSameAsRebuiltPath();
+	}
+
+	@Test
+	public void testAppendPointOtherInterval() {
+		model.setInterval(3);
+		assertAppendedPathSameAsRebuiltPath();
+	}
+
+	@Test
+	public void testAppendPointExtendsThePath() {
+		final PathElement first = border.getElements().get(1);
+		model.appendPoint(500d, 500d);
+		model.appendPoint(600d, 400d);
+		assertEquals(first, border.getElements().get(1));
+		assertNotEquals(before.size(), border.getElements().size());
+	}
+
+	private void appendManyPoints() {
+		for(int i = 0; i < 500; i++) {
+			model.appendPoint(i, 300d + 50d * Math.sin(i / 10d));
+		}
+	}
+
+	@Test
+	public void testCoarseDecimatesPath() {
+		appendManyPoints();
+		final int size = border.getElements().size();
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		assertTrue(border.getElements().size() < size);
+		assertEquals(border.getElements(), view.getShadow().get().getElements());
+	}
+
+	@Test
+	public void testDetailedAgainNotDecimated() {
+		appendManyPoints();
+		final int size = border.getElements().size();
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		view.setLevelOfDetail(LevelOfDetail.HIGH);
+		assertEquals(size, border.getElements().size());
+	}
+
+	@Test
+	public void testSimplifiedNotDecimated() {
+		appendManyPoints();
+		final int size = border.getElements().size();
+		view.setLevelOfDetail(LevelOfDetail.MEDIUM);
+		assertEquals(size, border.getElements().size());
+	}
+
+	@Test
+	public void testCoarseAppendPointSameAsRebuiltPath() {
+		appendManyPoints();
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		for(int i = 0; i < 7; i++) {
+			model.appendPoint(10d * i, 300d - 20d * i);
+		}
+		final ViewFreeHand rebuilt = (ViewFreeHand) ViewFactory.INSTANCE.createView(model.duplicate()).get();
+		rebuilt.setLevelOfDetail(LevelOfDetail.LOW);
+		assertSamePath(rebuilt.getBorder().getElements(), border.getElements());
+		rebuilt.flush();
+	}
 }
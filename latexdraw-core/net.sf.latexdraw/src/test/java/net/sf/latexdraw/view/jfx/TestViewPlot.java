@@ -2,11 +2,15 @@ package net.sf.latexdraw.view.jfx;
 
 import java.util.List;
 import java.util.concurrent.TimeoutException;
-import javafx.scene.shape.Ellipse;
-import javafx.scene.shape.Path;
+import java.util.stream.Collectors;
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.PathElement;
+import javafx.scene.shape.QuadCurveTo;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.DotStyle;
+import net.sf.latexdraw.models.interfaces.shape.IDot;
 import net.sf.latexdraw.models.interfaces.shape.IPlot;
 import net.sf.latexdraw.models.interfaces.shape.PlotStyle;
 import org.junit.AfterClass;
@@ -19,6 +23,7 @@ import org.testfx.util.WaitForAsyncUtils;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -126,7 +131,7 @@ public class TestViewPlot extends TestViewShape<ViewPlot, IPlot> {
 	public void testOnChangeStyleDOTS() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertTrue(view.getChildren().get(0) instanceof ViewDot);
+		assertTrue(view.getChildren().get(0) instanceof ViewPlotDots);
 	}
 
 	@Test
@@ -152,45 +157,62 @@ public class TestViewPlot extends TestViewShape<ViewPlot, IPlot> {
 		assertTrue(view.getChildren().get(0) instanceof ViewBezierCurve);
 	}
 
+	private ViewPlotDots getDots() {
+		return (ViewPlotDots) view.getChildren().get(0);
+	}
+
 	@Test
 	public void testOnChangeDotDiametre() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		final double before = ((Ellipse) ((ViewDot) view.getChildren().get(0)).getChildren().get(0)).getRadiusX();
+		final List<PathElement> before = duplicatePath(getDots().circles.getElements());
 		model.setDiametre(model.getDiametre() * 1.577);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertNotEquals(before, ((Ellipse) ((ViewDot) view.getChildren().get(0)).getChildren().get(0)).getRadiusX());
+		assertNotEquals(before, getDots().circles.getElements());
 	}
 
 	@Test
 	public void testOnChangeDotStyle() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		final List<PathElement> before = ((Path) ((ViewDot) view.getChildren().get(0)).getChildren().get(1)).getElements();
+		final List<PathElement> before = duplicatePath(getDots().markers.getElements());
 		model.setDotStyle(DotStyle.FDIAMOND);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertNotEquals(before, ((Path) ((ViewDot) view.getChildren().get(0)).getChildren().get(1)).getElements());
+		assertNotEquals(before, getDots().markers.getElements());
+		assertTrue(getDots().markers.isVisible());
+		assertFalse(getDots().circles.isVisible());
 	}
 
-
 	@Test
 	public void testOnDotNotSamePoints() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		// Computing the number of different x
-		final int nbXDiff = (int) view.getChildren().stream().map(node -> ((ViewDot)node).dot.centerXProperty().get()).distinct().count();
-		// Computing the number of different y
-		final int nbYDiff = (int) view.getChildren().stream().map(node -> ((ViewDot)node).dot.centerYProperty().get()).distinct().count();
-		// The points of the plot must all differ
-		WaitForAsyncUtils.waitForFxEvents();
-		assertThat(view.getChildren().size(), anyOf(equalTo(nbXDiff), equalTo(nbYDiff)));
+		// Each circle starts with a move-to: the points of the plot must all differ
+		final List<MoveTo> moves = getDots().circles.getElements().stream().filter(elt -> elt instanceof MoveTo).
+			map(elt -> (MoveTo) elt).collect(Collectors.toList());
+		final long nbXDiff = moves.stream().map(elt -> elt.getX()).distinct().count();
+		final long nbYDiff = moves.stream().map(elt -> elt.getY()).distinct().count();
+		assertThat((long) moves.size(), anyOf(equalTo(nbXDiff), equalTo(nbYDiff)));
 	}
 
 	@Test
 	public void testOnDotNbPoints() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertEquals(model.getNbPlottedPoints(), view.getChildren().size());
+		assertEquals(1, view.getChildren().size());
+		assertEquals(model.getNbPlottedPoints(), getDots().circles.getElements().stream().filter(elt -> elt instanceof MoveTo).count());
+	}
+
+	@Test
+	public void testOnDotMarkersRepeatTheDotPath() {
+		model.setPlotStyle(PlotStyle.DOTS);
+		model.setDotStyle(DotStyle.FSQUARE);
+		WaitForAsyncUtils.waitForFxEvents();
+		final IDot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint());
+		dot.copy(model);
+		final ViewDot vdot = new ViewDot(dot);
+		assertEquals(model.getNbPlottedPoints() * vdot.path.getElements().size(), getDots().markers.getElements().size());
+		assertTrue(getDots().circles.getElements().isEmpty());
 	}
 
 
@@ -211,4 +233,38 @@ public class TestViewPlot extends TestViewShape<ViewPlot, IPlot> {
 		WaitForAsyncUtils.waitForFxEvents();
 		assertEquals(y + 13d, view.getTranslateY(), 0.0000001);
 	}
+
+	@Test
+	public void testTranslateDotCubicCurve() {
+		final CubicCurveTo curve = (CubicCurveTo) ViewPlotDots.translate(new CubicCurveTo(1d, 2d, 3d, 4d, 5d, 6d), 10d, 20d);
+		assertEquals(11d, curve.getControlX1(), 0.0000001);
+		assertEquals(24d, curve.getControlY2(), 0.0000001);
+		assertEquals(15d, curve.getX(), 0.0000001);
+		assertEquals(26d, curve.getY(), 0.0000001);
+	}
+
+	@Test
+	public void testTranslateDotQuadCurve() {
+		final QuadCurveTo curve = (QuadCurveTo) ViewPlotDots.translate(new QuadCurveTo(1d, 2d, 3d, 4d), 10d, 20d);
+		assertEquals(11d, curve.getControlX(), 0.0000001);
+		assertEquals(24d, curve.getY(), 0.0000001);
+	}
+
+	@Test
+	public void testTranslateDotArc() {
+		final ArcTo arc = (ArcTo) ViewPlotDots.translate(new ArcTo(2d, 3d, 0d, 5d, 6d, true, false), 10d, 20d);
+		assertEquals(2d, arc.getRadiusX(), 0.0000001);
+		assertEquals(15d, arc.getX(), 0.0000001);
+		assertEquals(26d, arc.getY(), 0.0000001);
+		assertTrue(arc.isLargeArcFlag());
+	}
+
+	@Test
+	public void testTranslateDotRelativeElementNotMoved() {
+		final MoveTo move = new MoveTo(1d, 2d);
+		move.setAbsolute(false);
+		final MoveTo copy = (MoveTo) ViewPlotDots.translate(move, 10d, 20d);
+		assertFalse(copy.isAbsolute());
+		assertEquals(1d, copy.getX(), 0.0000001);
+	}
 }
@@ -25,6 +25,18 @@ abstract class TestViewPolyPoint<R extends ViewPathShape<S>, S extends IModifiab
 		assertEquals(border.getElements(), view.getShadow().get().getElements());
 	}
 
+	@Test
+	public void testDbleBorderSharesBorderElements() {
+		assertEquals(border.getElements(), view.getDbleBorder().get().getElements());
+	}
+
+	@Test
+	public void testElementsSharedOnLevelOfDetail() {
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		assertEquals(border.getElements(), view.getShadow().get().getElements());
+		assertEquals(border.getElements(), view.getDbleBorder().get().getElements());
+	}
+
 	@Override
 	@Test
 	public void testOnTranslateX() {
@@ -38,4 +50,19 @@ abstract class TestViewPolyPoint<R extends ViewPathShape<S>, S extends IModifiab
 		model.translate(0d, 11d);
 		assertPathSameButNotEqual(before, border.getElements());
 	}
+
+	@Test
+	public void testOnBatchedTranslate() {
+		model.runBatched(() -> {
+			model.translate(11d, 0d);
+			model.translate(0d, 11d);
+		});
+		assertPathSameButNotEqual(before, border.getElements());
+	}
+
+	@Test
+	public void testOnTranslateShadowSharesBorderElements() {
+		model.translate(11d, 0d);
+		assertEquals(border.getElements(), view.getShadow().get().getElements());
+	}
 }
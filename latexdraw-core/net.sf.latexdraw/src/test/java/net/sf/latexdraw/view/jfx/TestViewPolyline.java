@@ -1,12 +1,15 @@
 package net.sf.latexdraw.view.jfx;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
 import javafx.scene.Node;
+import javafx.scene.shape.LineTo;
 import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.ArrowStyle;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.IPolyline;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -18,7 +21,10 @@ import org.junit.runner.RunWith;
 import org.testfx.api.FxToolkit;
 import org.testfx.util.WaitForAsyncUtils;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(Theories.class)
 public class TestViewPolyline extends TestViewPolyPoint<ViewPolyline, IPolyline> {
@@ -87,4 +93,73 @@ public class TestViewPolyline extends TestViewPolyPoint<ViewPolyline, IPolyline>
 		WaitForAsyncUtils.waitForFxEvents();
 		assertNotEquals(pathArrow, view.viewArrows.arrows.get(0).path.getElements());
 	}
+
+	private ViewPolyline createViewManyPoints() {
+		final List<IPoint> pts = new ArrayList<>();
+		for(int i = 0; i < 450; i++) {
+			pts.add(ShapeFactory.INST.createPoint(i, 100d * Math.cos(i / 20d)));
+		}
+		return (ViewPolyline) ViewFactory.INSTANCE.createView(ShapeFactory.INST.createPolyline(pts)).get();
+	}
+
+	@Test
+	public void testCoarseDecimatesPath() {
+		final ViewPolyline v = createViewManyPoints();
+		v.setLevelOfDetail(LevelOfDetail.LOW);
+		assertTrue(v.getBorder().getElements().size() <= 101);
+		assertEquals(v.getBorder().getElements(), v.getShadow().get().getElements());
+		v.flush();
+	}
+
+	@Test
+	public void testCoarsePathEndsAtLastPoint() {
+		final ViewPolyline v = createViewManyPoints();
+		v.setLevelOfDetail(LevelOfDetail.LOW);
+		final LineTo last = (LineTo) v.getBorder().getElements().get(v.getBorder().getElements().size() - 1);
+		assertEquals(v.getModel().getPtAt(-1).getX(), last.getX(), 0.0001);
+		assertEquals(v.getModel().getPtAt(-1).getY(), last.getY(), 0.0001);
+		v.flush();
+	}
+
+	@Test
+	public void testCoarsePathFollowsPoints() {
+		final ViewPolyline v = createViewManyPoints();
+		v.setLevelOfDetail(LevelOfDetail.LOW);
+		v.getModel().translate(10d, 20d);
+		final LineTo last = (LineTo) v.getBorder().getElements().get(v.getBorder().getElements().size() - 1);
+		assertEquals(v.getModel().getPtAt(-1).getX(), last.getX(), 0.0001);
+		assertEquals(v.getModel().getPtAt(-1).getY(), last.getY(), 0.0001);
+		v.flush();
+	}
+
+	@Test
+	public void testDetailedAgainNotDecimated() {
+		final ViewPolyline v = createViewManyPoints();
+		v.setLevelOfDetail(LevelOfDetail.LOW);
+		v.setLevelOfDetail(LevelOfDetail.HIGH);
+		assertEquals(450, v.getBorder().getElements().size());
+		v.flush();
+	}
+
+	@Test
+	public void testFewPointsNotDecimated() {
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		assertEquals(before.size(), border.getElements().size());
+	}
+
+	@Test
+	public void testArrowsHiddenWhenCoarse() {
+		model.setArrowStyle(ArrowStyle.RIGHT_ARROW, 0);
+		WaitForAsyncUtils.waitForFxEvents();
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		assertFalse(view.viewArrows.arrows.get(0).isVisible());
+	}
+
+	@Test
+	public void testArrowsVisibleWhenSimplified() {
+		model.setArrowStyle(ArrowStyle.RIGHT_ARROW, 0);
+		WaitForAsyncUtils.waitForFxEvents();
+		view.setLevelOfDetail(LevelOfDetail.MEDIUM);
+		assertTrue(view.viewArrows.arrows.get(0).isVisible());
+	}
 }
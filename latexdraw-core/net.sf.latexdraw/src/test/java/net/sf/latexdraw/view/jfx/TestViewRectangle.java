@@ -1,16 +1,24 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import net.sf.latexdraw.data.RectSupplier;
 import net.sf.latexdraw.models.interfaces.shape.BorderPos;
+import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
 import net.sf.latexdraw.models.interfaces.shape.IRectangle;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestViewRectangle extends TestViewBorderedShape<ViewRectangle, IRectangle, Rectangle> {
 	@BeforeClass
@@ -28,6 +36,22 @@ public class TestViewRectangle extends TestViewBorderedShape<ViewRectangle, IRec
 		return RectSupplier.createRectangle();
 	}
 
+	@Test
+	public void testHatchingsDrawnAtOnceOnJFXThread() {
+		model.setWidth(100d);
+		model.setHeight(100d);
+		model.setFillingStyle(FillingStyle.VLINES);
+		final AtomicBoolean drawn = new AtomicBoolean(false);
+		// Before the next pulse (e.g. a snapshot of views just realised), the hatchings must be drawn.
+		Platform.runLater(() -> {
+			final Image image = ((ImagePattern) ((ViewRectangle) ViewFactory.INSTANCE.createView(model).get()).getBorder().getFill()).getImage();
+			drawn.set(IntStream.range(0, (int) image.getWidth()).anyMatch(x -> IntStream.range(0, (int) image.getHeight()).
+				anyMatch(y -> image.getPixelReader().getColor(x, y).getOpacity() > 0d)));
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(drawn.get());
+	}
+
 	@Test
 	public void testXPosition() {
 		model.setX(123d);
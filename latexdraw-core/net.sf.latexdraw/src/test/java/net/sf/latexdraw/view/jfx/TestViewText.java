@@ -1,12 +1,14 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import javafx.geometry.Bounds;
 import javafx.scene.control.Tooltip;
 import javafx.scene.image.ImageView;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
@@ -40,6 +42,8 @@ public class TestViewText extends TestViewShape<ViewText, IText> {
 	@Override
 	@Before
 	public void setUp() {
+		// The texts compiled by the previous tests must be compiled again.
+		TextImageCache.INSTANCE.clearMemory();
 		super.setUp();
 	}
 
@@ -137,4 +141,92 @@ public class TestViewText extends TestViewShape<ViewText, IText> {
 		view.getChildren().get(0).setTranslateY(19d);
 		assertEquals(before, view.getBoundsInParent());
 	}
+
+	private Rectangle getBox() {
+		return (Rectangle) view.getChildren().stream().filter(node -> node instanceof Rectangle).findAny().orElseThrow(() -> new IllegalArgumentException());
+	}
+
+	@Test
+	public void testCoarseTextAsBox() throws InterruptedException, TimeoutException, ExecutionException {
+		model.setText("hello");
+		view.getCurrentCompilation().get(5, TimeUnit.SECONDS);
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		assertFalse(getImage().isVisible());
+		assertFalse(getText().isVisible());
+		assertTrue(getBox().isVisible());
+		assertTrue(getBox().getWidth() > 0d);
+	}
+
+	@Test
+	public void testCompiledTextShownAtOnce() throws InterruptedException, TimeoutException, ExecutionException {
+		model.setText("hello");
+		view.getCurrentCompilation().get(5, TimeUnit.SECONDS);
+		model.setText("foo");
+		model.setText("hello");
+		assertTrue(view.getCurrentCompilation().isDone());
+		assertTrue(getImage().isVisible());
+	}
+
+	@Test
+	public void testNoBoxByDefault() {
+		assertFalse(getBox().isVisible());
+	}
+
+	@Test
+	public void testDetailedAgainTextAsImage() throws InterruptedException, TimeoutException, ExecutionException {
+		model.setText("hello");
+		view.getCurrentCompilation().get(5, TimeUnit.SECONDS);
+		view.setLevelOfDetail(LevelOfDetail.LOW);
+		view.setLevelOfDetail(LevelOfDetail.HIGH);
+		assertTrue(getImage().isVisible());
+		assertFalse(getBox().isVisible());
+	}
+
+	@Test
+	public void testSupersededCompilationIgnored() throws InterruptedException, TimeoutException, ExecutionException {
+		model.setText("$hello");
+		final Future<?> former = view.getCurrentCompilation();
+		model.setText("hello");
+		view.getCurrentCompilation().get(5, TimeUnit.SECONDS);
+		former.get(5, TimeUnit.SECONDS);
+		assertTrue(getImage().isVisible());
+		assertFalse(getText().isVisible());
+	}
+
+	@Test
+	public void testSupersededByCachedTextIgnored() throws InterruptedException, TimeoutException, ExecutionException {
+		model.setText("hello");
+		view.getCurrentCompilation().get(5, TimeUnit.SECONDS);
+		model.setText("$hello");
+		final Future<?> former = view.getCurrentCompilation();
+		model.setText("hello");
+		former.get(5, TimeUnit.SECONDS);
+		assertTrue(getImage().isVisible());
+		assertFalse(getText().isVisible());
+	}
+
+	@Test
+	public void testFlushedViewNotUpdated() throws InterruptedException, TimeoutException, ExecutionException {
+		model.setText("hello");
+		final Future<?> compilation = view.getCurrentCompilation();
+		view.flush();
+		compilation.get(5, TimeUnit.SECONDS);
+		assertFalse(getImage().isVisible());
+	}
+
+	@Test
+	public void testCompilationDelayed() {
+		final long delay = ViewText.getCompilationDelay();
+		ViewText.setCompilationDelay(10000L);
+		model.setText("hello");
+		ViewText.setCompilationDelay(delay);
+		assertFalse(view.getCurrentCompilation().isDone());
+	}
+
+	@Test
+	public void testSetCompilationDelayNegative() {
+		final long delay = ViewText.getCompilationDelay();
+		ViewText.setCompilationDelay(-1L);
+		assertEquals(delay, ViewText.getCompilationDelay());
+	}
 }
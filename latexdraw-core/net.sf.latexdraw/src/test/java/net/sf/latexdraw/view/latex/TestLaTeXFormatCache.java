@@ -0,0 +1,43 @@
+package net.sf.latexdraw.view.latex;
+
+import java.io.File;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TestLaTeXFormatCache {
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	LaTeXFormatCache cache;
+
+	@Before
+	public void setUp() {
+		cache = new LaTeXFormatCache(new File(folder.getRoot(), "formats"));
+	}
+
+	@Test
+	public void testFormatOption() {
+		assertEquals("-fmt=foo", LaTeXFormatCache.getFormatOption("foo"));
+	}
+
+	@Test
+	public void testNoBuiltFormatForUnknownPreamble() {
+		assertFalse(cache.getBuiltFormat("\\documentclass{article}").isPresent());
+	}
+
+	@Test
+	public void testCancelledFormatNotBuilt() {
+		assertFalse(cache.getFormat("\\documentclass{article}", () -> true).isPresent());
+		assertFalse(cache.getBuiltFormat("\\documentclass{article}").isPresent());
+	}
+
+	@Test
+	public void testCancelledFormatNotStored() {
+		cache.getFormat("\\documentclass{article}", () -> true);
+		final File[] files = new File(folder.getRoot(), "formats").listFiles();
+		assertEquals(0, files == null ? 0 : files.length);
+	}
+}
@@ -195,4 +195,26 @@ public class TestDrawingProperties {
 		gen.setPositionVertToken(VerticalPosition.TOP);
 		assertTrue(gen.getDocumentCode().contains("\\begin{figure}[t]"));
 	}
+
+	@Test
+	public void testExportedDocumentConfiguresGeometryInItsPreamble() {
+		final String doc = gen.getDocumentCode();
+		assertTrue(doc.indexOf("]{geometry}") < doc.indexOf("\\begin{document}"));
+		assertFalse(doc.contains("\\geometry{"));
+		assertFalse(doc.contains("\\usepackage{geometry}"));
+	}
+
+	@Test
+	public void testCompiledPreambleDoesNotDependOnDrawing() {
+		final String preamble = gen.getCompiledPreamble();
+		drawing.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(100d, 200d), 300d, 400d));
+		assertEquals(preamble, gen.getCompiledPreamble());
+	}
+
+	@Test
+	public void testCompiledBodyStartsAfterCompiledPreamble() {
+		assertFalse(gen.getCompiledPreamble().contains("\\begin{document}"));
+		assertTrue(gen.getCompiledBody().contains("\\begin{document}"));
+		assertTrue(gen.getCompiledBody().contains("\\geometry{"));
+	}
 }